@@ -0,0 +1,83 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
+import org.swrlapi.core.OWLLiteralComparator;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting literals of a single datatype with the {@link org.swrlapi.core.OWLLiteralComparator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class OWLLiteralComparatorBenchmark
+{
+	public enum Datatype
+	{
+		INT, LONG, DOUBLE, STRING
+	}
+
+	@Param({ "INT", "LONG", "DOUBLE", "STRING" })
+	public Datatype datatype;
+
+	@Param({ "10000" })
+	public int numberOfLiterals;
+
+	private OWLLiteral[] literals;
+
+	@Setup
+	public void createLiterals()
+	{
+		OWLDataFactory dataFactory = OWLManager.getOWLDataFactory();
+		Random random = new Random(42);
+
+		this.literals = new OWLLiteral[this.numberOfLiterals];
+		for (int literalIndex = 0; literalIndex < this.numberOfLiterals; literalIndex++) {
+			switch (this.datatype) {
+			case INT:
+				this.literals[literalIndex] = dataFactory.getOWLLiteral(random.nextInt());
+				break;
+			case LONG:
+				this.literals[literalIndex] = dataFactory
+						.getOWLLiteral(Long.toString(random.nextLong()), dataFactory.getOWLDatatype(XSDVocabulary.LONG.getIRI()));
+				break;
+			case DOUBLE:
+				this.literals[literalIndex] = dataFactory.getOWLLiteral(random.nextDouble());
+				break;
+			default:
+				this.literals[literalIndex] = dataFactory.getOWLLiteral("s" + random.nextInt(this.numberOfLiterals));
+				break;
+			}
+		}
+	}
+
+	@Benchmark
+	public OWLLiteral[] sort()
+	{
+		OWLLiteral[] sortedLiterals = this.literals.clone();
+
+		Arrays.sort(sortedLiterals, OWLLiteralComparator.COMPARATOR);
+
+		return sortedLiterals;
+	}
+}
@@ -0,0 +1,65 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIOntologyProcessor;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full processing of an ontology by a {@link org.swrlapi.core.SWRLAPIOntologyProcessor}. The processor is reset before
+ * each invocation so that every invocation processes the whole ontology.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class OntologyProcessorBenchmark
+{
+	@Param({ "10000", "100000", "1000000" })
+	public int numberOfAxioms;
+
+	@Param({ "1", "4" })
+	public int axiomProcessingParallelism;
+
+	private SWRLAPIOntologyProcessor processor;
+
+	@Setup(Level.Trial)
+	public void createProcessor() throws OWLOntologyCreationException
+	{
+		SWRLAPIOWLOntology swrlapiOWLOntology = SyntheticOntology.create(this.numberOfAxioms, 42);
+
+		this.processor = SWRLAPIFactory.createOntologyProcessor(swrlapiOWLOntology);
+		this.processor.setAxiomProcessingParallelism(this.axiomProcessingParallelism);
+	}
+
+	@Setup(Level.Invocation)
+	public void resetProcessor()
+	{
+		this.processor.reset();
+	}
+
+	@Benchmark
+	public int processOntology() throws SQWRLException
+	{
+		this.processor.processOntology();
+
+		return this.processor.getNumberOfOWLAxioms();
+	}
+}
@@ -0,0 +1,97 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.swrlapi.sqwrl.DefaultSQWRLResult;
+import org.swrlapi.sqwrl.SQWRLNames;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Preparation of SQWRL results using aggregation, distinct selection, and ordering. A result can only be prepared once,
+ * so a new one is filled before each invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SQWRLResultBenchmark
+{
+	public enum Operation
+	{
+		AGGREGATE, DISTINCT, ORDER_BY
+	}
+
+	@Param({ "AGGREGATE", "DISTINCT", "ORDER_BY" })
+	public Operation operation;
+
+	@Param({ "1000", "100000" })
+	public int numberOfRows;
+
+	private SQWRLResultValueFactory valueFactory;
+	private DefaultSQWRLResult result;
+
+	@Setup(Level.Trial)
+	public void createValueFactory() throws OWLOntologyCreationException
+	{
+		this.valueFactory = SyntheticOntology.create(0, 42).getSWRLAPIOWLDataFactory().getSQWRLResultValueFactory();
+	}
+
+	@Setup(Level.Invocation)
+	public void createResult() throws SQWRLException
+	{
+		Random random = new Random(42);
+		int numberOfIndividuals = Math.max(1, this.numberOfRows / 10); // Each individual appears in about ten rows
+
+		this.result = new DefaultSQWRLResult(this.valueFactory);
+		this.result.addColumn("x");
+		switch (this.operation) {
+		case AGGREGATE:
+			this.result.addAggregateColumn("a", SQWRLNames.AvgAggregateFunction);
+			break;
+		case DISTINCT:
+			this.result.addColumn("a");
+			this.result.setIsDistinct();
+			break;
+		default:
+			this.result.addColumn("a");
+			this.result.addOrderByColumn(1, true);
+			break;
+		}
+		this.result.configured();
+
+		for (int rowIndex = 0; rowIndex < this.numberOfRows; rowIndex++) {
+			IRI individualIRI = IRI.create(SyntheticOntology.NAMESPACE + "i" + random.nextInt(numberOfIndividuals));
+
+			this.result.openRow();
+			this.result.addRowData(this.valueFactory.getIndividualValue(individualIRI));
+			this.result.addRowData(this.valueFactory.getLiteralValue(random.nextInt(10)));
+			this.result.closeRow();
+		}
+	}
+
+	@Benchmark
+	public int prepared() throws SQWRLException
+	{
+		this.result.prepared();
+
+		return this.result.getNumberOfRows();
+	}
+}
@@ -0,0 +1,103 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.impl.DefaultSWRLBridge;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.owl2rl.DefaultOWL2RLPersistenceLayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invocation of swrlb comparison and arithmetic built-ins through a
+ * {@link org.swrlapi.builtins.SWRLBuiltInLibraryManager}. Arguments are created for each invocation because built-ins
+ * bind unbound arguments in place. Arithmetic built-ins are invoked both to bind their result and to check a result
+ * that is already bound.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SWRLBuiltInBenchmark
+{
+	@Param({ "swrlb:equal", "swrlb:lessThan", "swrlb:greaterThanOrEqual" })
+	public String comparisonBuiltInName;
+
+	@Param({ "swrlb:add", "swrlb:multiply", "swrlb:divide" })
+	public String arithmeticBuiltInName;
+
+	private SWRLBuiltInLibraryManager builtInLibraryManager;
+	private DefaultSWRLBridge bridge;
+	private SWRLBuiltInArgumentFactory argumentFactory;
+	private IRI resultVariableIRI;
+	private SWRLBuiltInArgument arithmeticResult;
+
+	@Setup
+	public void createBridge() throws OWLOntologyCreationException, SWRLBuiltInException
+	{
+		SWRLAPIOWLOntology swrlapiOWLOntology = SyntheticOntology.create(0, 42);
+
+		this.builtInLibraryManager = new SWRLBuiltInLibraryManager();
+		this.bridge = new DefaultSWRLBridge(swrlapiOWLOntology, new DefaultOWL2RLPersistenceLayer(swrlapiOWLOntology));
+		this.argumentFactory = swrlapiOWLOntology.getSWRLAPIOWLDataFactory().getSWRLBuiltInArgumentFactory();
+		this.resultVariableIRI = IRI.create(SyntheticOntology.NAMESPACE + "r");
+		this.arithmeticResult = invokeArithmeticBuiltInWithUnboundResult().get(0).get(0);
+	}
+
+	@Benchmark
+	public List<List<SWRLBuiltInArgument>> invokeComparisonBuiltIn() throws SWRLBuiltInException
+	{
+		List<SWRLBuiltInArgument> arguments = new ArrayList<>();
+
+		arguments.add(this.argumentFactory.getLiteralBuiltInArgument(3));
+		arguments.add(this.argumentFactory.getLiteralBuiltInArgument(7));
+
+		return this.builtInLibraryManager
+				.invokeBuiltIn(this.bridge, "r", this.comparisonBuiltInName, 0, false, arguments);
+	}
+
+	@Benchmark
+	public List<List<SWRLBuiltInArgument>> invokeArithmeticBuiltInWithBoundResult() throws SWRLBuiltInException
+	{
+		List<SWRLBuiltInArgument> arguments = new ArrayList<>();
+
+		arguments.add(this.arithmeticResult);
+		arguments.add(this.argumentFactory.getLiteralBuiltInArgument(7));
+		arguments.add(this.argumentFactory.getLiteralBuiltInArgument(3));
+
+		return this.builtInLibraryManager
+				.invokeBuiltIn(this.bridge, "r", this.arithmeticBuiltInName, 0, false, arguments);
+	}
+
+	@Benchmark
+	public List<List<SWRLBuiltInArgument>> invokeArithmeticBuiltInWithUnboundResult() throws SWRLBuiltInException
+	{
+		List<SWRLBuiltInArgument> arguments = new ArrayList<>();
+
+		arguments.add(this.argumentFactory.getUnboundVariableBuiltInArgument(this.resultVariableIRI));
+		arguments.add(this.argumentFactory.getLiteralBuiltInArgument(7));
+		arguments.add(this.argumentFactory.getLiteralBuiltInArgument(3));
+
+		return this.builtInLibraryManager
+				.invokeBuiltIn(this.bridge, "r", this.arithmeticBuiltInName, 0, false, arguments);
+	}
+}
@@ -0,0 +1,50 @@
+package org.swrlapi.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.swrlapi.parser.SWRLParseException;
+import org.swrlapi.parser.SWRLParser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing SWRL rules and SQWRL queries of increasing size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SWRLParserBenchmark
+{
+	@Param({ "C0(?x) -> C1(?x)",
+			"C0(?x) ^ p0(?x, ?y) ^ d0(?y, ?a) ^ swrlb:greaterThan(?a, 10) -> C1(?x) ^ p1(?y, ?x)",
+			"C0(?x) ^ d0(?x, ?a) ^ d1(?x, ?b) ^ swrlb:add(?c, ?a, ?b) ^ swrlb:multiply(?d, ?c, 2) -> sqwrl:select(?x, ?d) ^ sqwrl:orderBy(?d)" })
+	public String ruleText;
+
+	private SWRLParser parser;
+
+	@Setup
+	public void createParser() throws OWLOntologyCreationException
+	{
+		this.parser = new SWRLParser(SyntheticOntology.create(0, 42));
+	}
+
+	@Benchmark
+	public SWRLRule parseSWRLRule() throws SWRLParseException
+	{
+		return this.parser.parseSWRLRule(this.ruleText, false, "r", "");
+	}
+}
@@ -0,0 +1,102 @@
+package org.swrlapi.benchmarks;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Creates ontologies of a given size for benchmarks. The ontology declares a fixed set of classes and properties, all
+ * named with the {@link #NAMESPACE} prefix, and is then filled with individuals and their class and property assertions
+ * until it has the requested number of axioms. The same seed always produces the same ontology.
+ */
+public class SyntheticOntology
+{
+	public static final String NAMESPACE = "http://swrlapi.org/ontologies/benchmarks#";
+	public static final int NUMBER_OF_CLASSES = 20;
+	public static final int NUMBER_OF_OBJECT_PROPERTIES = 10;
+	public static final int NUMBER_OF_DATA_PROPERTIES = 10;
+
+	public static SWRLAPIOWLOntology create(int numberOfAxioms, long seed) throws OWLOntologyCreationException
+	{
+		OWLOntologyManager ontologyManager = SWRLAPIFactory.createOWLOntologyManager();
+		OWLOntology ontology = ontologyManager.createOntology(IRI.create(NAMESPACE.substring(0, NAMESPACE.length() - 1)));
+		OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+		DefaultPrefixManager prefixManager = SWRLAPIFactory.createPrefixManager(ontology);
+		Set<OWLAxiom> axioms = new HashSet<>();
+		Random random = new Random(seed);
+
+		prefixManager.setDefaultPrefix(NAMESPACE);
+
+		for (int classIndex = 0; classIndex < NUMBER_OF_CLASSES; classIndex++)
+			axioms.add(dataFactory.getOWLDeclarationAxiom(getOWLClass(dataFactory, classIndex)));
+		for (int propertyIndex = 0; propertyIndex < NUMBER_OF_OBJECT_PROPERTIES; propertyIndex++)
+			axioms.add(dataFactory.getOWLDeclarationAxiom(getOWLObjectProperty(dataFactory, propertyIndex)));
+		for (int propertyIndex = 0; propertyIndex < NUMBER_OF_DATA_PROPERTIES; propertyIndex++)
+			axioms.add(dataFactory.getOWLDeclarationAxiom(getOWLDataProperty(dataFactory, propertyIndex)));
+
+		int numberOfIndividuals = Math.max(1, numberOfAxioms / 4);
+		int individualIndex = 0;
+
+		while (axioms.size() < numberOfAxioms) {
+			OWLNamedIndividual individual = getOWLNamedIndividual(dataFactory, individualIndex % numberOfIndividuals);
+			OWLNamedIndividual other = getOWLNamedIndividual(dataFactory, random.nextInt(numberOfIndividuals));
+
+			switch (individualIndex / numberOfIndividuals % 4) {
+			case 0:
+				axioms.add(dataFactory.getOWLDeclarationAxiom(individual));
+				break;
+			case 1:
+				axioms.add(dataFactory
+						.getOWLClassAssertionAxiom(getOWLClass(dataFactory, random.nextInt(NUMBER_OF_CLASSES)), individual));
+				break;
+			case 2:
+				axioms.add(dataFactory.getOWLObjectPropertyAssertionAxiom(
+						getOWLObjectProperty(dataFactory, random.nextInt(NUMBER_OF_OBJECT_PROPERTIES)), individual, other));
+				break;
+			default:
+				axioms.add(dataFactory.getOWLDataPropertyAssertionAxiom(
+						getOWLDataProperty(dataFactory, random.nextInt(NUMBER_OF_DATA_PROPERTIES)), individual,
+						random.nextInt(1000)));
+				break;
+			}
+			individualIndex++;
+		}
+		ontologyManager.addAxioms(ontology, axioms);
+
+		return SWRLAPIFactory.createOntology(ontology, prefixManager);
+	}
+
+	private static OWLClass getOWLClass(OWLDataFactory dataFactory, int classIndex)
+	{
+		return dataFactory.getOWLClass(IRI.create(NAMESPACE + "C" + classIndex));
+	}
+
+	private static OWLObjectProperty getOWLObjectProperty(OWLDataFactory dataFactory, int propertyIndex)
+	{
+		return dataFactory.getOWLObjectProperty(IRI.create(NAMESPACE + "p" + propertyIndex));
+	}
+
+	private static OWLDataProperty getOWLDataProperty(OWLDataFactory dataFactory, int propertyIndex)
+	{
+		return dataFactory.getOWLDataProperty(IRI.create(NAMESPACE + "d" + propertyIndex));
+	}
+
+	private static OWLNamedIndividual getOWLNamedIndividual(OWLDataFactory dataFactory, int individualIndex)
+	{
+		return dataFactory.getOWLNamedIndividual(IRI.create(NAMESPACE + "i" + individualIndex));
+	}
+}
@@ -1,6 +1,7 @@
 package org.swrlapi.bridge;
 
 import java.util.List;
+import java.util.Set;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
@@ -9,6 +10,7 @@ import org.swrlapi.core.*;
 import org.swrlapi.core.resolvers.*;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLRuleEngineBridgeException;
+import org.swrlapi.exceptions.SWRLRuleEngineLimitException;
 import org.swrlapi.owl2rl.OWL2RLPersistenceLayer;
 
 /**
@@ -33,6 +35,41 @@ public interface SWRLRuleEngineBridge
 	 */
 	void inferOWLAxiom(OWLAxiom axiom) throws SWRLRuleEngineBridgeException;
 
+	/**
+	 * This method is used by a target rule engine that supports retraction to withdraw an axiom it previously inferred
+	 * and that is no longer supported after asserted axioms have been retracted.
+	 */
+	void retractInferredOWLAxiom(OWLAxiom axiom) throws SWRLRuleEngineBridgeException;
+
+	/**
+	 * This method is used by a target rule engine to record how an axiom was inferred. An axiom can have several
+	 * derivations and a derivation can be recorded for an axiom that is also asserted. Retracting an inferred axiom also
+	 * discards its derivations.
+	 */
+	void recordOWLAxiomDerivation(OWLAxiom axiom, OWLAxiomDerivation derivation);
+
+	/**
+	 * Withdraw a single derivation of an axiom, typically because one of its premises has been retracted.
+	 */
+	void retractOWLAxiomDerivation(OWLAxiom axiom, OWLAxiomDerivation derivation);
+
+	Set<OWLAxiomDerivation> getOWLAxiomDerivations(OWLAxiom axiom);
+
+	/**
+	 * @return The axioms that have at least one recorded derivation with the supplied axiom as a premise
+	 */
+	Set<OWLAxiom> getOWLAxiomsDerivedFrom(OWLAxiom premise);
+
+	/**
+	 * A target rule engine calls this method periodically during a long evaluation so that a run can be cancelled or
+	 * stopped at the limits of the execution context, if one is set, before its inferences are passed to
+	 * {@link #inferOWLAxiom(org.semanticweb.owlapi.model.OWLAxiom)}.
+	 *
+	 * @param numberOfPendingInferredOWLAxioms The number of distinct axioms inferred but not yet passed to the bridge
+	 * @see org.swrlapi.core.ExecutionContext#checkLimits(long)
+	 */
+	void checkExecutionLimits(long numberOfPendingInferredOWLAxioms) throws SWRLRuleEngineLimitException;
+
 	/**
 	 * This method can be used by a target rule engine to invoke built-ins. If the built-in evaluates to false, an empty
 	 * list is returned. If it evaluates to true, one of more argument lists are returned, one for each combination of
@@ -67,6 +104,20 @@ public interface SWRLRuleEngineBridge
 	 */
 	IRIResolver getIRIResolver();
 
+	/**
+	 * An ID resolver can be used by a target rule engine to represent IRIs and literals as dense integer IDs, so that
+	 * it can join and store facts using integers rather than prefixed names.
+	 */
+	IDResolver getIDResolver();
+
+	/**
+	 * A target rule engine can match triple patterns of IDs directly against the ontology's assertion store, if it has
+	 * one, rather than holding all exported assertions itself.
+	 *
+	 * @return The assertion store or null if assertions are held in memory
+	 */
+	OWLAssertionStore getOWLAssertionStore();
+
 	/**
 	 * A class expression resolver can be used by a target rule engine to resolve OWL class expressions.
 	 */
@@ -3,6 +3,11 @@ package org.swrlapi.bridge;
 import java.util.Set;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.swrlapi.bridge.sinks.InferredAxiomSink;
+import org.swrlapi.core.EngineMetrics;
+import org.swrlapi.core.ExecutionContext;
+import org.swrlapi.core.OWLAxiomDerivation;
+import org.swrlapi.exceptions.SWRLRuleEngineBridgeException;
 
 /**
  * This interface provides access methods to retrieve knowledge inferred by a target rule engine implementation after it
@@ -16,4 +21,35 @@ public interface SWRLRuleEngineBridgeController
 	int getNumberOfInferredOWLAxioms();
 
 	Set<OWLAxiom> getInferredOWLAxioms();
+
+	Set<OWLAxiomDerivation> getOWLAxiomDerivations(OWLAxiom axiom);
+
+	/**
+	 * Pass inferred axioms to a sink as they are inferred instead of retaining them. A null sink restores the default
+	 * behavior.
+	 */
+	void setInferredAxiomSink(InferredAxiomSink sink);
+
+	/**
+	 * Called after each rule engine run to flush the inferred axiom sink, if one is set.
+	 */
+	void flushInferredAxiomSink() throws SWRLRuleEngineBridgeException;
+
+	/**
+	 * Load the axioms inferred and injected by an earlier run, such as a stored materialization, without running the
+	 * target rule engine. The axioms are also defined in the target rule engine.
+	 */
+	void loadMaterializedOWLAxioms(Set<OWLAxiom> inferredOWLAxioms, Set<OWLAxiom> injectedOWLAxioms)
+			throws SWRLRuleEngineBridgeException;
+
+	/**
+	 * Record inferred axioms and built-in invocations in an execution context so that its limits are enforced. A null
+	 * context removes all limits.
+	 */
+	void setExecutionContext(ExecutionContext executionContext);
+
+	/**
+	 * Report inferred axioms and built-in invocations to a metrics listener. A null listener stops reporting.
+	 */
+	void setEngineMetrics(EngineMetrics engineMetrics);
 }
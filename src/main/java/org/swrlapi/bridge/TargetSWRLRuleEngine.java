@@ -1,5 +1,7 @@
 package org.swrlapi.bridge;
 
+import java.util.Collection;
+
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.swrlapi.exceptions.SWRLBuiltInException;
@@ -15,6 +17,12 @@ import org.swrlapi.sqwrl.SQWRLQuery;
  * A SWRL rule engine must also implement an OWL 2 RL reasoner.
  * <p>
  * A target rule engine can communicate with the bridge using the {@link SWRLRuleEngineBridge} interface.
+ * <p>
+ * Knowledge is exported to a target rule engine incrementally. After the initial export, only axioms that have been
+ * added to or removed from the ontology since the previous export are passed to the target rule engine using the
+ * define and retract methods. A target rule engine that cannot retract axioms should throw a
+ * {@link org.swrlapi.exceptions.TargetSWRLRuleEngineNotImplementedFeatureException} from the retract methods; it will
+ * then be reset and all knowledge will be exported to it again.
  *
  * @see org.swrlapi.core.SWRLRuleEngine
  * @see org.swrlapi.owl2rl.OWL2RLEngine
@@ -29,11 +37,36 @@ public interface TargetSWRLRuleEngine
 	 */
 	void defineOWLAxiom(OWLAxiom axiom) throws TargetSWRLRuleEngineException;
 
+	/**
+	 * Define target rule engine representations of a collection of OWL axioms.
+	 */
+	void defineOWLAxioms(Collection<? extends OWLAxiom> axioms) throws TargetSWRLRuleEngineException;
+
+	/**
+	 * Retract the target rule engine representation of a previously defined OWL axiom. The target rule engine is
+	 * responsible for withdrawing any knowledge it inferred that is no longer supported by the remaining axioms. It
+	 * should inform the bridge of withdrawn inferences using
+	 * {@link SWRLRuleEngineBridge#retractInferredOWLAxiom(org.semanticweb.owlapi.model.OWLAxiom)}.
+	 */
+	void retractOWLAxiom(OWLAxiom axiom) throws TargetSWRLRuleEngineException;
+
+	/**
+	 * Retract the target rule engine representations of a collection of previously defined OWL axioms.
+	 */
+	void retractOWLAxioms(Collection<? extends OWLAxiom> axioms) throws TargetSWRLRuleEngineException;
+
 	/**
 	 * Define a target rule engine representation of a SQWRL query.
 	 */
 	void defineSQWRLQuery(SQWRLQuery query) throws TargetSWRLRuleEngineException, SWRLBuiltInException;
 
+	/**
+	 * Retract the target rule engine representation of a previously defined SQWRL query. Knowledge inferred from the
+	 * asserted axioms and SWRL rules should be retained. Used by {@link org.swrlapi.sqwrl.SQWRLQuerySession}s to run
+	 * successive queries without reloading the ontology.
+	 */
+	void retractSQWRLQuery(SQWRLQuery query) throws TargetSWRLRuleEngineException;
+
 	/**
 	 * Run the rule engine.
 	 */
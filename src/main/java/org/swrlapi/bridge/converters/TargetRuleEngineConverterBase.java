@@ -21,6 +21,11 @@ public abstract class TargetRuleEngineConverterBase implements TargetRuleEngineC
 		return getBridge().getIRIResolver();
 	}
 
+	protected IDResolver getIDResolver()
+	{
+		return getBridge().getIDResolver();
+	}
+
 	protected OWLClassExpressionResolver getOWLClassExpressionResolver()
 	{
 		return getBridge().getOWLClassExpressionResolver();
@@ -0,0 +1,60 @@
+package org.swrlapi.bridge.converters;
+
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+
+/**
+ * Converts OWL entities to the integer IDs of their IRIs, for target rule engines that store and join facts using
+ * integers rather than prefixed names.
+ *
+ * @see org.swrlapi.core.resolvers.IDResolver
+ */
+public class TargetRuleEngineOWLEntityIDConverter extends TargetRuleEngineConverterBase
+		implements TargetRuleEngineOWLEntityConverter<Integer>
+{
+	public TargetRuleEngineOWLEntityIDConverter(SWRLRuleEngineBridge bridge)
+	{
+		super(bridge);
+	}
+
+	@Override
+	public Integer convert(OWLClass cls)
+	{
+		return getIDResolver().getID(cls);
+	}
+
+	@Override
+	public Integer convert(OWLNamedIndividual individual)
+	{
+		return getIDResolver().getID(individual);
+	}
+
+	@Override
+	public Integer convert(OWLObjectProperty property)
+	{
+		return getIDResolver().getID(property);
+	}
+
+	@Override
+	public Integer convert(OWLDataProperty property)
+	{
+		return getIDResolver().getID(property);
+	}
+
+	@Override
+	public Integer convert(OWLAnnotationProperty property)
+	{
+		return getIDResolver().getID(property);
+	}
+
+	@Override
+	public Integer convert(OWLDatatype datatype)
+	{
+		return getIDResolver().getID(datatype);
+	}
+}
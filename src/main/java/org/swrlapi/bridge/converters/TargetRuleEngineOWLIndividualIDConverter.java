@@ -0,0 +1,24 @@
+package org.swrlapi.bridge.converters;
+
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+
+/**
+ * Converts named and anonymous individuals to integer IDs.
+ *
+ * @see org.swrlapi.core.resolvers.IDResolver
+ */
+public class TargetRuleEngineOWLIndividualIDConverter extends TargetRuleEngineConverterBase
+		implements TargetRuleEngineOWLIndividualConverter<Integer>
+{
+	public TargetRuleEngineOWLIndividualIDConverter(SWRLRuleEngineBridge bridge)
+	{
+		super(bridge);
+	}
+
+	@Override
+	public Integer convert(OWLIndividual individual)
+	{
+		return getIDResolver().getID(individual);
+	}
+}
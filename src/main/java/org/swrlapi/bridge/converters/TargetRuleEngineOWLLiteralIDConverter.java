@@ -0,0 +1,24 @@
+package org.swrlapi.bridge.converters;
+
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+
+/**
+ * Converts literals to integer IDs. Literals with the same datatype and value are converted to the same ID.
+ *
+ * @see org.swrlapi.core.resolvers.IDResolver
+ */
+public class TargetRuleEngineOWLLiteralIDConverter extends TargetRuleEngineConverterBase
+		implements TargetRuleEngineOWLLiteralConverter<Integer>
+{
+	public TargetRuleEngineOWLLiteralIDConverter(SWRLRuleEngineBridge bridge)
+	{
+		super(bridge);
+	}
+
+	@Override
+	public Integer convert(OWLLiteral literal)
+	{
+		return getIDResolver().getID(literal);
+	}
+}
@@ -0,0 +1,79 @@
+package org.swrlapi.bridge.sinks;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.swrlapi.exceptions.SWRLRuleEngineBridgeException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Hands inferred axioms to a consumer running in another thread through a bounded queue. When the queue is full the
+ * rule engine blocks until the consumer catches up, so the number of axioms held in memory never exceeds the queue
+ * capacity.
+ * <p/>
+ * The consumer calls {@link #take()} until it returns null, which it does once the sink has been closed and all
+ * queued axioms have been taken.
+ */
+public class BoundedQueueInferredAxiomSink implements InferredAxiomSink
+{
+	private static final Object END_OF_STREAM = new Object();
+
+	private final BlockingQueue<Object> queue;
+	private volatile boolean isClosed;
+
+	public BoundedQueueInferredAxiomSink(int capacity)
+	{
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.isClosed = false;
+	}
+
+	@Override
+	public void acceptInferredOWLAxiom(OWLAxiom axiom) throws SWRLRuleEngineBridgeException
+	{
+		if (this.isClosed)
+			throw new SWRLRuleEngineBridgeException("inferred axiom sink is closed");
+
+		put(axiom);
+	}
+
+	@Override
+	public void flush()
+	{
+		// Axioms are available to the consumer as soon as they are queued
+	}
+
+	@Override
+	public void close() throws SWRLRuleEngineBridgeException
+	{
+		if (!this.isClosed) {
+			this.isClosed = true;
+			put(END_OF_STREAM);
+		}
+	}
+
+	/**
+	 * Wait for the next inferred axiom.
+	 *
+	 * @return The next axiom or null if the sink has been closed and no axioms remain
+	 */
+	public OWLAxiom take() throws InterruptedException
+	{
+		Object element = this.queue.take();
+
+		if (element == END_OF_STREAM) {
+			this.queue.put(END_OF_STREAM); // Leave the marker for other consumers
+			return null;
+		} else
+			return (OWLAxiom)element;
+	}
+
+	private void put(Object element) throws SWRLRuleEngineBridgeException
+	{
+		try {
+			this.queue.put(element);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SWRLRuleEngineBridgeException("interrupted while queueing inferred axiom", e);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package org.swrlapi.bridge.sinks;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.swrlapi.exceptions.SWRLRuleEngineBridgeException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Passes inferred axioms to a callback in batches. A batch is delivered when it reaches the batch size and when the
+ * sink is flushed, so at most one batch of axioms is held in memory.
+ */
+public class CallbackInferredAxiomSink implements InferredAxiomSink
+{
+	public interface Callback
+	{
+		void inferredOWLAxioms(List<OWLAxiom> axioms) throws SWRLRuleEngineBridgeException;
+	}
+
+	private final Callback callback;
+	private final int batchSize;
+	private List<OWLAxiom> batch;
+
+	public CallbackInferredAxiomSink(Callback callback, int batchSize)
+	{
+		if (batchSize < 1)
+			throw new IllegalArgumentException("batch size must be at least 1, got " + batchSize);
+
+		this.callback = callback;
+		this.batchSize = batchSize;
+		this.batch = new ArrayList<>(batchSize);
+	}
+
+	public CallbackInferredAxiomSink(Callback callback)
+	{
+		this(callback, 1);
+	}
+
+	@Override
+	public void acceptInferredOWLAxiom(OWLAxiom axiom) throws SWRLRuleEngineBridgeException
+	{
+		this.batch.add(axiom);
+
+		if (this.batch.size() >= this.batchSize)
+			flush();
+	}
+
+	@Override
+	public void flush() throws SWRLRuleEngineBridgeException
+	{
+		if (!this.batch.isEmpty()) {
+			List<OWLAxiom> axioms = this.batch;
+
+			this.batch = new ArrayList<>(this.batchSize);
+			this.callback.inferredOWLAxioms(axioms);
+		}
+	}
+
+	@Override
+	public void close() throws SWRLRuleEngineBridgeException
+	{
+		flush();
+	}
+}
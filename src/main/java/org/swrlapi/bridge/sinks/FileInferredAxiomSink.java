@@ -0,0 +1,75 @@
+package org.swrlapi.bridge.sinks;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.swrlapi.exceptions.SWRLRuleEngineBridgeException;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes inferred axioms to a file, one axiom per line in the OWLAPI's default (functional-style) rendering. Axioms are
+ * written as they are inferred through a buffered writer, so memory use does not grow with the number of inferences.
+ */
+public class FileInferredAxiomSink implements InferredAxiomSink
+{
+	private final File file;
+	private final Writer writer;
+	private long numberOfWrittenOWLAxioms;
+
+	public FileInferredAxiomSink(File file) throws SWRLRuleEngineBridgeException
+	{
+		this.file = file;
+		this.numberOfWrittenOWLAxioms = 0;
+
+		try {
+			this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new SWRLRuleEngineBridgeException("error opening inferred axiom file " + file + ": " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public void acceptInferredOWLAxiom(OWLAxiom axiom) throws SWRLRuleEngineBridgeException
+	{
+		try {
+			this.writer.write(axiom.toString());
+			this.writer.write('\n');
+			this.numberOfWrittenOWLAxioms++;
+		} catch (IOException e) {
+			throw new SWRLRuleEngineBridgeException("error writing inferred axiom to " + this.file + ": " + e.getMessage(),
+					e);
+		}
+	}
+
+	@Override
+	public void flush() throws SWRLRuleEngineBridgeException
+	{
+		try {
+			this.writer.flush();
+		} catch (IOException e) {
+			throw new SWRLRuleEngineBridgeException("error flushing inferred axiom file " + this.file + ": " + e.getMessage(),
+					e);
+		}
+	}
+
+	@Override
+	public void close() throws SWRLRuleEngineBridgeException
+	{
+		try {
+			this.writer.close();
+		} catch (IOException e) {
+			throw new SWRLRuleEngineBridgeException("error closing inferred axiom file " + this.file + ": " + e.getMessage(),
+					e);
+		}
+	}
+
+	public long getNumberOfWrittenOWLAxioms()
+	{
+		return this.numberOfWrittenOWLAxioms;
+	}
+}
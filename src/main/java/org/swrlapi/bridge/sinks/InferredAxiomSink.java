@@ -0,0 +1,35 @@
+package org.swrlapi.bridge.sinks;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.swrlapi.exceptions.SWRLRuleEngineBridgeException;
+
+/**
+ * Receives OWL axioms as they are inferred by a target rule engine. A sink installed with
+ * {@link org.swrlapi.core.SWRLRuleEngine#setInferredAxiomSink(InferredAxiomSink)} is passed each inferred axiom that
+ * is not asserted in the ontology while the rule engine is running. Inferred axioms are then not retained by the
+ * bridge, so the memory used for them is determined by the sink.
+ * <p/>
+ * Axioms passed to a sink are not deduplicated, since that would mean retaining them. A target rule engine may infer
+ * the same axiom more than once, and a run after the rule engine is reset infers its axioms again, so a sink may be
+ * passed an axiom more than once. The native rule engine passes each axiom at most once per run. Sinks that need
+ * distinct axioms must remove duplicates themselves.
+ *
+ * @see org.swrlapi.bridge.sinks.CallbackInferredAxiomSink
+ * @see org.swrlapi.bridge.sinks.BoundedQueueInferredAxiomSink
+ * @see org.swrlapi.bridge.sinks.FileInferredAxiomSink
+ */
+public interface InferredAxiomSink extends AutoCloseable
+{
+	void acceptInferredOWLAxiom(OWLAxiom axiom) throws SWRLRuleEngineBridgeException;
+
+	/**
+	 * Called when a rule engine run completes.
+	 */
+	void flush() throws SWRLRuleEngineBridgeException;
+
+	/**
+	 * Flush the sink and release its resources. No further axioms may be passed to a closed sink.
+	 */
+	@Override
+	void close() throws SWRLRuleEngineBridgeException;
+}
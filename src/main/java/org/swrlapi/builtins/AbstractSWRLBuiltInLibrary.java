@@ -52,6 +52,9 @@ import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
  * Provides invocation context for invoked built-ins (such the name of invoking rule, whether the invocation is
  * in the consequent or the antecedent) and access to the invoking {@link org.swrlapi.builtins.SWRLBuiltInBridge}.
  * Also provides implementations for a large number of SWRL built-in argument processing methods.
+ * <p/>
+ * Because the invocation context is held in the library, only one built-in of a library is invoked at a time and
+ * concurrent invocations from a rule engine that evaluates rules on several threads wait for each other.
  *
  * @see org.swrlapi.builtins.SWRLBuiltInLibrary
  * @see org.swrlapi.builtins.SWRLBuiltInContext
@@ -12,6 +12,12 @@ public interface SWRLBuiltInBridgeController
 {
 	void reset() throws SWRLBuiltInBridgeException;
 
+	/**
+	 * Reset the state held by the SQWRL built-in library, such as collections, without discarding inferred or injected
+	 * axioms.
+	 */
+	void resetSQWRLBuiltIns() throws SWRLBuiltInBridgeException;
+
 	int getNumberOfInjectedOWLAxioms();
 
 	boolean isInjectedOWLAxiom(OWLAxiom axiom);
@@ -9,6 +9,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
@@ -23,20 +25,33 @@ import org.swrlapi.exceptions.UnresolvedSWRLBuiltInMethodException;
  * This class manages the dynamic loading of SWRL built-in libraries and the invocation of built-ins in those libraries.
  * A library is identified by a prefix and this prefix is used to find and dynamically load a Java class implementing
  * the built-ins in this library.
+ * <p>
+ * Built-in libraries hold state, such as SQWRL collections, on behalf of the rule engine that invokes them. Each
+ * built-in bridge therefore has its own manager and its own library instances, so rule engines running in different
+ * threads do not share built-in state. Resolved built-in methods are shared by all managers.
  *
  * @see org.swrlapi.builtins.SWRLBuiltInLibrary
  */
-public abstract class SWRLBuiltInLibraryManager
+public class SWRLBuiltInLibraryManager
 {
 	private static final String BuiltInLibraryPackageBaseName = "org.swrlapi.builtins.";
 
-	// Holds instances of implementation classes defining built-in libraries
-	private static final Map<String, SWRLBuiltInLibrary> builtInLibraries;
-	private static final Map<String, Method> methods;
+	private static final ConcurrentMap<String, Method> methods;
+
+	// Used only by the deprecated static methods
+	private static final SWRLBuiltInLibraryManager sharedBuiltInLibraryManager;
 
 	static {
-		builtInLibraries = new HashMap<String, SWRLBuiltInLibrary>();
-		methods = new HashMap<String, Method>();
+		methods = new ConcurrentHashMap<String, Method>();
+		sharedBuiltInLibraryManager = new SWRLBuiltInLibraryManager();
+	}
+
+	// Holds instances of implementation classes defining built-in libraries
+	private final Map<String, SWRLBuiltInLibrary> builtInLibraries;
+
+	public SWRLBuiltInLibraryManager()
+	{
+		this.builtInLibraries = new HashMap<String, SWRLBuiltInLibrary>();
 	}
 
 	/**
@@ -49,9 +64,8 @@ public abstract class SWRLBuiltInLibraryManager
 	 * <p>
 	 * If the built-in evaluates to false, it will return an empty argument pattern list.
 	 */
-	public static List<List<SWRLBuiltInArgument>> invokeSWRLBuiltIn(SWRLBuiltInBridge bridge, String ruleName,
-			String builtInName, int builtInIndex, boolean isInConsequent, List<SWRLBuiltInArgument> arguments)
-			throws SWRLBuiltInException
+	public List<List<SWRLBuiltInArgument>> invokeBuiltIn(SWRLBuiltInBridge bridge, String ruleName, String builtInName,
+			int builtInIndex, boolean isInConsequent, List<SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
 	{
 		String prefix = getPrefix(builtInName);
 		String implementationClassName = getBuiltInLibraryImplementationClassName(prefix);
@@ -77,6 +91,21 @@ public abstract class SWRLBuiltInLibraryManager
 		return argumentPatterns;
 	}
 
+	/**
+	 * Invoke a SWRL built-in in libraries shared by all callers of this method.
+	 *
+	 * @deprecated Shared libraries share their state between rule engines. Use
+	 * {@link #invokeBuiltIn(SWRLBuiltInBridge, String, String, int, boolean, java.util.List)} on the manager of a bridge.
+	 */
+	@Deprecated
+	public static List<List<SWRLBuiltInArgument>> invokeSWRLBuiltIn(SWRLBuiltInBridge bridge, String ruleName,
+			String builtInName, int builtInIndex, boolean isInConsequent, List<SWRLBuiltInArgument> arguments)
+			throws SWRLBuiltInException
+	{
+		return sharedBuiltInLibraryManager
+				.invokeBuiltIn(bridge, ruleName, builtInName, builtInIndex, isInConsequent, arguments);
+	}
+
 	private static void processBoundArguments(List<SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
 	{
 		for (int argumentIndex = 0; argumentIndex < arguments.size(); argumentIndex++) {
@@ -86,16 +115,17 @@ public abstract class SWRLBuiltInLibraryManager
 		}
 	}
 
-	private static SWRLBuiltInLibrary loadBuiltInLibrary(SWRLBuiltInBridge bridge, String ruleName, String prefix,
+	// Synchronized because a rule engine may invoke built-ins from several threads
+	private synchronized SWRLBuiltInLibrary loadBuiltInLibrary(SWRLBuiltInBridge bridge, String ruleName, String prefix,
 			String implementationClassName) throws SWRLBuiltInLibraryException
 	{
 		SWRLBuiltInLibrary library;
 
-		if (builtInLibraries.containsKey(prefix)) { // Find the cached implementation.
-			library = builtInLibraries.get(prefix);
+		if (this.builtInLibraries.containsKey(prefix)) { // Find the cached implementation.
+			library = this.builtInLibraries.get(prefix);
 		} else { // Implementation class not loaded - load it, cache it, and call its reset method.
 			library = loadBuiltInLibraryImpl(ruleName, prefix, implementationClassName);
-			builtInLibraries.put(prefix, library);
+			this.builtInLibraries.put(prefix, library);
 			invokeBuiltInLibraryResetMethod(bridge, library);
 		}
 		return library;
@@ -141,12 +171,35 @@ public abstract class SWRLBuiltInLibraryManager
 		}
 	}
 
-	public static void invokeAllBuiltInLibrariesResetMethod(SWRLBuiltInBridge bridge) throws SWRLBuiltInLibraryException
+	public synchronized void invokeBuiltInLibraryResetMethods(SWRLBuiltInBridge bridge)
+			throws SWRLBuiltInLibraryException
 	{
-		for (SWRLBuiltInLibrary library : builtInLibraries.values())
+		for (SWRLBuiltInLibrary library : this.builtInLibraries.values())
 			invokeBuiltInLibraryResetMethod(bridge, library);
 	}
 
+	/**
+	 * Invoke the reset() method of each library loaded by {@link #invokeSWRLBuiltIn}.
+	 *
+	 * @deprecated Use {@link #invokeBuiltInLibraryResetMethods(SWRLBuiltInBridge)} on the manager of a bridge.
+	 */
+	@Deprecated
+	public static void invokeAllBuiltInLibrariesResetMethod(SWRLBuiltInBridge bridge) throws SWRLBuiltInLibraryException
+	{
+		sharedBuiltInLibraryManager.invokeBuiltInLibraryResetMethods(bridge);
+	}
+
+	/**
+	 * Invoke the reset() method of the built-in library with the supplied prefix (e.g., sqwrl). Libraries that have not
+	 * been loaded have no state to reset.
+	 */
+	public synchronized void invokeBuiltInLibraryResetMethod(SWRLBuiltInBridge bridge, String prefix)
+			throws SWRLBuiltInLibraryException
+	{
+		if (this.builtInLibraries.containsKey(prefix))
+			invokeBuiltInLibraryResetMethod(bridge, this.builtInLibraries.get(prefix));
+	}
+
 	/**
 	 * This method is called with a list of built-in arguments. Some argument positions may contain multi-arguments,
 	 * indicating that there is more than one pattern. If the result has more than one multi-argument, each multi-argument
@@ -231,8 +284,10 @@ public abstract class SWRLBuiltInLibraryManager
 	{
 		String key = prefix + ":" + builtInMethodName;
 
-		if (methods.containsKey(key))
-			return methods.get(key);
+		Method cachedMethod = methods.get(key);
+
+		if (cachedMethod != null)
+			return cachedMethod;
 		else {
 			try {
 				Method method = library.getClass().getMethod(builtInMethodName, new Class[] { List.class });
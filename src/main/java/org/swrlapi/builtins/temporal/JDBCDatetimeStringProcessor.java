@@ -8,7 +8,7 @@ import java.text.SimpleDateFormat;
  */
 public class JDBCDatetimeStringProcessor extends DatetimeStringProcessor
 {
-	private static final SimpleDateFormat _dateFormat = new SimpleDateFormat("y-M-d h:m:s.S");
+	private static final String _dateFormatPattern = "y-M-d h:m:s.S"; // SimpleDateFormat is not thread safe
 	private static final String _delimiters = " -:."; // Note the space.
 
 	// The number of tokens (including delimeters) necessary to strip a datetime to a specified granularity.
@@ -28,7 +28,7 @@ public class JDBCDatetimeStringProcessor extends DatetimeStringProcessor
 
 	public JDBCDatetimeStringProcessor()
 	{
-		super(_dateFormat, _delimiters, _gTokenIndex, _datetimeRoundDownPadding, _datetimeRoundUpPadding);
+		super(new SimpleDateFormat(_dateFormatPattern), _delimiters, _gTokenIndex, _datetimeRoundDownPadding, _datetimeRoundUpPadding);
 	}
 
 	@Override
@@ -627,7 +627,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 		OWLDataPropertyAssertionAxiom axiom = axioms.toArray(new OWLDataPropertyAssertionAxiom[0])[0];
 		OWLLiteral value = axiom.getObject();
 
-		return value.toString();
+		return value.getLiteral();
 	}
 
 	/*
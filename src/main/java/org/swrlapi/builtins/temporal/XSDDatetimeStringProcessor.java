@@ -11,7 +11,7 @@ import java.text.SimpleDateFormat;
  */
 public class XSDDatetimeStringProcessor extends DatetimeStringProcessor
 {
-	private static final SimpleDateFormat _dateFormat = new SimpleDateFormat("y-M-d'T'h:m:s.S");
+	private static final String _dateFormatPattern = "y-M-d'T'h:m:s.S"; // SimpleDateFormat is not thread safe
 	private static final String _delimiters = "-:.TZ";
 
 	// The number of tokens (including delimeters) necessary to strip a datetime to a specified granularity.
@@ -27,7 +27,7 @@ public class XSDDatetimeStringProcessor extends DatetimeStringProcessor
 
 	public XSDDatetimeStringProcessor()
 	{
-		super(_dateFormat, _delimiters, _gTokenIndex, _datetimeRoundDownPadding, _datetimeRoundUpPadding);
+		super(new SimpleDateFormat(_dateFormatPattern), _delimiters, _gTokenIndex, _datetimeRoundDownPadding, _datetimeRoundUpPadding);
 	}
 
 	@Override
@@ -0,0 +1,34 @@
+package org.swrlapi.core;
+
+import org.semanticweb.owlapi.model.AxiomType;
+
+/**
+ * Receives timings and counts from a rule engine as it works. Durations are reported for each phase of the work done by
+ * the engine so that time spent in the SWRLAPI can be told apart from time spent in the target rule engine. Phases may
+ * be nested: for example, a reset includes processing the ontology.
+ * <p/>
+ * A listener may be shared by rule engines running in different threads.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLQueryEngine#setEngineMetrics(EngineMetrics)
+ * @see org.swrlapi.core.SWRLAPIFactory#createEngineMetrics()
+ */
+public interface EngineMetrics
+{
+	enum Phase
+	{
+		RESET, PROCESS_ONTOLOGY, EXPORT_OWL_AXIOMS, RUN_TARGET_RULE_ENGINE, PREPARE_SQWRL_RESULTS, WRITE_INFERRED_KNOWLEDGE
+	}
+
+	/**
+	 * @param duration The duration of the phase in nanoseconds
+	 */
+	void phaseCompleted(Phase phase, long duration);
+
+	void owlAxiomsExported(AxiomType<?> axiomType, int numberOfAxioms);
+
+	void owlAxiomInferred(AxiomType<?> axiomType);
+
+	void builtInInvoked(String builtInName);
+
+	void sqwrlResultPrepared(String queryName, int numberOfRows);
+}
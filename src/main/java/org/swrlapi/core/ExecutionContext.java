@@ -0,0 +1,57 @@
+package org.swrlapi.core;
+
+import org.swrlapi.exceptions.SWRLRuleEngineLimitException;
+
+/**
+ * Limits the work done by each run of a rule engine. A context has a wall-clock timeout, a maximum number of inferred
+ * OWL axioms, and a maximum number of built-in invocations, and it can be cancelled from another thread.
+ * <p/>
+ * A rule engine calls {@link #start()} before each run of its target rule engine, which restarts the clock and clears
+ * the counts. The limits are checked each time the target rule engine infers an axiom or invokes a built-in; when one
+ * is reached a {@link org.swrlapi.exceptions.SWRLRuleEngineLimitException} is thrown from the rule engine call. A
+ * cancelled context stays cancelled, so a new context must be set before the rule engine can run again.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLQueryEngine#setExecutionContext(ExecutionContext)
+ * @see org.swrlapi.core.SWRLAPIFactory#createExecutionContext(long, long, long)
+ */
+public interface ExecutionContext
+{
+	long UNLIMITED = Long.MAX_VALUE;
+
+	/**
+	 * Stop the current run, or the next one if no run is in progress. May be called from any thread.
+	 */
+	void cancel();
+
+	boolean isCancelled();
+
+	void start();
+
+	/**
+	 * @throws SWRLRuleEngineLimitException If the context has been cancelled or the timeout has passed
+	 */
+	void checkLimits() throws SWRLRuleEngineLimitException;
+
+	/**
+	 * Used by a target rule engine that collects its inferences before it passes them on, so that a run is stopped as
+	 * soon as the collected inferences would exceed the limit rather than once they have all been collected.
+	 *
+	 * @param numberOfPendingInferredOWLAxioms The number of distinct axioms inferred but not yet recorded
+	 * @throws SWRLRuleEngineLimitException If the context has been cancelled, the timeout has passed, or recording the
+	 *                                      pending axioms would exceed the inferred axiom limit
+	 */
+	void checkLimits(long numberOfPendingInferredOWLAxioms) throws SWRLRuleEngineLimitException;
+
+	void recordInferredOWLAxiom() throws SWRLRuleEngineLimitException;
+
+	void recordBuiltInInvocation() throws SWRLRuleEngineLimitException;
+
+	/**
+	 * @return The time in milliseconds since the current run started
+	 */
+	long getElapsedTime();
+
+	long getNumberOfInferredOWLAxioms();
+
+	long getNumberOfBuiltInInvocations();
+}
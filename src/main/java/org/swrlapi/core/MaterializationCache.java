@@ -0,0 +1,37 @@
+package org.swrlapi.core;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.swrlapi.exceptions.SWRLRuleEngineException;
+
+import java.util.Set;
+
+/**
+ * Stores the axioms inferred by a rule engine so that inference does not have to be repeated when the rule engine is
+ * next asked to infer from identical inputs, for example after a restart.
+ * <p/>
+ * Materializations are keyed by a fingerprint of the inputs to inference, which a {@link SWRLRuleEngine} computes from
+ * its asserted OWL axioms, its SWRL rules and their active status, its enabled OWL 2 RL rules, and the target rule
+ * engine.
+ *
+ * @see org.swrlapi.core.SWRLRuleEngine#setMaterializationCache(MaterializationCache)
+ * @see org.swrlapi.core.SWRLAPIFactory#createMaterializationCache(java.io.File)
+ */
+public interface MaterializationCache
+{
+	/**
+	 * @return The materialization stored for the fingerprint or null if there is none
+	 */
+	Materialization load(String fingerprint) throws SWRLRuleEngineException;
+
+	void store(String fingerprint, Set<OWLAxiom> inferredOWLAxioms, Set<OWLAxiom> injectedOWLAxioms)
+			throws SWRLRuleEngineException;
+
+	void clear() throws SWRLRuleEngineException;
+
+	interface Materialization
+	{
+		Set<OWLAxiom> getInferredOWLAxioms();
+
+		Set<OWLAxiom> getInjectedOWLAxioms();
+	}
+}
@@ -0,0 +1,80 @@
+package org.swrlapi.core;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+/**
+ * A store for OWL class, object property and data property assertions that keeps them outside the Java heap. Each
+ * assertion is held as a subject, predicate, object triple of IDs assigned by the ontology's
+ * {@link org.swrlapi.core.resolvers.IDResolver}. A class assertion has the ID of <code>rdf:type</code> as its
+ * predicate and the ID of its class as its object.
+ * <p/>
+ * When a store is set on a {@link org.swrlapi.core.SWRLAPIOWLOntology} the assertions extracted during ontology
+ * processing are held by the store rather than in memory. Target rule engines can match triple patterns directly
+ * against the store using the bridge's {@link org.swrlapi.bridge.SWRLRuleEngineBridge#getOWLAssertionStore()}.
+ * <p/>
+ * A cursor throws a {@link java.util.ConcurrentModificationException} if it is used after the store has been modified.
+ *
+ * @see org.swrlapi.core.SWRLAPIOWLOntology#setOWLAssertionStore(OWLAssertionStore)
+ * @see org.swrlapi.core.SWRLAPIFactory#createOWLAssertionStore(SWRLAPIOWLOntology, java.io.File)
+ */
+public interface OWLAssertionStore extends Iterable<OWLAxiom>
+{
+	/**
+	 * Add an assertion. Adding an assertion that is already in the store has no effect.
+	 *
+	 * @return False if the assertion was already in the store or if the axiom cannot be held by the store
+	 * @see #canHold(OWLAxiom)
+	 */
+	boolean add(OWLAxiom axiom);
+
+	/**
+	 * @return False if the axiom cannot be held by the store, for example because it is annotated or its class is
+	 * anonymous
+	 */
+	boolean canHold(OWLAxiom axiom);
+
+	/**
+	 * @return True if the assertion was in the store
+	 */
+	boolean remove(OWLAxiom axiom);
+
+	boolean contains(OWLAxiom axiom);
+
+	int size();
+
+	void clear();
+
+	/**
+	 * Match a triple pattern against the store. Pass {@link org.swrlapi.core.resolvers.IDResolver#NO_ID} for any
+	 * position that should match all IDs.
+	 */
+	Cursor find(int subjectID, int predicateID, int objectID);
+
+	/**
+	 * @return The ID used as the predicate of class assertions
+	 */
+	int getClassAssertionPredicateID();
+
+	/**
+	 * Release the files held by the store. The store cannot be used once it is closed.
+	 */
+	void close();
+
+	interface Cursor
+	{
+		/**
+		 * Move to the next matching triple.
+		 *
+		 * @return False if there are no more matching triples
+		 */
+		boolean next();
+
+		int getSubjectID();
+
+		int getPredicateID();
+
+		int getObjectID();
+
+		OWLAxiom getOWLAxiom();
+	}
+}
@@ -0,0 +1,46 @@
+package org.swrlapi.core;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The OWL axioms and SWRL rules added to and removed from the processed axioms of an ontology by a single processing
+ * run. An axiom is never both added and removed.
+ *
+ * @see org.swrlapi.core.SWRLAPIOWLOntology#getProcessedOWLAxiomChanges()
+ */
+public final class OWLAxiomChanges
+{
+	private final Set<OWLAxiom> addedOWLAxioms;
+	private final Set<OWLAxiom> removedOWLAxioms;
+
+	public OWLAxiomChanges(Set<OWLAxiom> addedOWLAxioms, Set<OWLAxiom> removedOWLAxioms)
+	{
+		this.addedOWLAxioms = Collections.unmodifiableSet(new HashSet<>(addedOWLAxioms));
+		this.removedOWLAxioms = Collections.unmodifiableSet(new HashSet<>(removedOWLAxioms));
+	}
+
+	public Set<OWLAxiom> getAddedOWLAxioms()
+	{
+		return this.addedOWLAxioms;
+	}
+
+	public Set<OWLAxiom> getRemovedOWLAxioms()
+	{
+		return this.removedOWLAxioms;
+	}
+
+	public boolean isEmpty()
+	{
+		return this.addedOWLAxioms.isEmpty() && this.removedOWLAxioms.isEmpty();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "added " + this.addedOWLAxioms + " removed " + this.removedOWLAxioms;
+	}
+}
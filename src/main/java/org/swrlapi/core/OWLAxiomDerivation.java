@@ -0,0 +1,61 @@
+package org.swrlapi.core;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records that an OWL axiom was inferred by firing a rule whose body atoms were matched by the premise axioms. Built-in
+ * atoms in the body are not represented because they do not depend on other axioms.
+ *
+ * @see org.swrlapi.core.SWRLRuleEngine#getOWLAxiomDerivations(OWLAxiom)
+ * @see org.swrlapi.bridge.SWRLRuleEngineBridge#recordOWLAxiomDerivation(OWLAxiom, OWLAxiomDerivation)
+ */
+public final class OWLAxiomDerivation
+{
+	private final String ruleName;
+	private final List<OWLAxiom> premises;
+
+	public OWLAxiomDerivation(String ruleName, List<OWLAxiom> premises)
+	{
+		this.ruleName = ruleName;
+		this.premises = Collections.unmodifiableList(new ArrayList<>(premises));
+	}
+
+	public String getRuleName()
+	{
+		return this.ruleName;
+	}
+
+	public List<OWLAxiom> getPremises()
+	{
+		return this.premises;
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+			return true;
+		if (!(obj instanceof OWLAxiomDerivation))
+			return false;
+
+		OWLAxiomDerivation other = (OWLAxiomDerivation)obj;
+
+		return this.ruleName.equals(other.ruleName) && this.premises.equals(other.premises);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return 31 * this.ruleName.hashCode() + this.premises.hashCode();
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.ruleName + " " + this.premises;
+	}
+}
@@ -11,18 +11,27 @@ import org.semanticweb.owlapi.util.DefaultPrefixManager;
 import org.semanticweb.owlapi.util.SimpleIRIMapper;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentFactory;
 import org.swrlapi.builtins.arguments.impl.DefaultSWRLBuiltInArgumentFactory;
+import org.swrlapi.core.impl.DefaultEngineMetrics;
+import org.swrlapi.core.impl.DefaultExecutionContext;
+import org.swrlapi.core.impl.DefaultMaterializationCache;
+import org.swrlapi.core.impl.DefaultOWLAssertionStore;
 import org.swrlapi.core.impl.DefaultOWLLiteralFactory;
 import org.swrlapi.core.impl.DefaultSWRLAPILiteralFactory;
 import org.swrlapi.core.impl.DefaultSWRLAPIOWLDataFactory;
 import org.swrlapi.core.impl.DefaultSWRLAPIOWLDatatypeFactory;
 import org.swrlapi.core.impl.DefaultSWRLAPIOWLOntology;
+import org.swrlapi.core.impl.DefaultSWRLAPIOntologySnapshot;
+import org.swrlapi.core.impl.SWRLAPIOntologySnapshotFile;
 import org.swrlapi.core.impl.DefaultSWRLAPIOntologyProcessor;
 import org.swrlapi.core.impl.DefaultSWRLAPIRenderer;
+import org.swrlapi.core.impl.DefaultSWRLRuleDependencyGraph;
 import org.swrlapi.core.impl.DefaultSWRLRuleEngineFactory;
 import org.swrlapi.core.resolvers.IRIResolver;
+import org.swrlapi.engine.NativeSWRLRuleEngineCreator;
 import org.swrlapi.exceptions.SWRLAPIException;
 import org.swrlapi.parser.SWRLParser;
 import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
 import org.swrlapi.sqwrl.values.impl.DefaultSQWRLResultValueFactory;
 import org.swrlapi.ui.controller.SWRLAPIApplicationController;
@@ -167,6 +176,74 @@ public class SWRLAPIFactory
 		return new DefaultSWRLAPIOntologyProcessor(swrlapiOWLOntology);
 	}
 
+	/**
+	 * Build the rule dependency graph of an ontology from the axioms and rules of its last processing.
+	 */
+	public static SWRLRuleDependencyGraph createSWRLRuleDependencyGraph(SWRLAPIOWLOntology swrlapiOWLOntology)
+	{
+		return new DefaultSWRLRuleDependencyGraph(swrlapiOWLOntology.getOWLAxioms());
+	}
+
+	/**
+	 * Process an ontology and create an immutable snapshot of it that can be shared by rule engines running in
+	 * different threads.
+	 */
+	public static SWRLAPIOntologySnapshot createOntologySnapshot(SWRLAPIOWLOntology swrlapiOWLOntology)
+			throws SQWRLException
+	{
+		return new DefaultSWRLAPIOntologySnapshot(swrlapiOWLOntology);
+	}
+
+	/**
+	 * Restore a snapshot written by {@link org.swrlapi.core.SWRLAPIOntologySnapshot#write(java.io.File)}.
+	 */
+	public static SWRLAPIOntologySnapshot createOntologySnapshot(File snapshotFile) throws SQWRLException
+	{
+		if (snapshotFile == null)
+			throw new SWRLAPIException("supplied snapshot file is null");
+
+		return new SWRLAPIOntologySnapshotFile(snapshotFile).read();
+	}
+
+	/**
+	 * Create a materialization cache that stores its files in the supplied directory.
+	 */
+	public static MaterializationCache createMaterializationCache(File directory)
+	{
+		return new DefaultMaterializationCache(directory);
+	}
+
+	/**
+	 * Create an assertion store for the ontology that keeps its memory-mapped files in the supplied directory. The store
+	 * is used once it is set on the ontology with
+	 * {@link org.swrlapi.core.SWRLAPIOWLOntology#setOWLAssertionStore(OWLAssertionStore)}.
+	 */
+	public static OWLAssertionStore createOWLAssertionStore(SWRLAPIOWLOntology swrlapiOWLOntology, File directory)
+	{
+		return new DefaultOWLAssertionStore(directory, swrlapiOWLOntology.getIDResolver(),
+				swrlapiOWLOntology.getOWLDataFactory());
+	}
+
+	/**
+	 * Create an execution context that limits each rule engine run. Pass {@link ExecutionContext#UNLIMITED} for limits
+	 * that should not apply.
+	 *
+	 * @param timeout The maximum duration of a run in milliseconds
+	 */
+	public static ExecutionContext createExecutionContext(long timeout, long maximumNumberOfInferredOWLAxioms,
+			long maximumNumberOfBuiltInInvocations)
+	{
+		return new DefaultExecutionContext(timeout, maximumNumberOfInferredOWLAxioms, maximumNumberOfBuiltInInvocations);
+	}
+
+	/**
+	 * Create a metrics listener that accumulates rule engine timings and counts in memory.
+	 */
+	public static DefaultEngineMetrics createEngineMetrics()
+	{
+		return new DefaultEngineMetrics();
+	}
+
 	public static SWRLRuleEngineFactory createSWRLRuleEngineFactory()
 	{
 		return new DefaultSWRLRuleEngineFactory();
@@ -218,6 +295,46 @@ public class SWRLAPIFactory
 		return new DefaultSQWRLResultValueFactory(iriResolver);
 	}
 
+	/**
+	 * Create a creator for the native rule engine, a pure-Java forward-chaining engine that needs no third-party rule
+	 * engine.
+	 */
+	public static SWRLRuleEngineManager.TargetSWRLRuleEngineCreator createNativeSWRLRuleEngineCreator()
+	{
+		return new NativeSWRLRuleEngineCreator();
+	}
+
+	/**
+	 * Create a creator for the native rule engine that evaluates the rules of each iteration concurrently on the supplied
+	 * number of threads.
+	 */
+	public static SWRLRuleEngineManager.TargetSWRLRuleEngineCreator createNativeSWRLRuleEngineCreator(int parallelism)
+	{
+		return new NativeSWRLRuleEngineCreator(parallelism);
+	}
+
+	/**
+	 * Create a creator for the native rule engine that can evaluate SWRL rules goal-directed. A goal-directed engine that
+	 * runs SQWRL queries with no OWL 2 RL rules enabled infers only the facts that the queries can use, so it does not
+	 * infer all the axioms that the rules entail.
+	 */
+	public static SWRLRuleEngineManager.TargetSWRLRuleEngineCreator createNativeSWRLRuleEngineCreator(int parallelism,
+			boolean isGoalDirected)
+	{
+		return new NativeSWRLRuleEngineCreator(parallelism, isGoalDirected);
+	}
+
+	/**
+	 * Create a creator for the native rule engine that can record the derivation of each axiom it infers. An engine that
+	 * records derivations retracts removed assertions and their consequences incrementally; one that does not is reset
+	 * and reloaded when assertions are removed.
+	 */
+	public static SWRLRuleEngineManager.TargetSWRLRuleEngineCreator createNativeSWRLRuleEngineCreator(int parallelism,
+			boolean isGoalDirected, boolean isRecordingDerivations)
+	{
+		return new NativeSWRLRuleEngineCreator(parallelism, isGoalDirected, isRecordingDerivations);
+	}
+
 	public static SQWRLQueryEngine createSQWRLQueryEngine(SWRLAPIOWLOntology swrlapiOWLOntology,
 			SWRLRuleEngineManager.TargetSWRLRuleEngineCreator swrlRuleEngineCreator)
 	{
@@ -236,6 +353,22 @@ public class SWRLAPIFactory
 		return swrlRuleEngineFactory.createSWRLRuleEngine(swrlapiOWLOntology);
 	}
 
+	/**
+	 * Create a query engine over a snapshot. Each engine has its own view of the snapshot so engines created from the
+	 * same snapshot can run queries concurrently, one engine per thread.
+	 */
+	public static SQWRLQueryEngine createSQWRLQueryEngine(SWRLAPIOntologySnapshot snapshot,
+			SWRLRuleEngineManager.TargetSWRLRuleEngineCreator swrlRuleEngineCreator)
+	{
+		return createSQWRLQueryEngine(snapshot.createSWRLAPIOWLOntology(), swrlRuleEngineCreator);
+	}
+
+	public static SWRLRuleEngine createSWRLRuleEngine(SWRLAPIOntologySnapshot snapshot,
+			SWRLRuleEngineManager.TargetSWRLRuleEngineCreator swrlRuleEngineCreator)
+	{
+		return createSWRLRuleEngine(snapshot.createSWRLAPIOWLOntology(), swrlRuleEngineCreator);
+	}
+
 	public static Icon getOWL2RLReasonerIcon() throws SWRLAPIException
 	{
 		URL url = SWRLAPIFactory.class.getResource(OWL2RL_ICON_NAME);
@@ -10,6 +10,7 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.resolvers.IDResolver;
 import org.swrlapi.core.resolvers.IRIResolver;
 import org.swrlapi.exceptions.SWRLRuleException;
 import org.swrlapi.parser.SWRLParseException;
@@ -52,6 +53,23 @@ public interface SWRLAPIOWLOntology
 
 	void processOntology() throws SQWRLException;
 
+	/**
+	 * Set the number of partitions that ontology processing splits the ontology's axioms into. Partitions are processed
+	 * concurrently. The default of 1 processes the axioms sequentially.
+	 */
+	void setAxiomProcessingParallelism(int parallelism);
+
+	/**
+	 * Hold the class and property assertions extracted from the ontology in the supplied store rather than in memory,
+	 * for ontologies whose assertions do not fit in the heap. Pass null to stop using a store.
+	 */
+	void setOWLAssertionStore(OWLAssertionStore store);
+
+	/**
+	 * @return The assertion store or null if assertions are held in memory
+	 */
+	OWLAssertionStore getOWLAssertionStore();
+
 	Set<SWRLAPIRule> getSWRLAPIRules();
 
 	SWRLAPIRule getSWRLRule(String ruleName) throws SWRLRuleException;
@@ -92,6 +110,18 @@ public interface SWRLAPIOWLOntology
 
 	Set<OWLAxiom> getOWLAxioms();
 
+	/**
+	 * @return A number that is incremented each time processing the ontology changes the axioms returned by
+	 * {@link #getOWLAxioms()}
+	 */
+	long getProcessedOWLAxiomsVersion();
+
+	/**
+	 * @return The axioms added to and removed from {@link #getOWLAxioms()} by the processing run that produced the
+	 * current version, or null if they are not known because that run processed the whole ontology
+	 */
+	OWLAxiomChanges getProcessedOWLAxiomChanges();
+
 	int getNumberOfSWRLRules();
 
 	int getNumberOfOWLAxioms();
@@ -114,6 +144,18 @@ public interface SWRLAPIOWLOntology
 
 	IRIResolver getIRIResolver();
 
+	/**
+	 * @return The dictionary of integer IDs for the IRIs and literals of this ontology
+	 */
+	IDResolver getIDResolver();
+
+	/**
+	 * Add axioms to the underlying OWL ontology. Axioms that are already asserted in its imports closure are skipped.
+	 * Between calls to {@link #startBulkConversion()} and {@link #completeBulkConversion()} the additions are buffered
+	 * and applied as a single batch, so ontology change listeners are notified once.
+	 */
+	void addOWLAxioms(Set<OWLAxiom> axioms);
+
 	void startBulkConversion(); // Can be used, for example, to switch off notification during bulk conversion.
 
 	void completeBulkConversion();
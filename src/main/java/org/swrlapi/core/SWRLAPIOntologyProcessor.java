@@ -26,6 +26,13 @@ import java.util.Set;
  * OWL properties encountered during axiom processing and records their type, IRI and prefixed names using the
  * {@link org.swrlapi.core.resolvers.IRIResolver} class. This class can be used by rule engines to resolve OWL
  * named objects using their short name.
+ * <p/>
+ * Implementations may track changes to the ontology so that repeated calls to {@link #processOntology()} only process
+ * the axioms added or removed since the previous call. The {@link #reset()} method discards all processed state so that
+ * the next call processes the whole ontology again.
+ * <p/>
+ * Implementations may also reorder the body atoms of the SWRL rules and SQWRL queries that they extract, for example
+ * by the selectivity estimated from the {@link org.swrlapi.core.SWRLAPIOntologyStatistics} of the ontology.
  *
  * @see org.swrlapi.core.SWRLAPIRule
  * @see org.swrlapi.sqwrl.SQWRLQuery
@@ -77,4 +84,41 @@ public interface SWRLAPIOntologyProcessor
 	void reset();
 
 	void processOntology() throws SQWRLException;
+
+	/**
+	 * Set the number of partitions that a full pass over the ontology's axioms is split into. Partitions are processed
+	 * concurrently. The default of 1 processes the axioms sequentially.
+	 */
+	void setAxiomProcessingParallelism(int parallelism);
+
+	/**
+	 * Hold the class and property assertions extracted from the ontology in the supplied store rather than in memory.
+	 * The next call to {@link #processOntology()} processes the whole ontology. Pass null to stop using a store.
+	 */
+	void setOWLAssertionStore(OWLAssertionStore store);
+
+	/**
+	 * @return The assertion store or null if assertions are held in memory
+	 */
+	OWLAssertionStore getOWLAssertionStore();
+
+	/**
+	 * @return The statistics of the assertions extracted when the ontology was last processed
+	 */
+	SWRLAPIOntologyStatistics getOntologyStatistics();
+
+	/**
+	 * @return A number that is incremented each time processing the ontology changes its processed axioms
+	 */
+	long getProcessedOWLAxiomsVersion();
+
+	/**
+	 * @return The processed axioms added and removed by the processing run that produced the current version, or null
+	 * if that run was a full pass
+	 */
+	OWLAxiomChanges getProcessedOWLAxiomChanges();
+
+	boolean hasOntologyChanged();
+
+	void resetOntologyChanged();
 }
@@ -0,0 +1,41 @@
+package org.swrlapi.core;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.io.File;
+import java.util.Set;
+
+/**
+ * An immutable, processed copy of the asserted OWL axioms, SWRL rules, and SQWRL queries of a
+ * {@link org.swrlapi.core.SWRLAPIOWLOntology}. A snapshot is processed once and can then be shared by several rule
+ * engines, each typically running in its own thread.
+ * <p/>
+ * Each call to {@link #createSWRLAPIOWLOntology()} returns a read-only view of the snapshot with its own copies of the
+ * SQWRL queries, so the results generated by one rule engine are not seen by others. Rule engines created from the
+ * views must not write inferred knowledge back. A snapshot holds its own copy of the ontology, so the ontology it was
+ * created from can be modified while they run.
+ *
+ * <p/>
+ * A snapshot can be written to a file and restored later without reprocessing the ontology.
+ *
+ * @see org.swrlapi.core.SWRLAPIFactory#createOntologySnapshot(SWRLAPIOWLOntology)
+ * @see org.swrlapi.core.SWRLAPIFactory#createOntologySnapshot(java.io.File)
+ */
+public interface SWRLAPIOntologySnapshot
+{
+	/**
+	 * @return A read-only SWRLAPI ontology backed by this snapshot for use by a single rule engine
+	 */
+	SWRLAPIOWLOntology createSWRLAPIOWLOntology();
+
+	/**
+	 * Write this snapshot to a file. The file is replaced atomically.
+	 */
+	void write(File file);
+
+	Set<OWLAxiom> getOWLAxioms();
+
+	Set<SWRLAPIRule> getSWRLAPIRules();
+
+	Set<String> getSQWRLQueryNames();
+}
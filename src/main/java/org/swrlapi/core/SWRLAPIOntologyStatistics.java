@@ -0,0 +1,32 @@
+package org.swrlapi.core;
+
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLProperty;
+
+/**
+ * Cardinality statistics for the class and property assertions of an ontology. They are collected by the
+ * {@link org.swrlapi.core.SWRLAPIOntologyProcessor} while it processes the ontology and are used to estimate how many
+ * facts a rule body atom matches when ordering the atoms of rule bodies.
+ * <p/>
+ * Object property assertions with an inverse property are counted as assertions of the named property.
+ *
+ * @see org.swrlapi.core.SWRLAPIOntologyProcessor#getOntologyStatistics()
+ */
+public interface SWRLAPIOntologyStatistics
+{
+	int getNumberOfIndividuals();
+
+	int getNumberOfClassAssertions(OWLClass cls);
+
+	int getNumberOfPropertyAssertions(OWLProperty property);
+
+	/**
+	 * @return The number of distinct individuals that are the subject of an assertion of the property
+	 */
+	int getNumberOfDistinctSubjects(OWLProperty property);
+
+	/**
+	 * @return The number of distinct individuals or literals that are the object of an assertion of the property
+	 */
+	int getNumberOfDistinctObjects(OWLProperty property);
+}
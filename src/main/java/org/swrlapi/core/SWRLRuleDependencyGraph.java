@@ -0,0 +1,51 @@
+package org.swrlapi.core;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.swrlapi.sqwrl.SQWRLQuery;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A predicate-level dependency graph of the SWRL rules of a processed ontology. A rule makes the classes and properties
+ * in its head depend on those in its body. Named classes and properties passed to built-ins count as both, because
+ * built-ins may read and assert facts about them.
+ * <p/>
+ * The graph is used to stratify the rules and to find the rules and axioms that can contribute to the facts of a set of
+ * target predicates, so that a single SQWRL query can be answered without exporting unrelated rules and axioms to a
+ * rule engine. Other axioms whose signature shares a class or property with a relevant predicate make that class or
+ * property relevant too, and so do axioms that can make individuals equal, because equalities change the facts of
+ * every predicate.
+ *
+ * @see org.swrlapi.core.SWRLAPIFactory#createSWRLRuleDependencyGraph(SWRLAPIOWLOntology)
+ */
+public interface SWRLRuleDependencyGraph
+{
+	/**
+	 * @return The active SWRL rules grouped into strata, where the rules in each stratum only depend on predicates
+	 * concluded by rules in the same or earlier strata
+	 */
+	List<Set<SWRLAPIRule>> getStrata();
+
+	/**
+	 * @return The index of the stratum of a rule or -1 if the rule is not in the graph
+	 */
+	int getStratum(SWRLAPIRule rule);
+
+	/**
+	 * @return True if a predicate in the head of the rule is in a cycle with a predicate in its body
+	 */
+	boolean isRecursive(SWRLAPIRule rule);
+
+	Set<SWRLAPIRule> getRelevantSWRLRules(SQWRLQuery query);
+
+	Set<SWRLAPIRule> getRelevantSWRLRules(Set<? extends OWLEntity> targetPredicates);
+
+	/**
+	 * @return The asserted OWL axioms and SWRL rules needed to answer the query
+	 */
+	Set<OWLAxiom> getRelevantOWLAxioms(SQWRLQuery query);
+
+	Set<OWLAxiom> getRelevantOWLAxioms(Set<? extends OWLEntity> targetPredicates);
+}
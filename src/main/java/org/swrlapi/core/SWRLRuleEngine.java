@@ -4,6 +4,7 @@ import java.util.Set;
 
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.swrlapi.bridge.sinks.InferredAxiomSink;
 import org.swrlapi.exceptions.SWRLRuleEngineException;
 import org.swrlapi.owl2rl.OWL2RLEngine;
 import org.swrlapi.sqwrl.SQWRLQueryEngine;
@@ -48,6 +49,27 @@ public interface SWRLRuleEngine extends SQWRLQueryEngine
 	 */
 	void writeInferredKnowledge() throws SWRLRuleEngineException;
 
+	/**
+	 * Stream axioms inferred by the rule engine to a sink as they are produced. Streamed axioms are not retained by the
+	 * rule engine, so they are not returned by {@link #getInferredOWLAxioms()} or written back to the ontology, and the
+	 * sink may be passed the same axiom more than once. A null sink restores the default behavior.
+	 */
+	void setInferredAxiomSink(InferredAxiomSink sink);
+
+	/**
+	 * Use a cache of materialized inferences. When {@link #infer()} is called with inputs that match a stored
+	 * materialization, the stored axioms are written to the ontology and the rule engine is not run. The cache is not
+	 * used while an inferred axiom sink is set. A null cache disables caching.
+	 */
+	void setMaterializationCache(MaterializationCache materializationCache);
+
+	/**
+	 * Export only the module of the ontology that can influence the active SWRL rules and the SQWRL queries when rules
+	 * and knowledge are imported. Inferences that the OWL 2 RL rules would draw from axioms outside the module are then
+	 * not made. Module extraction is disabled by default.
+	 */
+	void setModuleExtractionEnabled(boolean isModuleExtractionEnabled);
+
 	/**
 	 * Reset the rule engine.
 	 */
@@ -85,6 +107,12 @@ public interface SWRLRuleEngine extends SQWRLQueryEngine
 
 	Set<OWLAxiom> getInferredOWLAxioms();
 
+	/**
+	 * @return The recorded rule firings that produced an inferred axiom; empty if the target rule engine does not record
+	 * derivations
+	 */
+	Set<OWLAxiomDerivation> getOWLAxiomDerivations(OWLAxiom axiom);
+
 	Set<OWLAxiom> getInjectedOWLAxioms();
 
 	int getNumberOfImportedSWRLRules();
@@ -0,0 +1,152 @@
+package org.swrlapi.core.impl;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.swrlapi.core.EngineMetrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link org.swrlapi.core.EngineMetrics} listener that accumulates everything it receives in memory until it is
+ * reset.
+ */
+public class DefaultEngineMetrics implements EngineMetrics
+{
+	private final Map<Phase, AtomicLong> phaseDurations; // Nanoseconds
+	private final Map<Phase, AtomicLong> phaseCounts;
+	private final ConcurrentMap<AxiomType<?>, AtomicLong> exportedOWLAxiomCounts;
+	private final ConcurrentMap<AxiomType<?>, AtomicLong> inferredOWLAxiomCounts;
+	private final ConcurrentMap<String, AtomicLong> builtInInvocationCounts;
+	private final ConcurrentMap<String, AtomicLong> sqwrlResultRowCounts;
+
+	public DefaultEngineMetrics()
+	{
+		this.phaseDurations = new EnumMap<>(Phase.class);
+		this.phaseCounts = new EnumMap<>(Phase.class);
+		this.exportedOWLAxiomCounts = new ConcurrentHashMap<>();
+		this.inferredOWLAxiomCounts = new ConcurrentHashMap<>();
+		this.builtInInvocationCounts = new ConcurrentHashMap<>();
+		this.sqwrlResultRowCounts = new ConcurrentHashMap<>();
+
+		for (Phase phase : Phase.values()) { // The phase maps are not modified after this
+			this.phaseDurations.put(phase, new AtomicLong());
+			this.phaseCounts.put(phase, new AtomicLong());
+		}
+	}
+
+	@Override
+	public void phaseCompleted(Phase phase, long duration)
+	{
+		this.phaseDurations.get(phase).addAndGet(duration);
+		this.phaseCounts.get(phase).incrementAndGet();
+	}
+
+	@Override
+	public void owlAxiomsExported(AxiomType<?> axiomType, int numberOfAxioms)
+	{
+		add(this.exportedOWLAxiomCounts, axiomType, numberOfAxioms);
+	}
+
+	@Override
+	public void owlAxiomInferred(AxiomType<?> axiomType)
+	{
+		add(this.inferredOWLAxiomCounts, axiomType, 1);
+	}
+
+	@Override
+	public void builtInInvoked(String builtInName)
+	{
+		add(this.builtInInvocationCounts, builtInName, 1);
+	}
+
+	@Override
+	public void sqwrlResultPrepared(String queryName, int numberOfRows)
+	{
+		add(this.sqwrlResultRowCounts, queryName, numberOfRows);
+	}
+
+	/**
+	 * @return The total time in milliseconds spent in the phase
+	 */
+	public long getPhaseDuration(Phase phase)
+	{
+		return TimeUnit.NANOSECONDS.toMillis(this.phaseDurations.get(phase).get());
+	}
+
+	public long getNumberOfPhaseCompletions(Phase phase)
+	{
+		return this.phaseCounts.get(phase).get();
+	}
+
+	public long getNumberOfExportedOWLAxioms(AxiomType<?> axiomType)
+	{
+		return get(this.exportedOWLAxiomCounts, axiomType);
+	}
+
+	public long getNumberOfInferredOWLAxioms(AxiomType<?> axiomType)
+	{
+		return get(this.inferredOWLAxiomCounts, axiomType);
+	}
+
+	public long getNumberOfBuiltInInvocations(String builtInName)
+	{
+		return get(this.builtInInvocationCounts, builtInName);
+	}
+
+	public long getNumberOfSQWRLResultRows(String queryName)
+	{
+		return get(this.sqwrlResultRowCounts, queryName);
+	}
+
+	public void reset()
+	{
+		for (Phase phase : Phase.values()) {
+			this.phaseDurations.get(phase).set(0);
+			this.phaseCounts.get(phase).set(0);
+		}
+		this.exportedOWLAxiomCounts.clear();
+		this.inferredOWLAxiomCounts.clear();
+		this.builtInInvocationCounts.clear();
+		this.sqwrlResultRowCounts.clear();
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder();
+
+		for (Phase phase : Phase.values())
+			sb.append(phase).append(": ").append(getNumberOfPhaseCompletions(phase)).append(" in ")
+					.append(getPhaseDuration(phase)).append(" ms\n");
+		sb.append("exported axioms: ").append(this.exportedOWLAxiomCounts).append("\n");
+		sb.append("inferred axioms: ").append(this.inferredOWLAxiomCounts).append("\n");
+		sb.append("built-in invocations: ").append(this.builtInInvocationCounts).append("\n");
+		sb.append("SQWRL result rows: ").append(this.sqwrlResultRowCounts).append("\n");
+
+		return sb.toString();
+	}
+
+	private <K> void add(ConcurrentMap<K, AtomicLong> counts, K key, long amount)
+	{
+		AtomicLong count = counts.get(key);
+
+		if (count == null) {
+			AtomicLong newCount = new AtomicLong();
+			count = counts.putIfAbsent(key, newCount);
+			if (count == null)
+				count = newCount;
+		}
+		count.addAndGet(amount);
+	}
+
+	private <K> long get(ConcurrentMap<K, AtomicLong> counts, K key)
+	{
+		AtomicLong count = counts.get(key);
+
+		return count == null ? 0 : count.get();
+	}
+}
@@ -0,0 +1,119 @@
+package org.swrlapi.core.impl;
+
+import org.swrlapi.core.ExecutionContext;
+import org.swrlapi.exceptions.SWRLRuleEngineLimitException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts are kept in atomic variables because a target rule engine may infer axioms and invoke built-ins from several
+ * threads.
+ */
+public class DefaultExecutionContext implements ExecutionContext
+{
+	private final long timeoutNanos;
+	private final long maximumNumberOfInferredOWLAxioms;
+	private final long maximumNumberOfBuiltInInvocations;
+	private final AtomicLong numberOfInferredOWLAxioms;
+	private final AtomicLong numberOfBuiltInInvocations;
+	private volatile long startTimeNanos;
+	private volatile boolean isCancelled;
+
+	public DefaultExecutionContext(long timeout, long maximumNumberOfInferredOWLAxioms,
+			long maximumNumberOfBuiltInInvocations)
+	{
+		this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout); // Saturates for UNLIMITED
+		this.maximumNumberOfInferredOWLAxioms = maximumNumberOfInferredOWLAxioms;
+		this.maximumNumberOfBuiltInInvocations = maximumNumberOfBuiltInInvocations;
+		this.numberOfInferredOWLAxioms = new AtomicLong();
+		this.numberOfBuiltInInvocations = new AtomicLong();
+		this.startTimeNanos = System.nanoTime();
+		this.isCancelled = false;
+	}
+
+	@Override
+	public void cancel()
+	{
+		this.isCancelled = true;
+	}
+
+	@Override
+	public boolean isCancelled()
+	{
+		return this.isCancelled;
+	}
+
+	@Override
+	public void start()
+	{
+		this.numberOfInferredOWLAxioms.set(0);
+		this.numberOfBuiltInInvocations.set(0);
+		this.startTimeNanos = System.nanoTime();
+	}
+
+	@Override
+	public void checkLimits() throws SWRLRuleEngineLimitException
+	{
+		if (this.isCancelled)
+			throw createLimitException(SWRLRuleEngineLimitException.Reason.CANCELLED);
+
+		if (System.nanoTime() - this.startTimeNanos > this.timeoutNanos)
+			throw createLimitException(SWRLRuleEngineLimitException.Reason.TIMEOUT);
+	}
+
+	@Override
+	public void checkLimits(long numberOfPendingInferredOWLAxioms) throws SWRLRuleEngineLimitException
+	{
+		checkLimits();
+
+		if (numberOfPendingInferredOWLAxioms > this.maximumNumberOfInferredOWLAxioms - this.numberOfInferredOWLAxioms.get())
+			throw createLimitException(SWRLRuleEngineLimitException.Reason.INFERRED_AXIOM_LIMIT);
+	}
+
+	@Override
+	public void recordInferredOWLAxiom() throws SWRLRuleEngineLimitException
+	{
+		if (this.numberOfInferredOWLAxioms.incrementAndGet() > this.maximumNumberOfInferredOWLAxioms) {
+			this.numberOfInferredOWLAxioms.decrementAndGet(); // The axiom is rejected
+			throw createLimitException(SWRLRuleEngineLimitException.Reason.INFERRED_AXIOM_LIMIT);
+		}
+
+		checkLimits();
+	}
+
+	@Override
+	public void recordBuiltInInvocation() throws SWRLRuleEngineLimitException
+	{
+		if (this.numberOfBuiltInInvocations.incrementAndGet() > this.maximumNumberOfBuiltInInvocations) {
+			this.numberOfBuiltInInvocations.decrementAndGet(); // The built-in is not invoked
+			throw createLimitException(SWRLRuleEngineLimitException.Reason.BUILT_IN_INVOCATION_LIMIT);
+		}
+
+		checkLimits();
+	}
+
+	@Override
+	public long getElapsedTime()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTimeNanos);
+	}
+
+	@Override
+	public long getNumberOfInferredOWLAxioms()
+	{
+		return this.numberOfInferredOWLAxioms.get();
+	}
+
+	@Override
+	public long getNumberOfBuiltInInvocations()
+	{
+		return this.numberOfBuiltInInvocations.get();
+	}
+
+	private SWRLRuleEngineLimitException createLimitException(SWRLRuleEngineLimitException.Reason reason)
+	{
+		return new SWRLRuleEngineLimitException(reason, getElapsedTime(), getNumberOfInferredOWLAxioms(),
+				getNumberOfBuiltInInvocations());
+	}
+}
@@ -0,0 +1,161 @@
+package org.swrlapi.core.impl;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.swrlapi.core.MaterializationCache;
+import org.swrlapi.exceptions.SWRLRuleEngineException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A {@link org.swrlapi.core.MaterializationCache} that keeps one file per fingerprint in a local directory.
+ * <p/>
+ * Each file holds a header identifying the format and fingerprint followed by the inferred and injected axiom sets.
+ * Axioms are written with Java serialization, which shares repeated entities and IRIs within a block of axioms, and
+ * the stream is compressed. A file is written under a temporary name and then renamed so that an interrupted write
+ * never leaves a partial materialization behind.
+ */
+public class DefaultMaterializationCache implements MaterializationCache
+{
+	private static final int MAGIC = 0x5357524d; // "SWRM"
+	private static final int FORMAT_VERSION = 1;
+	private static final String FILE_SUFFIX = ".materialization";
+	private static final int AXIOMS_PER_BLOCK = 10000; // Bounds the serialization handle table
+
+	private final File directory;
+
+	public DefaultMaterializationCache(File directory)
+	{
+		this.directory = directory;
+	}
+
+	@Override
+	public Materialization load(String fingerprint) throws SWRLRuleEngineException
+	{
+		File file = getFile(fingerprint);
+
+		if (!file.isFile())
+			return null;
+
+		try (ObjectInputStream in = new ObjectInputStream(
+				new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(fingerprint))
+				return null; // Written by an incompatible version; it will be replaced by the next store
+
+			Set<OWLAxiom> inferredOWLAxioms = readOWLAxioms(in);
+			Set<OWLAxiom> injectedOWLAxioms = readOWLAxioms(in);
+
+			return new DefaultMaterialization(inferredOWLAxioms, injectedOWLAxioms);
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			throw new SWRLRuleEngineException("error reading materialization " + file + ": " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public void store(String fingerprint, Set<OWLAxiom> inferredOWLAxioms, Set<OWLAxiom> injectedOWLAxioms)
+			throws SWRLRuleEngineException
+	{
+		File file = getFile(fingerprint);
+		File temporaryFile = new File(this.directory, file.getName() + ".tmp");
+
+		if (!this.directory.isDirectory() && !this.directory.mkdirs())
+			throw new SWRLRuleEngineException("cannot create materialization cache directory " + this.directory);
+
+		try {
+			try (ObjectOutputStream out = new ObjectOutputStream(
+					new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile))))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(fingerprint);
+				writeOWLAxioms(out, inferredOWLAxioms);
+				writeOWLAxioms(out, injectedOWLAxioms);
+			}
+			Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			temporaryFile.delete();
+			throw new SWRLRuleEngineException("error writing materialization " + file + ": " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public void clear() throws SWRLRuleEngineException
+	{
+		File[] files = this.directory.listFiles();
+
+		if (files != null) {
+			for (File file : files) {
+				if (file.getName().endsWith(FILE_SUFFIX) && !file.delete())
+					throw new SWRLRuleEngineException("cannot delete materialization " + file);
+			}
+		}
+	}
+
+	private File getFile(String fingerprint)
+	{
+		return new File(this.directory, fingerprint + FILE_SUFFIX);
+	}
+
+	private void writeOWLAxioms(ObjectOutputStream out, Set<OWLAxiom> axioms) throws IOException
+	{
+		int numberOfAxiomsInBlock = 0;
+
+		out.writeInt(axioms.size());
+		for (OWLAxiom axiom : axioms) {
+			out.writeObject(axiom);
+			if (++numberOfAxiomsInBlock == AXIOMS_PER_BLOCK) {
+				out.reset();
+				numberOfAxiomsInBlock = 0;
+			}
+		}
+		out.reset();
+	}
+
+	private Set<OWLAxiom> readOWLAxioms(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		int numberOfAxioms = in.readInt();
+		Set<OWLAxiom> axioms = new HashSet<>(Math.max(16, (int)(numberOfAxioms / 0.75f) + 1));
+
+		for (int axiomIndex = 0; axiomIndex < numberOfAxioms; axiomIndex++)
+			axioms.add((OWLAxiom)in.readObject());
+
+		return axioms;
+	}
+
+	private static class DefaultMaterialization implements Materialization
+	{
+		private final Set<OWLAxiom> inferredOWLAxioms;
+		private final Set<OWLAxiom> injectedOWLAxioms;
+
+		public DefaultMaterialization(Set<OWLAxiom> inferredOWLAxioms, Set<OWLAxiom> injectedOWLAxioms)
+		{
+			this.inferredOWLAxioms = Collections.unmodifiableSet(inferredOWLAxioms);
+			this.injectedOWLAxioms = Collections.unmodifiableSet(injectedOWLAxioms);
+		}
+
+		@Override
+		public Set<OWLAxiom> getInferredOWLAxioms()
+		{
+			return this.inferredOWLAxioms;
+		}
+
+		@Override
+		public Set<OWLAxiom> getInjectedOWLAxioms()
+		{
+			return this.injectedOWLAxioms;
+		}
+	}
+}
@@ -0,0 +1,707 @@
+package org.swrlapi.core.impl;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.swrlapi.core.OWLAssertionStore;
+import org.swrlapi.core.resolvers.IDResolver;
+import org.swrlapi.exceptions.SWRLAPIException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link org.swrlapi.core.OWLAssertionStore} that holds its triples in memory-mapped files in a local directory.
+ * <p/>
+ * The subjects, predicates and objects of the triples are held in three columns; a triple is identified by its row in
+ * these columns. Three permutation indexes hold the rows sorted in subject-predicate-object, predicate-object-subject
+ * and object-subject-predicate order, so any triple pattern is answered by a binary search for a range of one index.
+ * <p/>
+ * Added triples are appended to the columns and are merged into the indexes when the store is next searched, so bulk
+ * loading costs a single sort. Until then they are found through an on-heap hash table of their rows, which needs one
+ * int per unmerged row, so that duplicates are not added and membership tests do not force a merge. Removed triples
+ * are marked in an on-heap bit set, which needs one bit per row, and are dropped from the indexes by the next merge.
+ * <p/>
+ * Every modification, including a merge, increments a modification count. Cursors check it so that a cursor is not
+ * used on index columns that a merge has rewritten.
+ */
+public class DefaultOWLAssertionStore implements OWLAssertionStore
+{
+	private static final int SUBJECT = 0;
+	private static final int PREDICATE = 1;
+	private static final int OBJECT = 2;
+
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	private final IDResolver idResolver;
+	private final OWLDataFactory dataFactory;
+	private final int classAssertionPredicateID;
+
+	private final MappedIntColumn[] columns; // Indexed by SUBJECT, PREDICATE and OBJECT
+	private final PermutationIndex spoIndex;
+	private final PermutationIndex posIndex;
+	private final PermutationIndex ospIndex;
+	private final MappedIntColumn newRows; // Rows being merged into an index
+	private final UnmergedRowTable unmergedRows;
+	private final BitSet removedRows;
+
+	private int numberOfIndexedRows; // Rows below this number have been merged into the indexes
+	private int numberOfRemovedIndexedRows;
+	private int modificationCount;
+
+	public DefaultOWLAssertionStore(File directory, IDResolver idResolver, OWLDataFactory dataFactory)
+	{
+		this.idResolver = idResolver;
+		this.dataFactory = dataFactory;
+		this.classAssertionPredicateID = idResolver.getID(OWLRDFVocabulary.RDF_TYPE.getIRI());
+
+		if (!directory.isDirectory() && !directory.mkdirs())
+			throw new SWRLAPIException("cannot create assertion store directory " + directory);
+
+		try {
+			this.columns = new MappedIntColumn[] { new MappedIntColumn(directory, "subjects"),
+					new MappedIntColumn(directory, "predicates"), new MappedIntColumn(directory, "objects") };
+			this.spoIndex = new PermutationIndex(directory, "spo", SUBJECT, PREDICATE, OBJECT);
+			this.posIndex = new PermutationIndex(directory, "pos", PREDICATE, OBJECT, SUBJECT);
+			this.ospIndex = new PermutationIndex(directory, "osp", OBJECT, SUBJECT, PREDICATE);
+			this.newRows = new MappedIntColumn(directory, "new");
+		} catch (IOException e) {
+			throw new SWRLAPIException("error creating assertion store in " + directory + ": " + e.getMessage(), e);
+		}
+		this.unmergedRows = new UnmergedRowTable();
+		this.removedRows = new BitSet();
+		this.numberOfIndexedRows = 0;
+		this.numberOfRemovedIndexedRows = 0;
+		this.modificationCount = 0;
+	}
+
+	@Override
+	public synchronized boolean add(OWLAxiom axiom)
+	{
+		int[] triple = getTriple(axiom, true);
+
+		if (triple == null || containsTriple(triple))
+			return false;
+
+		for (int position = SUBJECT; position <= OBJECT; position++)
+			this.columns[position].add(triple[position]);
+		this.unmergedRows.add(this.columns[SUBJECT].size() - 1);
+		this.modificationCount++;
+
+		return true;
+	}
+
+	/**
+	 * IDs are assigned to the terms of the axiom, as they are when it is added.
+	 */
+	@Override
+	public synchronized boolean canHold(OWLAxiom axiom)
+	{
+		return getTriple(axiom, true) != null;
+	}
+
+	@Override
+	public synchronized boolean remove(OWLAxiom axiom)
+	{
+		int[] triple = getTriple(axiom, false);
+
+		if (triple == null)
+			return false;
+
+		RangeCursor cursor = find(triple);
+
+		if (!cursor.next())
+			return false;
+
+		this.removedRows.set(cursor.getRow());
+		this.numberOfRemovedIndexedRows++;
+		this.modificationCount++;
+		return true;
+	}
+
+	@Override
+	public synchronized boolean contains(OWLAxiom axiom)
+	{
+		int[] triple = getTriple(axiom, false);
+
+		return triple != null && containsTriple(triple);
+	}
+
+	@Override
+	public synchronized int size()
+	{
+		mergeNewRows();
+
+		return this.spoIndex.rows.size() - this.numberOfRemovedIndexedRows;
+	}
+
+	@Override
+	public synchronized void clear()
+	{
+		for (MappedIntColumn column : this.columns)
+			column.clear();
+		this.spoIndex.rows.clear();
+		this.posIndex.rows.clear();
+		this.ospIndex.rows.clear();
+		this.unmergedRows.clear();
+		this.removedRows.clear();
+		this.numberOfIndexedRows = 0;
+		this.numberOfRemovedIndexedRows = 0;
+		this.modificationCount++;
+	}
+
+	@Override
+	public synchronized Cursor find(int subjectID, int predicateID, int objectID)
+	{
+		return find(new int[] { subjectID, predicateID, objectID });
+	}
+
+	@Override
+	public int getClassAssertionPredicateID()
+	{
+		return this.classAssertionPredicateID;
+	}
+
+	@Override
+	public synchronized void close()
+	{
+		for (MappedIntColumn column : this.columns)
+			column.close();
+		this.spoIndex.close();
+		this.posIndex.close();
+		this.ospIndex.close();
+		this.newRows.close();
+	}
+
+	@Override
+	public Iterator<OWLAxiom> iterator()
+	{
+		final Cursor cursor = find(IDResolver.NO_ID, IDResolver.NO_ID, IDResolver.NO_ID);
+
+		return new Iterator<OWLAxiom>()
+		{
+			private boolean isAdvanced = false;
+			private boolean hasNext = false;
+
+			@Override
+			public boolean hasNext()
+			{
+				if (!this.isAdvanced) {
+					this.hasNext = cursor.next();
+					this.isAdvanced = true;
+				}
+				return this.hasNext;
+			}
+
+			@Override
+			public OWLAxiom next()
+			{
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				this.isAdvanced = false;
+				return cursor.getOWLAxiom();
+			}
+
+			@Override
+			public void remove()
+			{
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Look for a triple among the unmerged rows and in the index without merging them.
+	 */
+	private boolean containsTriple(int[] triple)
+	{
+		return this.unmergedRows.contains(triple) || this.spoIndex.find(triple).next();
+	}
+
+	/**
+	 * Find the range of the index whose order puts all bound positions of the pattern first.
+	 */
+	private RangeCursor find(int[] pattern)
+	{
+		boolean isSubjectBound = pattern[SUBJECT] != IDResolver.NO_ID;
+		boolean isPredicateBound = pattern[PREDICATE] != IDResolver.NO_ID;
+		boolean isObjectBound = pattern[OBJECT] != IDResolver.NO_ID;
+		PermutationIndex index;
+
+		mergeNewRows();
+
+		if (isSubjectBound && (isPredicateBound || !isObjectBound))
+			index = this.spoIndex;
+		else if (isPredicateBound)
+			index = this.posIndex;
+		else if (isObjectBound)
+			index = this.ospIndex;
+		else
+			index = this.spoIndex;
+
+		return index.find(pattern);
+	}
+
+	/**
+	 * @return The triple of the axiom or null if the store cannot hold it or, when IDs are not assigned, if one of its
+	 * terms has no ID
+	 */
+	private int[] getTriple(OWLAxiom axiom, boolean assignIDs)
+	{
+		if (axiom.isAnnotated())
+			return null;
+
+		if (axiom.isOfType(AxiomType.CLASS_ASSERTION)) {
+			OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+
+			if (classAssertionAxiom.getClassExpression().isAnonymous())
+				return null;
+
+			int subjectID = assignIDs ?
+					this.idResolver.getID(classAssertionAxiom.getIndividual()) :
+					this.idResolver.findID(classAssertionAxiom.getIndividual());
+			int objectID = assignIDs ?
+					this.idResolver.getID(classAssertionAxiom.getClassExpression().asOWLClass()) :
+					this.idResolver.findID(classAssertionAxiom.getClassExpression().asOWLClass().getIRI());
+
+			return getTriple(subjectID, this.classAssertionPredicateID, objectID);
+		} else if (axiom.isOfType(AxiomType.OBJECT_PROPERTY_ASSERTION)) {
+			OWLObjectPropertyAssertionAxiom propertyAssertionAxiom = (OWLObjectPropertyAssertionAxiom)axiom;
+
+			if (propertyAssertionAxiom.getProperty().isAnonymous())
+				return null;
+
+			int subjectID = assignIDs ?
+					this.idResolver.getID(propertyAssertionAxiom.getSubject()) :
+					this.idResolver.findID(propertyAssertionAxiom.getSubject());
+			int predicateID = assignIDs ?
+					this.idResolver.getID(propertyAssertionAxiom.getProperty().asOWLObjectProperty()) :
+					this.idResolver.findID(propertyAssertionAxiom.getProperty().asOWLObjectProperty().getIRI());
+			int objectID = assignIDs ?
+					this.idResolver.getID(propertyAssertionAxiom.getObject()) :
+					this.idResolver.findID(propertyAssertionAxiom.getObject());
+
+			return getTriple(subjectID, predicateID, objectID);
+		} else if (axiom.isOfType(AxiomType.DATA_PROPERTY_ASSERTION)) {
+			OWLDataPropertyAssertionAxiom propertyAssertionAxiom = (OWLDataPropertyAssertionAxiom)axiom;
+			OWLLiteral literal = propertyAssertionAxiom.getObject();
+
+			int subjectID = assignIDs ?
+					this.idResolver.getID(propertyAssertionAxiom.getSubject()) :
+					this.idResolver.findID(propertyAssertionAxiom.getSubject());
+			int predicateID = assignIDs ?
+					this.idResolver.getID(propertyAssertionAxiom.getProperty().asOWLDataProperty()) :
+					this.idResolver.findID(propertyAssertionAxiom.getProperty().asOWLDataProperty().getIRI());
+			int objectID = assignIDs ? this.idResolver.getID(literal) : this.idResolver.findID(literal);
+
+			// Only literals in canonical form are stored so that the axioms read back are equal to those added
+			if (objectID != IDResolver.NO_ID && !this.idResolver.getLiteral(objectID).equals(literal))
+				return null;
+
+			return getTriple(subjectID, predicateID, objectID);
+		} else
+			return null;
+	}
+
+	private int[] getTriple(int subjectID, int predicateID, int objectID)
+	{
+		if (subjectID == IDResolver.NO_ID || predicateID == IDResolver.NO_ID || objectID == IDResolver.NO_ID)
+			return null;
+		else
+			return new int[] { subjectID, predicateID, objectID };
+	}
+
+	private OWLAxiom getOWLAxiom(int subjectID, int predicateID, int objectID)
+	{
+		if (predicateID == this.classAssertionPredicateID)
+			return this.dataFactory.getOWLClassAssertionAxiom(this.dataFactory.getOWLClass(this.idResolver.getIRI(objectID)),
+					this.idResolver.getIndividual(subjectID));
+		else if (this.idResolver.isLiteral(objectID))
+			return this.dataFactory
+					.getOWLDataPropertyAssertionAxiom(this.dataFactory.getOWLDataProperty(this.idResolver.getIRI(predicateID)),
+							this.idResolver.getIndividual(subjectID), this.idResolver.getLiteral(objectID));
+		else
+			return this.dataFactory.getOWLObjectPropertyAssertionAxiom(
+					this.dataFactory.getOWLObjectProperty(this.idResolver.getIRI(predicateID)),
+					this.idResolver.getIndividual(subjectID), this.idResolver.getIndividual(objectID));
+	}
+
+	/**
+	 * Merge the rows added since the last merge into the indexes. The subject-predicate-object index is merged first so
+	 * that rows duplicating an existing triple are marked as removed before the other indexes are merged.
+	 */
+	private void mergeNewRows()
+	{
+		int numberOfRows = this.columns[SUBJECT].size();
+
+		if (this.numberOfIndexedRows == numberOfRows)
+			return;
+
+		this.spoIndex.merge(this.numberOfIndexedRows, numberOfRows, true);
+		this.posIndex.merge(this.numberOfIndexedRows, numberOfRows, false);
+		this.ospIndex.merge(this.numberOfIndexedRows, numberOfRows, false);
+
+		this.numberOfIndexedRows = numberOfRows;
+		this.numberOfRemovedIndexedRows = 0;
+		this.unmergedRows.clear();
+		this.modificationCount++;
+	}
+
+	private boolean hasSameTriple(int row, int[] triple)
+	{
+		for (int position = SUBJECT; position <= OBJECT; position++) {
+			if (this.columns[position].get(row) != triple[position])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * An open-addressing hash table of the rows added since the last merge, keyed by their triples.
+	 */
+	private class UnmergedRowTable
+	{
+		private static final int INITIAL_CAPACITY = 16;
+
+		private int[] slots; // Rows plus one; zero marks an empty slot
+		private int size;
+
+		public UnmergedRowTable()
+		{
+			this.slots = new int[INITIAL_CAPACITY];
+			this.size = 0;
+		}
+
+		public boolean contains(int[] triple)
+		{
+			int mask = this.slots.length - 1;
+
+			for (int slot = hash(triple) & mask; this.slots[slot] != 0; slot = (slot + 1) & mask) {
+				int row = this.slots[slot] - 1;
+
+				if (hasSameTriple(row, triple) && !DefaultOWLAssertionStore.this.removedRows.get(row))
+					return true;
+			}
+			return false;
+		}
+
+		public void add(int row)
+		{
+			if (2 * (this.size + 1) > this.slots.length)
+				resize(2 * this.slots.length);
+
+			insert(this.slots, row);
+			this.size++;
+		}
+
+		public void clear()
+		{
+			this.slots = new int[INITIAL_CAPACITY]; // Releases the space used by a bulk load
+			this.size = 0;
+		}
+
+		private void resize(int capacity)
+		{
+			int[] slots = new int[capacity];
+
+			for (int entry : this.slots) {
+				if (entry != 0)
+					insert(slots, entry - 1);
+			}
+			this.slots = slots;
+		}
+
+		private void insert(int[] slots, int row)
+		{
+			int mask = slots.length - 1;
+			int slot = hash(getTriple(row)) & mask;
+
+			while (slots[slot] != 0)
+				slot = (slot + 1) & mask;
+			slots[slot] = row + 1;
+		}
+
+		private int[] getTriple(int row)
+		{
+			MappedIntColumn[] columns = DefaultOWLAssertionStore.this.columns;
+
+			return new int[] { columns[SUBJECT].get(row), columns[PREDICATE].get(row), columns[OBJECT].get(row) };
+		}
+
+		private int hash(int[] triple)
+		{
+			int hash = 31 * (31 * triple[SUBJECT] + triple[PREDICATE]) + triple[OBJECT];
+
+			return hash ^ (hash >>> 16);
+		}
+	}
+
+	/**
+	 * The rows of the store sorted by the values in three positions. The rows are held in one of two columns; a merge
+	 * writes the other column and then swaps them.
+	 */
+	private class PermutationIndex
+	{
+		private final int[] order;
+		private MappedIntColumn rows;
+		private MappedIntColumn mergedRows;
+
+		public PermutationIndex(File directory, String name, int first, int second, int third) throws IOException
+		{
+			this.order = new int[] { first, second, third };
+			this.rows = new MappedIntColumn(directory, name);
+			this.mergedRows = new MappedIntColumn(directory, name);
+		}
+
+		/**
+		 * Merge rows into the index, dropping removed rows. When deduplicating, rows that duplicate an earlier row are
+		 * marked as removed.
+		 */
+		public void merge(int fromRow, int toRow, boolean deduplicate)
+		{
+			MappedIntColumn newRows = DefaultOWLAssertionStore.this.newRows;
+			BitSet removedRows = DefaultOWLAssertionStore.this.removedRows;
+			int previousRow = -1;
+			int i = 0, j = 0;
+
+			newRows.clear();
+			for (int row = fromRow; row < toRow; row++) {
+				if (!removedRows.get(row))
+					newRows.add(row);
+			}
+			sort(newRows, 0, newRows.size());
+
+			this.mergedRows.clear();
+			while (i < this.rows.size() || j < newRows.size()) {
+				int row;
+
+				if (j == newRows.size() || (i < this.rows.size() && compareRows(this.rows.get(i), newRows.get(j)) <= 0))
+					row = this.rows.get(i++);
+				else
+					row = newRows.get(j++);
+
+				if (removedRows.get(row))
+					continue;
+
+				if (deduplicate && previousRow != -1 && compareRows(previousRow, row) == 0) {
+					removedRows.set(row);
+					continue;
+				}
+				this.mergedRows.add(row);
+				previousRow = row;
+			}
+
+			MappedIntColumn rows = this.rows;
+			this.rows = this.mergedRows;
+			this.mergedRows = rows;
+			this.mergedRows.clear();
+		}
+
+		public RangeCursor find(int[] pattern)
+		{
+			int prefixLength = 0;
+
+			while (prefixLength < 3 && pattern[this.order[prefixLength]] != IDResolver.NO_ID)
+				prefixLength++;
+
+			int fromIndex = search(pattern, prefixLength, false);
+			int toIndex = search(pattern, prefixLength, true);
+
+			return new RangeCursor(this.rows, fromIndex, toIndex);
+		}
+
+		public void close()
+		{
+			this.rows.close();
+			this.mergedRows.close();
+		}
+
+		/**
+		 * @return The first index whose row is not less than, or when finding the upper bound is greater than, the
+		 * pattern in its first prefixLength positions
+		 */
+		private int search(int[] pattern, int prefixLength, boolean isUpperBound)
+		{
+			int low = 0, high = this.rows.size();
+
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				int comparison = comparePattern(this.rows.get(middle), pattern, prefixLength);
+
+				if (comparison < 0 || (isUpperBound && comparison == 0))
+					low = middle + 1;
+				else
+					high = middle;
+			}
+			return low;
+		}
+
+		private int comparePattern(int row, int[] pattern, int prefixLength)
+		{
+			for (int i = 0; i < prefixLength; i++) {
+				int position = this.order[i];
+				int comparison = Integer.compare(DefaultOWLAssertionStore.this.columns[position].get(row), pattern[position]);
+
+				if (comparison != 0)
+					return comparison;
+			}
+			return 0;
+		}
+
+		private int compareRows(int row1, int row2)
+		{
+			for (int position : this.order) {
+				MappedIntColumn column = DefaultOWLAssertionStore.this.columns[position];
+				int comparison = Integer.compare(column.get(row1), column.get(row2));
+
+				if (comparison != 0)
+					return comparison;
+			}
+			return 0;
+		}
+
+		/**
+		 * Quicksort the rows in [fromIndex, toIndex) of the column in place. Recursion is on the smaller partition so the
+		 * stack depth is logarithmic.
+		 */
+		private void sort(MappedIntColumn column, int fromIndex, int toIndex)
+		{
+			while (toIndex - fromIndex > INSERTION_SORT_THRESHOLD) {
+				int middle = (fromIndex + toIndex) >>> 1;
+				int pivot = medianOfThree(column.get(fromIndex), column.get(middle), column.get(toIndex - 1));
+				int i = fromIndex, j = toIndex - 1;
+
+				while (i <= j) {
+					while (compareRows(column.get(i), pivot) < 0)
+						i++;
+					while (compareRows(column.get(j), pivot) > 0)
+						j--;
+					if (i <= j)
+						column.swap(i++, j--);
+				}
+
+				if (j + 1 - fromIndex < toIndex - i) {
+					sort(column, fromIndex, j + 1);
+					fromIndex = i;
+				} else {
+					sort(column, i, toIndex);
+					toIndex = j + 1;
+				}
+			}
+
+			for (int i = fromIndex + 1; i < toIndex; i++) {
+				int row = column.get(i);
+				int j = i - 1;
+
+				while (j >= fromIndex && compareRows(column.get(j), row) > 0) {
+					column.set(j + 1, column.get(j));
+					j--;
+				}
+				column.set(j + 1, row);
+			}
+		}
+
+		private int medianOfThree(int row1, int row2, int row3)
+		{
+			if (compareRows(row1, row2) < 0)
+				return compareRows(row2, row3) < 0 ? row2 : compareRows(row1, row3) < 0 ? row3 : row1;
+			else
+				return compareRows(row1, row3) < 0 ? row1 : compareRows(row2, row3) < 0 ? row3 : row2;
+		}
+	}
+
+	/**
+	 * Iterates over a range of an index, skipping removed rows. The store is locked while the cursor reads its columns.
+	 */
+	private class RangeCursor implements Cursor
+	{
+		private final MappedIntColumn rows;
+		private final int toIndex;
+		private final int expectedModificationCount;
+		private int index;
+		private int row;
+
+		public RangeCursor(MappedIntColumn rows, int fromIndex, int toIndex)
+		{
+			this.rows = rows;
+			this.toIndex = toIndex;
+			this.expectedModificationCount = DefaultOWLAssertionStore.this.modificationCount;
+			this.index = fromIndex;
+			this.row = -1;
+		}
+
+		@Override
+		public boolean next()
+		{
+			synchronized (DefaultOWLAssertionStore.this) {
+				checkForModification();
+
+				while (this.index < this.toIndex) {
+					int row = this.rows.get(this.index++);
+
+					if (!DefaultOWLAssertionStore.this.removedRows.get(row)) {
+						this.row = row;
+						return true;
+					}
+				}
+				return false;
+			}
+		}
+
+		public int getRow()
+		{
+			return this.row;
+		}
+
+		@Override
+		public int getSubjectID()
+		{
+			return getID(SUBJECT);
+		}
+
+		@Override
+		public int getPredicateID()
+		{
+			return getID(PREDICATE);
+		}
+
+		@Override
+		public int getObjectID()
+		{
+			return getID(OBJECT);
+		}
+
+		@Override
+		public OWLAxiom getOWLAxiom()
+		{
+			synchronized (DefaultOWLAssertionStore.this) {
+				return DefaultOWLAssertionStore.this.getOWLAxiom(getSubjectID(), getPredicateID(), getObjectID());
+			}
+		}
+
+		private int getID(int position)
+		{
+			synchronized (DefaultOWLAssertionStore.this) {
+				checkForModification();
+
+				return DefaultOWLAssertionStore.this.columns[position].get(this.row);
+			}
+		}
+
+		private void checkForModification()
+		{
+			if (this.expectedModificationCount != DefaultOWLAssertionStore.this.modificationCount)
+				throw new ConcurrentModificationException("assertion store modified while a cursor was in use");
+		}
+	}
+}
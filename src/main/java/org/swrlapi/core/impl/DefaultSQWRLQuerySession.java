@@ -0,0 +1,43 @@
+package org.swrlapi.core.impl;
+
+import org.swrlapi.sqwrl.SQWRLQuerySession;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+/**
+ * A SQWRL query session backed by a {@link DefaultSWRLRuleEngine}.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLQueryEngine#openSession()
+ */
+class DefaultSQWRLQuerySession implements SQWRLQuerySession
+{
+	private final DefaultSWRLRuleEngine ruleEngine;
+	private boolean isOpen;
+
+	public DefaultSQWRLQuerySession(DefaultSWRLRuleEngine ruleEngine)
+	{
+		this.ruleEngine = ruleEngine;
+		this.isOpen = true;
+	}
+
+	@Override
+	public SQWRLResult runSQWRLQuery(String queryName) throws SQWRLException
+	{
+		if (!this.isOpen)
+			throw new SQWRLException("SQWRL query session is closed");
+
+		return this.ruleEngine.runSQWRLQueryInSession(queryName);
+	}
+
+	@Override
+	public boolean isOpen()
+	{
+		return this.isOpen;
+	}
+
+	@Override
+	public void close()
+	{
+		this.isOpen = false;
+	}
+}
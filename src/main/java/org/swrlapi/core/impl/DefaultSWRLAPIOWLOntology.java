@@ -1,5 +1,6 @@
 package org.swrlapi.core.impl;
 
+import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
@@ -15,6 +16,7 @@ import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.SWRLAtom;
 import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
@@ -23,6 +25,7 @@ import org.semanticweb.owlapi.model.SWRLLiteralArgument;
 import org.semanticweb.owlapi.model.SWRLPredicate;
 import org.semanticweb.owlapi.model.SWRLRule;
 import org.semanticweb.owlapi.model.SWRLVariable;
+import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.util.DefaultPrefixManager;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
@@ -30,11 +33,15 @@ import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentFactory;
 import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
+import org.swrlapi.core.OWLAssertionStore;
+import org.swrlapi.core.OWLAxiomChanges;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
 import org.swrlapi.core.SWRLAPIFactory;
 import org.swrlapi.core.SWRLAPIOWLDataFactory;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.core.SWRLAPIOntologyProcessor;
 import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.resolvers.IDResolver;
 import org.swrlapi.core.resolvers.IRIResolver;
 import org.swrlapi.exceptions.SWRLAPIException;
 import org.swrlapi.exceptions.SWRLAPIInternalException;
@@ -48,6 +55,7 @@ import org.swrlapi.sqwrl.exceptions.SQWRLException;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -57,9 +65,12 @@ public class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
 	private final OWLOntology ontology;
 	private final DefaultPrefixManager prefixManager;
 	private final SWRLAPIOWLDataFactory swrlapiOWLDataFactory;
+	private final IDResolver idResolver;
 	private final SWRLAPIOntologyProcessor swrlapiOntologyProcessor;
 	private final SWRLParser swrlParser;
 	private final Set<IRI> swrlBuiltInIRIs;
+	private final SWRLAPIRuleCache swrlapiRuleCache;
+	private Set<OWLOntologyChange> bulkConversionChanges; // Non null during bulk conversion
 
 	public DefaultSWRLAPIOWLOntology(OWLOntology ontology, DefaultPrefixManager prefixManager)
 	{
@@ -67,11 +78,16 @@ public class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
 		this.ontology = ontology;
 		this.prefixManager = prefixManager;
 		this.swrlapiOWLDataFactory = SWRLAPIFactory.createSWRLAPIOWLDataFactory(new IRIResolver(this.prefixManager));
+		this.idResolver = new IDResolver(this.ontologyManager.getOWLDataFactory());
 		this.swrlapiOntologyProcessor = SWRLAPIFactory.createOntologyProcessor(this);
 		this.swrlParser = new SWRLParser(this);
 		this.swrlBuiltInIRIs = new HashSet<>();
+		this.swrlapiRuleCache = new SWRLAPIRuleCache(ontology);
+		this.bulkConversionChanges = null;
 
 		addDefaultSWRLBuiltIns();
+
+		this.ontologyManager.addOntologyChangeListener(this.swrlapiRuleCache);
 	}
 
 	@Override
@@ -137,6 +153,9 @@ public class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
 		return this.swrlapiOntologyProcessor.getSWRLRule(ruleName);
 	}
 
+	/**
+	 * Converted rules are cached and reused until the ontology changes in a way that affects their conversion.
+	 */
 	@Override
 	public Set<SWRLAPIRule> getSWRLAPIRules()
 	{
@@ -145,6 +164,19 @@ public class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
 		Set<String> ruleNames = new HashSet<>();
 
 		for (SWRLRule owlapiRule : getOWLOntology().getAxioms(AxiomType.SWRL_RULE, Imports.INCLUDED)) {
+			SWRLAPIRule cachedSWRLAPIRule = this.swrlapiRuleCache.getSWRLAPIRule(owlapiRule);
+
+			if (cachedSWRLAPIRule != null) {
+				if (this.swrlapiOntologyProcessor.getRuleName(owlapiRule).isEmpty())
+					unannotatedOWLAPIRules.add(owlapiRule);
+				else {
+					recordSWRLVariables(cachedSWRLAPIRule);
+					swrlapiRules.add(cachedSWRLAPIRule);
+					ruleNames.add(cachedSWRLAPIRule.getRuleName());
+				}
+				continue;
+			}
+
 			String ruleName = this.swrlapiOntologyProcessor.getRuleName(owlapiRule);
 			boolean isActive = this.swrlapiOntologyProcessor.getIsActive(owlapiRule);
 			String comment = this.swrlapiOntologyProcessor.getComment(owlapiRule);
@@ -153,12 +185,23 @@ public class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
 				unannotatedOWLAPIRules.add(owlapiRule);
 			} else {
 				SWRLAPIRule swrlapiRule = convertOWLAPIRule2SWRLAPIRule(owlapiRule, ruleName, comment, isActive);
+				this.swrlapiRuleCache.putSWRLAPIRule(owlapiRule, swrlapiRule);
 				swrlapiRules.add(swrlapiRule);
 				ruleNames.add(ruleName);
 			}
 		}
 
 		for (SWRLRule owlapiRule : unannotatedOWLAPIRules) {
+			SWRLAPIRule cachedSWRLAPIRule = this.swrlapiRuleCache.getSWRLAPIRule(owlapiRule);
+
+			// Keep the previously generated name unless an annotated rule now uses it
+			if (cachedSWRLAPIRule != null && !ruleNames.contains(cachedSWRLAPIRule.getRuleName())) {
+				recordSWRLVariables(cachedSWRLAPIRule);
+				swrlapiRules.add(cachedSWRLAPIRule);
+				ruleNames.add(cachedSWRLAPIRule.getRuleName());
+				continue;
+			}
+
 			String ruleName = generateRuleName(ruleNames);
 			String comment = "";
 			boolean isEnabled = true;
@@ -166,6 +209,7 @@ public class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
 					generateRuleAnnotations(ruleName, comment, isEnabled));
 
 			SWRLAPIRule swrlapiRule = convertOWLAPIRule2SWRLAPIRule(annotatedOWLAPIRule, ruleName, "", true);
+			this.swrlapiRuleCache.putSWRLAPIRule(owlapiRule, swrlapiRule);
 			swrlapiRules.add(swrlapiRule);
 			ruleNames.add(ruleName);
 
@@ -176,6 +220,25 @@ public class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
 		return swrlapiRules;
 	}
 
+	/**
+	 * Conversion records the variables passed to built-ins with the IRI resolver. A full processing run resets the
+	 * resolver so the variables of a cached rule must be recorded again when the rule is reused.
+	 */
+	private void recordSWRLVariables(SWRLAPIRule swrlapiRule)
+	{
+		List<SWRLAtom> atoms = new ArrayList<>(swrlapiRule.getBodyAtoms());
+		atoms.addAll(swrlapiRule.getHeadAtoms());
+
+		for (SWRLAtom atom : atoms) {
+			if (atom instanceof SWRLAPIBuiltInAtom) {
+				for (SWRLBuiltInArgument argument : ((SWRLAPIBuiltInAtom)atom).getBuiltInArguments()) {
+					if (argument.isVariable())
+						getIRIResolver().recordSWRLVariable(argument.asVariable());
+				}
+			}
+		}
+	}
+
 	private String generateRuleName(Set<String> ruleNames)
 	{
 		String ruleNamePrefix = "R";
@@ -226,28 +289,65 @@ public class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
 		return getSWRLAPIOWLDataFactory().getIRIResolver();
 	}
 
+	@Override
+	public IDResolver getIDResolver()
+	{
+		return this.idResolver;
+	}
+
+	@Override
+	public void addOWLAxioms(Set<OWLAxiom> axioms)
+	{
+		List<OWLOntologyChange> changes = new ArrayList<>();
+
+		for (OWLAxiom axiom : axioms) {
+			if (!this.ontology.containsAxiom(axiom, Imports.INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS))
+				changes.add(new AddAxiom(this.ontology, axiom));
+		}
+
+		if (this.bulkConversionChanges != null)
+			this.bulkConversionChanges.addAll(changes);
+		else if (!changes.isEmpty())
+			this.ontologyManager.applyChanges(changes);
+	}
+
+	/**
+	 * Start buffering the axioms added by {@link #addOWLAxioms(java.util.Set)}. Has no effect if bulk conversion has
+	 * already been started.
+	 */
 	@Override
 	public void startBulkConversion()
 	{
-		// TODO
+		if (this.bulkConversionChanges == null)
+			this.bulkConversionChanges = new LinkedHashSet<>();
 	}
 
+	/**
+	 * Apply the buffered axiom additions to the ontology in one batch and leave bulk conversion mode.
+	 */
 	@Override
 	public void completeBulkConversion()
 	{
-		// TODO
+		if (this.bulkConversionChanges != null) {
+			List<OWLOntologyChange> changes = new ArrayList<>(this.bulkConversionChanges);
+
+			this.bulkConversionChanges = null;
+
+			if (!changes.isEmpty())
+				this.ontologyManager.applyChanges(changes);
+		}
 	}
 
 	@Override
 	public boolean hasOntologyChanged()
 	{
-		return true; // TODO
+		return this.swrlapiOntologyProcessor.hasOntologyChanged();
 	}
 
 	@Override
 	public void resetOntologyChanged()
 	{
-		// TODO
+		this.swrlapiOntologyProcessor.resetOntologyChanged();
 	}
 
 	// void addRuleNameAnnotation(SWRLRule rule, String ruleName)
@@ -268,7 +368,8 @@ public class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
 
 	@Override public void addSWRLBuiltIn(IRI iri)
 	{
-		this.swrlBuiltInIRIs.add(iri);
+		if (this.swrlBuiltInIRIs.add(iri))
+			this.swrlapiRuleCache.clear(); // Rules may contain atoms that are now built-in atoms
 	}
 
 	public Set<IRI> getSWRLBuiltInIRIs()
@@ -308,6 +409,7 @@ public class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
 
 	public void reset()
 	{
+		this.swrlapiRuleCache.clear();
 		this.swrlapiOntologyProcessor.reset();
 	}
 
@@ -316,6 +418,24 @@ public class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
 		this.swrlapiOntologyProcessor.processOntology();
 	}
 
+	@Override
+	public void setAxiomProcessingParallelism(int parallelism)
+	{
+		this.swrlapiOntologyProcessor.setAxiomProcessingParallelism(parallelism);
+	}
+
+	@Override
+	public void setOWLAssertionStore(OWLAssertionStore store)
+	{
+		this.swrlapiOntologyProcessor.setOWLAssertionStore(store);
+	}
+
+	@Override
+	public OWLAssertionStore getOWLAssertionStore()
+	{
+		return this.swrlapiOntologyProcessor.getOWLAssertionStore();
+	}
+
 	public boolean hasAssertedOWLAxiom(OWLAxiom axiom)
 	{
 		return this.swrlapiOntologyProcessor.hasAssertedOWLAxiom(axiom);
@@ -326,6 +446,18 @@ public class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology
 		return this.swrlapiOntologyProcessor.getOWLAxioms();
 	}
 
+	@Override
+	public long getProcessedOWLAxiomsVersion()
+	{
+		return this.swrlapiOntologyProcessor.getProcessedOWLAxiomsVersion();
+	}
+
+	@Override
+	public OWLAxiomChanges getProcessedOWLAxiomChanges()
+	{
+		return this.swrlapiOntologyProcessor.getProcessedOWLAxiomChanges();
+	}
+
 	public int getNumberOfSWRLRules()
 	{
 		return this.swrlapiOntologyProcessor.getNumberOfSWRLRules();
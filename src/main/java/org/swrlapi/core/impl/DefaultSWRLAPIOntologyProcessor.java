@@ -3,10 +3,7 @@ package org.swrlapi.core.impl;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
-import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
-import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
-import org.semanticweb.owlapi.model.OWLAnnotationPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
@@ -18,25 +15,23 @@ import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
 import org.semanticweb.owlapi.model.OWLDataPropertyRangeAxiom;
-import org.semanticweb.owlapi.model.OWLDatatypeDefinitionAxiom;
 import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
 import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
 import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
 import org.semanticweb.owlapi.model.OWLDisjointDataPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLDisjointObjectPropertiesAxiom;
-import org.semanticweb.owlapi.model.OWLDisjointUnionAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
 import org.semanticweb.owlapi.model.OWLEquivalentDataPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLEquivalentObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLFunctionalDataPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
-import org.semanticweb.owlapi.model.OWLHasKeyAxiom;
 import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
 import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLNegativeDataPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
@@ -45,9 +40,7 @@ import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
-import org.semanticweb.owlapi.model.OWLReflexiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
-import org.semanticweb.owlapi.model.OWLSubAnnotationPropertyOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
 import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
@@ -55,14 +48,21 @@ import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
 import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
 import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
 import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.util.OWLAxiomVisitorAdapter;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.swrlapi.core.OWLAssertionStore;
+import org.swrlapi.core.OWLAxiomChanges;
 import org.swrlapi.core.SWRLAPILiteralFactory;
 import org.swrlapi.core.SWRLAPIOWLDataFactory;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.core.SWRLAPIOntologyProcessor;
+import org.swrlapi.core.SWRLAPIOntologyStatistics;
 import org.swrlapi.core.SWRLAPIRule;
 import org.swrlapi.core.resolvers.IRIResolver;
+import org.swrlapi.exceptions.SWRLAPIException;
+import org.swrlapi.exceptions.SWRLAPIInternalException;
 import org.swrlapi.exceptions.SWRLRuleException;
 import org.swrlapi.sqwrl.DefaultSQWRLQuery;
 import org.swrlapi.sqwrl.SQWRLQuery;
@@ -72,26 +72,56 @@ import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.sqwrl.exceptions.SQWRLInvalidQueryNameException;
 import org.swrlapi.sqwrl.values.SQWRLResultValueFactory;
 
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class DefaultSWRLAPIOntologyProcessor implements SWRLAPIOntologyProcessor
 {
+	private static final int MINIMUM_AXIOM_PARTITION_SIZE = 10000;
+
 	private final SWRLAPIOWLOntology swrlapiOWLOntology;
 
 	private final Map<String, SWRLAPIRule> swrlapiRules; // SWRL rules include SQWRL queries
 	private final Map<String, SQWRLQuery> sqwrlQueries;
+	// Keyed by identity because building a query modifies the built-in atoms of its rule
+	private Map<SWRLAPIRule, DefaultSQWRLQuery> sqwrlQueryCache;
+	private Map<SWRLAPIRule, SWRLAPIRule> sqwrlQueryRuleCache; // The reordered rules that the cached queries were built from
+	private final List<SWRLAPIRule> convertedSWRLRules; // The rules from which the processed rules are made
+	private SWRLAPIRuleOptimizer ruleOptimizer; // Created when the rules were last processed
 
-	private final Set<OWLAxiom> assertedOWLAxioms; // All asserted OWL axioms extracted from the supplied ontology
+	private final Set<OWLAxiom> assertedOWLAxioms; // Asserted OWL axioms extracted from the supplied ontology
+	private final Set<SWRLAPIRule> processedSWRLRules; // The SWRL rules among the asserted axioms
+	private OWLAssertionStore owlAssertionStore; // If not null, holds the extracted assertions that it can hold
 
 	private final Map<IRI, OWLDeclarationAxiom> owlClassDeclarationAxioms;
 	private final Map<IRI, OWLDeclarationAxiom> owlIndividualDeclarationAxioms;
 	private final Map<IRI, OWLDeclarationAxiom> owlObjectPropertyDeclarationAxioms;
 	private final Map<IRI, OWLDeclarationAxiom> owlDataPropertyDeclarationAxioms;
 	private final Map<IRI, OWLDeclarationAxiom> owlAnnotationPropertyDeclarationAxioms;
+	private final Set<OWLDeclarationAxiom> generatedOWLDeclarationAxioms;
+	private final DefaultSWRLAPIOntologyStatistics ontologyStatistics;
+
+	private final SWRLAPIOntologyChangeJournal changeJournal;
+	private int axiomProcessingParallelism;
+	private boolean isProcessed;
+	private int processedAxiomCount; // Number of axioms in the imports closure when last processed
+	private long processedOWLAxiomsVersion;
+	private OWLAxiomChanges processedOWLAxiomChanges; // The changes that produced the current version; null after a full pass
+	private Set<OWLAxiom> addedOWLAxioms; // Added by the current incremental processing run; null during a full pass
+	private Set<OWLAxiom> removedOWLAxioms; // Removed by the current incremental processing run; null during a full pass
 
 	public DefaultSWRLAPIOntologyProcessor(SWRLAPIOWLOntology swrlapiOWLOntology)
 	{
@@ -99,14 +129,33 @@ public class DefaultSWRLAPIOntologyProcessor implements SWRLAPIOntologyProcessor
 
 		this.swrlapiRules = new HashMap<>();
 		this.sqwrlQueries = new HashMap<>();
+		this.sqwrlQueryCache = new IdentityHashMap<>();
+		this.sqwrlQueryRuleCache = new IdentityHashMap<>();
+		this.convertedSWRLRules = new ArrayList<>();
+		this.ruleOptimizer = null;
 
 		this.assertedOWLAxioms = new HashSet<>();
+		this.processedSWRLRules = new HashSet<>();
+		this.owlAssertionStore = null;
 
 		this.owlClassDeclarationAxioms = new HashMap<>();
 		this.owlIndividualDeclarationAxioms = new HashMap<>();
 		this.owlObjectPropertyDeclarationAxioms = new HashMap<>();
 		this.owlDataPropertyDeclarationAxioms = new HashMap<>();
 		this.owlAnnotationPropertyDeclarationAxioms = new HashMap<>();
+		this.generatedOWLDeclarationAxioms = new HashSet<>();
+		this.ontologyStatistics = new DefaultSWRLAPIOntologyStatistics(this.owlIndividualDeclarationAxioms);
+
+		this.changeJournal = new SWRLAPIOntologyChangeJournal(swrlapiOWLOntology.getOWLOntology());
+		this.axiomProcessingParallelism = 1;
+		this.isProcessed = false;
+		this.processedAxiomCount = 0;
+		this.processedOWLAxiomsVersion = 0;
+		this.processedOWLAxiomChanges = null;
+		this.addedOWLAxioms = null;
+		this.removedOWLAxioms = null;
+
+		swrlapiOWLOntology.getOWLOntologyManager().addOntologyChangeListener(this.changeJournal);
 	}
 
 	@Override
@@ -118,21 +167,110 @@ public class DefaultSWRLAPIOntologyProcessor implements SWRLAPIOntologyProcessor
 		getIRIResolver().reset();
 
 		this.assertedOWLAxioms.clear();
+		this.processedSWRLRules.clear();
+		if (this.owlAssertionStore != null)
+			this.owlAssertionStore.clear();
 
 		this.owlClassDeclarationAxioms.clear();
 		this.owlIndividualDeclarationAxioms.clear();
 		this.owlObjectPropertyDeclarationAxioms.clear();
 		this.owlDataPropertyDeclarationAxioms.clear();
 		this.owlAnnotationPropertyDeclarationAxioms.clear();
+		this.generatedOWLDeclarationAxioms.clear();
+		this.ontologyStatistics.clear();
+
+		this.isProcessed = false;
 	}
 
+	/**
+	 * Process the ontology. The first call processes the whole imports closure. Subsequent calls process only the axioms
+	 * added or removed since the previous call, as recorded by the change journal. A full pass is made again after
+	 * {@link #reset()}, after import changes, or when a declaration axiom has been removed.
+	 * <p/>
+	 * Rules are processed after the axioms so that their bodies are ordered using the statistics of the processed
+	 * axioms. The processed axioms version is incremented by a full pass and by an incremental run that adds or removes
+	 * processed axioms.
+	 */
 	@Override
 	public void processOntology() throws SQWRLException
 	{
-		reset();
+		if (requiresFullProcessing()) {
+			reset();
+			this.changeJournal.clear();
+
+			processOWLAxioms();
+			processSWRLRulesAndSQWRLQueries();
+			this.processedOWLAxiomsVersion++;
+			this.processedOWLAxiomChanges = null;
+		} else {
+			this.addedOWLAxioms = new HashSet<>();
+			this.removedOWLAxioms = new HashSet<>();
+			try {
+				processOWLAxiomChanges();
+				if (!this.addedOWLAxioms.isEmpty() || !this.removedOWLAxioms.isEmpty()) {
+					this.processedOWLAxiomsVersion++;
+					this.processedOWLAxiomChanges = new OWLAxiomChanges(this.addedOWLAxioms, this.removedOWLAxioms);
+				}
+			} finally {
+				this.addedOWLAxioms = null;
+				this.removedOWLAxioms = null;
+			}
+		}
+
+		this.isProcessed = true;
+		this.processedAxiomCount = getOWLOntology().getAxiomCount(Imports.INCLUDED);
+	}
+
+	@Override
+	public void setAxiomProcessingParallelism(int parallelism)
+	{
+		if (parallelism < 1)
+			throw new SWRLAPIException("axiom processing parallelism must be at least 1; got " + parallelism);
+
+		this.axiomProcessingParallelism = parallelism;
+	}
+
+	@Override
+	public void setOWLAssertionStore(OWLAssertionStore store)
+	{
+		this.owlAssertionStore = store;
+		this.isProcessed = false; // Assertions already extracted are held in the previous store or in memory
+	}
+
+	@Override
+	public OWLAssertionStore getOWLAssertionStore()
+	{
+		return this.owlAssertionStore;
+	}
+
+	@Override
+	public SWRLAPIOntologyStatistics getOntologyStatistics()
+	{
+		return this.ontologyStatistics;
+	}
+
+	@Override
+	public long getProcessedOWLAxiomsVersion()
+	{
+		return this.processedOWLAxiomsVersion;
+	}
+
+	@Override
+	public OWLAxiomChanges getProcessedOWLAxiomChanges()
+	{
+		return this.processedOWLAxiomChanges;
+	}
+
+	@Override
+	public boolean hasOntologyChanged()
+	{
+		return this.changeJournal.hasOntologyChanged();
+	}
 
-		processSWRLRulesAndSQWRLQueries();
-		processOWLAxioms();
+	@Override
+	public void resetOntologyChanged()
+	{
+		this.changeJournal.resetOntologyChanged();
 	}
 
 	@Override
@@ -225,7 +363,10 @@ public class DefaultSWRLAPIOntologyProcessor implements SWRLAPIOntologyProcessor
 	@Override
 	public int getNumberOfOWLAxioms()
 	{
-		return this.assertedOWLAxioms.size();
+		if (this.owlAssertionStore == null)
+			return this.assertedOWLAxioms.size();
+		else
+			return this.assertedOWLAxioms.size() + this.owlAssertionStore.size();
 	}
 
 	@Override
@@ -237,23 +378,39 @@ public class DefaultSWRLAPIOntologyProcessor implements SWRLAPIOntologyProcessor
 	@Override
 	public Set<OWLAxiom> getOWLAxioms()
 	{
-		return Collections.unmodifiableSet(this.assertedOWLAxioms);
+		if (this.owlAssertionStore == null)
+			return Collections.unmodifiableSet(this.assertedOWLAxioms);
+		else
+			return new AssertedOWLAxiomSet();
 	}
 
 	@Override
 	public boolean hasAssertedOWLAxiom(OWLAxiom axiom)
 	{
-		return this.assertedOWLAxioms.contains(axiom);
+		return this.assertedOWLAxioms.contains(axiom) || (this.owlAssertionStore != null && this.owlAssertionStore
+				.contains(axiom));
 	}
 
 	public SQWRLQuery createSWRLQueryFromSWRLRule(SWRLAPIRule rule) throws SQWRLException
 	{
-		String queryName = rule.getRuleName();
-		boolean active = rule.isActive();
-		String comment = rule.getComment();
-		SQWRLQuery query = new DefaultSQWRLQuery(queryName, rule.getBodyAtoms(), rule.getHeadAtoms(), active, comment,
-				getSWRLAPILiteralFactory(), getSQWRLResultValueFactory());
+		return createSWRLQueryFromSWRLRule(rule, rule);
+	}
+
+	/**
+	 * @param rule          The rule as returned by the ontology, by which the query is cached
+	 * @param optimizedRule The rule with its body reordered, from which the query is built
+	 */
+	private DefaultSQWRLQuery createSWRLQueryFromSWRLRule(SWRLAPIRule rule, SWRLAPIRule optimizedRule)
+			throws SQWRLException
+	{
+		String queryName = optimizedRule.getRuleName();
+		boolean active = optimizedRule.isActive();
+		String comment = optimizedRule.getComment();
+		DefaultSQWRLQuery query = new DefaultSQWRLQuery(queryName, optimizedRule.getBodyAtoms(),
+				optimizedRule.getHeadAtoms(), active, comment, getSWRLAPILiteralFactory(), getSQWRLResultValueFactory());
 		this.sqwrlQueries.put(queryName, query);
+		this.sqwrlQueryCache.put(rule, query);
+		this.sqwrlQueryRuleCache.put(rule, optimizedRule);
 
 		return query;
 	}
@@ -349,663 +506,728 @@ public class DefaultSWRLAPIOntologyProcessor implements SWRLAPIOntologyProcessor
 	}
 
 	/**
-	 * Process currently supported OWL axioms. The processing consists of recording any OWL properties in the processed
-	 * axioms (with an instance of the {@link org.swrlapi.core.resolvers.IRIResolver} class) and generating declaration axioms for these properties.
+	 * Process currently supported OWL axioms in a single pass over the imports closure. The processing consists of
+	 * recording any OWL entities in the processed axioms (with an instance of the
+	 * {@link org.swrlapi.core.resolvers.IRIResolver} class) and generating declaration axioms for these entities.
 	 * <p/>
-	 * TODO The current approach is clunky. A better approach would be to walk the axioms with a visitor and record the
-	 * properties and generate the declaration axioms.
+	 * If the axiom processing parallelism is greater than one the axioms are split into partitions that are visited
+	 * concurrently. The results of each partition are then merged sequentially.
 	 */
 	private void processOWLAxioms()
 	{
-		processOWLClassDeclarationAxioms();
-		processOWLIndividualDeclarationAxioms();
-		processOWLObjectPropertyDeclarationAxioms();
-		processOWLDataPropertyDeclarationAxioms();
-		processOWLAnnotationPropertyDeclarationAxioms();
-		processOWLClassAssertionAxioms();
-		processOWLObjectPropertyAssertionAxioms();
-		processOWLDataPropertyAssertionAxioms();
-		processOWLSameIndividualAxioms();
-		processOWLDifferentIndividualsAxioms();
-		processOWLSubClassOfAxioms();
-		processOWLEquivalentClassesAxioms();
-		processOWLSubObjectPropertyOfAxioms();
-		processOWLSubDataPropertyOfAxioms();
-		processOWLEquivalentDataPropertiesAxioms();
-		processOWLEquivalentObjectPropertiesAxioms();
-		processOWLTransitiveObjectPropertyAxioms();
-		processOWLSymmetricObjectPropertyAxioms();
-		processOWLFunctionalObjectPropertyAxioms();
-		processOWLInverseFunctionalObjectPropertyAxioms();
-		processOWLFunctionalDataPropertyAxioms();
-		processOWLObjectPropertyDomainAxioms();
-		processOWLDataPropertyDomainAxioms();
-		processOWLObjectPropertyRangeAxioms();
-		processOWLDataPropertyRangeAxioms();
-		processOWLInverseObjectPropertiesAxioms();
-		processOWLIrreflexiveObjectPropertyAxioms();
-		processOWLAsymmetricObjectPropertyAxioms();
-		processOWLDisjointObjectPropertiesAxioms();
-		processOWLDisjointDataPropertiesAxioms();
-	}
-
-	private void processSWRLRulesAndSQWRLQueries() throws SQWRLException
-	{
-		for (SWRLAPIRule ruleOrQuery : getSWRLAPIOWLOntology().getSWRLAPIRules())
-			processSWRLRuleOrSQWRLQuery(ruleOrQuery);
-	}
-
-	private void processSWRLRuleOrSQWRLQuery(SWRLAPIRule ruleOrQuery) throws SQWRLException
-	{
-		if (ruleOrQuery.isSQWRLQuery()) {
-			createSWRLQueryFromSWRLRule(ruleOrQuery);
-			this.swrlapiRules.put(ruleOrQuery.getRuleName(), ruleOrQuery);
-		} else {
-			this.swrlapiRules.put(ruleOrQuery.getRuleName(), ruleOrQuery);
-			this.assertedOWLAxioms.add(ruleOrQuery); // A SWRL rule is a type of OWL axiom; a SQWRL query is not.
-		}
-	}
+		if (this.axiomProcessingParallelism > 1) {
+			List<OWLAxiom> axioms = new ArrayList<>();
+			for (OWLOntology ontology : getOWLOntology().getImportsClosure())
+				axioms.addAll(ontology.getAxioms());
 
-	private void processOWLClassAssertionAxioms()
-	{
-		for (OWLClassAssertionAxiom axiom : getOWLClassAssertionAxioms()) {
-			generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getIndividual());
-			this.assertedOWLAxioms.add(axiom);
+			if (axioms.size() >= this.axiomProcessingParallelism * MINIMUM_AXIOM_PARTITION_SIZE) {
+				processCollectedOWLAxioms(collectOWLAxiomsInParallel(axioms));
+				return;
+			}
 		}
-	}
 
-	private void processOWLObjectPropertyAssertionAxioms()
-	{
-		for (OWLObjectPropertyAssertionAxiom axiom : getOWLObjectPropertyAssertionAxioms()) {
-			generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getSubject());
-			generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getObject());
-			this.assertedOWLAxioms.add(axiom);
+		OWLAxiomCollector collector = new OWLAxiomCollector();
+		for (OWLOntology ontology : getOWLOntology().getImportsClosure()) {
+			for (OWLAxiom axiom : ontology.getAxioms())
+				axiom.accept(collector);
 		}
-	}
+		processCollectedOWLAxioms(Collections.singletonList(collector));
+	}
+
+	private List<OWLAxiomCollector> collectOWLAxiomsInParallel(List<OWLAxiom> axioms)
+	{
+		int partitionSize = (axioms.size() + this.axiomProcessingParallelism - 1) / this.axiomProcessingParallelism;
+		ExecutorService executor = Executors.newFixedThreadPool(this.axiomProcessingParallelism);
+
+		try {
+			List<Future<OWLAxiomCollector>> partitions = new ArrayList<>();
+			for (int start = 0; start < axioms.size(); start += partitionSize) {
+				final List<OWLAxiom> partition = axioms.subList(start, Math.min(start + partitionSize, axioms.size()));
+				partitions.add(executor.submit(new Callable<OWLAxiomCollector>()
+				{
+					@Override
+					public OWLAxiomCollector call()
+					{
+						OWLAxiomCollector collector = new OWLAxiomCollector();
+						for (OWLAxiom axiom : partition)
+							axiom.accept(collector);
+						return collector;
+					}
+				}));
+			}
 
-	private void processOWLDataPropertyAssertionAxioms()
-	{
-		for (OWLDataPropertyAssertionAxiom axiom : getOWLDataPropertyAssertionAxioms()) {
-			generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getSubject());
-			this.assertedOWLAxioms.add(axiom);
+			List<OWLAxiomCollector> collectors = new ArrayList<>();
+			for (Future<OWLAxiomCollector> partition : partitions)
+				collectors.add(partition.get());
+			return collectors;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SWRLAPIInternalException("interrupted while processing OWL axioms", e);
+		} catch (ExecutionException e) {
+			throw new SWRLAPIInternalException("error processing OWL axioms: " + e.getCause().getMessage(), e.getCause());
+		} finally {
+			executor.shutdownNow();
 		}
 	}
 
-	private void processOWLClassDeclarationAxioms()
+	/**
+	 * Merge the results of one or more axiom collectors. Asserted declarations are processed first so that they take
+	 * precedence over generated ones.
+	 */
+	private void processCollectedOWLAxioms(List<OWLAxiomCollector> collectors)
 	{
-		for (OWLDeclarationAxiom axiom : getOWLClassDeclarationAxioms()) {
-			OWLEntity cls = axiom.getEntity();
-			this.owlClassDeclarationAxioms.put(cls.getIRI(), axiom);
-			this.assertedOWLAxioms.add(axiom);
-			recordOWLClass(cls);
+		for (OWLAxiomCollector collector : collectors) {
+			for (OWLDeclarationAxiom axiom : collector.getOWLDeclarationAxioms())
+				processOWLDeclarationAxiom(axiom);
 		}
-	}
 
-	private void processOWLIndividualDeclarationAxioms()
-	{
-		for (OWLDeclarationAxiom axiom : getOWLIndividualDeclarationAxioms()) {
-			OWLEntity individual = axiom.getEntity();
-			this.owlIndividualDeclarationAxioms.put(individual.getIRI(), axiom);
-			this.assertedOWLAxioms.add(axiom);
-			recordOWLNamedIndividual(individual);
+		for (OWLAxiomCollector collector : collectors) {
+			for (OWLClass cls : collector.getOWLClasses())
+				generateOWLClassDeclarationAxiomIfNecessary(cls);
+			for (OWLNamedIndividual individual : collector.getOWLNamedIndividuals())
+				generateOWLIndividualDeclarationAxiomIfNecessary(individual);
+			for (OWLObjectProperty property : collector.getOWLObjectProperties())
+				generateOWLObjectPropertyDeclarationAxiomIfNecessary(property);
+			for (OWLDataProperty property : collector.getOWLDataProperties())
+				generateOWLDataPropertyDeclarationAxiomIfNecessary(property);
+			for (OWLAxiom axiom : collector.getOWLAxioms())
+				addAssertedOWLAxiom(axiom);
 		}
 	}
 
-	private void processOWLObjectPropertyDeclarationAxioms()
+	/**
+	 * An axiom can be in more than one ontology in the imports closure, so it is only counted if adding it changes the
+	 * in-memory axioms or the assertion store. The store finds duplicates without merging its indexes.
+	 */
+	private void addAssertedOWLAxiom(OWLAxiom axiom)
 	{
-		for (OWLDeclarationAxiom axiom : getOWLObjectPropertyDeclarationAxioms()) {
-			OWLEntity property = axiom.getEntity();
-			this.owlObjectPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-			this.assertedOWLAxioms.add(axiom);
-			recordOWLObjectProperty(property);
-		}
-	}
+		boolean isAdded;
 
-	private void processOWLDataPropertyDeclarationAxioms()
-	{
-		for (OWLDeclarationAxiom axiom : getOWLDataPropertyDeclarationAxioms()) {
-			OWLEntity property = axiom.getEntity();
+		if (this.owlAssertionStore != null && this.owlAssertionStore.canHold(axiom))
+			isAdded = this.owlAssertionStore.add(axiom);
+		else
+			isAdded = this.assertedOWLAxioms.add(axiom);
 
-			this.owlDataPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-			this.assertedOWLAxioms.add(axiom);
-			recordOWLDataProperty(property);
+		if (isAdded) {
+			this.ontologyStatistics.addOWLAxiom(axiom);
+			recordAddedOWLAxiom(axiom);
 		}
 	}
 
-	private void processOWLAnnotationPropertyDeclarationAxioms()
+	private void removeAssertedOWLAxiom(OWLAxiom axiom)
 	{
-		for (OWLDeclarationAxiom axiom : getOWLAnnotationPropertyDeclarationAxioms()) {
-			OWLEntity property = axiom.getEntity();
-
-			this.owlAnnotationPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-			this.assertedOWLAxioms.add(axiom);
-			recordOWLAnnotationProperty(property);
+		if (this.assertedOWLAxioms.remove(axiom) || (this.owlAssertionStore != null && this.owlAssertionStore
+				.remove(axiom))) {
+			this.ontologyStatistics.removeOWLAxiom(axiom);
+			recordRemovedOWLAxiom(axiom);
 		}
 	}
 
-	private void processOWLSameIndividualAxioms()
+	/**
+	 * Add an axiom that is held in memory, such as a declaration or a rule.
+	 */
+	private void addProcessedOWLAxiom(OWLAxiom axiom)
 	{
-		Set<OWLSameIndividualAxiom> axioms = getOWLSameIndividualAxioms();
-		for (OWLSameIndividualAxiom axiom : axioms) {
-			for (OWLIndividual individual : axiom.getIndividuals())
-				generateOWLIndividualDeclarationAxiomIfNecessary(individual);
-		}
-		this.assertedOWLAxioms.addAll(axioms);
+		if (this.assertedOWLAxioms.add(axiom))
+			recordAddedOWLAxiom(axiom);
 	}
 
-	private void processOWLDifferentIndividualsAxioms()
+	private void removeProcessedOWLAxiom(OWLAxiom axiom)
 	{
-		Set<OWLDifferentIndividualsAxiom> axioms = getOWLDifferentIndividualsAxioms();
-		for (OWLDifferentIndividualsAxiom axiom : axioms) {
-			for (OWLIndividual individual : axiom.getIndividuals())
-				generateOWLIndividualDeclarationAxiomIfNecessary(individual);
-		}
-		this.assertedOWLAxioms.addAll(axioms);
+		if (this.assertedOWLAxioms.remove(axiom))
+			recordRemovedOWLAxiom(axiom);
 	}
 
-	private void processOWLSubClassOfAxioms()
+	/**
+	 * An axiom removed and added again by the same incremental processing run, such as a reprocessed rule, is unchanged.
+	 */
+	private void recordAddedOWLAxiom(OWLAxiom axiom)
 	{
-		Set<OWLSubClassOfAxiom> axioms = getOWLSubClassOfAxioms();
-		for (OWLSubClassOfAxiom axiom : axioms) {
-			generateOWLClassDeclarationAxiomIfNecessary(axiom.getSubClass());
-			generateOWLClassDeclarationAxiomIfNecessary(axiom.getSuperClass());
-		}
-		this.assertedOWLAxioms.addAll(axioms);
+		if (this.addedOWLAxioms != null && !this.removedOWLAxioms.remove(axiom))
+			this.addedOWLAxioms.add(axiom);
 	}
 
-	private void processOWLEquivalentClassesAxioms()
+	private void recordRemovedOWLAxiom(OWLAxiom axiom)
 	{
-		Set<OWLEquivalentClassesAxiom> axioms = getOWLEquivalentClassesAxioms();
-		for (OWLEquivalentClassesAxiom axiom : axioms) {
-			for (OWLClass cls : axiom.getNamedClasses())
-				generateOWLClassDeclarationAxiom(cls);
-		}
-		this.assertedOWLAxioms.addAll(axioms);
+		if (this.removedOWLAxioms != null && !this.addedOWLAxioms.remove(axiom))
+			this.removedOWLAxioms.add(axiom);
 	}
 
-	private void processOWLSubObjectPropertyOfAxioms()
+	/**
+	 * Process the axioms recorded by the change journal since the ontology was last processed. Added axioms are processed
+	 * exactly as they are during a full pass. Removed axioms are dropped from the asserted axioms unless they are still
+	 * present elsewhere in the imports closure. Declarations generated for entities referenced only by removed axioms are
+	 * retained; they declare entities that existed and are harmless to rule engines.
+	 */
+	private void processOWLAxiomChanges() throws SQWRLException
 	{
-		Set<OWLSubObjectPropertyOfAxiom> axioms = getOWLSubObjectPropertyOfAxioms();
-		for (OWLSubObjectPropertyOfAxiom axiom : axioms) {
-			generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSubProperty());
-			generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSuperProperty());
-		}
-		this.assertedOWLAxioms.addAll(axioms);
-	}
+		Set<OWLAxiom> addedOWLAxioms = new HashSet<>(this.changeJournal.getAddedOWLAxioms());
+		Set<OWLAxiom> removedOWLAxioms = new HashSet<>(this.changeJournal.getRemovedOWLAxioms());
+		OWLAxiomCollector collector = new OWLAxiomCollector();
+		boolean rulesChanged = false;
 
-	private void processOWLSubDataPropertyOfAxioms()
-	{
-		Set<OWLSubDataPropertyOfAxiom> axioms = getOWLSubDataPropertyOfAxioms();
-		for (OWLSubDataPropertyOfAxiom axiom : axioms) {
-			generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getSubProperty());
-			generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getSuperProperty());
-		}
-		this.assertedOWLAxioms.addAll(axioms);
-	}
+		this.changeJournal.clear();
 
-	private void processOWLTransitiveObjectPropertyAxioms()
-	{
-		Set<OWLTransitiveObjectPropertyAxiom> axioms = getOWLTransitiveObjectPropertyAxioms();
-		for (OWLTransitiveObjectPropertyAxiom axiom : axioms)
-			generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-		this.assertedOWLAxioms.addAll(axioms);
-	}
+		for (OWLAxiom axiom : removedOWLAxioms) {
+			if (axiom.isOfType(AxiomType.SWRL_RULE))
+				rulesChanged = true;
+			else if (!getOWLOntology().containsAxiom(axiom, Imports.INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS))
+				removeAssertedOWLAxiom(axiom);
+		}
 
-	private void processOWLSymmetricObjectPropertyAxioms()
-	{
-		Set<OWLSymmetricObjectPropertyAxiom> axioms = getOWLSymmetricObjectPropertyAxioms();
-		for (OWLSymmetricObjectPropertyAxiom axiom : axioms)
-			generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-		this.assertedOWLAxioms.addAll(axioms);
-	}
+		for (OWLAxiom axiom : addedOWLAxioms) {
+			if (axiom.isOfType(AxiomType.SWRL_RULE) || axiom.isOfType(AxiomType.DECLARATION))
+				rulesChanged = true; // Declarations determine how rule arguments are interpreted
+			axiom.accept(collector);
+		}
+		processCollectedOWLAxioms(Collections.singletonList(collector));
 
-	private void processOWLFunctionalObjectPropertyAxioms()
-	{
-		Set<OWLFunctionalObjectPropertyAxiom> axioms = getOWLFunctionalObjectPropertyAxioms();
-		for (OWLFunctionalObjectPropertyAxiom axiom : axioms)
-			generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-		this.assertedOWLAxioms.addAll(axioms);
-	}
+		if (rulesChanged) {
+			resetSWRLRulesAndSQWRLQueries();
+			processSWRLRulesAndSQWRLQueries();
+		} else {
+			Set<OWLAxiom> changedOWLAxioms = new HashSet<>(addedOWLAxioms);
 
-	private void processOWLInverseFunctionalObjectPropertyAxioms()
-	{
-		Set<OWLInverseFunctionalObjectPropertyAxiom> axioms = getOWLInverseFunctionalObjectPropertyAxioms();
-		for (OWLInverseFunctionalObjectPropertyAxiom axiom : axioms)
-			generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-		this.assertedOWLAxioms.addAll(axioms);
+			changedOWLAxioms.addAll(removedOWLAxioms);
+			if (this.ruleOptimizer.isStale(changedOWLAxioms))
+				reorderSWRLRules();
+			resetSQWRLQueries();
+		}
 	}
 
-	private void processOWLFunctionalDataPropertyAxioms()
+	private boolean requiresFullProcessing()
 	{
-		Set<OWLFunctionalDataPropertyAxiom> axioms = getOWLFunctionalDataPropertyAxioms();
-		for (OWLFunctionalDataPropertyAxiom axiom : axioms)
-			generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-		this.assertedOWLAxioms.addAll(axioms);
-	}
+		if (!this.isProcessed || this.changeJournal.requiresFullProcessing())
+			return true;
 
-	private void processOWLObjectPropertyDomainAxioms()
-	{
-		Set<OWLObjectPropertyDomainAxiom> axioms = getOWLObjectPropertyDomainAxioms();
-		for (OWLObjectPropertyDomainAxiom axiom : axioms) {
-			generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-			generateOWLClassDeclarationAxiomIfNecessary(axiom.getDomain());
+		for (OWLAxiom axiom : this.changeJournal.getRemovedOWLAxioms()) {
+			if (axiom.isOfType(AxiomType.DECLARATION))
+				return true;
 		}
-		this.assertedOWLAxioms.addAll(axioms);
-	}
 
-	private void processOWLDataPropertyDomainAxioms()
-	{
-		Set<OWLDataPropertyDomainAxiom> axioms = getOWLDataPropertyDomainAxioms();
-		for (OWLDataPropertyDomainAxiom axiom : axioms) {
-			generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-			generateOWLClassDeclarationAxiomIfNecessary(axiom.getDomain());
-		}
-		this.assertedOWLAxioms.addAll(axioms);
-	}
+		// Changes made to the ontology through a manager other than its own are not seen by the journal
+		int expectedAxiomCount = this.processedAxiomCount + this.changeJournal.getNetAxiomCountChange();
 
-	private void processOWLObjectPropertyRangeAxioms()
-	{
-		Set<OWLObjectPropertyRangeAxiom> axioms = getOWLObjectPropertyRangeAxioms();
-		for (OWLObjectPropertyRangeAxiom axiom : axioms) {
-			generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-			generateOWLClassDeclarationAxiomIfNecessary(axiom.getRange());
-		}
-		this.assertedOWLAxioms.addAll(axioms);
+		return getOWLOntology().getAxiomCount(Imports.INCLUDED) != expectedAxiomCount;
 	}
 
-	private void processOWLDataPropertyRangeAxioms()
+	/**
+	 * Rules are cached by the ontology so the SQWRL queries built from them are cached here too. A cached query is
+	 * reused with an empty result; queries whose rules are no longer present are dropped.
+	 * <p/>
+	 * The bodies of rules are reordered each time they are processed. The rules returned by the ontology are not
+	 * modified; the processed rules are reordered copies of them. A query keeps the order that its rule had when the
+	 * query was built.
+	 */
+	private void processSWRLRulesAndSQWRLQueries() throws SQWRLException
 	{
-		Set<OWLDataPropertyRangeAxiom> axioms = getOWLDataPropertyRangeAxioms();
-		for (OWLDataPropertyRangeAxiom axiom : axioms) {
-			generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
+		Map<SWRLAPIRule, DefaultSQWRLQuery> previousSQWRLQueryCache = this.sqwrlQueryCache;
+		Map<SWRLAPIRule, SWRLAPIRule> previousSQWRLQueryRuleCache = this.sqwrlQueryRuleCache;
+		Set<SWRLAPIRule> rulesAndQueries = getSWRLAPIOWLOntology().getSWRLAPIRules();
+		SWRLAPIRuleOptimizer optimizer = new SWRLAPIRuleOptimizer(this.ontologyStatistics, rulesAndQueries);
+
+		this.sqwrlQueryCache = new IdentityHashMap<>();
+		this.sqwrlQueryRuleCache = new IdentityHashMap<>();
+		this.convertedSWRLRules.clear();
+		this.ruleOptimizer = optimizer;
+
+		for (SWRLAPIRule ruleOrQuery : rulesAndQueries) {
+			if (ruleOrQuery.isSQWRLQuery()) {
+				DefaultSQWRLQuery query = previousSQWRLQueryCache.get(ruleOrQuery);
+				if (query != null) {
+					SWRLAPIRule optimizedQuery = previousSQWRLQueryRuleCache.get(ruleOrQuery);
+
+					query.resetSQWRLResult();
+					query.setActive(ruleOrQuery.isActive());
+					this.sqwrlQueries.put(query.getQueryName(), query);
+					this.sqwrlQueryCache.put(ruleOrQuery, query);
+					this.sqwrlQueryRuleCache.put(ruleOrQuery, optimizedQuery);
+					this.swrlapiRules.put(optimizedQuery.getRuleName(), optimizedQuery);
+				} else {
+					SWRLAPIRule optimizedQuery = optimizer.optimize(ruleOrQuery);
+
+					createSWRLQueryFromSWRLRule(ruleOrQuery, optimizedQuery);
+					this.swrlapiRules.put(optimizedQuery.getRuleName(), optimizedQuery);
+				}
+			} else {
+				SWRLAPIRule optimizedRule = optimizer.optimize(ruleOrQuery);
+
+				this.convertedSWRLRules.add(ruleOrQuery);
+				this.swrlapiRules.put(optimizedRule.getRuleName(), optimizedRule);
+				addProcessedOWLAxiom(optimizedRule); // A SWRL rule is a type of OWL axiom; a SQWRL query is not.
+				this.processedSWRLRules.add(optimizedRule);
+			}
 		}
-		this.assertedOWLAxioms.addAll(axioms);
 	}
 
-	private void processOWLIrreflexiveObjectPropertyAxioms()
+	/**
+	 * Order the bodies of the processed rules again when the statistics they were ordered by have changed. A rule is
+	 * replaced only if its order changes. The rules themselves have not changed so they are not converted again, and
+	 * queries keep the order that they were built with.
+	 */
+	private void reorderSWRLRules()
 	{
-		Set<OWLIrreflexiveObjectPropertyAxiom> axioms = getOWLIrreflexiveObjectPropertyAxioms();
-		for (OWLIrreflexiveObjectPropertyAxiom axiom : axioms)
-			generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-		this.assertedOWLAxioms.addAll(axioms);
-	}
+		SWRLAPIRuleOptimizer optimizer = new SWRLAPIRuleOptimizer(this.ontologyStatistics, this.convertedSWRLRules);
 
-	private void processOWLAsymmetricObjectPropertyAxioms()
-	{
-		Set<OWLAsymmetricObjectPropertyAxiom> axioms = getOWLAsymmetricObjectPropertyAxioms();
-		for (OWLAsymmetricObjectPropertyAxiom axiom : axioms)
-			generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-		this.assertedOWLAxioms.addAll(axioms);
-	}
+		for (SWRLAPIRule rule : this.convertedSWRLRules) {
+			SWRLAPIRule processedRule = this.swrlapiRules.get(rule.getRuleName());
+			SWRLAPIRule optimizedRule = optimizer.optimize(rule);
 
-	private void processOWLEquivalentObjectPropertiesAxioms()
-	{
-		Set<OWLEquivalentObjectPropertiesAxiom> axioms = getOWLEquivalentObjectPropertiesAxioms();
-		for (OWLEquivalentObjectPropertiesAxiom axiom : axioms) {
-			for (OWLObjectPropertyExpression property : axiom.getProperties())
-				generateOWLObjectPropertyDeclarationAxiomIfNecessary(property);
+			if (processedRule != null && !processedRule.getBodyAtoms().equals(optimizedRule.getBodyAtoms())) {
+				removeProcessedOWLAxiom(processedRule);
+				this.processedSWRLRules.remove(processedRule);
+				this.swrlapiRules.put(optimizedRule.getRuleName(), optimizedRule);
+				addProcessedOWLAxiom(optimizedRule); // Equal to the rule it replaces so no change is recorded
+				this.processedSWRLRules.add(optimizedRule);
+			}
 		}
-		this.assertedOWLAxioms.addAll(axioms);
+		this.ruleOptimizer = optimizer;
 	}
 
-	private void processOWLEquivalentDataPropertiesAxioms()
+	/**
+	 * SQWRL query results are accumulated in the query objects so queries are reset on each processing run.
+	 */
+	private void resetSQWRLQueries() throws SQWRLException
 	{
-		Set<OWLEquivalentDataPropertiesAxiom> axioms = getOWLEquivalentDataPropertiesAxioms();
-		for (OWLEquivalentDataPropertiesAxiom axiom : axioms) {
-			for (OWLDataPropertyExpression property : axiom.getProperties())
-				generateOWLDataPropertyDeclarationAxiomIfNecessary(property);
+		for (Map.Entry<SWRLAPIRule, DefaultSQWRLQuery> entry : this.sqwrlQueryCache.entrySet()) {
+			entry.getValue().resetSQWRLResult();
+			entry.getValue().setActive(entry.getKey().isActive());
 		}
-		this.assertedOWLAxioms.addAll(axioms);
 	}
 
-	private void processOWLInverseObjectPropertiesAxioms()
+	private void resetSWRLRulesAndSQWRLQueries()
 	{
-		Set<OWLInverseObjectPropertiesAxiom> axioms = getOWLInverseObjectPropertiesAxioms();
-		for (OWLInverseObjectPropertiesAxiom axiom : axioms) {
-			generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getFirstProperty());
-			generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSecondProperty());
-		}
-		this.assertedOWLAxioms.addAll(axioms);
+		for (SWRLAPIRule rule : this.processedSWRLRules) // Includes rules deleted since they were processed
+			removeProcessedOWLAxiom(rule);
+		this.processedSWRLRules.clear();
+		this.swrlapiRules.clear();
+		this.sqwrlQueries.clear();
 	}
 
-	private void processOWLDisjointObjectPropertiesAxioms()
-	{
-		Set<OWLDisjointObjectPropertiesAxiom> axioms = getOWLDisjointObjectPropertiesAxioms();
-		for (OWLDisjointObjectPropertiesAxiom axiom : axioms) {
-			for (OWLObjectPropertyExpression property : axiom.getProperties())
-				generateOWLObjectPropertyDeclarationAxiomIfNecessary(property);
+	private void processOWLDeclarationAxiom(OWLDeclarationAxiom axiom)
+	{
+		OWLEntity entity = axiom.getEntity();
+
+		if (entity.isOWLClass()) {
+			recordOWLDeclarationAxiom(this.owlClassDeclarationAxioms, axiom);
+			recordOWLClass(entity);
+		} else if (entity.isOWLNamedIndividual()) {
+			recordOWLDeclarationAxiom(this.owlIndividualDeclarationAxioms, axiom);
+			recordOWLNamedIndividual(entity);
+		} else if (entity.isOWLObjectProperty()) {
+			recordOWLDeclarationAxiom(this.owlObjectPropertyDeclarationAxioms, axiom);
+			recordOWLObjectProperty(entity);
+		} else if (entity.isOWLDataProperty()) {
+			recordOWLDeclarationAxiom(this.owlDataPropertyDeclarationAxioms, axiom);
+			recordOWLDataProperty(entity);
+		} else if (entity.isOWLAnnotationProperty()) {
+			recordOWLDeclarationAxiom(this.owlAnnotationPropertyDeclarationAxioms, axiom);
+			recordOWLAnnotationProperty(entity);
 		}
-		this.assertedOWLAxioms.addAll(axioms);
 	}
 
-	private void processOWLDisjointDataPropertiesAxioms()
+	/**
+	 * Record an asserted declaration axiom. An asserted declaration replaces any declaration previously generated for
+	 * the same entity.
+	 */
+	private void recordOWLDeclarationAxiom(Map<IRI, OWLDeclarationAxiom> declarationAxioms, OWLDeclarationAxiom axiom)
 	{
-		Set<OWLDisjointDataPropertiesAxiom> axioms = getOWLDisjointDataPropertiesAxioms();
-		for (OWLDisjointDataPropertiesAxiom axiom : axioms) {
-			for (OWLDataPropertyExpression property : axiom.getProperties())
-				generateOWLDataPropertyDeclarationAxiomIfNecessary(property);
-		}
-		this.assertedOWLAxioms.addAll(axioms);
+		OWLDeclarationAxiom previousAxiom = declarationAxioms.put(axiom.getEntity().getIRI(), axiom);
+
+		if (previousAxiom != null && this.generatedOWLDeclarationAxioms.remove(previousAxiom) && !previousAxiom
+				.equals(axiom))
+			removeProcessedOWLAxiom(previousAxiom);
+
+		addProcessedOWLAxiom(axiom);
 	}
 
-	private void generateOWLClassDeclarationAxiom(OWLClass cls)
+	private void generateOWLClassDeclarationAxiomIfNecessary(OWLClass cls)
 	{
 		if (!this.owlClassDeclarationAxioms.containsKey(cls.getIRI())) {
 			OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLClassDeclarationAxiom(cls);
 			this.owlClassDeclarationAxioms.put(cls.getIRI(), axiom);
-			this.assertedOWLAxioms.add(axiom);
+			addProcessedOWLAxiom(axiom);
+			this.generatedOWLDeclarationAxioms.add(axiom);
 			recordOWLClass(cls);
 		}
 	}
 
-	private void generateOWLClassDeclarationAxiomIfNecessary(OWLClassExpression classExpression)
+	private void generateOWLIndividualDeclarationAxiomIfNecessary(OWLNamedIndividual individual)
 	{
-		if (classExpression instanceof OWLClass) {
-			OWLClass cls = (OWLClass)classExpression;
-			generateOWLClassDeclarationAxiom(cls);
+		if (!this.owlIndividualDeclarationAxioms.containsKey(individual.getIRI())) {
+			OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLIndividualDeclarationAxiom(individual);
+			this.owlIndividualDeclarationAxioms.put(individual.getIRI(), axiom);
+			addProcessedOWLAxiom(axiom);
+			this.generatedOWLDeclarationAxioms.add(axiom);
+			recordOWLNamedIndividual(individual);
 		}
 	}
 
-	private void generateOWLIndividualDeclarationAxiomIfNecessary(OWLIndividual individual)
+	private void generateOWLObjectPropertyDeclarationAxiomIfNecessary(OWLObjectProperty property)
 	{
-		if (individual.isNamed() && !this.owlIndividualDeclarationAxioms
-				.containsKey(individual.asOWLNamedIndividual().getIRI())) {
-			OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory()
-					.getOWLIndividualDeclarationAxiom(individual.asOWLNamedIndividual());
-			this.owlIndividualDeclarationAxioms.put(individual.asOWLNamedIndividual().getIRI(), axiom);
-			this.assertedOWLAxioms.add(axiom);
-			recordOWLNamedIndividual(individual.asOWLNamedIndividual());
+		if (!this.owlObjectPropertyDeclarationAxioms.containsKey(property.getIRI())) {
+			OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLObjectPropertyDeclarationAxiom(property);
+			this.owlObjectPropertyDeclarationAxioms.put(property.getIRI(), axiom);
+			addProcessedOWLAxiom(axiom);
+			this.generatedOWLDeclarationAxioms.add(axiom);
+			recordOWLObjectProperty(property);
 		}
 	}
 
-	private void generateOWLObjectPropertyDeclarationAxiomIfNecessary(OWLObjectPropertyExpression propertyExpression)
+	private void generateOWLDataPropertyDeclarationAxiomIfNecessary(OWLDataProperty property)
 	{
-		if (propertyExpression instanceof OWLObjectProperty) {
-			OWLObjectProperty property = (OWLObjectProperty)propertyExpression;
-			if (!this.owlObjectPropertyDeclarationAxioms.containsKey(property.getIRI())) {
-				OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLObjectPropertyDeclarationAxiom(property);
-				this.owlObjectPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-				this.assertedOWLAxioms.add(axiom);
-				recordOWLObjectProperty(property);
-			}
+		if (!this.owlDataPropertyDeclarationAxioms.containsKey(property.getIRI())) {
+			OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLDataPropertyDeclarationAxiom(property);
+			this.owlDataPropertyDeclarationAxioms.put(property.getIRI(), axiom);
+			addProcessedOWLAxiom(axiom);
+			this.generatedOWLDeclarationAxioms.add(axiom);
+			recordOWLDataProperty(property);
 		}
 	}
 
-	private void generateOWLDataPropertyDeclarationAxiomIfNecessary(OWLDataPropertyExpression propertyExpression)
+	/**
+	 * A read-only view of the asserted axioms held in memory followed by those held in the assertion store.
+	 */
+	private class AssertedOWLAxiomSet extends AbstractSet<OWLAxiom>
 	{
-		if (propertyExpression instanceof OWLDataProperty) {
-			OWLDataProperty property = (OWLDataProperty)propertyExpression;
-			if (!this.owlDataPropertyDeclarationAxioms.containsKey(property.getIRI())) {
-				OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLDataPropertyDeclarationAxiom(property);
-				this.owlDataPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-				this.assertedOWLAxioms.add(axiom);
-				recordOWLDataProperty(property);
-			}
+		@Override
+		public int size()
+		{
+			return getNumberOfOWLAxioms();
 		}
-	}
-
-	private Set<OWLSameIndividualAxiom> getOWLSameIndividualAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.SAME_INDIVIDUAL, Imports.INCLUDED);
-	}
-
-	private Set<OWLDifferentIndividualsAxiom> getOWLDifferentIndividualsAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.DIFFERENT_INDIVIDUALS, Imports.INCLUDED);
-	}
-
-	private Set<OWLSubObjectPropertyOfAxiom> getOWLSubObjectPropertyOfAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.SUB_OBJECT_PROPERTY, Imports.INCLUDED);
-	}
 
-	private Set<OWLSubDataPropertyOfAxiom> getOWLSubDataPropertyOfAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.SUB_DATA_PROPERTY, Imports.INCLUDED);
-	}
-
-	private Set<OWLEquivalentClassesAxiom> getOWLEquivalentClassesAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.EQUIVALENT_CLASSES, Imports.INCLUDED);
-	}
-
-	private Set<OWLClassAssertionAxiom> getOWLClassAssertionAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.CLASS_ASSERTION, Imports.INCLUDED);
-	}
-
-	private Set<OWLObjectPropertyAssertionAxiom> getOWLObjectPropertyAssertionAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED);
-	}
-
-	private Set<OWLDataPropertyAssertionAxiom> getOWLDataPropertyAssertionAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
-	}
+		@Override
+		public boolean contains(Object object)
+		{
+			return object instanceof OWLAxiom && hasAssertedOWLAxiom((OWLAxiom)object);
+		}
 
-	private Set<OWLSubClassOfAxiom> getOWLSubClassOfAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.SUBCLASS_OF, Imports.INCLUDED);
+		@Override
+		public Iterator<OWLAxiom> iterator()
+		{
+			final Iterator<OWLAxiom> inMemoryIterator = Collections.unmodifiableSet(
+					DefaultSWRLAPIOntologyProcessor.this.assertedOWLAxioms).iterator();
+			final Iterator<OWLAxiom> storeIterator = DefaultSWRLAPIOntologyProcessor.this.owlAssertionStore.iterator();
+
+			return new Iterator<OWLAxiom>()
+			{
+				@Override
+				public boolean hasNext()
+				{
+					return inMemoryIterator.hasNext() || storeIterator.hasNext();
+				}
+
+				@Override
+				public OWLAxiom next()
+				{
+					return inMemoryIterator.hasNext() ? inMemoryIterator.next() : storeIterator.next();
+				}
+
+				@Override
+				public void remove()
+				{
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
 	}
 
-	@SuppressWarnings("unused")
-	private Set<OWLDisjointClassesAxiom> getOWLDisjointClassesAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.DISJOINT_CLASSES, Imports.INCLUDED);
-	}
+	/**
+	 * Visits OWL axioms and collects the supported axioms together with the named entities that they reference.
+	 * Unsupported axiom types are ignored. A collector does not modify the state of the processor so several collectors
+	 * can visit disjoint partitions of an ontology's axioms concurrently.
+	 */
+	private static class OWLAxiomCollector extends OWLAxiomVisitorAdapter
+	{
+		private final List<OWLAxiom> owlAxioms = new ArrayList<>();
+		private final List<OWLDeclarationAxiom> owlDeclarationAxioms = new ArrayList<>();
+		private final Set<OWLClass> owlClasses = new HashSet<>();
+		private final Set<OWLNamedIndividual> owlNamedIndividuals = new HashSet<>();
+		private final Set<OWLObjectProperty> owlObjectProperties = new HashSet<>();
+		private final Set<OWLDataProperty> owlDataProperties = new HashSet<>();
+
+		public List<OWLAxiom> getOWLAxioms()
+		{
+			return this.owlAxioms;
+		}
 
-	private Set<OWLEquivalentDataPropertiesAxiom> getOWLEquivalentDataPropertiesAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.EQUIVALENT_DATA_PROPERTIES, Imports.INCLUDED);
-	}
+		public List<OWLDeclarationAxiom> getOWLDeclarationAxioms()
+		{
+			return this.owlDeclarationAxioms;
+		}
 
-	private Set<OWLEquivalentObjectPropertiesAxiom> getOWLEquivalentObjectPropertiesAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.EQUIVALENT_OBJECT_PROPERTIES, Imports.INCLUDED);
-	}
+		public Set<OWLClass> getOWLClasses()
+		{
+			return this.owlClasses;
+		}
 
-	private Set<OWLDisjointDataPropertiesAxiom> getOWLDisjointDataPropertiesAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.DISJOINT_DATA_PROPERTIES, Imports.INCLUDED);
-	}
+		public Set<OWLNamedIndividual> getOWLNamedIndividuals()
+		{
+			return this.owlNamedIndividuals;
+		}
 
-	private Set<OWLDisjointObjectPropertiesAxiom> getOWLDisjointObjectPropertiesAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.DISJOINT_OBJECT_PROPERTIES, Imports.INCLUDED);
-	}
+		public Set<OWLObjectProperty> getOWLObjectProperties()
+		{
+			return this.owlObjectProperties;
+		}
 
-	private Set<OWLObjectPropertyDomainAxiom> getOWLObjectPropertyDomainAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.OBJECT_PROPERTY_DOMAIN, Imports.INCLUDED);
-	}
+		public Set<OWLDataProperty> getOWLDataProperties()
+		{
+			return this.owlDataProperties;
+		}
 
-	private Set<OWLDataPropertyDomainAxiom> getOWLDataPropertyDomainAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.DATA_PROPERTY_DOMAIN, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLDeclarationAxiom axiom)
+		{
+			this.owlDeclarationAxioms.add(axiom);
+		}
 
-	private Set<OWLObjectPropertyRangeAxiom> getOWLObjectPropertyRangeAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.OBJECT_PROPERTY_RANGE, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLClassAssertionAxiom axiom)
+		{
+			addIndividual(axiom.getIndividual());
+			this.owlAxioms.add(axiom);
+		}
 
-	private Set<OWLDataPropertyRangeAxiom> getOWLDataPropertyRangeAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.DATA_PROPERTY_RANGE, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLObjectPropertyAssertionAxiom axiom)
+		{
+			addIndividual(axiom.getSubject());
+			addIndividual(axiom.getObject());
+			this.owlAxioms.add(axiom);
+		}
 
-	private Set<OWLFunctionalObjectPropertyAxiom> getOWLFunctionalObjectPropertyAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLDataPropertyAssertionAxiom axiom)
+		{
+			addIndividual(axiom.getSubject());
+			this.owlAxioms.add(axiom);
+		}
 
-	private Set<OWLFunctionalDataPropertyAxiom> getOWLFunctionalDataPropertyAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.FUNCTIONAL_DATA_PROPERTY, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLSameIndividualAxiom axiom)
+		{
+			for (OWLIndividual individual : axiom.getIndividuals())
+				addIndividual(individual);
+			this.owlAxioms.add(axiom);
+		}
 
-	private Set<OWLIrreflexiveObjectPropertyAxiom> getOWLIrreflexiveObjectPropertyAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.IRREFLEXIVE_OBJECT_PROPERTY, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLDifferentIndividualsAxiom axiom)
+		{
+			for (OWLIndividual individual : axiom.getIndividuals())
+				addIndividual(individual);
+			this.owlAxioms.add(axiom);
+		}
 
-	private Set<OWLInverseFunctionalObjectPropertyAxiom> getOWLInverseFunctionalObjectPropertyAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLSubClassOfAxiom axiom)
+		{
+			addClass(axiom.getSubClass());
+			addClass(axiom.getSuperClass());
+			this.owlAxioms.add(axiom);
+		}
 
-	private Set<OWLTransitiveObjectPropertyAxiom> getOWLTransitiveObjectPropertyAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.TRANSITIVE_OBJECT_PROPERTY, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLEquivalentClassesAxiom axiom)
+		{
+			this.owlClasses.addAll(axiom.getNamedClasses());
+			this.owlAxioms.add(axiom);
+		}
 
-	private Set<OWLSymmetricObjectPropertyAxiom> getOWLSymmetricObjectPropertyAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.SYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLDisjointClassesAxiom axiom)
+		{
+			for (OWLClassExpression classExpression : axiom.getClassExpressions())
+				addClass(classExpression);
+			this.owlAxioms.add(axiom);
+		}
 
-	private Set<OWLAsymmetricObjectPropertyAxiom> getOWLAsymmetricObjectPropertyAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.ASYMMETRIC_OBJECT_PROPERTY, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLSubObjectPropertyOfAxiom axiom)
+		{
+			addObjectProperty(axiom.getSubProperty());
+			addObjectProperty(axiom.getSuperProperty());
+			this.owlAxioms.add(axiom);
+		}
 
-	private Set<OWLInverseObjectPropertiesAxiom> getOWLInverseObjectPropertiesAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.INVERSE_OBJECT_PROPERTIES, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLSubDataPropertyOfAxiom axiom)
+		{
+			addDataProperty(axiom.getSubProperty());
+			addDataProperty(axiom.getSuperProperty());
+			this.owlAxioms.add(axiom);
+		}
 
-	@SuppressWarnings("unused")
-	private Set<OWLNegativeDataPropertyAssertionAxiom> getOWLNegativeDataPropertyAssertionAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLEquivalentDataPropertiesAxiom axiom)
+		{
+			for (OWLDataPropertyExpression property : axiom.getProperties())
+				addDataProperty(property);
+			this.owlAxioms.add(axiom);
+		}
 
-	@SuppressWarnings("unused")
-	private Set<OWLNegativeObjectPropertyAssertionAxiom> getOWLNegativeObjectPropertyAssertionAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLEquivalentObjectPropertiesAxiom axiom)
+		{
+			for (OWLObjectPropertyExpression property : axiom.getProperties())
+				addObjectProperty(property);
+			this.owlAxioms.add(axiom);
+		}
 
-	@SuppressWarnings("unused")
-	private Set<OWLReflexiveObjectPropertyAxiom> getOWLReflexiveObjectPropertyAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.REFLEXIVE_OBJECT_PROPERTY, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLTransitiveObjectPropertyAxiom axiom)
+		{
+			addObjectProperty(axiom.getProperty());
+			this.owlAxioms.add(axiom);
+		}
 
-	@SuppressWarnings("unused")
-	private Set<OWLDisjointUnionAxiom> getOWLDisjointUnionAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.DISJOINT_UNION, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLSymmetricObjectPropertyAxiom axiom)
+		{
+			addObjectProperty(axiom.getProperty());
+			this.owlAxioms.add(axiom);
+		}
 
-	@SuppressWarnings("unused")
-	private Set<OWLAnnotationAssertionAxiom> getOWLAnnotationAssertionAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.ANNOTATION_ASSERTION, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLFunctionalObjectPropertyAxiom axiom)
+		{
+			addObjectProperty(axiom.getProperty());
+			this.owlAxioms.add(axiom);
+		}
 
-	@SuppressWarnings("unused")
-	private Set<OWLSubPropertyChainOfAxiom> getOWLSubPropertyChainOfAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.SUB_PROPERTY_CHAIN_OF, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLInverseFunctionalObjectPropertyAxiom axiom)
+		{
+			addObjectProperty(axiom.getProperty());
+			this.owlAxioms.add(axiom);
+		}
 
-	@SuppressWarnings("unused")
-	private Set<OWLHasKeyAxiom> getOWLHasKeyAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.HAS_KEY, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLFunctionalDataPropertyAxiom axiom)
+		{
+			addDataProperty(axiom.getProperty());
+			this.owlAxioms.add(axiom);
+		}
 
-	@SuppressWarnings("unused")
-	private Set<OWLDatatypeDefinitionAxiom> getOWLDatatypeDefinitionAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.DATATYPE_DEFINITION, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLObjectPropertyDomainAxiom axiom)
+		{
+			addObjectProperty(axiom.getProperty());
+			addClass(axiom.getDomain());
+			this.owlAxioms.add(axiom);
+		}
 
-	@SuppressWarnings("unused")
-	private Set<OWLAnnotationPropertyRangeAxiom> getOWLAnnotationPropertyRangeAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.ANNOTATION_PROPERTY_RANGE, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLDataPropertyDomainAxiom axiom)
+		{
+			addDataProperty(axiom.getProperty());
+			addClass(axiom.getDomain());
+			this.owlAxioms.add(axiom);
+		}
 
-	@SuppressWarnings("unused")
-	private Set<OWLAnnotationPropertyDomainAxiom> getOWLAnnotationPropertyDomainAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.ANNOTATION_PROPERTY_DOMAIN, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLObjectPropertyRangeAxiom axiom)
+		{
+			addObjectProperty(axiom.getProperty());
+			addClass(axiom.getRange());
+			this.owlAxioms.add(axiom);
+		}
 
-	@SuppressWarnings("unused")
-	private Set<OWLSubAnnotationPropertyOfAxiom> getOWLSubAnnotationPropertyOfAxioms()
-	{
-		return getOWLOntology().getAxioms(AxiomType.SUB_ANNOTATION_PROPERTY_OF, Imports.INCLUDED);
-	}
+		@Override
+		public void visit(OWLDataPropertyRangeAxiom axiom)
+		{
+			addDataProperty(axiom.getProperty());
+			this.owlAxioms.add(axiom);
+		}
 
-	private Set<OWLDeclarationAxiom> getOWLClassDeclarationAxioms()
-	{
-		Set<OWLDeclarationAxiom> owlClassDeclarationAxioms = new HashSet<>();
+		@Override
+		public void visit(OWLInverseObjectPropertiesAxiom axiom)
+		{
+			addObjectProperty(axiom.getFirstProperty());
+			addObjectProperty(axiom.getSecondProperty());
+			this.owlAxioms.add(axiom);
+		}
 
-		for (OWLDeclarationAxiom owlDeclarationAxiom : getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
-			if (owlDeclarationAxiom.getEntity().isOWLClass())
-				owlClassDeclarationAxioms.add(owlDeclarationAxiom);
+		@Override
+		public void visit(OWLIrreflexiveObjectPropertyAxiom axiom)
+		{
+			addObjectProperty(axiom.getProperty());
+			this.owlAxioms.add(axiom);
 		}
-		return owlClassDeclarationAxioms;
-	}
 
-	private Set<OWLDeclarationAxiom> getOWLIndividualDeclarationAxioms()
-	{
-		Set<OWLDeclarationAxiom> owlIndividualDeclarationAxioms = new HashSet<>();
+		@Override
+		public void visit(OWLAsymmetricObjectPropertyAxiom axiom)
+		{
+			addObjectProperty(axiom.getProperty());
+			this.owlAxioms.add(axiom);
+		}
 
-		for (OWLDeclarationAxiom owlDeclarationAxiom : getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
-			if (owlDeclarationAxiom.getEntity().isOWLNamedIndividual())
-				owlIndividualDeclarationAxioms.add(owlDeclarationAxiom);
+		@Override
+		public void visit(OWLDisjointObjectPropertiesAxiom axiom)
+		{
+			for (OWLObjectPropertyExpression property : axiom.getProperties())
+				addObjectProperty(property);
+			this.owlAxioms.add(axiom);
 		}
-		return owlIndividualDeclarationAxioms;
-	}
 
-	private Set<OWLDeclarationAxiom> getOWLObjectPropertyDeclarationAxioms()
-	{
-		Set<OWLDeclarationAxiom> owlObjectPropertyDeclarationAxioms = new HashSet<>();
+		@Override
+		public void visit(OWLDisjointDataPropertiesAxiom axiom)
+		{
+			for (OWLDataPropertyExpression property : axiom.getProperties())
+				addDataProperty(property);
+			this.owlAxioms.add(axiom);
+		}
 
-		for (OWLDeclarationAxiom owlDeclarationAxiom : getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
-			if (owlDeclarationAxiom.getEntity().isOWLObjectProperty())
-				owlObjectPropertyDeclarationAxioms.add(owlDeclarationAxiom);
+		@Override
+		public void visit(OWLSubPropertyChainOfAxiom axiom)
+		{
+			for (OWLObjectPropertyExpression property : axiom.getPropertyChain())
+				addObjectProperty(property);
+			addObjectProperty(axiom.getSuperProperty());
+			this.owlAxioms.add(axiom);
 		}
-		return owlObjectPropertyDeclarationAxioms;
-	}
 
-	private Set<OWLDeclarationAxiom> getOWLDataPropertyDeclarationAxioms()
-	{
-		Set<OWLDeclarationAxiom> owlDataPropertyDeclarationAxioms = new HashSet<>();
+		@Override
+		public void visit(OWLNegativeObjectPropertyAssertionAxiom axiom)
+		{
+			addIndividual(axiom.getSubject());
+			addObjectProperty(axiom.getProperty());
+			addIndividual(axiom.getObject());
+			this.owlAxioms.add(axiom);
+		}
 
-		for (OWLDeclarationAxiom owlDeclarationAxiom : getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
-			if (owlDeclarationAxiom.getEntity().isOWLDataProperty())
-				owlDataPropertyDeclarationAxioms.add(owlDeclarationAxiom);
+		@Override
+		public void visit(OWLNegativeDataPropertyAssertionAxiom axiom)
+		{
+			addIndividual(axiom.getSubject());
+			addDataProperty(axiom.getProperty());
+			this.owlAxioms.add(axiom);
 		}
-		return owlDataPropertyDeclarationAxioms;
-	}
 
-	private Set<OWLDeclarationAxiom> getOWLAnnotationPropertyDeclarationAxioms()
-	{
-		Set<OWLDeclarationAxiom> owlAnnotationPropertyDeclarationAxioms = new HashSet<>();
+		private void addClass(OWLClassExpression classExpression)
+		{
+			if (classExpression instanceof OWLClass)
+				this.owlClasses.add((OWLClass)classExpression);
+		}
 
-		for (OWLDeclarationAxiom owlDeclarationAxiom : getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
-			if (owlDeclarationAxiom.getEntity().isOWLAnnotationProperty())
-				owlAnnotationPropertyDeclarationAxioms.add(owlDeclarationAxiom);
+		private void addIndividual(OWLIndividual individual)
+		{
+			if (individual.isNamed())
+				this.owlNamedIndividuals.add(individual.asOWLNamedIndividual());
 		}
-		return owlAnnotationPropertyDeclarationAxioms;
-	}
 
-	@SuppressWarnings("unused")
-	private Set<OWLDeclarationAxiom> getOWLDatatypeDeclarationAxioms()
-	{
-		Set<OWLDeclarationAxiom> owlDatatypeDeclarationAxioms = new HashSet<>();
+		private void addObjectProperty(OWLObjectPropertyExpression propertyExpression)
+		{
+			if (propertyExpression instanceof OWLObjectProperty)
+				this.owlObjectProperties.add((OWLObjectProperty)propertyExpression);
+		}
 
-		for (OWLDeclarationAxiom owlDeclarationAxiom : getOWLOntology().getAxioms(AxiomType.DECLARATION, Imports.INCLUDED)) {
-			if (owlDeclarationAxiom.getEntity().isOWLDatatype())
-				owlDatatypeDeclarationAxioms.add(owlDeclarationAxiom);
+		private void addDataProperty(OWLDataPropertyExpression propertyExpression)
+		{
+			if (propertyExpression instanceof OWLDataProperty)
+				this.owlDataProperties.add((OWLDataProperty)propertyExpression);
 		}
-		return owlDatatypeDeclarationAxioms;
 	}
 
 	private void recordOWLClass(OWLEntity cls)
@@ -0,0 +1,304 @@
+package org.swrlapi.core.impl;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIOntologySnapshot;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.exceptions.SWRLAPIException;
+import org.swrlapi.exceptions.SWRLAPIInternalException;
+import org.swrlapi.exceptions.SWRLRuleException;
+import org.swrlapi.sqwrl.DefaultSQWRLQuery;
+import org.swrlapi.sqwrl.SQWRLQuery;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Processes a {@link org.swrlapi.core.SWRLAPIOWLOntology} once and keeps unmodifiable copies of the results. Nothing
+ * in a snapshot is modified after construction so it can be read by any number of threads without locking.
+ * <p/>
+ * A snapshot reads nothing from the processed ontology after construction. It keeps its own copy of the ontology, of
+ * its prefixes, and of the names recorded by its {@link org.swrlapi.core.resolvers.IRIResolver}, so that changes to
+ * the processed ontology are not seen by the views. The class and property assertions of named individuals are indexed
+ * by individual so that built-ins can look up facts in the snapshot rather than in its ontology, which for a restored
+ * snapshot holds no assertions. The processed rules are shared with the processed ontology; they are never modified
+ * because processing the ontology again replaces a rule whose body it reorders rather than changing it.
+ *
+ * @see org.swrlapi.core.impl.SWRLAPIOntologySnapshotView
+ */
+public class DefaultSWRLAPIOntologySnapshot implements SWRLAPIOntologySnapshot
+{
+	private final SWRLAPIOWLOntology swrlapiOWLOntology;
+	private final Set<OWLAxiom> assertedOWLAxioms;
+	private final Map<String, SWRLAPIRule> swrlapiRules;
+	private final Map<String, DefaultSQWRLQuery> sqwrlQueries; // Prototypes copied by each view
+	private final Set<IRI> swrlBuiltInIRIs;
+	private final int numberOfOWLClassDeclarationAxioms;
+	private final int numberOfOWLIndividualDeclarationAxioms;
+	private final int numberOfOWLObjectPropertyDeclarationAxioms;
+	private final int numberOfOWLDataPropertyDeclarationAxioms;
+	private final Map<IRI, Set<IRI>> classAssertions; // Class IRIs by individual IRI
+	private final Map<IRI, Map<IRI, Set<OWLObjectPropertyAssertionAxiom>>> objectPropertyAssertions; // By subject, property
+	private final Map<IRI, Map<IRI, Set<OWLDataPropertyAssertionAxiom>>> dataPropertyAssertions; // By subject, property
+
+	public DefaultSWRLAPIOntologySnapshot(SWRLAPIOWLOntology swrlapiOWLOntology) throws SQWRLException
+	{
+		Map<String, SWRLAPIRule> rules = new HashMap<>();
+		Map<String, DefaultSQWRLQuery> queries = new HashMap<>();
+
+		swrlapiOWLOntology.processOntology();
+
+		for (SWRLAPIRule rule : swrlapiOWLOntology.getSWRLAPIRules()) // The processed rules are never modified
+			rules.put(rule.getRuleName(), getProcessedSWRLRule(swrlapiOWLOntology, rule.getRuleName()));
+
+		for (SQWRLQuery query : swrlapiOWLOntology.getSQWRLQueries()) {
+			if (!(query instanceof DefaultSQWRLQuery))
+				throw new SWRLAPIException("cannot create snapshot of SQWRL query " + query.getQueryName());
+			queries.put(query.getQueryName(), new DefaultSQWRLQuery((DefaultSQWRLQuery)query));
+		}
+
+		this.swrlapiOWLOntology = copySWRLAPIOWLOntology(swrlapiOWLOntology);
+		this.assertedOWLAxioms = Collections.unmodifiableSet(new LinkedHashSet<>(swrlapiOWLOntology.getOWLAxioms()));
+		this.swrlapiRules = Collections.unmodifiableMap(rules);
+		this.sqwrlQueries = Collections.unmodifiableMap(queries);
+		this.swrlBuiltInIRIs = Collections.unmodifiableSet(swrlapiOWLOntology.getSWRLBuiltInIRIs());
+		this.numberOfOWLClassDeclarationAxioms = swrlapiOWLOntology.getNumberOfOWLClassDeclarationAxioms();
+		this.numberOfOWLIndividualDeclarationAxioms = swrlapiOWLOntology.getNumberOfOWLIndividualDeclarationAxioms();
+		this.numberOfOWLObjectPropertyDeclarationAxioms = swrlapiOWLOntology
+				.getNumberOfOWLObjectPropertyDeclarationAxioms();
+		this.numberOfOWLDataPropertyDeclarationAxioms = swrlapiOWLOntology.getNumberOfOWLDataPropertyDeclarationAxioms();
+		this.classAssertions = new HashMap<>();
+		this.objectPropertyAssertions = new HashMap<>();
+		this.dataPropertyAssertions = new HashMap<>();
+		indexOWLAssertions();
+	}
+
+	/**
+	 * Create a snapshot from state restored by a {@link org.swrlapi.core.impl.SWRLAPIOntologySnapshotFile}.
+	 */
+	DefaultSWRLAPIOntologySnapshot(SWRLAPIOWLOntology swrlapiOWLOntology, Set<OWLAxiom> assertedOWLAxioms,
+			Map<String, SWRLAPIRule> swrlapiRules, Map<String, DefaultSQWRLQuery> sqwrlQueries, Set<IRI> swrlBuiltInIRIs,
+			int numberOfOWLClassDeclarationAxioms, int numberOfOWLIndividualDeclarationAxioms,
+			int numberOfOWLObjectPropertyDeclarationAxioms, int numberOfOWLDataPropertyDeclarationAxioms)
+	{
+		this.swrlapiOWLOntology = swrlapiOWLOntology;
+		this.assertedOWLAxioms = Collections.unmodifiableSet(assertedOWLAxioms);
+		this.swrlapiRules = Collections.unmodifiableMap(swrlapiRules);
+		this.sqwrlQueries = Collections.unmodifiableMap(sqwrlQueries);
+		this.swrlBuiltInIRIs = Collections.unmodifiableSet(swrlBuiltInIRIs);
+		this.numberOfOWLClassDeclarationAxioms = numberOfOWLClassDeclarationAxioms;
+		this.numberOfOWLIndividualDeclarationAxioms = numberOfOWLIndividualDeclarationAxioms;
+		this.numberOfOWLObjectPropertyDeclarationAxioms = numberOfOWLObjectPropertyDeclarationAxioms;
+		this.numberOfOWLDataPropertyDeclarationAxioms = numberOfOWLDataPropertyDeclarationAxioms;
+		this.classAssertions = new HashMap<>();
+		this.objectPropertyAssertions = new HashMap<>();
+		this.dataPropertyAssertions = new HashMap<>();
+		indexOWLAssertions();
+	}
+
+	@Override
+	public SWRLAPIOWLOntology createSWRLAPIOWLOntology()
+	{
+		return new SWRLAPIOntologySnapshotView(this);
+	}
+
+	@Override
+	public void write(File file)
+	{
+		new SWRLAPIOntologySnapshotFile(file).write(this);
+	}
+
+	@Override
+	public Set<OWLAxiom> getOWLAxioms()
+	{
+		return this.assertedOWLAxioms;
+	}
+
+	@Override
+	public Set<SWRLAPIRule> getSWRLAPIRules()
+	{
+		return new HashSet<>(this.swrlapiRules.values());
+	}
+
+	@Override
+	public Set<String> getSQWRLQueryNames()
+	{
+		return new HashSet<>(this.sqwrlQueries.keySet());
+	}
+
+	SWRLAPIOWLOntology getSWRLAPIOWLOntology()
+	{
+		return this.swrlapiOWLOntology;
+	}
+
+	Map<String, SWRLAPIRule> getSWRLAPIRuleMap()
+	{
+		return this.swrlapiRules;
+	}
+
+	Map<String, DefaultSQWRLQuery> getSQWRLQueryMap()
+	{
+		return this.sqwrlQueries;
+	}
+
+	Set<IRI> getSWRLBuiltInIRIs()
+	{
+		return this.swrlBuiltInIRIs;
+	}
+
+	int getNumberOfOWLClassDeclarationAxioms()
+	{
+		return this.numberOfOWLClassDeclarationAxioms;
+	}
+
+	int getNumberOfOWLIndividualDeclarationAxioms()
+	{
+		return this.numberOfOWLIndividualDeclarationAxioms;
+	}
+
+	int getNumberOfOWLObjectPropertyDeclarationAxioms()
+	{
+		return this.numberOfOWLObjectPropertyDeclarationAxioms;
+	}
+
+	int getNumberOfOWLDataPropertyDeclarationAxioms()
+	{
+		return this.numberOfOWLDataPropertyDeclarationAxioms;
+	}
+
+	/**
+	 * @return true if the snapshot asserts that the individual is of the class
+	 */
+	boolean isOWLIndividualOfType(IRI individualIRI, IRI classIRI)
+	{
+		Set<IRI> classIRIs = this.classAssertions.get(individualIRI);
+
+		return classIRIs != null && classIRIs.contains(classIRI);
+	}
+
+	Set<OWLObjectPropertyAssertionAxiom> getOWLObjectPropertyAssertionAxioms(IRI individualIRI, IRI propertyIRI)
+	{
+		return getAssertions(this.objectPropertyAssertions, individualIRI, propertyIRI);
+	}
+
+	Set<OWLDataPropertyAssertionAxiom> getOWLDataPropertyAssertionAxioms(IRI individualIRI, IRI propertyIRI)
+	{
+		return getAssertions(this.dataPropertyAssertions, individualIRI, propertyIRI);
+	}
+
+	private static SWRLAPIRule getProcessedSWRLRule(SWRLAPIOWLOntology swrlapiOWLOntology, String ruleName)
+	{
+		try {
+			return swrlapiOWLOntology.getSWRLRule(ruleName);
+		} catch (SWRLRuleException e) {
+			throw new SWRLAPIInternalException("error getting processed rule " + ruleName + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * The copy is not processed; the snapshot holds the results of processing the original.
+	 */
+	private static SWRLAPIOWLOntology copySWRLAPIOWLOntology(SWRLAPIOWLOntology swrlapiOWLOntology)
+	{
+		OWLOntology ontology = swrlapiOWLOntology.getOWLOntology();
+		OWLOntologyManager ontologyManager = SWRLAPIFactory.createOWLOntologyManager();
+		DefaultPrefixManager prefixManager = new DefaultPrefixManager();
+
+		prefixManager.copyPrefixesFrom(swrlapiOWLOntology.getPrefixManager());
+		if (swrlapiOWLOntology.getPrefixManager().getDefaultPrefix() != null)
+			prefixManager.setDefaultPrefix(swrlapiOWLOntology.getPrefixManager().getDefaultPrefix());
+
+		try {
+			OWLOntology ontologyCopy = ontology.getOntologyID().isAnonymous() ?
+					ontologyManager.createOntology() :
+					ontologyManager.createOntology(ontology.getOntologyID());
+			DefaultSWRLAPIOWLOntology swrlapiOWLOntologyCopy = new DefaultSWRLAPIOWLOntology(ontologyCopy, prefixManager);
+
+			ontologyManager.addAxioms(ontologyCopy, ontology.getAxioms(Imports.INCLUDED));
+			swrlapiOWLOntologyCopy.getIRIResolver().recordNames(swrlapiOWLOntology.getIRIResolver());
+
+			return swrlapiOWLOntologyCopy;
+		} catch (OWLOntologyCreationException e) {
+			throw new SWRLAPIException("error copying ontology for snapshot: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Called once from a constructor; the indexes are not modified afterwards.
+	 */
+	private void indexOWLAssertions()
+	{
+		for (OWLAxiom axiom : this.assertedOWLAxioms) {
+			if (axiom instanceof OWLClassAssertionAxiom) {
+				OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+
+				if (classAssertionAxiom.getIndividual().isNamed() && !classAssertionAxiom.getClassExpression().isAnonymous()) {
+					IRI individualIRI = classAssertionAxiom.getIndividual().asOWLNamedIndividual().getIRI();
+					Set<IRI> classIRIs = this.classAssertions.get(individualIRI);
+
+					if (classIRIs == null) {
+						classIRIs = new HashSet<>();
+						this.classAssertions.put(individualIRI, classIRIs);
+					}
+					classIRIs.add(classAssertionAxiom.getClassExpression().asOWLClass().getIRI());
+				}
+			} else if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+				OWLObjectPropertyAssertionAxiom propertyAssertionAxiom = (OWLObjectPropertyAssertionAxiom)axiom;
+
+				if (propertyAssertionAxiom.getSubject().isNamed() && !propertyAssertionAxiom.getProperty().isAnonymous())
+					addAssertion(this.objectPropertyAssertions, propertyAssertionAxiom.getSubject().asOWLNamedIndividual()
+							.getIRI(), propertyAssertionAxiom.getProperty().asOWLObjectProperty().getIRI(), propertyAssertionAxiom);
+			} else if (axiom instanceof OWLDataPropertyAssertionAxiom) {
+				OWLDataPropertyAssertionAxiom propertyAssertionAxiom = (OWLDataPropertyAssertionAxiom)axiom;
+
+				if (propertyAssertionAxiom.getSubject().isNamed())
+					addAssertion(this.dataPropertyAssertions, propertyAssertionAxiom.getSubject().asOWLNamedIndividual()
+							.getIRI(), propertyAssertionAxiom.getProperty().asOWLDataProperty().getIRI(), propertyAssertionAxiom);
+			}
+		}
+	}
+
+	private static <A extends OWLAxiom> void addAssertion(Map<IRI, Map<IRI, Set<A>>> assertions, IRI individualIRI,
+			IRI propertyIRI, A axiom)
+	{
+		Map<IRI, Set<A>> individualAssertions = assertions.get(individualIRI);
+
+		if (individualAssertions == null) {
+			individualAssertions = new HashMap<>();
+			assertions.put(individualIRI, individualAssertions);
+		}
+
+		Set<A> propertyAssertions = individualAssertions.get(propertyIRI);
+
+		if (propertyAssertions == null) {
+			propertyAssertions = new HashSet<>();
+			individualAssertions.put(propertyIRI, propertyAssertions);
+		}
+		propertyAssertions.add(axiom);
+	}
+
+	private static <A extends OWLAxiom> Set<A> getAssertions(Map<IRI, Map<IRI, Set<A>>> assertions, IRI individualIRI,
+			IRI propertyIRI)
+	{
+		Map<IRI, Set<A>> individualAssertions = assertions.get(individualIRI);
+		Set<A> propertyAssertions = individualAssertions == null ? null : individualAssertions.get(propertyIRI);
+
+		return propertyAssertions == null ? Collections.<A>emptySet() : Collections.unmodifiableSet(propertyAssertions);
+	}
+}
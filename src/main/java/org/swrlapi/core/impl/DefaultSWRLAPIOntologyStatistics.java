@@ -0,0 +1,147 @@
+package org.swrlapi.core.impl;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLProperty;
+import org.swrlapi.core.SWRLAPIOntologyStatistics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Statistics maintained by the {@link org.swrlapi.core.impl.DefaultSWRLAPIOntologyProcessor} as asserted axioms are
+ * added and removed. The subjects and objects of each property are counted so that the distinct counts stay exact when
+ * assertions are removed. Individuals are counted by their declarations, which the processor generates for every
+ * individual it encounters.
+ */
+class DefaultSWRLAPIOntologyStatistics implements SWRLAPIOntologyStatistics
+{
+	private final Map<IRI, OWLDeclarationAxiom> owlIndividualDeclarationAxioms;
+	private final Map<OWLClass, Integer> classAssertionCounts;
+	private final Map<OWLProperty, PropertyStatistics> propertyStatistics;
+
+	public DefaultSWRLAPIOntologyStatistics(Map<IRI, OWLDeclarationAxiom> owlIndividualDeclarationAxioms)
+	{
+		this.owlIndividualDeclarationAxioms = owlIndividualDeclarationAxioms;
+		this.classAssertionCounts = new HashMap<>();
+		this.propertyStatistics = new HashMap<>();
+	}
+
+	@Override
+	public int getNumberOfIndividuals()
+	{
+		return this.owlIndividualDeclarationAxioms.size();
+	}
+
+	@Override
+	public int getNumberOfClassAssertions(OWLClass cls)
+	{
+		Integer count = this.classAssertionCounts.get(cls);
+
+		return count == null ? 0 : count;
+	}
+
+	@Override
+	public int getNumberOfPropertyAssertions(OWLProperty property)
+	{
+		PropertyStatistics statistics = this.propertyStatistics.get(property);
+
+		return statistics == null ? 0 : statistics.numberOfAssertions;
+	}
+
+	@Override
+	public int getNumberOfDistinctSubjects(OWLProperty property)
+	{
+		PropertyStatistics statistics = this.propertyStatistics.get(property);
+
+		return statistics == null ? 0 : statistics.subjectCounts.size();
+	}
+
+	@Override
+	public int getNumberOfDistinctObjects(OWLProperty property)
+	{
+		PropertyStatistics statistics = this.propertyStatistics.get(property);
+
+		return statistics == null ? 0 : statistics.objectCounts.size();
+	}
+
+	/**
+	 * Count an asserted axiom. Axioms other than named class assertions and property assertions are ignored.
+	 */
+	public void addOWLAxiom(OWLAxiom axiom)
+	{
+		update(axiom, 1);
+	}
+
+	public void removeOWLAxiom(OWLAxiom axiom)
+	{
+		update(axiom, -1);
+	}
+
+	public void clear()
+	{
+		this.classAssertionCounts.clear();
+		this.propertyStatistics.clear();
+	}
+
+	private void update(OWLAxiom axiom, int change)
+	{
+		if (axiom instanceof OWLClassAssertionAxiom) {
+			OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+
+			if (!classAssertionAxiom.getClassExpression().isAnonymous())
+				updateCount(this.classAssertionCounts, classAssertionAxiom.getClassExpression().asOWLClass(), change);
+		} else if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+			OWLObjectPropertyAssertionAxiom propertyAssertionAxiom = ((OWLObjectPropertyAssertionAxiom)axiom).getSimplified();
+
+			getPropertyStatistics(propertyAssertionAxiom.getProperty().asOWLObjectProperty())
+					.update(propertyAssertionAxiom.getSubject(), propertyAssertionAxiom.getObject(), change);
+		} else if (axiom instanceof OWLDataPropertyAssertionAxiom) {
+			OWLDataPropertyAssertionAxiom propertyAssertionAxiom = (OWLDataPropertyAssertionAxiom)axiom;
+
+			getPropertyStatistics(propertyAssertionAxiom.getProperty().asOWLDataProperty())
+					.update(propertyAssertionAxiom.getSubject(), propertyAssertionAxiom.getObject(), change);
+		}
+	}
+
+	private PropertyStatistics getPropertyStatistics(OWLProperty property)
+	{
+		PropertyStatistics statistics = this.propertyStatistics.get(property);
+
+		if (statistics == null) {
+			statistics = new PropertyStatistics();
+			this.propertyStatistics.put(property, statistics);
+		}
+		return statistics;
+	}
+
+	private static <K> void updateCount(Map<K, Integer> counts, K key, int change)
+	{
+		Integer count = counts.get(key);
+		int newCount = (count == null ? 0 : count) + change;
+
+		if (newCount > 0)
+			counts.put(key, newCount);
+		else
+			counts.remove(key);
+	}
+
+	private static class PropertyStatistics
+	{
+		private final Map<Object, Integer> subjectCounts = new HashMap<>();
+		private final Map<Object, Integer> objectCounts = new HashMap<>();
+		private int numberOfAssertions;
+
+		public void update(Object subject, Object object, int change)
+		{
+			updateCount(this.subjectCounts, subject, change);
+			updateCount(this.objectCounts, object, change);
+			this.numberOfAssertions += change;
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package org.swrlapi.core.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -28,7 +29,7 @@ class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
 	private final boolean active;
 	private final String comment;
 
-	private List<SWRLAtom> bodyAtoms; // Body atoms can be reorganized during processing
+	private final List<SWRLAtom> bodyAtoms; // Reordered copies of a rule are made by the optimizer
 	private final List<SWRLAtom> headAtoms;
 
 	public DefaultSWRLAPIRule(String ruleName, List<? extends SWRLAtom> bodyAtoms, List<? extends SWRLAtom> headAtoms,
@@ -38,10 +39,24 @@ class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
 		this.ruleName = ruleName;
 		this.active = isActive;
 		this.comment = comment;
-		this.bodyAtoms = new ArrayList<>(bodyAtoms);
+		this.bodyAtoms = Collections.unmodifiableList(processBuiltInArguments(bodyAtoms));
 		this.headAtoms = new ArrayList<>(headAtoms);
+	}
 
-		processBuiltInArguments();
+	/**
+	 * Create a copy of a rule with the same body atoms in a different order. The built-in arguments of the rule have
+	 * already been processed so the atoms are used as they are.
+	 *
+	 * @see org.swrlapi.core.impl.SWRLAPIRuleOptimizer
+	 */
+	DefaultSWRLAPIRule(DefaultSWRLAPIRule rule, List<SWRLAtom> bodyAtoms)
+	{
+		super(new LinkedHashSet<>(bodyAtoms), new LinkedHashSet<>(rule.getHeadAtoms()), rule.getAnnotations());
+		this.ruleName = rule.getRuleName();
+		this.active = rule.isActive();
+		this.comment = rule.getComment();
+		this.bodyAtoms = Collections.unmodifiableList(new ArrayList<>(bodyAtoms));
+		this.headAtoms = rule.headAtoms;
 	}
 
 	@Override
@@ -98,8 +113,10 @@ class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
 
 	/**
 	 * Find all built-in atoms with unbound arguments and tell them which of their arguments are unbound.
+	 *
+	 * @return The body atoms with the built-in atoms moved to the end
 	 */
-	private void processBuiltInArguments()
+	private List<SWRLAtom> processBuiltInArguments(List<? extends SWRLAtom> bodyAtoms)
 	{
 		List<SWRLAPIBuiltInAtom> bodyBuiltInAtoms = new ArrayList<>();
 		List<SWRLAtom> bodyNonBuiltInAtoms = new ArrayList<>();
@@ -108,7 +125,7 @@ class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
 		List<SWRLAtom> finalBodyAtoms;
 
 		// Process body atoms to build list of (1) built-in body atoms, and (2) the variables used by non-built-in atoms.
-		for (SWRLAtom atom : getBodyAtoms()) {
+		for (SWRLAtom atom : bodyAtoms) {
 			if (atom instanceof SWRLAPIBuiltInAtom)
 				bodyBuiltInAtoms.add((SWRLAPIBuiltInAtom)atom);
 			else {
@@ -140,8 +157,9 @@ class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
 		// engines (e.g., Jess) expect variables used as parameters to functions to have been defined before their use in
 		// a left to right fashion.
 		finalBodyAtoms = reorganizeBodyNonBuiltInAtoms(bodyNonBuiltInAtoms);
-		this.bodyAtoms = finalBodyAtoms;
 		finalBodyAtoms.addAll(bodyBuiltInAtoms);
+
+		return finalBodyAtoms;
 	}
 
 	/**
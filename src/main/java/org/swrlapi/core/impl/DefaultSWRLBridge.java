@@ -8,16 +8,22 @@ import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 import org.swrlapi.bridge.SWRLRuleEngineBridge;
 import org.swrlapi.bridge.SWRLRuleEngineBridgeController;
 import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.bridge.sinks.InferredAxiomSink;
 import org.swrlapi.builtins.SWRLBuiltInBridge;
 import org.swrlapi.builtins.SWRLBuiltInBridgeController;
 import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentFactory;
+import org.swrlapi.core.EngineMetrics;
+import org.swrlapi.core.ExecutionContext;
+import org.swrlapi.core.OWLAssertionStore;
+import org.swrlapi.core.OWLAxiomDerivation;
 import org.swrlapi.core.OWLLiteralFactory;
 import org.swrlapi.core.SWRLAPIOWLDataFactory;
 import org.swrlapi.core.SWRLAPIOWLDatatypeFactory;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.core.resolvers.IDResolver;
 import org.swrlapi.core.resolvers.IRIResolver;
 import org.swrlapi.core.resolvers.OWLClassExpressionResolver;
 import org.swrlapi.core.resolvers.OWLDataPropertyExpressionResolver;
@@ -27,14 +33,19 @@ import org.swrlapi.core.resolvers.OWLObjectPropertyExpressionResolver;
 import org.swrlapi.exceptions.SWRLBuiltInBridgeException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLRuleEngineBridgeException;
+import org.swrlapi.exceptions.SWRLRuleEngineLimitException;
 import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
 import org.swrlapi.owl2rl.OWL2RLPersistenceLayer;
 import org.swrlapi.sqwrl.SQWRLResult;
 import org.swrlapi.sqwrl.SQWRLResultGenerator;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -55,6 +66,7 @@ public class DefaultSWRLBridge
 	private final OWLDataPropertyExpressionResolver owlDataPropertyExpressionResolver;
 	private final OWLObjectPropertyExpressionResolver owlObjectPropertyExpressionResolver;
 	private final OWLIndividualResolver owlIndividualResolver;
+	private final SWRLBuiltInLibraryManager builtInLibraryManager;
 
 	/**
 	 * OWL axioms inferred by a rule engine (via the {@link #inferOWLAxiom(org.semanticweb.owlapi.model.OWLAxiom)} call).
@@ -70,6 +82,29 @@ public class DefaultSWRLBridge
 	 */
 	private final Set<OWLAxiom> injectedOWLAxioms;
 
+	/**
+	 * The recorded derivations of each inferred axiom, and for each premise the axioms with a derivation that uses it.
+	 */
+	private final Map<OWLAxiom, Set<OWLAxiomDerivation>> owlAxiomDerivations;
+	private final Map<OWLAxiom, Set<OWLAxiom>> derivedOWLAxioms;
+
+	/**
+	 * If set, OWL axioms inferred by a rule engine are passed to this sink instead of being added to
+	 * {@link #inferredOWLAxioms}.
+	 */
+	private InferredAxiomSink inferredAxiomSink;
+
+	/**
+	 * If set, inferred axioms and built-in invocations are recorded in this context, which stops the run when one of its
+	 * limits is reached.
+	 */
+	private ExecutionContext executionContext;
+
+	/**
+	 * If set, inferred axioms and built-in invocations are reported to this listener.
+	 */
+	private EngineMetrics engineMetrics;
+
 	/**
 	 * The target rule engine implementation (e.g., Drools, Jess)
 	 */
@@ -86,9 +121,15 @@ public class DefaultSWRLBridge
 		this.owlObjectPropertyExpressionResolver = new OWLObjectPropertyExpressionResolver();
 		this.owlDataPropertyExpressionResolver = new OWLDataPropertyExpressionResolver();
 		this.owlIndividualResolver = new OWLIndividualResolver();
+		this.builtInLibraryManager = new SWRLBuiltInLibraryManager();
 
 		this.inferredOWLAxioms = new HashSet<>();
 		this.injectedOWLAxioms = new HashSet<>();
+		this.owlAxiomDerivations = new HashMap<>();
+		this.derivedOWLAxioms = new HashMap<>();
+		this.inferredAxiomSink = null;
+		this.executionContext = null;
+		this.engineMetrics = null;
 
 		reset();
 	}
@@ -104,8 +145,16 @@ public class DefaultSWRLBridge
 	{
 		this.inferredOWLAxioms.clear();
 		this.injectedOWLAxioms.clear();
+		this.owlAxiomDerivations.clear();
+		this.derivedOWLAxioms.clear();
 
-		SWRLBuiltInLibraryManager.invokeAllBuiltInLibrariesResetMethod(this);
+		this.builtInLibraryManager.invokeBuiltInLibraryResetMethods(this);
+	}
+
+	@Override
+	public void resetSQWRLBuiltIns() throws SWRLBuiltInBridgeException
+	{
+		this.builtInLibraryManager.invokeBuiltInLibraryResetMethod(this, "sqwrl");
 	}
 
 	@Override
@@ -121,9 +170,11 @@ public class DefaultSWRLBridge
 	@Override
 	public void injectOWLAxiom(OWLAxiom axiom) throws SWRLBuiltInBridgeException
 	{
-		if (!this.injectedOWLAxioms.contains(axiom)) {
-			this.injectedOWLAxioms.add(axiom);
-			exportOWLAxiom(axiom); // Export the axiom to the rule engine.
+		synchronized (this.injectedOWLAxioms) { // Built-ins may be invoked from several threads
+			if (!this.injectedOWLAxioms.contains(axiom)) {
+				this.injectedOWLAxioms.add(axiom);
+				exportOWLAxiom(axiom); // Export the axiom to the rule engine.
+			}
 		}
 	}
 
@@ -133,6 +184,18 @@ public class DefaultSWRLBridge
 		return this.swrlapiOWLOntology.getIRIResolver();
 	}
 
+	@Override
+	public IDResolver getIDResolver()
+	{
+		return this.swrlapiOWLOntology.getIDResolver();
+	}
+
+	@Override
+	public OWLAssertionStore getOWLAssertionStore()
+	{
+		return this.swrlapiOWLOntology.getOWLAssertionStore();
+	}
+
 	@Override
 	public OWLClassExpressionResolver getOWLClassExpressionResolver()
 	{
@@ -202,17 +265,170 @@ public class DefaultSWRLBridge
 	@Override
 	public void inferOWLAxiom(OWLAxiom axiom) throws SWRLRuleEngineBridgeException
 	{
-		// Exclude already asserted axioms
-		if (!this.inferredOWLAxioms.contains(axiom) && !this.swrlapiOWLOntology.hasAssertedOWLAxiom(axiom))
-			this.inferredOWLAxioms.add(axiom);
+		if (this.inferredAxiomSink != null) { // Streamed axioms are not retained, so duplicates are not removed
+			if (!this.swrlapiOWLOntology.hasAssertedOWLAxiom(axiom)) {
+				recordInferredOWLAxiom(axiom);
+				this.inferredAxiomSink.acceptInferredOWLAxiom(axiom);
+			}
+		} else if (!this.inferredOWLAxioms.contains(axiom) && !this.swrlapiOWLOntology.hasAssertedOWLAxiom(axiom)) {
+			recordInferredOWLAxiom(axiom);
+			this.inferredOWLAxioms.add(axiom); // Exclude already asserted axioms
+		}
+	}
+
+	@Override
+	public void setExecutionContext(ExecutionContext executionContext)
+	{
+		this.executionContext = executionContext;
+	}
+
+	@Override
+	public void checkExecutionLimits(long numberOfPendingInferredOWLAxioms) throws SWRLRuleEngineLimitException
+	{
+		if (this.executionContext != null)
+			this.executionContext.checkLimits(numberOfPendingInferredOWLAxioms);
+	}
+
+	@Override
+	public void setEngineMetrics(EngineMetrics engineMetrics)
+	{
+		this.engineMetrics = engineMetrics;
+	}
+
+	@Override
+	public void setInferredAxiomSink(InferredAxiomSink sink)
+	{
+		this.inferredAxiomSink = sink;
+	}
+
+	@Override
+	public void flushInferredAxiomSink() throws SWRLRuleEngineBridgeException
+	{
+		if (this.inferredAxiomSink != null)
+			this.inferredAxiomSink.flush();
+	}
+
+	@Override
+	public void loadMaterializedOWLAxioms(Set<OWLAxiom> inferredOWLAxioms, Set<OWLAxiom> injectedOWLAxioms)
+			throws SWRLRuleEngineBridgeException
+	{
+		List<OWLAxiom> newAxioms = new ArrayList<>();
+
+		for (OWLAxiom axiom : inferredOWLAxioms) {
+			if (!this.swrlapiOWLOntology.hasAssertedOWLAxiom(axiom) && this.inferredOWLAxioms.add(axiom))
+				newAxioms.add(axiom);
+		}
+
+		synchronized (this.injectedOWLAxioms) {
+			for (OWLAxiom axiom : injectedOWLAxioms) {
+				if (this.injectedOWLAxioms.add(axiom))
+					newAxioms.add(axiom);
+			}
+		}
+
+		try {
+			this.targetSWRLRuleEngine.defineOWLAxioms(newAxioms);
+		} catch (TargetSWRLRuleEngineException e) {
+			throw new SWRLRuleEngineBridgeException(
+					"error exporting materialized OWL axioms to target rule engine: " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public void retractInferredOWLAxiom(OWLAxiom axiom) throws SWRLRuleEngineBridgeException
+	{
+		this.inferredOWLAxioms.remove(axiom);
+
+		Set<OWLAxiomDerivation> derivations = this.owlAxiomDerivations.get(axiom);
+		if (derivations != null) {
+			for (OWLAxiomDerivation derivation : new ArrayList<>(derivations))
+				retractOWLAxiomDerivation(axiom, derivation);
+		}
+	}
+
+	@Override
+	public void recordOWLAxiomDerivation(OWLAxiom axiom, OWLAxiomDerivation derivation)
+	{
+		Set<OWLAxiomDerivation> derivations = this.owlAxiomDerivations.get(axiom);
+
+		if (derivations == null) {
+			derivations = new HashSet<>();
+			this.owlAxiomDerivations.put(axiom, derivations);
+		}
+
+		if (derivations.add(derivation)) {
+			for (OWLAxiom premise : derivation.getPremises()) {
+				Set<OWLAxiom> conclusions = this.derivedOWLAxioms.get(premise);
+
+				if (conclusions == null) {
+					conclusions = new HashSet<>();
+					this.derivedOWLAxioms.put(premise, conclusions);
+				}
+				conclusions.add(axiom);
+			}
+		}
+	}
+
+	@Override
+	public void retractOWLAxiomDerivation(OWLAxiom axiom, OWLAxiomDerivation derivation)
+	{
+		Set<OWLAxiomDerivation> derivations = this.owlAxiomDerivations.get(axiom);
+
+		if (derivations == null || !derivations.remove(derivation))
+			return;
+
+		if (derivations.isEmpty())
+			this.owlAxiomDerivations.remove(axiom);
+
+		for (OWLAxiom premise : derivation.getPremises()) {
+			if (!usesPremise(derivations, premise)) {
+				Set<OWLAxiom> conclusions = this.derivedOWLAxioms.get(premise);
+
+				if (conclusions != null) {
+					conclusions.remove(axiom);
+					if (conclusions.isEmpty())
+						this.derivedOWLAxioms.remove(premise);
+				}
+			}
+		}
+	}
+
+	@Override
+	public Set<OWLAxiomDerivation> getOWLAxiomDerivations(OWLAxiom axiom)
+	{
+		Set<OWLAxiomDerivation> derivations = this.owlAxiomDerivations.get(axiom);
+
+		return derivations == null ? Collections.<OWLAxiomDerivation>emptySet() : Collections.unmodifiableSet(derivations);
+	}
+
+	@Override
+	public Set<OWLAxiom> getOWLAxiomsDerivedFrom(OWLAxiom premise)
+	{
+		Set<OWLAxiom> conclusions = this.derivedOWLAxioms.get(premise);
+
+		return conclusions == null ? Collections.<OWLAxiom>emptySet() : Collections.unmodifiableSet(conclusions);
+	}
+
+	private static boolean usesPremise(Set<OWLAxiomDerivation> derivations, OWLAxiom premise)
+	{
+		for (OWLAxiomDerivation derivation : derivations) {
+			if (derivation.getPremises().contains(premise))
+				return true;
+		}
+		return false;
 	}
 
 	@Override
 	public List<List<SWRLBuiltInArgument>> invokeSWRLBuiltIn(String ruleName, String builtInName, int builtInIndex,
 			boolean isInConsequent, List<SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
 	{
-		return SWRLBuiltInLibraryManager
-				.invokeSWRLBuiltIn(this, ruleName, builtInName, builtInIndex, isInConsequent, arguments);
+		if (this.executionContext != null)
+			this.executionContext.recordBuiltInInvocation();
+		if (this.engineMetrics != null)
+			this.engineMetrics.builtInInvoked(builtInName);
+
+		return this.builtInLibraryManager
+				.invokeBuiltIn(this, ruleName, builtInName, builtInIndex, isInConsequent, arguments);
 	}
 
 	public boolean isOWLClass(IRI iri)
@@ -247,6 +463,14 @@ public class DefaultSWRLBridge
 		return this.swrlapiOWLOntology.getSQWRLResultGenerator(queryName);
 	}
 
+	private void recordInferredOWLAxiom(OWLAxiom axiom)
+	{
+		if (this.executionContext != null)
+			this.executionContext.recordInferredOWLAxiom();
+		if (this.engineMetrics != null)
+			this.engineMetrics.owlAxiomInferred(axiom.getAxiomType());
+	}
+
 	private void exportOWLAxiom(OWLAxiom axiom) throws SWRLBuiltInBridgeException
 	{
 		try {
@@ -0,0 +1,530 @@
+package org.swrlapi.core.impl;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLHasKeyAxiom;
+import org.semanticweb.owlapi.model.OWLIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLNegativeDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectExactCardinality;
+import org.semanticweb.owlapi.model.OWLObjectMaxCardinality;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLDifferentIndividualsAtom;
+import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDataPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLObjectPropertyBuiltInArgument;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleDependencyGraph;
+import org.swrlapi.sqwrl.SQWRLQuery;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The predicates of the graph are named classes, object properties and data properties, together with two nodes that
+ * stand for the equality and difference of individuals. Strongly connected components of the predicates are found with
+ * an iterative version of Tarjan's algorithm so that long rule chains do not exhaust the stack.
+ * <p/>
+ * Axioms other than assertions and rules connect all the classes and properties in their signature, in both
+ * directions. Built-in entities such as owl:Thing are left out of these connections because they would connect
+ * everything. They are kept as predicates of rule and query atoms, so a target that depends on them makes every axiom
+ * relevant.
+ */
+public class DefaultSWRLRuleDependencyGraph implements SWRLRuleDependencyGraph
+{
+	private static final Object SAME_INDIVIDUAL = OWLRDFVocabulary.OWL_SAME_AS.getIRI();
+	private static final Object DIFFERENT_INDIVIDUALS = OWLRDFVocabulary.OWL_DIFFERENT_FROM.getIRI();
+
+	private final Set<OWLAxiom> owlAxioms;
+	private final Map<SWRLAPIRule, Set<Object>> headPredicates;
+	private final Map<SWRLAPIRule, Set<Object>> bodyPredicates;
+	private final Map<Object, Set<SWRLAPIRule>> concludingRules;
+	private final Map<Object, List<Set<Object>>> schemaSignatures;
+	private final Map<Object, Integer> componentIndexes;
+	private final Map<SWRLAPIRule, Integer> ruleStrata;
+	private final List<Set<SWRLAPIRule>> strata;
+
+	/**
+	 * @param owlAxioms The asserted OWL axioms and SWRL rules of a processed ontology
+	 */
+	public DefaultSWRLRuleDependencyGraph(Set<OWLAxiom> owlAxioms)
+	{
+		this.owlAxioms = owlAxioms;
+		this.headPredicates = new LinkedHashMap<>();
+		this.bodyPredicates = new LinkedHashMap<>();
+		this.concludingRules = new HashMap<>();
+		this.schemaSignatures = new HashMap<>();
+		this.componentIndexes = new HashMap<>();
+		this.ruleStrata = new HashMap<>();
+		this.strata = new ArrayList<>();
+
+		for (OWLAxiom axiom : owlAxioms) {
+			if (axiom instanceof SWRLAPIRule) {
+				SWRLAPIRule rule = (SWRLAPIRule)axiom;
+				if (rule.isActive() && !rule.isSQWRLQuery())
+					addSWRLRule(rule);
+			} else if (isSchemaAxiom(axiom))
+				addSchemaAxiom(axiom);
+		}
+		stratify();
+	}
+
+	@Override
+	public List<Set<SWRLAPIRule>> getStrata()
+	{
+		return Collections.unmodifiableList(this.strata);
+	}
+
+	@Override
+	public int getStratum(SWRLAPIRule rule)
+	{
+		Integer stratum = this.ruleStrata.get(rule);
+
+		return stratum == null ? -1 : stratum;
+	}
+
+	@Override
+	public boolean isRecursive(SWRLAPIRule rule)
+	{
+		if (!this.headPredicates.containsKey(rule))
+			return false;
+
+		Set<Integer> headComponentIndexes = new HashSet<>();
+
+		for (Object predicate : this.headPredicates.get(rule))
+			headComponentIndexes.add(this.componentIndexes.get(predicate));
+
+		for (Object predicate : this.bodyPredicates.get(rule)) {
+			if (headComponentIndexes.contains(this.componentIndexes.get(predicate)))
+				return true;
+		}
+		return false;
+	}
+
+	@Override
+	public Set<SWRLAPIRule> getRelevantSWRLRules(SQWRLQuery query)
+	{
+		return selectRelevantSWRLRules(getRelevantPredicates(getQueryPredicates(query)));
+	}
+
+	@Override
+	public Set<SWRLAPIRule> getRelevantSWRLRules(Set<? extends OWLEntity> targetPredicates)
+	{
+		return selectRelevantSWRLRules(getRelevantPredicates(targetPredicates));
+	}
+
+	@Override
+	public Set<OWLAxiom> getRelevantOWLAxioms(SQWRLQuery query)
+	{
+		return selectRelevantOWLAxioms(getRelevantPredicates(getQueryPredicates(query)));
+	}
+
+	@Override
+	public Set<OWLAxiom> getRelevantOWLAxioms(Set<? extends OWLEntity> targetPredicates)
+	{
+		return selectRelevantOWLAxioms(getRelevantPredicates(targetPredicates));
+	}
+
+	private void addSWRLRule(SWRLAPIRule rule)
+	{
+		Set<Object> headPredicates = new LinkedHashSet<>();
+		Set<Object> bodyPredicates = new LinkedHashSet<>();
+
+		for (SWRLAtom atom : rule.getHeadAtoms())
+			addPredicates(atom, headPredicates);
+
+		for (SWRLAtom atom : rule.getBodyAtoms())
+			addPredicates(atom, bodyPredicates);
+
+		for (SWRLAtom atom : rule.getBodyAtoms()) {
+			if (atom instanceof SWRLAPIBuiltInAtom)
+				addPredicates(atom, headPredicates); // Built-ins may assert facts about their class and property arguments
+		}
+
+		this.headPredicates.put(rule, headPredicates);
+		this.bodyPredicates.put(rule, bodyPredicates);
+
+		for (Object predicate : headPredicates) {
+			Set<SWRLAPIRule> rules = this.concludingRules.get(predicate);
+
+			if (rules == null) {
+				rules = new LinkedHashSet<>();
+				this.concludingRules.put(predicate, rules);
+			}
+			rules.add(rule);
+		}
+	}
+
+	private void addSchemaAxiom(OWLAxiom axiom)
+	{
+		Set<Object> signature = getSchemaSignature(axiom);
+
+		for (Object predicate : signature) {
+			List<Set<Object>> signatures = this.schemaSignatures.get(predicate);
+
+			if (signatures == null) {
+				signatures = new ArrayList<>();
+				this.schemaSignatures.put(predicate, signatures);
+			}
+			signatures.add(signature);
+		}
+	}
+
+	/**
+	 * Assign each rule to the stratum of the latest strongly connected component that it concludes a predicate of. A
+	 * component is in stratum 0 if no rule concluding it depends on another component that is concluded by rules;
+	 * otherwise it is in the stratum after the latest such component.
+	 */
+	private void stratify()
+	{
+		Map<Object, Set<Object>> successors = new LinkedHashMap<>();
+
+		for (SWRLAPIRule rule : this.headPredicates.keySet()) {
+			for (Object predicate : this.headPredicates.get(rule))
+				getSuccessors(successors, predicate);
+
+			for (Object bodyPredicate : this.bodyPredicates.get(rule))
+				getSuccessors(successors, bodyPredicate).addAll(this.headPredicates.get(rule));
+		}
+
+		List<Set<Object>> components = findStronglyConnectedComponents(successors);
+		int[] componentStrata = new int[components.size()];
+
+		Collections.reverse(components); // Dependencies first
+		for (int componentIndex = 0; componentIndex < components.size(); componentIndex++) {
+			for (Object predicate : components.get(componentIndex))
+				this.componentIndexes.put(predicate, componentIndex);
+		}
+
+		for (int componentIndex = 0; componentIndex < components.size(); componentIndex++) {
+			for (Object predicate : components.get(componentIndex)) {
+				if (this.concludingRules.containsKey(predicate)) {
+					for (SWRLAPIRule rule : this.concludingRules.get(predicate))
+						componentStrata[componentIndex] = Math
+								.max(componentStrata[componentIndex], getBodyStratum(rule, componentIndex, componentStrata));
+				}
+			}
+		}
+
+		for (SWRLAPIRule rule : this.headPredicates.keySet()) {
+			int stratum = 0;
+
+			if (this.headPredicates.get(rule).isEmpty())
+				stratum = getBodyStratum(rule, -1, componentStrata);
+			else {
+				for (Object predicate : this.headPredicates.get(rule))
+					stratum = Math.max(stratum, componentStrata[this.componentIndexes.get(predicate)]);
+			}
+
+			while (this.strata.size() <= stratum)
+				this.strata.add(new LinkedHashSet<SWRLAPIRule>());
+			this.strata.get(stratum).add(rule);
+			this.ruleStrata.put(rule, stratum);
+		}
+	}
+
+	/**
+	 * @return The earliest stratum in which the body of a rule can be evaluated, ignoring predicates of its own component
+	 */
+	private int getBodyStratum(SWRLAPIRule rule, int componentIndex, int[] componentStrata)
+	{
+		int stratum = 0;
+
+		for (Object predicate : this.bodyPredicates.get(rule)) {
+			int predicateComponentIndex = this.componentIndexes.get(predicate);
+
+			if (predicateComponentIndex != componentIndex && this.concludingRules.containsKey(predicate))
+				stratum = Math.max(stratum, componentStrata[predicateComponentIndex] + 1);
+		}
+		return stratum;
+	}
+
+	/**
+	 * @return The components in reverse topological order: each component is returned after all components that depend
+	 * on it
+	 */
+	private static List<Set<Object>> findStronglyConnectedComponents(Map<Object, Set<Object>> successors)
+	{
+		List<Set<Object>> components = new ArrayList<>();
+		Map<Object, Integer> indexes = new HashMap<>();
+		Map<Object, Integer> lowLinks = new HashMap<>();
+		Deque<Object> componentStack = new ArrayDeque<>();
+		Set<Object> onComponentStack = new HashSet<>();
+
+		for (Object root : successors.keySet()) {
+			if (indexes.containsKey(root))
+				continue;
+
+			Deque<Object> nodeStack = new ArrayDeque<>();
+			Deque<Iterator<Object>> successorIterators = new ArrayDeque<>();
+
+			visit(root, indexes, lowLinks, componentStack, onComponentStack);
+			nodeStack.push(root);
+			successorIterators.push(successors.get(root).iterator());
+
+			while (!nodeStack.isEmpty()) {
+				Object node = nodeStack.peek();
+				Iterator<Object> successorIterator = successorIterators.peek();
+
+				if (successorIterator.hasNext()) {
+					Object successor = successorIterator.next();
+
+					if (!indexes.containsKey(successor)) {
+						visit(successor, indexes, lowLinks, componentStack, onComponentStack);
+						nodeStack.push(successor);
+						successorIterators.push(successors.get(successor).iterator());
+					} else if (onComponentStack.contains(successor))
+						lowLinks.put(node, Math.min(lowLinks.get(node), indexes.get(successor)));
+				} else {
+					nodeStack.pop();
+					successorIterators.pop();
+
+					if (!nodeStack.isEmpty())
+						lowLinks.put(nodeStack.peek(), Math.min(lowLinks.get(nodeStack.peek()), lowLinks.get(node)));
+
+					if (lowLinks.get(node).equals(indexes.get(node))) {
+						Set<Object> component = new LinkedHashSet<>();
+						Object member;
+
+						do {
+							member = componentStack.pop();
+							onComponentStack.remove(member);
+							component.add(member);
+						} while (!member.equals(node));
+						components.add(component);
+					}
+				}
+			}
+		}
+		return components;
+	}
+
+	private static void visit(Object node, Map<Object, Integer> indexes, Map<Object, Integer> lowLinks,
+			Deque<Object> componentStack, Set<Object> onComponentStack)
+	{
+		indexes.put(node, indexes.size());
+		lowLinks.put(node, indexes.get(node));
+		componentStack.push(node);
+		onComponentStack.add(node);
+	}
+
+	private static Set<Object> getSuccessors(Map<Object, Set<Object>> successors, Object predicate)
+	{
+		Set<Object> predicateSuccessors = successors.get(predicate);
+
+		if (predicateSuccessors == null) {
+			predicateSuccessors = new LinkedHashSet<>();
+			successors.put(predicate, predicateSuccessors);
+		}
+		return predicateSuccessors;
+	}
+
+	/**
+	 * @return The predicates that the target predicates depend on, or null if every predicate may be relevant
+	 */
+	private Set<Object> getRelevantPredicates(Set<?> targetPredicates)
+	{
+		Set<Object> relevantPredicates = new HashSet<>();
+		Deque<Object> pendingPredicates = new ArrayDeque<>();
+
+		pendingPredicates.add(SAME_INDIVIDUAL);
+		pendingPredicates.addAll(targetPredicates);
+
+		while (!pendingPredicates.isEmpty()) {
+			Object predicate = pendingPredicates.poll();
+
+			if (!relevantPredicates.add(predicate))
+				continue;
+
+			if (predicate instanceof OWLEntity && ((OWLEntity)predicate).isBuiltIn())
+				return null;
+
+			if (this.concludingRules.containsKey(predicate)) {
+				for (SWRLAPIRule rule : this.concludingRules.get(predicate))
+					pendingPredicates.addAll(this.bodyPredicates.get(rule));
+			}
+
+			if (this.schemaSignatures.containsKey(predicate)) {
+				for (Set<Object> signature : this.schemaSignatures.get(predicate))
+					pendingPredicates.addAll(signature);
+			}
+		}
+		return relevantPredicates;
+	}
+
+	private Set<SWRLAPIRule> selectRelevantSWRLRules(Set<Object> relevantPredicates)
+	{
+		Set<SWRLAPIRule> relevantRules = new LinkedHashSet<>();
+
+		for (SWRLAPIRule rule : this.headPredicates.keySet()) {
+			if (relevantPredicates == null || isRelevant(this.headPredicates.get(rule), relevantPredicates))
+				relevantRules.add(rule);
+		}
+		return relevantRules;
+	}
+
+	private Set<OWLAxiom> selectRelevantOWLAxioms(Set<Object> relevantPredicates)
+	{
+		if (relevantPredicates == null)
+			return this.owlAxioms;
+
+		Set<OWLAxiom> relevantAxioms = new HashSet<>();
+
+		for (OWLAxiom axiom : this.owlAxioms) {
+			if (isRelevant(axiom, relevantPredicates))
+				relevantAxioms.add(axiom);
+		}
+		return relevantAxioms;
+	}
+
+	private boolean isRelevant(OWLAxiom axiom, Set<Object> relevantPredicates)
+	{
+		if (axiom instanceof SWRLAPIRule) {
+			SWRLAPIRule rule = (SWRLAPIRule)axiom;
+			return this.headPredicates.containsKey(rule) && isRelevant(this.headPredicates.get(rule), relevantPredicates);
+		} else if (axiom instanceof OWLDeclarationAxiom)
+			return true;
+		else if (axiom instanceof OWLClassAssertionAxiom) {
+			OWLClassExpression classExpression = ((OWLClassAssertionAxiom)axiom).getClassExpression();
+			return isRelevant(getSignaturePredicates(classExpression), relevantPredicates);
+		} else if (axiom instanceof OWLObjectPropertyAssertionAxiom)
+			return relevantPredicates
+					.contains(((OWLObjectPropertyAssertionAxiom)axiom).getProperty().getNamedProperty());
+		else if (axiom instanceof OWLDataPropertyAssertionAxiom)
+			return relevantPredicates.contains(((OWLDataPropertyAssertionAxiom)axiom).getProperty());
+		else if (axiom instanceof OWLNegativeObjectPropertyAssertionAxiom)
+			return relevantPredicates
+					.contains(((OWLNegativeObjectPropertyAssertionAxiom)axiom).getProperty().getNamedProperty());
+		else if (axiom instanceof OWLNegativeDataPropertyAssertionAxiom)
+			return relevantPredicates.contains(((OWLNegativeDataPropertyAssertionAxiom)axiom).getProperty());
+		else if (axiom instanceof OWLSameIndividualAxiom)
+			return relevantPredicates.contains(SAME_INDIVIDUAL);
+		else if (axiom instanceof OWLDifferentIndividualsAxiom)
+			return relevantPredicates.contains(DIFFERENT_INDIVIDUALS);
+		else {
+			Set<Object> signature = getSchemaSignature(axiom);
+			return signature.isEmpty() || isRelevant(signature, relevantPredicates);
+		}
+	}
+
+	private static boolean isRelevant(Set<Object> predicates, Set<Object> relevantPredicates)
+	{
+		for (Object predicate : predicates) {
+			if (relevantPredicates.contains(predicate))
+				return true;
+		}
+		return false;
+	}
+
+	private static Set<Object> getQueryPredicates(SQWRLQuery query)
+	{
+		Set<Object> predicates = new HashSet<>();
+
+		for (SWRLAtom atom : query.getBodyAtoms())
+			addPredicates(atom, predicates);
+
+		for (SWRLAtom atom : query.getHeadAtoms())
+			addPredicates(atom, predicates);
+
+		return predicates;
+	}
+
+	private static void addPredicates(SWRLAtom atom, Set<Object> predicates)
+	{
+		if (atom instanceof SWRLClassAtom)
+			predicates.addAll(getSignaturePredicates(((SWRLClassAtom)atom).getPredicate(), true));
+		else if (atom instanceof SWRLObjectPropertyAtom)
+			predicates.add(((SWRLObjectPropertyAtom)atom).getPredicate().getNamedProperty());
+		else if (atom instanceof SWRLDataPropertyAtom)
+			predicates.add(((SWRLDataPropertyAtom)atom).getPredicate().asOWLDataProperty());
+		else if (atom instanceof SWRLSameIndividualAtom)
+			predicates.add(SAME_INDIVIDUAL);
+		else if (atom instanceof SWRLDifferentIndividualsAtom)
+			predicates.add(DIFFERENT_INDIVIDUALS);
+		else if (atom instanceof SWRLAPIBuiltInAtom) {
+			for (SWRLBuiltInArgument argument : ((SWRLAPIBuiltInAtom)atom).getBuiltInArguments()) {
+				if (argument instanceof SWRLClassBuiltInArgument)
+					predicates.add(((SWRLClassBuiltInArgument)argument).getOWLClass());
+				else if (argument instanceof SWRLObjectPropertyBuiltInArgument)
+					predicates.add(((SWRLObjectPropertyBuiltInArgument)argument).getOWLObjectProperty());
+				else if (argument instanceof SWRLDataPropertyBuiltInArgument)
+					predicates.add(((SWRLDataPropertyBuiltInArgument)argument).getOWLDataProperty());
+			}
+		}
+	}
+
+	/**
+	 * @return The classes and properties of an OWL object; built-in entities are omitted
+	 */
+	private static Set<Object> getSignaturePredicates(OWLObject owlObject)
+	{
+		return getSignaturePredicates(owlObject, false);
+	}
+
+	private static Set<Object> getSignaturePredicates(OWLObject owlObject, boolean includeBuiltIns)
+	{
+		Set<Object> predicates = new HashSet<>();
+
+		for (OWLEntity entity : owlObject.getSignature()) {
+			if ((entity.isOWLClass() || entity.isOWLObjectProperty() || entity.isOWLDataProperty()) && (includeBuiltIns
+					|| !entity.isBuiltIn()))
+				predicates.add(entity);
+		}
+		return predicates;
+	}
+
+	/**
+	 * The signature of an axiom that may make individuals equal includes the node for equality.
+	 */
+	private static Set<Object> getSchemaSignature(OWLAxiom axiom)
+	{
+		Set<Object> signature = getSignaturePredicates(axiom);
+
+		if (axiom instanceof OWLFunctionalObjectPropertyAxiom || axiom instanceof OWLInverseFunctionalObjectPropertyAxiom
+				|| axiom instanceof OWLHasKeyAxiom)
+			signature.add(SAME_INDIVIDUAL);
+		else {
+			for (OWLClassExpression classExpression : axiom.getNestedClassExpressions()) {
+				if (classExpression instanceof OWLObjectMaxCardinality
+						|| classExpression instanceof OWLObjectExactCardinality) {
+					signature.add(SAME_INDIVIDUAL);
+					break;
+				}
+			}
+		}
+		return signature;
+	}
+
+	private static boolean isSchemaAxiom(OWLAxiom axiom)
+	{
+		return !(axiom instanceof OWLIndividualAxiom) && !(axiom instanceof OWLDeclarationAxiom) && !axiom
+				.isAnnotationAxiom();
+	}
+}
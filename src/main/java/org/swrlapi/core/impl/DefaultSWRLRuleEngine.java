@@ -1,27 +1,51 @@
 package org.swrlapi.core.impl;
 
 import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.swrlapi.bridge.SWRLRuleEngineBridgeController;
 import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.bridge.sinks.InferredAxiomSink;
 import org.swrlapi.builtins.SWRLBuiltInBridgeController;
+import org.swrlapi.core.EngineMetrics;
+import org.swrlapi.core.ExecutionContext;
+import org.swrlapi.core.MaterializationCache;
+import org.swrlapi.core.OWLAxiomChanges;
+import org.swrlapi.core.OWLAxiomDerivation;
+import org.swrlapi.core.SWRLAPIFactory;
 import org.swrlapi.core.SWRLAPIOWLDataFactory;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleDependencyGraph;
 import org.swrlapi.core.SWRLRuleEngine;
 import org.swrlapi.exceptions.SWRLAPIException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLRuleEngineException;
+import org.swrlapi.exceptions.SWRLRuleEngineLimitException;
 import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineNotImplementedFeatureException;
 import org.swrlapi.owl2rl.OWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLNames;
 import org.swrlapi.sqwrl.SQWRLQuery;
+import org.swrlapi.sqwrl.SQWRLQuerySession;
 import org.swrlapi.sqwrl.SQWRLResult;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -34,6 +58,16 @@ public class DefaultSWRLRuleEngine implements SWRLRuleEngine
 	private final SWRLBuiltInBridgeController builtInBridgeController;
 	private final SWRLRuleEngineBridgeController ruleEngineBridgeController;
 	private final Set<OWLAxiom> exportedOWLAxioms; // Axioms exported to target rule engine
+	private long exportedOWLAxiomsVersion; // The processed axioms version of a full export, or -1 if there is none
+	private boolean isKnowledgeExported; // True if the exported axioms reflect the state of the target rule engine
+	private boolean isSQWRLQueryExported; // True if SQWRL queries have been exported since the last reset
+	private boolean isStreamingInferredOWLAxioms; // True if an inferred axiom sink is set
+	private boolean isModuleExtractionEnabled;
+	private MaterializationCache materializationCache;
+	private ExecutionContext executionContext;
+	private EngineMetrics engineMetrics;
+	private SWRLRuleDependencyGraph dependencyGraph; // Null until a SQWRL query is imported
+	private long dependencyGraphVersion; // The processed axioms version that the dependency graph was built from
 
 	public DefaultSWRLRuleEngine(SWRLAPIOWLOntology swrlapiOWLOntology, TargetSWRLRuleEngine targetSWRLRuleEngine,
 			SWRLRuleEngineBridgeController ruleEngineBridgeController, SWRLBuiltInBridgeController builtInBridgeController)
@@ -44,22 +78,39 @@ public class DefaultSWRLRuleEngine implements SWRLRuleEngine
 		this.builtInBridgeController = builtInBridgeController;
 		this.ruleEngineBridgeController = ruleEngineBridgeController;
 		this.exportedOWLAxioms = new HashSet<>();
+		this.exportedOWLAxiomsVersion = -1;
+		this.isKnowledgeExported = false;
+		this.isSQWRLQueryExported = false;
+		this.isStreamingInferredOWLAxioms = false;
+		this.isModuleExtractionEnabled = false;
+		this.materializationCache = null;
+		this.executionContext = null;
+		this.engineMetrics = null;
+		this.dependencyGraph = null;
+		this.dependencyGraphVersion = 0;
 
 		importSWRLRulesAndOWLKnowledge();
 	}
 
 	/**
-	 * Load rules and knowledge from OWL into bridge. All existing bridge rules and knowledge will first be cleared and
-	 * the associated rule engine will be reset.
+	 * Load rules and knowledge from OWL into bridge. If knowledge has previously been exported to the associated rule
+	 * engine, only the axioms added to or removed from the ontology since that export are passed to it. The rule engine
+	 * is reset and all knowledge is exported again if SQWRL queries have been exported to it, if the OWL 2 RL rule
+	 * selection has changed, or if it is unable to retract axioms.
 	 */
 	@Override
 	public void importSWRLRulesAndOWLKnowledge() throws SWRLRuleEngineException
 	{
-		reset();
-
 		try {
-			exportOWLAxioms2TargetRuleEngine(this.swrlapiOWLOntology.getOWLAxioms()); // OWL axioms include SWRL rules
-		} catch (SWRLAPIException e) {
+			if (this.isKnowledgeExported && !this.isSQWRLQueryExported && !getOWL2RLEngine().hasRuleSelectionChanged()) {
+				processOntology();
+				if (exportOWLAxiomChanges2TargetRuleEngine())
+					return;
+			}
+			reset();
+			exportOWLAxioms2TargetRuleEngine(getOWLAxioms2Export()); // OWL axioms include SWRL rules
+			this.exportedOWLAxiomsVersion = this.swrlapiOWLOntology.getProcessedOWLAxiomsVersion();
+		} catch (SQWRLException | SWRLAPIException e) {
 			throw new SWRLRuleEngineException("error exporting knowledge to rule engine: " + e.getMessage(), e);
 		}
 	}
@@ -74,7 +125,11 @@ public class DefaultSWRLRuleEngine implements SWRLRuleEngine
 		reset();
 
 		try {
-			exportOWLAxioms2TargetRuleEngine(this.swrlapiOWLOntology.getOWLAxioms()); // OWL axioms include SWRL rules
+			SQWRLQuery query = this.swrlapiOWLOntology.getSQWRLQuery(queryName);
+			SWRLRuleDependencyGraph dependencyGraph = getSWRLRuleDependencyGraph();
+
+			// Only the rules and axioms that the query depends on are exported
+			exportOWLAxioms2TargetRuleEngine(dependencyGraph.getRelevantOWLAxioms(query)); // OWL axioms include SWRL rules
 			exportSQWRLQuery2TargetRuleEngine(queryName);
 		} catch (SWRLBuiltInException e) {
 			throw new SWRLRuleEngineException("error exporting SQWRL query to rule engine: " + e.getMessage(), e);
@@ -84,22 +139,28 @@ public class DefaultSWRLRuleEngine implements SWRLRuleEngine
 	}
 
 	/**
-	 * Clear all knowledge from rule engine.
+	 * Clear all knowledge from rule engine. The ontology itself is processed incrementally so only changes made since it
+	 * was last processed are picked up.
 	 */
 	@Override
 	public void reset()
 	{
+		long startTime = System.nanoTime();
+
 		try {
-			this.swrlapiOWLOntology.reset();
 			getTargetSWRLRuleEngine().resetRuleEngine(); // Reset the target rule engine
 			getBuiltInBridgeController().reset();
 			this.exportedOWLAxioms.clear();
+			this.exportedOWLAxiomsVersion = -1;
+			this.isKnowledgeExported = false;
+			this.isSQWRLQueryExported = false;
 			getOWL2RLEngine().resetRuleSelectionChanged();
 			getSWRLAPIOWLOntology().resetOntologyChanged();
-			this.swrlapiOWLOntology.processOntology();
+			processOntology();
 		} catch (SQWRLException e) {
 			throw new SWRLRuleEngineException("error running rule engine: " + e.getMessage(), e);
 		}
+		recordPhase(EngineMetrics.Phase.RESET, startTime);
 	}
 
 	/**
@@ -109,8 +170,11 @@ public class DefaultSWRLRuleEngine implements SWRLRuleEngine
 	public void run() throws SWRLRuleEngineException
 	{
 		try {
-			this.swrlapiOWLOntology.processOntology();
-			getTargetSWRLRuleEngine().runRuleEngine();
+			processOntology();
+			runTargetSWRLRuleEngine();
+			this.ruleEngineBridgeController.flushInferredAxiomSink();
+		} catch (SWRLRuleEngineLimitException e) {
+			throw e;
 		} catch (SWRLBuiltInException | SWRLAPIException e) {
 			throw new SWRLRuleEngineException("error running rule engine: " + e.getMessage(), e);
 		}
@@ -149,7 +213,9 @@ public class DefaultSWRLRuleEngine implements SWRLRuleEngine
 			importSQWRLQueryAndOWLKnowledge(queryName);
 
 			run();
-			return getSQWRLResult(queryName);
+			return prepareSQWRLResult(this.swrlapiOWLOntology.getSQWRLQuery(queryName));
+		} catch (SWRLRuleEngineLimitException e) {
+			throw e;
 		} catch (SWRLAPIException e) {
 			throw new SQWRLException("error running SQWRL queries: " + e.getMessage(), e);
 		}
@@ -170,17 +236,126 @@ public class DefaultSWRLRuleEngine implements SWRLRuleEngine
 
 		try {
 			run();
+		} catch (SWRLRuleEngineLimitException e) {
+			throw e;
 		} catch (SWRLAPIException e) {
 			throw new SQWRLException("error running SQWRL queries: " + e.getMessage(), e);
 		}
 	}
 
 	/**
-	 * Write knowledge inferred by rule engine back to OWL.
+	 * Run the named SQWRL queries together in a single rule engine pass. Only the named queries are passed to the target
+	 * rule engine and only ontology changes made since the previous export are passed with them. The run time of each
+	 * result is recorded.
+	 */
+	@Override
+	public Map<String, SQWRLResult> runSQWRLQueries(Set<String> queryNames) throws SQWRLException
+	{
+		try {
+			importSWRLRulesAndOWLKnowledge();
+
+			return runSQWRLQueriesInTargetRuleEngine(queryNames);
+		} catch (SWRLRuleEngineLimitException e) {
+			throw e;
+		} catch (SWRLBuiltInException | SWRLAPIException e) {
+			throw new SQWRLException("error running SQWRL queries: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Open a query session. Asserted axioms and SWRL rules are exported to the target rule engine now; each query run in
+	 * the session is then defined, run, and retracted on its own.
+	 */
+	@Override
+	public SQWRLQuerySession openSession() throws SQWRLException
+	{
+		try {
+			importSWRLRulesAndOWLKnowledge();
+		} catch (SWRLRuleEngineException e) {
+			throw new SQWRLException("error opening SQWRL query session: " + e.getMessage(), e);
+		}
+
+		return new DefaultSQWRLQuerySession(this);
+	}
+
+	/**
+	 * Run a SQWRL query on behalf of a session. Only ontology changes made since the previous export are passed to the
+	 * target rule engine. If the target rule engine cannot retract the query afterwards it will be reset and reloaded
+	 * before the next query.
+	 */
+	SQWRLResult runSQWRLQueryInSession(String queryName) throws SQWRLException
+	{
+		try {
+			importSWRLRulesAndOWLKnowledge();
+
+			return runSQWRLQueriesInTargetRuleEngine(Collections.singleton(queryName)).get(queryName);
+		} catch (SWRLRuleEngineLimitException e) {
+			throw e;
+		} catch (SWRLBuiltInException | SWRLAPIException e) {
+			throw new SQWRLException("error running SQWRL query " + queryName + " in session: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Define the named queries in the target rule engine, run it, and retract the queries again so that knowledge can
+	 * continue to be exported incrementally. Knowledge must already have been exported. The state of the SQWRL built-ins
+	 * left by earlier queries is cleared first. The queries are activated for the run only; their previous active status
+	 * is restored afterwards.
+	 */
+	private Map<String, SQWRLResult> runSQWRLQueriesInTargetRuleEngine(Set<String> queryNames)
+			throws SQWRLException, SWRLBuiltInException, TargetSWRLRuleEngineException
+	{
+		List<SQWRLQuery> queries = new ArrayList<>();
+		List<Boolean> wereActive = new ArrayList<>();
+		Map<String, SQWRLResult> results = new LinkedHashMap<>();
+
+		for (String queryName : queryNames) {
+			SQWRLQuery query = this.swrlapiOWLOntology.getSQWRLQuery(queryName);
+			queries.add(query);
+			wereActive.add(query.isActive());
+		}
+
+		getBuiltInBridgeController().resetSQWRLBuiltIns();
+
+		try {
+			for (SQWRLQuery query : queries) {
+				query.setActive(true);
+				exportSQWRLQuery2TargetRuleEngine(query);
+			}
+
+			long startTime = System.currentTimeMillis();
+			for (SQWRLQuery query : queries)
+				query.getSQWRLResultGenerator().setRunStartTime(startTime);
+
+			runTargetSWRLRuleEngine();
+			this.ruleEngineBridgeController.flushInferredAxiomSink();
+
+			for (SQWRLQuery query : queries)
+				results.put(query.getQueryName(), prepareSQWRLResult(query));
+
+			try {
+				for (SQWRLQuery query : queries)
+					getTargetSWRLRuleEngine().retractSQWRLQuery(query);
+				this.isSQWRLQueryExported = false;
+			} catch (TargetSWRLRuleEngineNotImplementedFeatureException e) {
+				// The next import will reset the target rule engine
+			}
+			return results;
+		} finally {
+			for (int queryIndex = 0; queryIndex < queries.size(); queryIndex++)
+				queries.get(queryIndex).setActive(wereActive.get(queryIndex));
+		}
+	}
+
+	/**
+	 * Write knowledge inferred by rule engine back to OWL. The axioms are written in bulk so the ontology receives them
+	 * as a single batch of changes.
 	 */
 	@Override
 	public void writeInferredKnowledge() throws SWRLRuleEngineException
 	{
+		long startTime = System.nanoTime();
+
 		try {
 			getSWRLAPIOWLOntology().startBulkConversion(); // Suspend possible event generation for bulk updates.
 
@@ -191,19 +366,142 @@ public class DefaultSWRLRuleEngine implements SWRLRuleEngine
 		} finally {
 			getSWRLAPIOWLOntology().completeBulkConversion();
 		}
+		recordPhase(EngineMetrics.Phase.WRITE_INFERRED_KNOWLEDGE, startTime);
+	}
+
+	@Override
+	public void setInferredAxiomSink(InferredAxiomSink sink)
+	{
+		this.ruleEngineBridgeController.setInferredAxiomSink(sink);
+		this.isStreamingInferredOWLAxioms = sink != null;
+	}
+
+	@Override
+	public void setMaterializationCache(MaterializationCache materializationCache)
+	{
+		this.materializationCache = materializationCache;
+	}
+
+	@Override
+	public void setModuleExtractionEnabled(boolean isModuleExtractionEnabled)
+	{
+		this.isModuleExtractionEnabled = isModuleExtractionEnabled;
+	}
+
+	@Override
+	public void setExecutionContext(ExecutionContext executionContext)
+	{
+		this.ruleEngineBridgeController.setExecutionContext(executionContext);
+		this.executionContext = executionContext;
+	}
+
+	@Override
+	public void setEngineMetrics(EngineMetrics engineMetrics)
+	{
+		this.ruleEngineBridgeController.setEngineMetrics(engineMetrics);
+		this.engineMetrics = engineMetrics;
 	}
 
 	/**
 	 * Load rules and knowledge from OWL into bridge, send them to a rule engine, run the rule engine, and write any
-	 * inferred knowledge back to OWL.
+	 * inferred knowledge back to OWL. Only changes made to the ontology since the last export are sent to the rule
+	 * engine.
 	 */
 	@Override
 	public void infer() throws SWRLRuleEngineException
 	{
-		reset();
-		importSWRLRulesAndOWLKnowledge();
-		run();
-		writeInferredKnowledge();
+		if (this.materializationCache != null && !this.isStreamingInferredOWLAxioms)
+			inferUsingMaterializationCache();
+		else {
+			importSWRLRulesAndOWLKnowledge();
+			run();
+			writeInferredKnowledge();
+		}
+	}
+
+	/**
+	 * Load a stored materialization for the current inputs if there is one and write it to the ontology. The target rule
+	 * engine is loaded with the asserted knowledge and the materialization but is not run, and the materialization is
+	 * reported as the inferred and injected axioms of the rule engine. Otherwise infer as usual and store the result.
+	 */
+	private void inferUsingMaterializationCache() throws SWRLRuleEngineException
+	{
+		String fingerprint;
+
+		try {
+			processOntology();
+			fingerprint = createMaterializationFingerprint();
+		} catch (SQWRLException e) {
+			throw new SWRLRuleEngineException("error processing ontology: " + e.getMessage(), e);
+		}
+
+		MaterializationCache.Materialization materialization = this.materializationCache.load(fingerprint);
+
+		if (materialization != null) {
+			importSWRLRulesAndOWLKnowledge();
+			this.ruleEngineBridgeController.loadMaterializedOWLAxioms(materialization.getInferredOWLAxioms(),
+					materialization.getInjectedOWLAxioms());
+			writeInferredKnowledge();
+		} else {
+			importSWRLRulesAndOWLKnowledge();
+			run();
+			this.materializationCache.store(fingerprint, this.ruleEngineBridgeController.getInferredOWLAxioms(),
+					this.builtInBridgeController.getInjectedOWLAxioms());
+			writeInferredKnowledge();
+		}
+	}
+
+	/**
+	 * Fingerprint the inputs to inference. Each input is serialized canonically and the sorted serializations are
+	 * digested, so the fingerprint depends neither on the order in which axioms and rules are enumerated nor on the order
+	 * of the atoms in a rule.
+	 *
+	 * @see org.swrlapi.core.impl.OWLObjectCanonicalForm
+	 */
+	private String createMaterializationFingerprint() throws SWRLRuleEngineException
+	{
+		MessageDigest digest = createMessageDigest();
+		List<String> inputs = new ArrayList<>();
+
+		for (OWLAxiom axiom : this.swrlapiOWLOntology.getOWLAxioms())
+			inputs.add(OWLObjectCanonicalForm.create(axiom));
+
+		for (SWRLAPIRule rule : this.swrlapiOWLOntology.getSWRLAPIRules()) {
+			if (!rule.isSQWRLQuery())
+				inputs.add("active " + rule.getRuleName() + " " + rule.isActive());
+		}
+
+		for (OWL2RLNames.Rule rule : getOWL2RLEngine().getEnabledRules())
+			inputs.add("owl2rl " + rule);
+
+		if (this.isModuleExtractionEnabled)
+			inputs.add("module extraction");
+
+		inputs.add("engine " + getTargetRuleEngineName() + " " + getTargetRuleEngineVersion());
+		Collections.sort(inputs);
+
+		for (String input : inputs) {
+			byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+
+			digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array()); // Delimits the inputs
+			digest.update(bytes);
+		}
+
+		StringBuilder fingerprint = new StringBuilder();
+
+		for (byte b : digest.digest())
+			fingerprint.append(String.format("%02x", b));
+
+		return fingerprint.toString();
+	}
+
+	private MessageDigest createMessageDigest() throws SWRLRuleEngineException
+	{
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new SWRLRuleEngineException("cannot fingerprint inference inputs: " + e.getMessage(), e);
+		}
 	}
 
 	/**
@@ -314,6 +612,12 @@ public class DefaultSWRLRuleEngine implements SWRLRuleEngine
 		return this.ruleEngineBridgeController.getInferredOWLAxioms();
 	}
 
+	@Override
+	public Set<OWLAxiomDerivation> getOWLAxiomDerivations(OWLAxiom axiom)
+	{
+		return this.ruleEngineBridgeController.getOWLAxiomDerivations(axiom);
+	}
+
 	@Override
 	public Set<OWLAxiom> getInjectedOWLAxioms()
 	{
@@ -359,6 +663,36 @@ public class DefaultSWRLRuleEngine implements SWRLRuleEngine
 			throws SWRLRuleEngineException, TargetSWRLRuleEngineException, SWRLBuiltInException
 	{
 		getTargetSWRLRuleEngine().defineSQWRLQuery(query);
+		this.isSQWRLQueryExported = true;
+	}
+
+	/**
+	 * Run the target rule engine within the limits of the execution context, if one is set. A target rule engine may wrap
+	 * the exception thrown when a limit is reached, so it is looked for among the causes of whatever the target rule
+	 * engine throws. The target rule engine is reset before the next run because it may have stopped part way through.
+	 */
+	private void runTargetSWRLRuleEngine() throws SWRLRuleEngineException, TargetSWRLRuleEngineException
+	{
+		long startTime = System.nanoTime();
+
+		if (this.executionContext != null) {
+			this.executionContext.start();
+			this.executionContext.checkLimits();
+		}
+
+		try {
+			getTargetSWRLRuleEngine().runRuleEngine();
+		} catch (RuntimeException e) {
+			for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+				if (cause instanceof SWRLRuleEngineLimitException) {
+					this.isKnowledgeExported = false;
+					throw (SWRLRuleEngineLimitException)cause;
+				}
+			}
+			throw e;
+		} finally {
+			recordPhase(EngineMetrics.Phase.RUN_TARGET_RULE_ENGINE, startTime);
+		}
 	}
 
 	private TargetSWRLRuleEngine getTargetSWRLRuleEngine() throws SWRLRuleEngineException
@@ -372,18 +706,155 @@ public class DefaultSWRLRuleEngine implements SWRLRuleEngine
 	private void exportOWLAxioms2TargetRuleEngine(Set<OWLAxiom> axioms)
 			throws SWRLRuleEngineException, TargetSWRLRuleEngineException
 	{
+		long startTime = System.nanoTime();
+		List<OWLAxiom> newAxioms = new ArrayList<>();
+
 		for (OWLAxiom axiom : axioms) {
 			if (!this.exportedOWLAxioms.contains(axiom))
-				getTargetSWRLRuleEngine().defineOWLAxiom(axiom);
+				newAxioms.add(axiom);
 		}
+		getTargetSWRLRuleEngine().defineOWLAxioms(newAxioms);
+		this.exportedOWLAxioms.addAll(newAxioms);
+		this.isKnowledgeExported = true;
+		recordExportedOWLAxioms(newAxioms);
+		recordPhase(EngineMetrics.Phase.EXPORT_OWL_AXIOMS, startTime);
 	}
 
-	private void writeOWLAxioms2OWLOntology(Set<OWLAxiom> axioms) throws SWRLRuleEngineException
+	/**
+	 * Export the axioms added to or removed from the processed ontology since the last export. If the ontology has been
+	 * processed incrementally once since then, the changes recorded by that processing run are exported; otherwise the
+	 * processed axioms are compared with the exported ones. Axioms that the rule engine inferred itself, or that were
+	 * injected by built-ins, are exported once they are asserted so that the rule engine no longer retracts them when
+	 * their premises are retracted.
+	 *
+	 * @return false if the target rule engine cannot retract removed axioms and must be reset
+	 */
+	private boolean exportOWLAxiomChanges2TargetRuleEngine() throws SWRLRuleEngineException, TargetSWRLRuleEngineException
 	{
-		try {
+		long startTime = System.nanoTime();
+		long version = this.swrlapiOWLOntology.getProcessedOWLAxiomsVersion();
+		OWLAxiomChanges changes = this.swrlapiOWLOntology.getProcessedOWLAxiomChanges();
+		List<OWLAxiom> addedAxioms = new ArrayList<>();
+		List<OWLAxiom> removedAxioms = new ArrayList<>();
+
+		if (version == this.exportedOWLAxiomsVersion)
+			return true;
+
+		if (!this.isModuleExtractionEnabled && changes != null && version == this.exportedOWLAxiomsVersion + 1) {
+			for (OWLAxiom axiom : changes.getRemovedOWLAxioms()) {
+				if (this.exportedOWLAxioms.contains(axiom))
+					removedAxioms.add(axiom);
+			}
+
+			for (OWLAxiom axiom : changes.getAddedOWLAxioms()) {
+				if (!this.exportedOWLAxioms.contains(axiom))
+					addedAxioms.add(axiom);
+			}
+		} else {
+			Set<OWLAxiom> assertedAxioms = getOWLAxioms2Export();
+
+			for (OWLAxiom axiom : this.exportedOWLAxioms) {
+				if (!assertedAxioms.contains(axiom))
+					removedAxioms.add(axiom);
+			}
+
+			for (OWLAxiom axiom : assertedAxioms) {
+				if (!this.exportedOWLAxioms.contains(axiom))
+					addedAxioms.add(axiom);
+			}
+		}
+
+		if (!removedAxioms.isEmpty()) {
+			try {
+				getTargetSWRLRuleEngine().retractOWLAxioms(removedAxioms);
+			} catch (TargetSWRLRuleEngineNotImplementedFeatureException e) {
+				return false;
+			}
+			this.exportedOWLAxioms.removeAll(removedAxioms);
+		}
+
+		if (!addedAxioms.isEmpty()) {
+			getTargetSWRLRuleEngine().defineOWLAxioms(addedAxioms);
+			this.exportedOWLAxioms.addAll(addedAxioms);
+			recordExportedOWLAxioms(addedAxioms);
+		}
+		this.exportedOWLAxiomsVersion = version;
+		recordPhase(EngineMetrics.Phase.EXPORT_OWL_AXIOMS, startTime);
+		return true;
+	}
+
+	/**
+	 * @return The processed axioms and rules of the ontology, or the module of them that can influence the rules and
+	 * queries if module extraction is enabled
+	 */
+	private Set<OWLAxiom> getOWLAxioms2Export()
+	{
+		if (this.isModuleExtractionEnabled)
+			return new SWRLRuleModuleExtractor(this.swrlapiOWLOntology).extract(this.swrlapiOWLOntology.getOWLAxioms());
+		else
+			return this.swrlapiOWLOntology.getOWLAxioms();
+	}
+
+	/**
+	 * @return The dependency graph of the processed ontology, which is only rebuilt when processing the ontology has
+	 * changed its axioms
+	 */
+	private SWRLRuleDependencyGraph getSWRLRuleDependencyGraph()
+	{
+		long version = this.swrlapiOWLOntology.getProcessedOWLAxiomsVersion();
+
+		if (this.dependencyGraph == null || this.dependencyGraphVersion != version) {
+			this.dependencyGraph = SWRLAPIFactory.createSWRLRuleDependencyGraph(this.swrlapiOWLOntology);
+			this.dependencyGraphVersion = version;
+		}
+		return this.dependencyGraph;
+	}
+
+	private void processOntology() throws SQWRLException
+	{
+		long startTime = System.nanoTime();
+
+		this.swrlapiOWLOntology.processOntology();
+		recordPhase(EngineMetrics.Phase.PROCESS_ONTOLOGY, startTime);
+	}
+
+	private SQWRLResult prepareSQWRLResult(SQWRLQuery query) throws SQWRLException
+	{
+		long startTime = System.nanoTime();
+		SQWRLResult result = query.getSQWRLResult(); // Prepares the result if necessary
+
+		if (this.engineMetrics != null) {
+			recordPhase(EngineMetrics.Phase.PREPARE_SQWRL_RESULTS, startTime);
+			this.engineMetrics.sqwrlResultPrepared(query.getQueryName(), result.getNumberOfRows());
+		}
+		return result;
+	}
+
+	private void recordPhase(EngineMetrics.Phase phase, long startTime)
+	{
+		if (this.engineMetrics != null)
+			this.engineMetrics.phaseCompleted(phase, System.nanoTime() - startTime);
+	}
+
+	private void recordExportedOWLAxioms(Collection<OWLAxiom> axioms)
+	{
+		if (this.engineMetrics != null) {
+			Map<AxiomType<?>, Integer> axiomTypeCounts = new HashMap<>();
+
 			for (OWLAxiom axiom : axioms) {
-				writeOWLAxiom2OWLOntology(axiom);
+				Integer count = axiomTypeCounts.get(axiom.getAxiomType());
+				axiomTypeCounts.put(axiom.getAxiomType(), count == null ? 1 : count + 1);
 			}
+
+			for (Map.Entry<AxiomType<?>, Integer> entry : axiomTypeCounts.entrySet())
+				this.engineMetrics.owlAxiomsExported(entry.getKey(), entry.getValue());
+		}
+	}
+
+	private void writeOWLAxioms2OWLOntology(Set<OWLAxiom> axioms) throws SWRLRuleEngineException
+	{
+		try {
+			getSWRLAPIOWLOntology().addOWLAxioms(axioms);
 		} catch (RuntimeException e) {
 			throw new SWRLRuleEngineException("Error writing OWL axioms to ontology", e);
 		}
@@ -0,0 +1,115 @@
+package org.swrlapi.core.impl;
+
+import org.swrlapi.exceptions.SWRLAPIException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A growable array of ints held in a memory-mapped temporary file, so that its contents live outside the Java heap.
+ * The file is mapped in fixed-size segments because a single mapped buffer cannot exceed 2 GB. The file is deleted
+ * when the column is closed.
+ * <p/>
+ * Values can be read concurrently but writes must be confined to a single thread.
+ */
+class MappedIntColumn
+{
+	private static final int SEGMENT_SHIFT = 24; // 16M ints or 64 MB per segment
+	private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+	private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+	private final File file;
+	private final RandomAccessFile randomAccessFile;
+	private final FileChannel channel;
+
+	private volatile IntBuffer[] segments;
+	private int size;
+
+	public MappedIntColumn(File directory, String name) throws IOException
+	{
+		this.file = File.createTempFile("swrlapi-" + name + "-", ".column", directory);
+		this.file.deleteOnExit(); // In case the column is not closed or the file cannot be deleted while mapped
+		this.randomAccessFile = new RandomAccessFile(this.file, "rw");
+		this.channel = this.randomAccessFile.getChannel();
+		this.segments = new IntBuffer[0];
+		this.size = 0;
+	}
+
+	public int size()
+	{
+		return this.size;
+	}
+
+	public int get(int index)
+	{
+		return this.segments[index >>> SEGMENT_SHIFT].get(index & SEGMENT_MASK);
+	}
+
+	public void set(int index, int value)
+	{
+		this.segments[index >>> SEGMENT_SHIFT].put(index & SEGMENT_MASK, value);
+	}
+
+	public void add(int value)
+	{
+		if (this.size == Integer.MAX_VALUE)
+			throw new SWRLAPIException("column " + this.file + " is full");
+
+		if (this.size == (long)this.segments.length * SEGMENT_SIZE)
+			addSegment();
+
+		set(this.size++, value);
+	}
+
+	public void swap(int index1, int index2)
+	{
+		int value = get(index1);
+
+		set(index1, get(index2));
+		set(index2, value);
+	}
+
+	/**
+	 * Empty the column. Mapped segments are kept for reuse.
+	 */
+	public void clear()
+	{
+		this.size = 0;
+	}
+
+	public void close()
+	{
+		this.segments = new IntBuffer[0];
+		this.size = 0;
+
+		try {
+			this.channel.close();
+			this.randomAccessFile.close();
+		} catch (IOException e) {
+			throw new SWRLAPIException("error closing column " + this.file + ": " + e.getMessage(), e);
+		}
+		this.file.delete();
+	}
+
+	private void addSegment()
+	{
+		IntBuffer[] segments = this.segments;
+		long position = (long)segments.length * SEGMENT_SIZE * 4;
+
+		try {
+			IntBuffer segment = this.channel.map(FileChannel.MapMode.READ_WRITE, position, SEGMENT_SIZE * 4L)
+					.order(ByteOrder.nativeOrder()).asIntBuffer();
+			IntBuffer[] newSegments = Arrays.copyOf(segments, segments.length + 1);
+
+			newSegments[segments.length] = segment;
+			this.segments = newSegments;
+		} catch (IOException e) {
+			throw new SWRLAPIException("error extending column " + this.file + ": " + e.getMessage(), e);
+		}
+	}
+}
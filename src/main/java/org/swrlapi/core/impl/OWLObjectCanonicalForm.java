@@ -0,0 +1,417 @@
+package org.swrlapi.core.impl;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAnnotationAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLAnnotationPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLCardinalityRestriction;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataComplementOf;
+import org.semanticweb.owlapi.model.OWLDataOneOf;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLDatatypeDefinitionAxiom;
+import org.semanticweb.owlapi.model.OWLDatatypeRestriction;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointUnionAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLFacetRestriction;
+import org.semanticweb.owlapi.model.OWLHasKeyAxiom;
+import org.semanticweb.owlapi.model.OWLHasValueRestriction;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNaryBooleanClassExpression;
+import org.semanticweb.owlapi.model.OWLNaryClassAxiom;
+import org.semanticweb.owlapi.model.OWLNaryDataRange;
+import org.semanticweb.owlapi.model.OWLNaryIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLNaryPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectComplementOf;
+import org.semanticweb.owlapi.model.OWLObjectInverseOf;
+import org.semanticweb.owlapi.model.OWLObjectOneOf;
+import org.semanticweb.owlapi.model.OWLPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLQuantifiedRestriction;
+import org.semanticweb.owlapi.model.OWLRestriction;
+import org.semanticweb.owlapi.model.OWLSubAnnotationPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
+import org.semanticweb.owlapi.model.OWLUnaryPropertyAxiom;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLIndividualArgument;
+import org.semanticweb.owlapi.model.SWRLLiteralArgument;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.swrlapi.builtins.arguments.SQWRLCollectionVariableBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLAnnotationPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentVisitorEx;
+import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDataPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDatatypeBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLObjectPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.exceptions.SWRLAPIInternalException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes OWL axioms in a canonical form built from their structure: the type of each axiom, class expression and data
+ * range, the IRIs of entities, and the lexical form, datatype and language of literals. Unlike the toString form of an
+ * OWLAPI object it does not depend on the renderer installed in the OWLAPI's global
+ * {@link org.semanticweb.owlapi.io.ToStringRenderer}.
+ * <p/>
+ * The members of sets, such as the operands of an intersection or the atoms and annotations of a rule, are sorted
+ * by their canonical form, so the form does not depend on the order in which they are enumerated. The atoms of a rule
+ * are treated as sets because body atom optimization changes their order. Strings are written with their length so
+ * that distinct structures cannot produce the same form.
+ */
+class OWLObjectCanonicalForm
+{
+	private OWLObjectCanonicalForm()
+	{
+	}
+
+	public static String create(OWLObject object)
+	{
+		StringBuilder builder = new StringBuilder();
+
+		append(builder, object);
+
+		return builder.toString();
+	}
+
+	private static void append(StringBuilder builder, OWLObject object)
+	{
+		if (object instanceof OWLAxiom)
+			appendAxiom(builder, (OWLAxiom)object);
+		else if (object instanceof OWLEntity) {
+			OWLEntity entity = (OWLEntity)object;
+			appendNode(builder, entity.getEntityType().getName(), entity.getIRI());
+		} else if (object instanceof OWLLiteral) {
+			OWLLiteral literal = (OWLLiteral)object;
+			builder.append("(literal ");
+			appendString(builder, literal.getLiteral());
+			appendString(builder, literal.getDatatype().getIRI().toString());
+			appendString(builder, literal.getLang());
+			builder.append(")");
+		} else if (object instanceof IRI)
+			appendNode(builder, "IRI", (IRI)object);
+		else if (object instanceof OWLAnonymousIndividual) {
+			builder.append("(AnonymousIndividual ");
+			appendString(builder, ((OWLAnonymousIndividual)object).getID().getID());
+			builder.append(")");
+		} else if (object instanceof OWLClassExpression)
+			appendClassExpression(builder, (OWLClassExpression)object);
+		else if (object instanceof OWLDataRange)
+			appendDataRange(builder, (OWLDataRange)object);
+		else if (object instanceof OWLObjectInverseOf)
+			appendNode(builder, "ObjectInverseOf", ((OWLObjectInverseOf)object).getInverse());
+		else if (object instanceof OWLFacetRestriction) {
+			OWLFacetRestriction facetRestriction = (OWLFacetRestriction)object;
+			appendNode(builder, "FacetRestriction", facetRestriction.getFacet().getIRI(), facetRestriction.getFacetValue());
+		} else if (object instanceof OWLAnnotation) {
+			OWLAnnotation annotation = (OWLAnnotation)object;
+			builder.append("(Annotation ");
+			append(builder, annotation.getProperty());
+			append(builder, annotation.getValue());
+			appendSet(builder, annotation.getAnnotations());
+			builder.append(")");
+		} else if (object instanceof SWRLAtom)
+			appendAtom(builder, (SWRLAtom)object);
+		else if (object instanceof SWRLBuiltInArgument)
+			((SWRLBuiltInArgument)object).accept(new BuiltInArgumentWriter(builder));
+		else if (object instanceof SWRLVariable)
+			appendNode(builder, "Variable", ((SWRLVariable)object).getIRI());
+		else if (object instanceof SWRLIndividualArgument)
+			appendNode(builder, "IndividualArgument", ((SWRLIndividualArgument)object).getIndividual());
+		else if (object instanceof SWRLLiteralArgument)
+			appendNode(builder, "LiteralArgument", ((SWRLLiteralArgument)object).getLiteral());
+		else
+			throw new SWRLAPIInternalException("no canonical form for OWL object of type " + object.getClass().getName());
+	}
+
+	private static void appendAxiom(StringBuilder builder, OWLAxiom axiom)
+	{
+		builder.append("(").append(axiom.getAxiomType().getName()).append(" ");
+		appendSet(builder, axiom.getAnnotations());
+
+		if (axiom instanceof SWRLRule) {
+			SWRLRule rule = (SWRLRule)axiom;
+			appendSet(builder, rule.getBody());
+			appendSet(builder, rule.getHead());
+		} else if (axiom instanceof OWLDeclarationAxiom)
+			append(builder, ((OWLDeclarationAxiom)axiom).getEntity());
+		else if (axiom instanceof OWLClassAssertionAxiom) {
+			OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+			append(builder, classAssertionAxiom.getClassExpression());
+			append(builder, classAssertionAxiom.getIndividual());
+		} else if (axiom instanceof OWLPropertyAssertionAxiom) {
+			OWLPropertyAssertionAxiom<?, ?> propertyAssertionAxiom = (OWLPropertyAssertionAxiom<?, ?>)axiom;
+			append(builder, propertyAssertionAxiom.getSubject());
+			append(builder, propertyAssertionAxiom.getProperty());
+			append(builder, propertyAssertionAxiom.getObject());
+		} else if (axiom instanceof OWLSubClassOfAxiom) {
+			OWLSubClassOfAxiom subClassOfAxiom = (OWLSubClassOfAxiom)axiom;
+			append(builder, subClassOfAxiom.getSubClass());
+			append(builder, subClassOfAxiom.getSuperClass());
+		} else if (axiom instanceof OWLNaryClassAxiom)
+			appendSet(builder, ((OWLNaryClassAxiom)axiom).getClassExpressions());
+		else if (axiom instanceof OWLNaryPropertyAxiom)
+			appendSet(builder, ((OWLNaryPropertyAxiom<?>)axiom).getProperties());
+		else if (axiom instanceof OWLNaryIndividualAxiom)
+			appendSet(builder, ((OWLNaryIndividualAxiom)axiom).getIndividuals());
+		else if (axiom instanceof OWLDisjointUnionAxiom) {
+			OWLDisjointUnionAxiom disjointUnionAxiom = (OWLDisjointUnionAxiom)axiom;
+			append(builder, disjointUnionAxiom.getOWLClass());
+			appendSet(builder, disjointUnionAxiom.getClassExpressions());
+		} else if (axiom instanceof OWLSubPropertyAxiom) {
+			OWLSubPropertyAxiom<?> subPropertyAxiom = (OWLSubPropertyAxiom<?>)axiom;
+			append(builder, subPropertyAxiom.getSubProperty());
+			append(builder, subPropertyAxiom.getSuperProperty());
+		} else if (axiom instanceof OWLSubPropertyChainOfAxiom) {
+			OWLSubPropertyChainOfAxiom subPropertyChainOfAxiom = (OWLSubPropertyChainOfAxiom)axiom;
+			appendList(builder, subPropertyChainOfAxiom.getPropertyChain());
+			append(builder, subPropertyChainOfAxiom.getSuperProperty());
+		} else if (axiom instanceof OWLPropertyDomainAxiom) {
+			OWLPropertyDomainAxiom<?> propertyDomainAxiom = (OWLPropertyDomainAxiom<?>)axiom;
+			append(builder, propertyDomainAxiom.getProperty());
+			append(builder, propertyDomainAxiom.getDomain());
+		} else if (axiom instanceof OWLPropertyRangeAxiom) {
+			OWLPropertyRangeAxiom<?, ?> propertyRangeAxiom = (OWLPropertyRangeAxiom<?, ?>)axiom;
+			append(builder, propertyRangeAxiom.getProperty());
+			append(builder, propertyRangeAxiom.getRange());
+		} else if (axiom instanceof OWLUnaryPropertyAxiom)
+			append(builder, ((OWLUnaryPropertyAxiom<?>)axiom).getProperty());
+		else if (axiom instanceof OWLHasKeyAxiom) {
+			OWLHasKeyAxiom hasKeyAxiom = (OWLHasKeyAxiom)axiom;
+			append(builder, hasKeyAxiom.getClassExpression());
+			appendSet(builder, hasKeyAxiom.getPropertyExpressions());
+		} else if (axiom instanceof OWLDatatypeDefinitionAxiom) {
+			OWLDatatypeDefinitionAxiom datatypeDefinitionAxiom = (OWLDatatypeDefinitionAxiom)axiom;
+			append(builder, datatypeDefinitionAxiom.getDatatype());
+			append(builder, datatypeDefinitionAxiom.getDataRange());
+		} else if (axiom instanceof OWLAnnotationAssertionAxiom) {
+			OWLAnnotationAssertionAxiom annotationAssertionAxiom = (OWLAnnotationAssertionAxiom)axiom;
+			append(builder, annotationAssertionAxiom.getSubject());
+			append(builder, annotationAssertionAxiom.getProperty());
+			append(builder, annotationAssertionAxiom.getValue());
+		} else if (axiom instanceof OWLSubAnnotationPropertyOfAxiom) {
+			OWLSubAnnotationPropertyOfAxiom subAnnotationPropertyOfAxiom = (OWLSubAnnotationPropertyOfAxiom)axiom;
+			append(builder, subAnnotationPropertyOfAxiom.getSubProperty());
+			append(builder, subAnnotationPropertyOfAxiom.getSuperProperty());
+		} else if (axiom instanceof OWLAnnotationPropertyDomainAxiom) {
+			OWLAnnotationPropertyDomainAxiom annotationPropertyDomainAxiom = (OWLAnnotationPropertyDomainAxiom)axiom;
+			append(builder, annotationPropertyDomainAxiom.getProperty());
+			append(builder, annotationPropertyDomainAxiom.getDomain());
+		} else if (axiom instanceof OWLAnnotationPropertyRangeAxiom) {
+			OWLAnnotationPropertyRangeAxiom annotationPropertyRangeAxiom = (OWLAnnotationPropertyRangeAxiom)axiom;
+			append(builder, annotationPropertyRangeAxiom.getProperty());
+			append(builder, annotationPropertyRangeAxiom.getRange());
+		} else
+			throw new SWRLAPIInternalException("no canonical form for axiom of type " + axiom.getAxiomType());
+
+		builder.append(")");
+	}
+
+	private static void appendClassExpression(StringBuilder builder, OWLClassExpression classExpression)
+	{
+		if (classExpression.isAnonymous()) {
+			builder.append("(").append(classExpression.getClassExpressionType().getName()).append(" ");
+
+			if (classExpression instanceof OWLNaryBooleanClassExpression)
+				appendSet(builder, ((OWLNaryBooleanClassExpression)classExpression).getOperands());
+			else if (classExpression instanceof OWLObjectComplementOf)
+				append(builder, ((OWLObjectComplementOf)classExpression).getOperand());
+			else if (classExpression instanceof OWLObjectOneOf)
+				appendSet(builder, ((OWLObjectOneOf)classExpression).getIndividuals());
+			else if (classExpression instanceof OWLRestriction) {
+				append(builder, ((OWLRestriction)classExpression).getProperty());
+				if (classExpression instanceof OWLCardinalityRestriction)
+					builder.append(((OWLCardinalityRestriction<?>)classExpression).getCardinality()).append(" ");
+				if (classExpression instanceof OWLQuantifiedRestriction)
+					append(builder, ((OWLQuantifiedRestriction<?>)classExpression).getFiller());
+				else if (classExpression instanceof OWLHasValueRestriction)
+					append(builder, ((OWLHasValueRestriction<?>)classExpression).getFiller());
+			} else
+				throw new SWRLAPIInternalException(
+						"no canonical form for class expression of type " + classExpression.getClassExpressionType());
+
+			builder.append(")");
+		} else
+			append(builder, classExpression.asOWLClass());
+	}
+
+	private static void appendDataRange(StringBuilder builder, OWLDataRange dataRange)
+	{
+		if (dataRange.isDatatype())
+			append(builder, dataRange.asOWLDatatype());
+		else {
+			builder.append("(").append(dataRange.getDataRangeType().getName()).append(" ");
+
+			if (dataRange instanceof OWLNaryDataRange)
+				appendSet(builder, ((OWLNaryDataRange)dataRange).getOperands());
+			else if (dataRange instanceof OWLDataComplementOf)
+				append(builder, ((OWLDataComplementOf)dataRange).getDataRange());
+			else if (dataRange instanceof OWLDataOneOf)
+				appendSet(builder, ((OWLDataOneOf)dataRange).getValues());
+			else if (dataRange instanceof OWLDatatypeRestriction) {
+				append(builder, ((OWLDatatypeRestriction)dataRange).getDatatype());
+				appendSet(builder, ((OWLDatatypeRestriction)dataRange).getFacetRestrictions());
+			} else
+				throw new SWRLAPIInternalException(
+						"no canonical form for data range of type " + dataRange.getDataRangeType());
+
+			builder.append(")");
+		}
+	}
+
+	// Arguments keep their order. Built-in atoms are identified by the built-in's IRI and carry SWRLAPI arguments.
+	private static void appendAtom(StringBuilder builder, SWRLAtom atom)
+	{
+		if (atom instanceof SWRLAPIBuiltInAtom) {
+			SWRLAPIBuiltInAtom builtInAtom = (SWRLAPIBuiltInAtom)atom;
+			builder.append("(BuiltInAtom ");
+			append(builder, builtInAtom.getBuiltInIRI());
+			appendList(builder, builtInAtom.getBuiltInArguments());
+		} else {
+			builder.append("(Atom ");
+			append(builder, (OWLObject)atom.getPredicate()); // A class expression, property, data range or IRI
+			appendList(builder, atom.getAllArguments());
+		}
+		builder.append(")");
+	}
+
+	private static void appendNode(StringBuilder builder, String type, IRI iri)
+	{
+		builder.append("(").append(type).append(" ");
+		appendString(builder, iri.toString());
+		builder.append(")");
+	}
+
+	private static void appendNode(StringBuilder builder, String type, OWLObject... children)
+	{
+		builder.append("(").append(type).append(" ");
+		for (OWLObject child : children)
+			append(builder, child);
+		builder.append(")");
+	}
+
+	private static void appendList(StringBuilder builder, Collection<? extends OWLObject> objects)
+	{
+		builder.append("[");
+		for (OWLObject object : objects)
+			append(builder, object);
+		builder.append("]");
+	}
+
+	private static void appendSet(StringBuilder builder, Collection<? extends OWLObject> objects)
+	{
+		List<String> canonicalForms = new ArrayList<>();
+
+		for (OWLObject object : objects)
+			canonicalForms.add(create(object));
+		Collections.sort(canonicalForms);
+
+		builder.append("{");
+		for (String canonicalForm : canonicalForms)
+			builder.append(canonicalForm);
+		builder.append("}");
+	}
+
+	private static void appendString(StringBuilder builder, String s)
+	{
+		builder.append(s.length()).append(":").append(s).append(" ");
+	}
+
+	private static class BuiltInArgumentWriter implements SWRLBuiltInArgumentVisitorEx<Void>
+	{
+		private final StringBuilder builder;
+
+		public BuiltInArgumentWriter(StringBuilder builder)
+		{
+			this.builder = builder;
+		}
+
+		@Override
+		public Void visit(SWRLClassBuiltInArgument argument)
+		{
+			appendNode(this.builder, "ClassArgument", argument.getIRI());
+			return null;
+		}
+
+		@Override
+		public Void visit(SWRLNamedIndividualBuiltInArgument argument)
+		{
+			appendNode(this.builder, "NamedIndividualArgument", argument.getIRI());
+			return null;
+		}
+
+		@Override
+		public Void visit(SWRLObjectPropertyBuiltInArgument argument)
+		{
+			appendNode(this.builder, "ObjectPropertyArgument", argument.getIRI());
+			return null;
+		}
+
+		@Override
+		public Void visit(SWRLDataPropertyBuiltInArgument argument)
+		{
+			appendNode(this.builder, "DataPropertyArgument", argument.getIRI());
+			return null;
+		}
+
+		@Override
+		public Void visit(SWRLAnnotationPropertyBuiltInArgument argument)
+		{
+			appendNode(this.builder, "AnnotationPropertyArgument", argument.getIRI());
+			return null;
+		}
+
+		@Override
+		public Void visit(SWRLDatatypeBuiltInArgument argument)
+		{
+			appendNode(this.builder, "DatatypeArgument", argument.getIRI());
+			return null;
+		}
+
+		@Override
+		public Void visit(SWRLLiteralBuiltInArgument argument)
+		{
+			appendNode(this.builder, "LiteralArgument", argument.getLiteral());
+			return null;
+		}
+
+		@Override
+		public Void visit(SWRLVariableBuiltInArgument argument)
+		{
+			appendNode(this.builder, "Variable", argument.getIRI());
+			return null;
+		}
+
+		@Override
+		public Void visit(SWRLMultiValueVariableBuiltInArgument argument)
+		{
+			appendNode(this.builder, "Variable", argument.getIRI());
+			return null;
+		}
+
+		@Override
+		public Void visit(SQWRLCollectionVariableBuiltInArgument argument)
+		{
+			appendNode(this.builder, "Variable", argument.getIRI());
+			return null;
+		}
+	}
+}
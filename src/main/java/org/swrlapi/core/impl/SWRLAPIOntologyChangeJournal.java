@@ -0,0 +1,133 @@
+package org.swrlapi.core.impl;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records the changes made to an OWL ontology and its imports closure so that a
+ * {@link org.swrlapi.core.SWRLAPIOntologyProcessor} can process only the axioms added or removed since it last
+ * processed the ontology.
+ * <p/>
+ * An axiom that is added and then removed (or removed and then added) between two processing runs cancels out.
+ * Import changes alter the set of axioms visible through the imports closure, so they are not tracked axiom by axiom;
+ * instead they flag the journal as requiring full reprocessing.
+ * <p/>
+ * The journal also maintains a separate changed flag that is only cleared by {@link #resetOntologyChanged()}. It is
+ * used to implement {@link org.swrlapi.core.SWRLAPIOWLOntology#hasOntologyChanged()}.
+ */
+class SWRLAPIOntologyChangeJournal implements OWLOntologyChangeListener
+{
+	private final OWLOntology ontology;
+	private final Set<OWLAxiom> addedOWLAxioms;
+	private final Set<OWLAxiom> removedOWLAxioms;
+	private Set<OWLOntology> importsClosure;
+	private int netAxiomCountChange;
+	private boolean requiresFullProcessing;
+	private boolean hasOntologyChanged;
+
+	public SWRLAPIOntologyChangeJournal(OWLOntology ontology)
+	{
+		this.ontology = ontology;
+		this.addedOWLAxioms = new LinkedHashSet<>();
+		this.removedOWLAxioms = new LinkedHashSet<>();
+		this.importsClosure = new HashSet<>(ontology.getImportsClosure());
+		this.netAxiomCountChange = 0;
+		this.requiresFullProcessing = false;
+		this.hasOntologyChanged = true;
+	}
+
+	@Override
+	public void ontologiesChanged(List<? extends OWLOntologyChange> changes)
+	{
+		boolean importsChanged = false;
+
+		for (OWLOntologyChange change : changes) {
+			if (!this.importsClosure.contains(change.getOntology()))
+				continue;
+
+			this.hasOntologyChanged = true;
+
+			if (change.isImportChange()) {
+				importsChanged = true;
+				this.requiresFullProcessing = true;
+			} else if (change.isAddAxiom()) {
+				OWLAxiom axiom = change.getAxiom();
+				if (!this.removedOWLAxioms.remove(axiom))
+					this.addedOWLAxioms.add(axiom);
+				this.netAxiomCountChange++;
+			} else if (change.isRemoveAxiom()) {
+				OWLAxiom axiom = change.getAxiom();
+				if (!this.addedOWLAxioms.remove(axiom))
+					this.removedOWLAxioms.add(axiom);
+				this.netAxiomCountChange--;
+			} // Ontology annotation and ID changes do not affect the processed axioms
+		}
+
+		if (importsChanged)
+			this.importsClosure = new HashSet<>(this.ontology.getImportsClosure());
+	}
+
+	/**
+	 * @return The axioms added to the imports closure since the journal was last cleared
+	 */
+	public Set<OWLAxiom> getAddedOWLAxioms()
+	{
+		return Collections.unmodifiableSet(this.addedOWLAxioms);
+	}
+
+	/**
+	 * @return The axioms removed from the imports closure since the journal was last cleared
+	 */
+	public Set<OWLAxiom> getRemovedOWLAxioms()
+	{
+		return Collections.unmodifiableSet(this.removedOWLAxioms);
+	}
+
+	/**
+	 * @return The number of axioms added minus the number of axioms removed since the journal was last cleared
+	 */
+	public int getNetAxiomCountChange()
+	{
+		return this.netAxiomCountChange;
+	}
+
+	public boolean hasPendingChanges()
+	{
+		return this.requiresFullProcessing || !this.addedOWLAxioms.isEmpty() || !this.removedOWLAxioms.isEmpty();
+	}
+
+	public boolean requiresFullProcessing()
+	{
+		return this.requiresFullProcessing;
+	}
+
+	/**
+	 * Discard the recorded axiom changes. Called once the recorded changes have been processed. The changed flag is not
+	 * affected.
+	 */
+	public void clear()
+	{
+		this.addedOWLAxioms.clear();
+		this.removedOWLAxioms.clear();
+		this.netAxiomCountChange = 0;
+		this.requiresFullProcessing = false;
+	}
+
+	public boolean hasOntologyChanged()
+	{
+		return this.hasOntologyChanged;
+	}
+
+	public void resetOntologyChanged()
+	{
+		this.hasOntologyChanged = false;
+	}
+}
@@ -0,0 +1,276 @@
+package org.swrlapi.core.impl;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLDataFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.exceptions.SWRLAPIException;
+import org.swrlapi.sqwrl.DefaultSQWRLQuery;
+import org.swrlapi.sqwrl.SQWRLNames;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes a {@link org.swrlapi.core.impl.DefaultSWRLAPIOntologySnapshot} to a single file and restores it without
+ * reprocessing the ontology.
+ * <p/>
+ * The file holds the ontology ID and prefixes, the names recorded by the {@link org.swrlapi.core.resolvers.IRIResolver},
+ * the declaration axioms, the asserted axioms, the converted SWRL rules, and the OWLAPI form of the SQWRL queries. Axioms
+ * and rules are written with Java serialization. SQWRL queries are converted again when the file is read because
+ * creating a query annotates the atoms of its converted rule. Files that fit in a single mapping are read through a
+ * memory-mapped buffer.
+ * <p/>
+ * This is not a memory-mappable layout. Mapping the file only avoids copying it through a stream; every object is
+ * still deserialized onto the heap when the file is read, so restoring a snapshot takes time and memory proportional
+ * to its size.
+ * <p/>
+ * A restored snapshot is backed by an ontology containing only the declarations and the SQWRL queries. Its class and
+ * property assertions are looked up in the asserted axioms read from the file.
+ */
+public class SWRLAPIOntologySnapshotFile
+{
+	private static final int MAGIC = 0x53575253; // "SWRS"
+	private static final int FORMAT_VERSION = 1;
+	private static final int OBJECTS_PER_BLOCK = 10000; // Bounds the serialization handle table
+
+	private final File file;
+
+	public SWRLAPIOntologySnapshotFile(File file)
+	{
+		this.file = file;
+	}
+
+	public void write(DefaultSWRLAPIOntologySnapshot snapshot)
+	{
+		SWRLAPIOWLOntology swrlapiOWLOntology = snapshot.getSWRLAPIOWLOntology();
+		OWLOntology ontology = swrlapiOWLOntology.getOWLOntology();
+		DefaultPrefixManager prefixManager = swrlapiOWLOntology.getPrefixManager();
+		List<SWRLAPIRule> swrlapiRules = new ArrayList<>();
+		List<SWRLRule> owlapiQueries = new ArrayList<>();
+		File temporaryFile = new File(this.file.getPath() + ".tmp");
+
+		for (SWRLAPIRule rule : snapshot.getSWRLAPIRuleMap().values()) {
+			if (!rule.isSQWRLQuery())
+				swrlapiRules.add(rule);
+		}
+
+		for (SWRLRule owlapiRule : ontology.getAxioms(AxiomType.SWRL_RULE, Imports.INCLUDED)) {
+			if (isSQWRLQuery(owlapiRule, prefixManager))
+				owlapiQueries.add(owlapiRule);
+		}
+
+		try {
+			try (ObjectOutputStream out = new ObjectOutputStream(
+					new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeObject(ontology.getOntologyID());
+				out.writeObject(new HashMap<>(prefixManager.getPrefixName2PrefixMap()));
+				out.writeObject(prefixManager.getDefaultPrefix());
+				swrlapiOWLOntology.getIRIResolver().writeRecordedNames(out);
+				out.writeObject(new HashSet<>(snapshot.getSWRLBuiltInIRIs()));
+				out.writeInt(snapshot.getNumberOfOWLClassDeclarationAxioms());
+				out.writeInt(snapshot.getNumberOfOWLIndividualDeclarationAxioms());
+				out.writeInt(snapshot.getNumberOfOWLObjectPropertyDeclarationAxioms());
+				out.writeInt(snapshot.getNumberOfOWLDataPropertyDeclarationAxioms());
+				out.reset();
+				writeObjects(out, ontology.getAxioms(AxiomType.DECLARATION, Imports.INCLUDED));
+				writeObjects(out, snapshot.getOWLAxioms());
+				writeObjects(out, swrlapiRules);
+				writeObjects(out, owlapiQueries);
+			}
+			Files.move(temporaryFile.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			temporaryFile.delete();
+			throw new SWRLAPIException("error writing ontology snapshot " + this.file + ": " + e.getMessage(), e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public DefaultSWRLAPIOntologySnapshot read() throws SQWRLException
+	{
+		try (ObjectInputStream in = new ObjectInputStream(openInputStream())) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION)
+				throw new SWRLAPIException("file " + this.file + " is not a SWRLAPI ontology snapshot");
+
+			OWLOntologyID ontologyID = (OWLOntologyID)in.readObject();
+			DefaultPrefixManager prefixManager = new DefaultPrefixManager();
+			prefixManager.copyPrefixesFrom((Map<String, String>)in.readObject());
+			String defaultPrefix = (String)in.readObject();
+			if (defaultPrefix != null)
+				prefixManager.setDefaultPrefix(defaultPrefix);
+
+			OWLOntologyManager ontologyManager = SWRLAPIFactory.createOWLOntologyManager();
+			OWLOntology ontology = ontologyID.isAnonymous() ?
+					ontologyManager.createOntology() :
+					ontologyManager.createOntology(ontologyID);
+			DefaultSWRLAPIOWLOntology swrlapiOWLOntology = new DefaultSWRLAPIOWLOntology(ontology, prefixManager);
+			swrlapiOWLOntology.getIRIResolver().readRecordedNames(in);
+
+			Set<IRI> swrlBuiltInIRIs = (Set<IRI>)in.readObject();
+			int numberOfOWLClassDeclarationAxioms = in.readInt();
+			int numberOfOWLIndividualDeclarationAxioms = in.readInt();
+			int numberOfOWLObjectPropertyDeclarationAxioms = in.readInt();
+			int numberOfOWLDataPropertyDeclarationAxioms = in.readInt();
+			Set<OWLDeclarationAxiom> declarationAxioms = readObjects(in, new HashSet<OWLDeclarationAxiom>());
+			Set<OWLAxiom> assertedOWLAxioms = readObjects(in, new LinkedHashSet<OWLAxiom>());
+			List<SWRLAPIRule> swrlapiRules = readObjects(in, new ArrayList<SWRLAPIRule>());
+			List<SWRLRule> owlapiQueries = readObjects(in, new ArrayList<SWRLRule>());
+
+			ontologyManager.addAxioms(ontology, declarationAxioms);
+			ontologyManager.addAxioms(ontology, new HashSet<>(owlapiQueries));
+
+			Map<String, SWRLAPIRule> rules = new HashMap<>();
+			Map<String, DefaultSQWRLQuery> queries = new HashMap<>();
+			SWRLAPIOWLDataFactory swrlapiOWLDataFactory = swrlapiOWLOntology.getSWRLAPIOWLDataFactory();
+
+			for (SWRLAPIRule rule : swrlapiRules)
+				rules.put(rule.getRuleName(), rule);
+
+			for (SWRLAPIRule rule : swrlapiOWLOntology.getSWRLAPIRules()) {
+				rules.put(rule.getRuleName(), rule);
+				queries.put(rule.getRuleName(), new DefaultSQWRLQuery(rule.getRuleName(), rule.getBodyAtoms(),
+						rule.getHeadAtoms(), rule.isActive(), rule.getComment(),
+						swrlapiOWLDataFactory.getSWRLAPILiteralFactory(), swrlapiOWLDataFactory.getSQWRLResultValueFactory()));
+			}
+
+			return new DefaultSWRLAPIOntologySnapshot(swrlapiOWLOntology, assertedOWLAxioms, rules, queries,
+					swrlBuiltInIRIs, numberOfOWLClassDeclarationAxioms, numberOfOWLIndividualDeclarationAxioms,
+					numberOfOWLObjectPropertyDeclarationAxioms, numberOfOWLDataPropertyDeclarationAxioms);
+		} catch (IOException | ClassNotFoundException | ClassCastException | OWLOntologyCreationException e) {
+			throw new SWRLAPIException("error reading ontology snapshot " + this.file + ": " + e.getMessage(), e);
+		}
+	}
+
+	private InputStream openInputStream() throws IOException
+	{
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(this.file, "r");
+				 FileChannel channel = randomAccessFile.getChannel()) {
+			if (channel.size() <= Integer.MAX_VALUE) // The mapping remains valid after the channel is closed
+				return new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+		return new BufferedInputStream(new FileInputStream(this.file));
+	}
+
+	private boolean isSQWRLQuery(SWRLRule owlapiRule, DefaultPrefixManager prefixManager)
+	{
+		for (SWRLAtom atom : owlapiRule.getBody()) {
+			if (isSQWRLBuiltInAtom(atom, prefixManager))
+				return true;
+		}
+		for (SWRLAtom atom : owlapiRule.getHead()) {
+			if (isSQWRLBuiltInAtom(atom, prefixManager))
+				return true;
+		}
+		return false;
+	}
+
+	private boolean isSQWRLBuiltInAtom(SWRLAtom atom, DefaultPrefixManager prefixManager)
+	{
+		if (!(atom instanceof SWRLBuiltInAtom))
+			return false;
+
+		String prefixedName = prefixManager.getPrefixIRI(((SWRLBuiltInAtom)atom).getPredicate());
+
+		return prefixedName != null && SQWRLNames.getSQWRLBuiltInNames().contains(prefixedName);
+	}
+
+	private void writeObjects(ObjectOutputStream out, Collection<?> objects) throws IOException
+	{
+		int numberOfObjectsInBlock = 0;
+
+		out.writeInt(objects.size());
+		for (Object object : objects) {
+			out.writeObject(object);
+			if (++numberOfObjectsInBlock == OBJECTS_PER_BLOCK) {
+				out.reset();
+				numberOfObjectsInBlock = 0;
+			}
+		}
+		out.reset();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T, C extends Collection<T>> C readObjects(ObjectInputStream in, C objects)
+			throws IOException, ClassNotFoundException
+	{
+		int numberOfObjects = in.readInt();
+
+		for (int objectIndex = 0; objectIndex < numberOfObjects; objectIndex++)
+			objects.add((T)in.readObject());
+
+		return objects;
+	}
+
+	private static class ByteBufferInputStream extends InputStream
+	{
+		private final ByteBuffer buffer;
+
+		public ByteBufferInputStream(ByteBuffer buffer)
+		{
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read()
+		{
+			return this.buffer.hasRemaining() ? this.buffer.get() & 0xff : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length)
+		{
+			if (length == 0)
+				return 0;
+			if (!this.buffer.hasRemaining())
+				return -1;
+
+			int numberOfBytes = Math.min(length, this.buffer.remaining());
+			this.buffer.get(bytes, offset, numberOfBytes);
+
+			return numberOfBytes;
+		}
+
+		@Override
+		public int available()
+		{
+			return this.buffer.remaining();
+		}
+	}
+}
@@ -0,0 +1,371 @@
+package org.swrlapi.core.impl;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.OWLAssertionStore;
+import org.swrlapi.core.OWLAxiomChanges;
+import org.swrlapi.core.SWRLAPIOWLDataFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.resolvers.IDResolver;
+import org.swrlapi.core.resolvers.IRIResolver;
+import org.swrlapi.exceptions.SWRLAPIException;
+import org.swrlapi.exceptions.SWRLAPIInternalException;
+import org.swrlapi.exceptions.SWRLRuleException;
+import org.swrlapi.sqwrl.DefaultSQWRLQuery;
+import org.swrlapi.sqwrl.SQWRLQuery;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultGenerator;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.sqwrl.exceptions.SQWRLInvalidQueryNameException;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A read-only {@link org.swrlapi.core.SWRLAPIOWLOntology} backed by a
+ * {@link org.swrlapi.core.impl.DefaultSWRLAPIOntologySnapshot}. Each view is used by a single rule engine. The view
+ * has its own copies of the snapshot's SQWRL queries so that results are not shared; everything else, including the
+ * ontology and the IRI resolver, is read from the snapshot's own copies. Operations that would modify the ontology
+ * throw a {@link org.swrlapi.exceptions.SWRLAPIException}.
+ */
+class SWRLAPIOntologySnapshotView implements SWRLAPIOWLOntology
+{
+	private final DefaultSWRLAPIOntologySnapshot snapshot;
+	private final SWRLAPIOWLOntology swrlapiOWLOntology;
+	private final Map<String, DefaultSQWRLQuery> sqwrlQueries;
+
+	public SWRLAPIOntologySnapshotView(DefaultSWRLAPIOntologySnapshot snapshot)
+	{
+		this.snapshot = snapshot;
+		this.swrlapiOWLOntology = snapshot.getSWRLAPIOWLOntology();
+		this.sqwrlQueries = new HashMap<>();
+
+		try {
+			for (DefaultSQWRLQuery query : snapshot.getSQWRLQueryMap().values())
+				this.sqwrlQueries.put(query.getQueryName(), new DefaultSQWRLQuery(query));
+		} catch (SQWRLException e) {
+			throw new SWRLAPIInternalException("error copying SQWRL queries from snapshot: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Clear the results of the SQWRL queries. The snapshot itself is never reprocessed.
+	 */
+	@Override
+	public void reset()
+	{
+		try {
+			resetSQWRLResults();
+		} catch (SQWRLException e) {
+			throw new SWRLAPIInternalException("error resetting SQWRL query results: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * As with a processed ontology, SQWRL query results are cleared each time the ontology is processed.
+	 */
+	@Override
+	public void processOntology() throws SQWRLException
+	{
+		resetSQWRLResults();
+	}
+
+	@Override
+	public void setAxiomProcessingParallelism(int parallelism)
+	{
+		// The snapshot has already been processed
+	}
+
+	@Override
+	public void setOWLAssertionStore(OWLAssertionStore store)
+	{
+		// The snapshot holds its axioms in memory
+	}
+
+	@Override
+	public OWLAssertionStore getOWLAssertionStore()
+	{
+		return null;
+	}
+
+	@Override
+	public Set<SWRLAPIRule> getSWRLAPIRules()
+	{
+		return new HashSet<>(this.snapshot.getSWRLAPIRuleMap().values());
+	}
+
+	@Override
+	public SWRLAPIRule getSWRLRule(String ruleName) throws SWRLRuleException
+	{
+		SWRLAPIRule rule = this.snapshot.getSWRLAPIRuleMap().get(ruleName);
+
+		if (rule == null)
+			throw new SWRLRuleException("invalid rule name " + ruleName);
+
+		return rule;
+	}
+
+	@Override
+	public void deleteSWRLRule(String ruleName)
+	{
+		throw readOnlyException();
+	}
+
+	@Override
+	public SWRLAPIRule createSWRLRule(String ruleName, String rule)
+	{
+		throw readOnlyException();
+	}
+
+	@Override
+	public SWRLAPIRule createSWRLRule(String ruleName, String rule, String comment, boolean isActive)
+	{
+		throw readOnlyException();
+	}
+
+	@Override
+	public SQWRLQuery createSQWRLQuery(String queryName, String query)
+	{
+		throw readOnlyException();
+	}
+
+	@Override
+	public SQWRLQuery createSQWRLQuery(String queryName, String query, String comment, boolean isActive)
+	{
+		throw readOnlyException();
+	}
+
+	@Override
+	public int getNumberOfSQWRLQueries()
+	{
+		return this.sqwrlQueries.size();
+	}
+
+	@Override
+	public Set<String> getSQWRLQueryNames()
+	{
+		return new HashSet<>(this.sqwrlQueries.keySet());
+	}
+
+	@Override
+	public SQWRLQuery getSQWRLQuery(String queryName) throws SQWRLException
+	{
+		if (!this.sqwrlQueries.containsKey(queryName))
+			throw new SQWRLInvalidQueryNameException("invalid SQWRL query name " + queryName);
+
+		return this.sqwrlQueries.get(queryName);
+	}
+
+	@Override
+	public Set<SQWRLQuery> getSQWRLQueries()
+	{
+		return new HashSet<SQWRLQuery>(this.sqwrlQueries.values());
+	}
+
+	@Override
+	public SQWRLResult getSQWRLResult(String queryName) throws SQWRLException
+	{
+		return getSQWRLQuery(queryName).getSQWRLResult();
+	}
+
+	@Override
+	public SQWRLResultGenerator getSQWRLResultGenerator(String queryName) throws SQWRLException
+	{
+		return getSQWRLQuery(queryName).getSQWRLResultGenerator();
+	}
+
+	@Override
+	public SWRLAPIOWLDataFactory getSWRLAPIOWLDataFactory()
+	{
+		return this.swrlapiOWLOntology.getSWRLAPIOWLDataFactory();
+	}
+
+	@Override
+	public boolean isSWRLBuiltIn(IRI iri)
+	{
+		return this.snapshot.getSWRLBuiltInIRIs().contains(iri);
+	}
+
+	@Override
+	public void addSWRLBuiltIn(IRI iri)
+	{
+		throw readOnlyException();
+	}
+
+	@Override
+	public Set<IRI> getSWRLBuiltInIRIs()
+	{
+		return new HashSet<>(this.snapshot.getSWRLBuiltInIRIs());
+	}
+
+	@Override
+	public boolean hasAssertedOWLAxiom(OWLAxiom axiom)
+	{
+		return this.snapshot.getOWLAxioms().contains(axiom);
+	}
+
+	@Override
+	public Set<OWLAxiom> getOWLAxioms()
+	{
+		return this.snapshot.getOWLAxioms();
+	}
+
+	/**
+	 * @return 1 because the axioms of a snapshot never change
+	 */
+	@Override
+	public long getProcessedOWLAxiomsVersion()
+	{
+		return 1;
+	}
+
+	@Override
+	public OWLAxiomChanges getProcessedOWLAxiomChanges()
+	{
+		return null;
+	}
+
+	@Override
+	public int getNumberOfSWRLRules()
+	{
+		return this.snapshot.getSWRLAPIRuleMap().size();
+	}
+
+	@Override
+	public int getNumberOfOWLAxioms()
+	{
+		return this.snapshot.getOWLAxioms().size();
+	}
+
+	@Override
+	public int getNumberOfOWLClassDeclarationAxioms()
+	{
+		return this.snapshot.getNumberOfOWLClassDeclarationAxioms();
+	}
+
+	@Override
+	public int getNumberOfOWLIndividualDeclarationAxioms()
+	{
+		return this.snapshot.getNumberOfOWLIndividualDeclarationAxioms();
+	}
+
+	@Override
+	public int getNumberOfOWLObjectPropertyDeclarationAxioms()
+	{
+		return this.snapshot.getNumberOfOWLObjectPropertyDeclarationAxioms();
+	}
+
+	@Override
+	public int getNumberOfOWLDataPropertyDeclarationAxioms()
+	{
+		return this.snapshot.getNumberOfOWLDataPropertyDeclarationAxioms();
+	}
+
+	@Override
+	public OWLOntologyManager getOWLOntologyManager()
+	{
+		return this.swrlapiOWLOntology.getOWLOntologyManager();
+	}
+
+	@Override
+	public DefaultPrefixManager getPrefixManager()
+	{
+		return this.swrlapiOWLOntology.getPrefixManager();
+	}
+
+	@Override
+	public OWLOntology getOWLOntology()
+	{
+		return this.swrlapiOWLOntology.getOWLOntology();
+	}
+
+	@Override
+	public OWLDataFactory getOWLDataFactory()
+	{
+		return this.swrlapiOWLOntology.getOWLDataFactory();
+	}
+
+	@Override
+	public IRIResolver getIRIResolver()
+	{
+		return this.swrlapiOWLOntology.getIRIResolver();
+	}
+
+	@Override
+	public IDResolver getIDResolver()
+	{
+		return this.swrlapiOWLOntology.getIDResolver();
+	}
+
+	@Override
+	public void addOWLAxioms(Set<OWLAxiom> axioms)
+	{
+		throw readOnlyException();
+	}
+
+	/**
+	 * Bulk conversion is used to write inferred knowledge back to the ontology, which a snapshot does not allow.
+	 */
+	@Override
+	public void startBulkConversion()
+	{
+		throw readOnlyException();
+	}
+
+	@Override
+	public void completeBulkConversion()
+	{
+	}
+
+	@Override
+	public boolean hasOntologyChanged()
+	{
+		return false;
+	}
+
+	@Override
+	public void resetOntologyChanged()
+	{
+	}
+
+	/**
+	 * Assertions are looked up in the snapshot because the ontology of a restored snapshot holds none.
+	 */
+	@Override
+	public boolean isOWLIndividualOfType(IRI individualIRI, IRI classIRI)
+	{
+		return this.snapshot.isOWLIndividualOfType(individualIRI, classIRI);
+	}
+
+	@Override
+	public Set<OWLObjectPropertyAssertionAxiom> getOWLObjectPropertyAssertionAxioms(IRI individualIRI, IRI propertyIRI)
+	{
+		return this.snapshot.getOWLObjectPropertyAssertionAxioms(individualIRI, propertyIRI);
+	}
+
+	@Override
+	public Set<OWLDataPropertyAssertionAxiom> getOWLDataPropertyAssertionAxioms(IRI individualIRI, IRI propertyIRI)
+	{
+		return this.snapshot.getOWLDataPropertyAssertionAxioms(individualIRI, propertyIRI);
+	}
+
+	private void resetSQWRLResults() throws SQWRLException
+	{
+		for (DefaultSQWRLQuery query : this.sqwrlQueries.values())
+			query.resetSQWRLResult();
+	}
+
+	private SWRLAPIException readOnlyException()
+	{
+		return new SWRLAPIException("a SWRLAPI ontology snapshot is read-only");
+	}
+}
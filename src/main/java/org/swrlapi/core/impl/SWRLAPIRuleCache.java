@@ -0,0 +1,122 @@
+package org.swrlapi.core.impl;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.SWRLArgument;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLLiteralArgument;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+import org.swrlapi.core.SWRLAPIRule;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caches the {@link org.swrlapi.core.SWRLAPIRule}s converted from OWLAPI {@link org.semanticweb.owlapi.model.SWRLRule}
+ * axioms so that unchanged rules are not converted on every call to
+ * {@link org.swrlapi.core.SWRLAPIOWLOntology#getSWRLAPIRules()}.
+ * <p/>
+ * Entries are keyed by the OWLAPI rule axiom, which includes its annotations, so a renamed, re-commented, or edited
+ * rule is a different key. An entry is discarded when its rule axiom is removed from the imports closure. The
+ * conversion of built-in arguments depends on the ontology signature, so the whole cache is discarded when an axiom
+ * whose signature mentions an IRI used as a built-in argument is added or removed, and when the imports change.
+ */
+class SWRLAPIRuleCache implements OWLOntologyChangeListener
+{
+	private final OWLOntology ontology;
+	private final Map<SWRLRule, SWRLAPIRule> swrlapiRules;
+	private final Set<IRI> argumentIRIs; // IRIs of variable and URI literal arguments in the cached rules
+	private Set<OWLOntology> importsClosure;
+
+	public SWRLAPIRuleCache(OWLOntology ontology)
+	{
+		this.ontology = ontology;
+		this.swrlapiRules = new HashMap<>();
+		this.argumentIRIs = new HashSet<>();
+		this.importsClosure = new HashSet<>(ontology.getImportsClosure());
+	}
+
+	/**
+	 * @return The cached conversion of the supplied rule or null if it has not been cached
+	 */
+	public SWRLAPIRule getSWRLAPIRule(SWRLRule owlapiRule)
+	{
+		return this.swrlapiRules.get(owlapiRule);
+	}
+
+	public void putSWRLAPIRule(SWRLRule owlapiRule, SWRLAPIRule swrlapiRule)
+	{
+		this.swrlapiRules.put(owlapiRule, swrlapiRule);
+		recordArgumentIRIs(owlapiRule.getBody());
+		recordArgumentIRIs(owlapiRule.getHead());
+	}
+
+	public void clear()
+	{
+		this.swrlapiRules.clear();
+		this.argumentIRIs.clear();
+	}
+
+	@Override
+	public void ontologiesChanged(List<? extends OWLOntologyChange> changes)
+	{
+		boolean importsChanged = false;
+
+		for (OWLOntologyChange change : changes) {
+			if (!this.importsClosure.contains(change.getOntology()))
+				continue;
+
+			if (change.isImportChange()) {
+				importsChanged = true;
+				clear();
+			} else if (change.isAxiomChange() && !this.swrlapiRules.isEmpty()) {
+				OWLAxiom axiom = change.getAxiom();
+
+				if (change.isRemoveAxiom() && axiom.isOfType(AxiomType.SWRL_RULE))
+					this.swrlapiRules.remove(axiom);
+
+				if (mentionsArgumentIRI(axiom))
+					clear();
+			}
+		}
+
+		if (importsChanged)
+			this.importsClosure = new HashSet<>(this.ontology.getImportsClosure());
+	}
+
+	private boolean mentionsArgumentIRI(OWLAxiom axiom)
+	{
+		for (OWLEntity entity : axiom.getSignature()) {
+			if (this.argumentIRIs.contains(entity.getIRI()))
+				return true;
+		}
+		return false;
+	}
+
+	// Over-approximates the arguments whose conversion depends on the signature by considering all atoms
+	private void recordArgumentIRIs(Set<SWRLAtom> atoms)
+	{
+		for (SWRLAtom atom : atoms) {
+			for (SWRLArgument argument : atom.getAllArguments()) {
+				if (argument instanceof SWRLVariable)
+					this.argumentIRIs.add(((SWRLVariable)argument).getIRI());
+				else if (argument instanceof SWRLLiteralArgument) {
+					OWLLiteral literal = ((SWRLLiteralArgument)argument).getLiteral();
+					if (literal.getDatatype().getIRI().equals(OWL2Datatype.XSD_ANY_URI.getIRI()))
+						this.argumentIRIs.add(IRI.create(literal.getLiteral()));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,323 @@
+package org.swrlapi.core.impl;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLProperty;
+import org.semanticweb.owlapi.model.SWRLArgument;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLBinaryAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLDataRangeAtom;
+import org.semanticweb.owlapi.model.SWRLDifferentIndividualsAtom;
+import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIOntologyStatistics;
+import org.swrlapi.core.SWRLAPIRule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Orders the body atoms of rules by their estimated selectivity so that rule engines that join atoms from left to right
+ * do the least work. The atoms are chosen greedily: at each step the atom expected to match the fewest facts for each
+ * match of the atoms before it is chosen, using the {@link org.swrlapi.core.SWRLAPIOntologyStatistics} of the
+ * ontology. Ties keep the existing order.
+ * <p/>
+ * Predicates that are concluded by a rule are assumed to match at least one fact for each individual, because their
+ * asserted facts do not count the facts that the rules infer.
+ * <p/>
+ * Built-ins keep their order relative to each other. A built-in is placed as soon as all of its arguments that it does
+ * not bind itself are bound, so that built-ins that filter matches run as early as possible. The built-ins of SQWRL
+ * queries stay at the end of the body, after which SQWRL collections are built.
+ * <p/>
+ * Rules are never modified. A rule whose body is reordered is replaced by a copy, so rules that have been handed to
+ * rule engines or snapshots can be read by other threads while the ontology is processed again.
+ * <p/>
+ * An optimizer is created for a set of rules and can be asked whether the statistics it orders them by have changed,
+ * so that the rules are only ordered again when the order could differ.
+ */
+class SWRLAPIRuleOptimizer
+{
+	private final SWRLAPIOntologyStatistics statistics;
+	private final Set<OWLObject> derivedPredicates;
+	private final Set<OWLObject> bodyPredicates; // The predicates whose statistics are used to order rules, not queries
+	private final int numberOfIndividuals; // When the optimizer was created
+
+	public SWRLAPIRuleOptimizer(SWRLAPIOntologyStatistics statistics, Collection<SWRLAPIRule> rules)
+	{
+		this.statistics = statistics;
+		this.derivedPredicates = new HashSet<>();
+		this.bodyPredicates = new HashSet<>();
+		this.numberOfIndividuals = statistics.getNumberOfIndividuals();
+
+		for (SWRLAPIRule rule : rules) {
+			for (SWRLAtom atom : rule.getHeadAtoms()) {
+				OWLObject predicate = getPredicate(atom);
+
+				if (predicate != null)
+					this.derivedPredicates.add(predicate);
+			}
+
+			if (!rule.isSQWRLQuery()) { // Queries keep the order they were built with
+				for (SWRLAtom atom : rule.getBodyAtoms()) {
+					OWLObject predicate = getPredicate(atom);
+
+					if (predicate != null)
+						this.bodyPredicates.add(predicate);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param changedOWLAxioms The axioms added or removed since the optimizer was created
+	 * @return true if the statistics used to order the rules may have changed
+	 */
+	public boolean isStale(Collection<OWLAxiom> changedOWLAxioms)
+	{
+		if (this.statistics.getNumberOfIndividuals() != this.numberOfIndividuals)
+			return true;
+
+		for (OWLAxiom axiom : changedOWLAxioms) {
+			OWLObject predicate = getAssertedPredicate(axiom);
+
+			if (predicate != null && this.bodyPredicates.contains(predicate))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return The rule itself if its body is already in the chosen order, otherwise a copy of the rule with its body
+	 * reordered
+	 */
+	public SWRLAPIRule optimize(SWRLAPIRule rule)
+	{
+		List<SWRLAtom> bodyAtoms = orderBodyAtoms(rule);
+
+		if (!(rule instanceof DefaultSWRLAPIRule) || bodyAtoms.equals(rule.getBodyAtoms()))
+			return rule;
+		else
+			return new DefaultSWRLAPIRule((DefaultSWRLAPIRule)rule, bodyAtoms);
+	}
+
+	private List<SWRLAtom> orderBodyAtoms(SWRLAPIRule rule)
+	{
+		boolean placeBuiltInsEarly = !rule.isSQWRLQuery();
+		List<SWRLAtom> remainingAtoms = new ArrayList<>();
+		Deque<SWRLAPIBuiltInAtom> remainingBuiltInAtoms = new ArrayDeque<>();
+		List<SWRLAtom> bodyAtoms = new ArrayList<>();
+		Set<IRI> boundVariableIRIs = new HashSet<>();
+
+		for (SWRLAtom atom : rule.getBodyAtoms()) {
+			if (atom instanceof SWRLAPIBuiltInAtom)
+				remainingBuiltInAtoms.add((SWRLAPIBuiltInAtom)atom);
+			else
+				remainingAtoms.add(atom);
+		}
+
+		while (!remainingAtoms.isEmpty()) {
+			if (placeBuiltInsEarly)
+				addBoundBuiltInAtoms(remainingBuiltInAtoms, bodyAtoms, boundVariableIRIs);
+
+			SWRLAtom selectedAtom = null;
+			double selectedAtomEstimate = Double.MAX_VALUE;
+
+			for (SWRLAtom atom : remainingAtoms) {
+				if (atom instanceof SWRLDataRangeAtom && !isBound(((SWRLDataRangeAtom)atom).getArgument(), boundVariableIRIs))
+					continue; // A data range only tests values
+
+				double estimate = estimateNumberOfMatches(atom, boundVariableIRIs);
+				if (estimate < selectedAtomEstimate) {
+					selectedAtom = atom;
+					selectedAtomEstimate = estimate;
+				}
+			}
+
+			if (selectedAtom == null)
+				selectedAtom = remainingAtoms.get(0);
+
+			remainingAtoms.remove(selectedAtom);
+			bodyAtoms.add(selectedAtom);
+			bind(selectedAtom.getAllArguments(), boundVariableIRIs);
+		}
+		bodyAtoms.addAll(remainingBuiltInAtoms);
+
+		return bodyAtoms;
+	}
+
+	private void addBoundBuiltInAtoms(Deque<SWRLAPIBuiltInAtom> remainingBuiltInAtoms, List<SWRLAtom> bodyAtoms,
+			Set<IRI> boundVariableIRIs)
+	{
+		while (!remainingBuiltInAtoms.isEmpty() && isBound(remainingBuiltInAtoms.peek(), boundVariableIRIs)) {
+			SWRLAPIBuiltInAtom builtInAtom = remainingBuiltInAtoms.poll();
+
+			bodyAtoms.add(builtInAtom);
+			for (SWRLBuiltInArgument argument : builtInAtom.getBuiltInArguments()) {
+				if (argument.isVariable())
+					boundVariableIRIs.add(argument.asVariable().getIRI());
+			}
+		}
+	}
+
+	/**
+	 * @return The number of facts that the atom is expected to match for each match of the atoms before it
+	 */
+	private double estimateNumberOfMatches(SWRLAtom atom, Set<IRI> boundVariableIRIs)
+	{
+		double numberOfIndividuals = Math.max(1, this.statistics.getNumberOfIndividuals());
+
+		if (atom instanceof SWRLClassAtom) {
+			SWRLClassAtom classAtom = (SWRLClassAtom)atom;
+			double numberOfAssertions = getNumberOfClassAssertions(classAtom.getPredicate());
+
+			if (isBound(classAtom.getArgument(), boundVariableIRIs))
+				return numberOfAssertions / numberOfIndividuals;
+			else
+				return numberOfAssertions;
+		} else if (atom instanceof SWRLObjectPropertyAtom || atom instanceof SWRLDataPropertyAtom) {
+			SWRLBinaryAtom<?, ?> propertyAtom = atom instanceof SWRLObjectPropertyAtom ?
+					((SWRLObjectPropertyAtom)atom).getSimplified() :
+					(SWRLDataPropertyAtom)atom;
+			OWLProperty property = (OWLProperty)getPredicate(atom);
+			boolean isSubjectBound = isBound(propertyAtom.getFirstArgument(), boundVariableIRIs);
+			boolean isObjectBound = isBound(propertyAtom.getSecondArgument(), boundVariableIRIs);
+			double numberOfAssertions = this.statistics.getNumberOfPropertyAssertions(property);
+			double numberOfSubjects = this.statistics.getNumberOfDistinctSubjects(property);
+			double numberOfObjects = this.statistics.getNumberOfDistinctObjects(property);
+
+			if (this.derivedPredicates.contains(property)) {
+				numberOfAssertions = Math.max(numberOfAssertions, numberOfIndividuals);
+				numberOfSubjects = Math.max(numberOfSubjects, numberOfIndividuals);
+				numberOfObjects = Math.max(numberOfObjects, numberOfIndividuals);
+			}
+
+			if (isSubjectBound && isObjectBound)
+				return numberOfAssertions / (Math.max(1, numberOfSubjects) * Math.max(1, numberOfObjects));
+			else if (isSubjectBound)
+				return numberOfAssertions / Math.max(1, numberOfSubjects);
+			else if (isObjectBound)
+				return numberOfAssertions / Math.max(1, numberOfObjects);
+			else
+				return numberOfAssertions;
+		} else if (atom instanceof SWRLSameIndividualAtom || atom instanceof SWRLDifferentIndividualsAtom) {
+			int numberOfBoundArguments = 0;
+
+			for (SWRLArgument argument : atom.getAllArguments()) {
+				if (isBound(argument, boundVariableIRIs))
+					numberOfBoundArguments++;
+			}
+			if (numberOfBoundArguments == 2)
+				return 1;
+			else if (numberOfBoundArguments == 1)
+				return numberOfIndividuals;
+			else
+				return numberOfIndividuals * numberOfIndividuals;
+		} else if (atom instanceof SWRLDataRangeAtom)
+			return 0; // Only placed once its argument is bound
+		else
+			return numberOfIndividuals;
+	}
+
+	private double getNumberOfClassAssertions(OWLClassExpression classExpression)
+	{
+		double numberOfIndividuals = Math.max(1, this.statistics.getNumberOfIndividuals());
+
+		if (classExpression.isAnonymous())
+			return numberOfIndividuals;
+		else if (this.derivedPredicates.contains(classExpression))
+			return Math.max(this.statistics.getNumberOfClassAssertions(classExpression.asOWLClass()), numberOfIndividuals);
+		else
+			return this.statistics.getNumberOfClassAssertions(classExpression.asOWLClass());
+	}
+
+	/**
+	 * @return The named class or property of an atom, or null if it has none
+	 */
+	private static OWLObject getPredicate(SWRLAtom atom)
+	{
+		if (atom instanceof SWRLClassAtom) {
+			OWLClassExpression classExpression = ((SWRLClassAtom)atom).getPredicate();
+			return classExpression.isAnonymous() ? null : classExpression.asOWLClass();
+		} else if (atom instanceof SWRLObjectPropertyAtom)
+			return ((SWRLObjectPropertyAtom)atom).getSimplified().getPredicate().asOWLObjectProperty();
+		else if (atom instanceof SWRLDataPropertyAtom)
+			return ((SWRLDataPropertyAtom)atom).getPredicate().asOWLDataProperty();
+		else
+			return null;
+	}
+
+	/**
+	 * @return The named class or property of an assertion, or null if the axiom is not counted by the statistics
+	 */
+	private static OWLObject getAssertedPredicate(OWLAxiom axiom)
+	{
+		if (axiom instanceof OWLClassAssertionAxiom) {
+			OWLClassExpression classExpression = ((OWLClassAssertionAxiom)axiom).getClassExpression();
+			return classExpression.isAnonymous() ? null : classExpression.asOWLClass();
+		} else if (axiom instanceof OWLObjectPropertyAssertionAxiom)
+			return ((OWLObjectPropertyAssertionAxiom)axiom).getProperty().getNamedProperty();
+		else if (axiom instanceof OWLDataPropertyAssertionAxiom)
+			return ((OWLDataPropertyAssertionAxiom)axiom).getProperty().asOWLDataProperty();
+		else
+			return null;
+	}
+
+	/**
+	 * A built-in is bound when all of its variable arguments except those that it binds are bound.
+	 */
+	private static boolean isBound(SWRLAPIBuiltInAtom builtInAtom, Set<IRI> boundVariableIRIs)
+	{
+		for (SWRLBuiltInArgument argument : builtInAtom.getBuiltInArguments()) {
+			if (argument.isVariable() && !argument.asVariable().isUnbound() && !boundVariableIRIs
+					.contains(argument.asVariable().getIRI()))
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isBound(SWRLArgument argument, Set<IRI> boundVariableIRIs)
+	{
+		IRI variableIRI = getVariableIRI(argument);
+
+		return variableIRI == null || boundVariableIRIs.contains(variableIRI);
+	}
+
+	private static void bind(Collection<? extends SWRLArgument> arguments, Set<IRI> boundVariableIRIs)
+	{
+		for (SWRLArgument argument : arguments) {
+			IRI variableIRI = getVariableIRI(argument);
+
+			if (variableIRI != null)
+				boundVariableIRIs.add(variableIRI);
+		}
+	}
+
+	/**
+	 * @return The IRI of a variable argument or null if the argument is not a variable
+	 */
+	private static IRI getVariableIRI(SWRLArgument argument)
+	{
+		if (argument instanceof SWRLVariable)
+			return ((SWRLVariable)argument).getIRI();
+		else if (argument instanceof SWRLVariableBuiltInArgument)
+			return ((SWRLVariableBuiltInArgument)argument).getIRI();
+		else
+			return null;
+	}
+}
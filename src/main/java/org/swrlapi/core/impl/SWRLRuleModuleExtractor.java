@@ -0,0 +1,95 @@
+package org.swrlapi.core.impl;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDataPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLObjectPropertyBuiltInArgument;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.sqwrl.SQWRLQuery;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Extracts the module of an ontology's axioms that can influence its SWRL rules and SQWRL queries. The signature of
+ * the module is made of the classes, properties and individuals in the atoms of the active rules and of all queries,
+ * including those passed to built-ins. Logical axioms are kept if they are in the syntactic locality-based bottom
+ * module for that signature, which preserves every entailment over the signature and is unaffected by facts that the
+ * rules add over it. The module contains every class and property assertion, because no assertion is local, but leaves
+ * out terminology that no assertion, rule or query reaches.
+ * <p/>
+ * SWRL rules and non-logical axioms such as declarations are always kept.
+ */
+class SWRLRuleModuleExtractor
+{
+	private final SWRLAPIOWLOntology swrlapiOWLOntology;
+
+	public SWRLRuleModuleExtractor(SWRLAPIOWLOntology swrlapiOWLOntology)
+	{
+		this.swrlapiOWLOntology = swrlapiOWLOntology;
+	}
+
+	public Set<OWLAxiom> extract(Set<OWLAxiom> owlAxioms)
+	{
+		Set<OWLAxiom> module = new HashSet<>();
+		Set<OWLAxiom> logicalAxioms = new HashSet<>();
+		Set<OWLEntity> signature = new HashSet<>();
+
+		for (OWLAxiom axiom : owlAxioms) {
+			if (axiom instanceof SWRLAPIRule) {
+				SWRLAPIRule rule = (SWRLAPIRule)axiom;
+				module.add(rule);
+				if (rule.isActive())
+					addSignature(rule.getBodyAtoms(), rule.getHeadAtoms(), signature);
+			} else if (axiom instanceof SWRLRule) {
+				module.add(axiom);
+				signature.addAll(axiom.getSignature());
+			} else if (axiom.isLogicalAxiom())
+				logicalAxioms.add(axiom);
+			else
+				module.add(axiom);
+		}
+
+		for (SQWRLQuery query : this.swrlapiOWLOntology.getSQWRLQueries())
+			addSignature(query.getBodyAtoms(), query.getHeadAtoms(), signature);
+
+		if (!logicalAxioms.isEmpty())
+			module.addAll(new SyntacticLocalityModuleExtractor(this.swrlapiOWLOntology.getOWLOntologyManager(),
+					this.swrlapiOWLOntology.getOWLOntology(), logicalAxioms, ModuleType.BOT).extract(signature));
+
+		return module;
+	}
+
+	private static void addSignature(Collection<SWRLAtom> bodyAtoms, Collection<SWRLAtom> headAtoms,
+			Set<OWLEntity> signature)
+	{
+		Set<SWRLAtom> atoms = new HashSet<>(bodyAtoms);
+
+		atoms.addAll(headAtoms);
+		for (SWRLAtom atom : atoms) {
+			if (atom instanceof SWRLAPIBuiltInAtom) {
+				for (SWRLBuiltInArgument argument : ((SWRLAPIBuiltInAtom)atom).getBuiltInArguments()) {
+					if (argument instanceof SWRLClassBuiltInArgument)
+						signature.add(((SWRLClassBuiltInArgument)argument).getOWLClass());
+					else if (argument instanceof SWRLObjectPropertyBuiltInArgument)
+						signature.add(((SWRLObjectPropertyBuiltInArgument)argument).getOWLObjectProperty());
+					else if (argument instanceof SWRLDataPropertyBuiltInArgument)
+						signature.add(((SWRLDataPropertyBuiltInArgument)argument).getOWLDataProperty());
+					else if (argument instanceof SWRLNamedIndividualBuiltInArgument)
+						signature.add(((SWRLNamedIndividualBuiltInArgument)argument).getOWLNamedIndividual());
+				}
+			} else
+				signature.addAll(atom.getSignature());
+		}
+	}
+}
@@ -0,0 +1,291 @@
+package org.swrlapi.core.resolvers;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnonymousIndividual;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+import org.swrlapi.exceptions.SWRLAPIException;
+
+/**
+ * A dictionary that assigns dense integer IDs, starting at 0, to IRIs, anonymous individuals and literals. Target rule
+ * engines can use these IDs in their fact tables and joins instead of comparing prefixed names or OWLAPI objects. An ID
+ * can be mapped back to its term in constant time.
+ * <p/>
+ * Literals are canonicalized before they are assigned an ID, so literals with the same datatype and the same value get
+ * the same ID. For example, <code>"01"^^xsd:int</code> and <code>"1"^^xsd:int</code> share an ID. Literals of different
+ * datatypes always get different IDs. Language tags are compared case-insensitively.
+ * <p/>
+ * IDs are never reassigned, so they remain valid for the lifetime of the resolver. Like {@link IRIResolver}, this class
+ * is safe for concurrent use.
+ *
+ * @see org.swrlapi.bridge.converters.TargetRuleEngineOWLEntityIDConverter
+ */
+public class IDResolver
+{
+	/**
+	 * Returned by the find methods for a term that has not been assigned an ID.
+	 */
+	public static final int NO_ID = -1;
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private final OWLDataFactory dataFactory;
+	private final ConcurrentMap<Object, Integer> term2ID; // Keys are IRIs, anonymous individuals or canonical literals
+
+	private volatile Object[] terms; // Indexed by ID; grown under the lock
+	private volatile int numberOfIDs; // Written after the term so that readers see only complete entries
+
+	public IDResolver(OWLDataFactory dataFactory)
+	{
+		this.dataFactory = dataFactory;
+		this.term2ID = new ConcurrentHashMap<>();
+		this.terms = new Object[INITIAL_CAPACITY];
+		this.numberOfIDs = 0;
+	}
+
+	/**
+	 * @return The ID of the IRI, which is assigned if it does not already have one
+	 */
+	public int getID(IRI iri)
+	{
+		return getOrAssignID(iri);
+	}
+
+	public int getID(OWLEntity entity)
+	{
+		return getOrAssignID(entity.getIRI());
+	}
+
+	public int getID(OWLNamedIndividual individual) // Named individuals are both entities and individuals
+	{
+		return getOrAssignID(individual.getIRI());
+	}
+
+	public int getID(OWLIndividual individual)
+	{
+		if (individual.isNamed())
+			return getOrAssignID(individual.asOWLNamedIndividual().getIRI());
+		else
+			return getOrAssignID(individual.asOWLAnonymousIndividual());
+	}
+
+	/**
+	 * @return The ID of the canonical form of the literal, which is assigned if it does not already have one
+	 */
+	public int getID(OWLLiteral literal)
+	{
+		Integer id = this.term2ID.get(literal); // Most literals are already canonical
+
+		if (id != null)
+			return id;
+		else
+			return getOrAssignID(canonicalize(literal));
+	}
+
+	/**
+	 * @return The ID of the IRI or {@link #NO_ID} if it has not been assigned one
+	 */
+	public int findID(IRI iri)
+	{
+		Integer id = this.term2ID.get(iri);
+
+		return id == null ? NO_ID : id;
+	}
+
+	public int findID(OWLIndividual individual)
+	{
+		Integer id = this.term2ID
+				.get(individual.isNamed() ? individual.asOWLNamedIndividual().getIRI() : individual.asOWLAnonymousIndividual());
+
+		return id == null ? NO_ID : id;
+	}
+
+	/**
+	 * @return The ID of the canonical form of the literal or {@link #NO_ID} if it has not been assigned one
+	 */
+	public int findID(OWLLiteral literal)
+	{
+		Integer id = this.term2ID.get(literal);
+
+		if (id == null)
+			id = this.term2ID.get(canonicalize(literal));
+
+		return id == null ? NO_ID : id;
+	}
+
+	public boolean isIRI(int id)
+	{
+		return getTerm(id) instanceof IRI;
+	}
+
+	public boolean isAnonymousIndividual(int id)
+	{
+		return getTerm(id) instanceof OWLAnonymousIndividual;
+	}
+
+	public boolean isLiteral(int id)
+	{
+		return getTerm(id) instanceof OWLLiteral;
+	}
+
+	public IRI getIRI(int id)
+	{
+		Object term = getTerm(id);
+
+		if (term instanceof IRI)
+			return (IRI)term;
+		else
+			throw new SWRLAPIException("ID " + id + " is not the ID of an IRI");
+	}
+
+	public OWLIndividual getIndividual(int id)
+	{
+		Object term = getTerm(id);
+
+		if (term instanceof IRI)
+			return this.dataFactory.getOWLNamedIndividual((IRI)term);
+		else if (term instanceof OWLAnonymousIndividual)
+			return (OWLAnonymousIndividual)term;
+		else
+			throw new SWRLAPIException("ID " + id + " is not the ID of an individual");
+	}
+
+	/**
+	 * @return The canonical form of the literal with the ID
+	 */
+	public OWLLiteral getLiteral(int id)
+	{
+		Object term = getTerm(id);
+
+		if (term instanceof OWLLiteral)
+			return (OWLLiteral)term;
+		else
+			throw new SWRLAPIException("ID " + id + " is not the ID of a literal");
+	}
+
+	/**
+	 * @return The number of IDs assigned; all IDs are less than this number
+	 */
+	public int getNumberOfIDs()
+	{
+		return this.numberOfIDs;
+	}
+
+	private Object getTerm(int id)
+	{
+		int numberOfIDs = this.numberOfIDs; // Read before the terms so that entries below it are complete
+
+		if (id < 0 || id >= numberOfIDs)
+			throw new SWRLAPIException("unknown ID " + id);
+
+		return this.terms[id];
+	}
+
+	private int getOrAssignID(Object term)
+	{
+		Integer id = this.term2ID.get(term);
+
+		if (id != null)
+			return id;
+
+		synchronized (this) {
+			id = this.term2ID.get(term);
+			if (id == null) {
+				int newID = this.numberOfIDs;
+
+				if (newID == this.terms.length)
+					this.terms = Arrays.copyOf(this.terms, newID * 2);
+				this.terms[newID] = term;
+				this.numberOfIDs = newID + 1;
+				this.term2ID.put(term, newID);
+				id = newID;
+			}
+		}
+		return id;
+	}
+
+	/**
+	 * Literals of the numeric and boolean XSD datatypes are given their canonical lexical form, plain literals without a
+	 * language tag become xsd:string literals, and language tags are lower-cased. Literals whose lexical form is not
+	 * valid for their datatype are left as they are.
+	 */
+	private OWLLiteral canonicalize(OWLLiteral literal)
+	{
+		if (literal.hasLang()) {
+			String language = literal.getLang().toLowerCase(Locale.ENGLISH);
+			return language.equals(literal.getLang()) ? literal : this.dataFactory.getOWLLiteral(literal.getLiteral(), language);
+		}
+
+		OWLDatatype datatype = literal.getDatatype();
+
+		if (datatype.isRDFPlainLiteral())
+			return this.dataFactory.getOWLLiteral(literal.getLiteral(), OWL2Datatype.XSD_STRING);
+		else if (!datatype.isBuiltIn())
+			return literal;
+
+		String lexicalForm = literal.getLiteral().trim();
+		String canonicalLexicalForm;
+
+		try {
+			switch (datatype.getBuiltInDatatype()) {
+			case XSD_INTEGER:
+			case XSD_INT:
+			case XSD_LONG:
+			case XSD_SHORT:
+			case XSD_BYTE:
+			case XSD_NON_NEGATIVE_INTEGER:
+			case XSD_NON_POSITIVE_INTEGER:
+			case XSD_POSITIVE_INTEGER:
+			case XSD_NEGATIVE_INTEGER:
+			case XSD_UNSIGNED_LONG:
+			case XSD_UNSIGNED_INT:
+			case XSD_UNSIGNED_SHORT:
+			case XSD_UNSIGNED_BYTE:
+				canonicalLexicalForm = new BigInteger(lexicalForm).toString();
+				break;
+			case XSD_DECIMAL:
+				BigDecimal decimal = new BigDecimal(lexicalForm);
+				canonicalLexicalForm = decimal.signum() == 0 ? "0" : decimal.stripTrailingZeros().toPlainString();
+				break;
+			case XSD_FLOAT:
+				canonicalLexicalForm = isSpecialFloatingPointValue(lexicalForm) ?
+						lexicalForm :
+						Float.toString(Float.parseFloat(lexicalForm));
+				break;
+			case XSD_DOUBLE:
+				canonicalLexicalForm = isSpecialFloatingPointValue(lexicalForm) ?
+						lexicalForm :
+						Double.toString(Double.parseDouble(lexicalForm));
+				break;
+			case XSD_BOOLEAN:
+				canonicalLexicalForm = lexicalForm.equals("1") ? "true" : lexicalForm.equals("0") ? "false" : lexicalForm;
+				break;
+			default:
+				return literal;
+			}
+		} catch (NumberFormatException e) {
+			return literal;
+		}
+
+		return canonicalLexicalForm.equals(literal.getLiteral()) ?
+				literal :
+				this.dataFactory.getOWLLiteral(canonicalLexicalForm, datatype);
+	}
+
+	private static boolean isSpecialFloatingPointValue(String lexicalForm)
+	{
+		return lexicalForm.equals("INF") || lexicalForm.equals("-INF") || lexicalForm.equals("NaN");
+	}
+}
@@ -1,9 +1,17 @@
 package org.swrlapi.core.resolvers;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLEntity;
@@ -20,6 +28,9 @@ import org.swrlapi.exceptions.SWRLAPIInternalException;
  * name their representation of those objects. A {@link org.swrlapi.core.SWRLAPIOntologyProcessor} will record all
  * the OWL named objects in an ontology together with their types. Rule engines can then use this class to determine
  * the type of OWL properties using their prefixed name and to map those prefixed names to and from IRIs if necessary.
+ * <p/>
+ * Built-ins may record new OWL named objects while rules are running, so an IRI resolver shared by rule engines
+ * running in different threads must be safe for concurrent use.
  *
  * @see org.swrlapi.core.SWRLAPIOntologyProcessor
  */
@@ -27,8 +38,8 @@ public class IRIResolver
 {
 	private final DefaultPrefixManager prefixManager;
 
-	private final Map<String, IRI> prefixedName2IRI;
-	private final Map<IRI, String> iri2PrefixedNameCache;
+	private final ConcurrentMap<String, IRI> prefixedName2IRI;
+	private final ConcurrentMap<IRI, String> iri2PrefixedNameCache;
 	private final Set<String> variablePrefixedNames;
 	private final Set<String> classPrefixedNames;
 	private final Set<String> namedIndividualPrefixedNames;
@@ -41,15 +52,15 @@ public class IRIResolver
 	{
 		this.prefixManager = prefixManager;
 
-		this.prefixedName2IRI = new HashMap<>();
-		this.iri2PrefixedNameCache = new HashMap<>();
-		this.variablePrefixedNames = new HashSet<>();
-		this.classPrefixedNames = new HashSet<>();
-		this.namedIndividualPrefixedNames = new HashSet<>();
-		this.objectPropertyPrefixedNames = new HashSet<>();
-		this.dataPropertyPrefixedNames = new HashSet<>();
-		this.annotationPropertyPrefixedNames = new HashSet<>();
-		this.datatypePrefixedNames = new HashSet<>();
+		this.prefixedName2IRI = new ConcurrentHashMap<>();
+		this.iri2PrefixedNameCache = new ConcurrentHashMap<>();
+		this.variablePrefixedNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		this.classPrefixedNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		this.namedIndividualPrefixedNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		this.objectPropertyPrefixedNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		this.dataPropertyPrefixedNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		this.annotationPropertyPrefixedNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+		this.datatypePrefixedNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 	}
 
 	public void reset()
@@ -67,8 +78,10 @@ public class IRIResolver
 
 	public String iri2PrefixedName(IRI iri)
 	{
-		if (this.iri2PrefixedNameCache.containsKey(iri))
-			return this.iri2PrefixedNameCache.get(iri);
+		String cachedPrefixedName = this.iri2PrefixedNameCache.get(iri);
+
+		if (cachedPrefixedName != null)
+			return cachedPrefixedName;
 		else {
 			String prefixedName = prefixManager.getPrefixIRI(iri);
 			if (prefixedName != null)
@@ -80,8 +93,10 @@ public class IRIResolver
 
 	public IRI prefixedName2IRI(String prefixedName)
 	{
-		if (this.prefixedName2IRI.containsKey(prefixedName))
-			return this.prefixedName2IRI.get(prefixedName);
+		IRI iri = this.prefixedName2IRI.get(prefixedName);
+
+		if (iri != null)
+			return iri;
 		else {
 			try {
 				return prefixManager.getIRI(prefixedName);
@@ -197,10 +212,50 @@ public class IRIResolver
 
 	public void recordPrefixedName2IRIMapping(String prefixedName, IRI iri)
 	{
-		if (!this.prefixedName2IRI.containsKey(prefixedName)) {
-			this.prefixedName2IRI.put(prefixedName, iri);
+		if (this.prefixedName2IRI.putIfAbsent(prefixedName, iri) == null)
 			this.iri2PrefixedNameCache.put(iri, prefixedName);
-		}
+	}
+
+	/**
+	 * Add the prefixed names recorded by another resolver to those already recorded.
+	 */
+	public void recordNames(IRIResolver iriResolver)
+	{
+		List<Set<String>> prefixedNameSets = getPrefixedNameSets();
+		List<Set<String>> otherPrefixedNameSets = iriResolver.getPrefixedNameSets();
+
+		for (Map.Entry<String, IRI> entry : iriResolver.prefixedName2IRI.entrySet())
+			recordPrefixedName2IRIMapping(entry.getKey(), entry.getValue());
+
+		for (int setIndex = 0; setIndex < prefixedNameSets.size(); setIndex++)
+			prefixedNameSets.get(setIndex).addAll(otherPrefixedNameSets.get(setIndex));
+	}
+
+	/**
+	 * Write the recorded prefixed names so that they can be restored without reprocessing the ontology.
+	 *
+	 * @see #readRecordedNames(java.io.ObjectInput)
+	 */
+	public void writeRecordedNames(ObjectOutput out) throws IOException
+	{
+		out.writeObject(new HashMap<>(this.prefixedName2IRI));
+		for (Set<String> prefixedNames : getPrefixedNameSets())
+			out.writeObject(new HashSet<>(prefixedNames));
+	}
+
+	/**
+	 * Add prefixed names written by {@link #writeRecordedNames(java.io.ObjectOutput)} to those already recorded.
+	 */
+	@SuppressWarnings("unchecked")
+	public void readRecordedNames(ObjectInput in) throws IOException, ClassNotFoundException
+	{
+		Map<String, IRI> prefixedNames2IRIs = (Map<String, IRI>)in.readObject();
+
+		for (Map.Entry<String, IRI> entry : prefixedNames2IRIs.entrySet())
+			recordPrefixedName2IRIMapping(entry.getKey(), entry.getValue());
+
+		for (Set<String> prefixedNames : getPrefixedNameSets())
+			prefixedNames.addAll((Set<String>)in.readObject());
 	}
 
 	public boolean isOWLClass(String prefixedName)
@@ -232,4 +287,20 @@ public class IRIResolver
 	{
 		return this.datatypePrefixedNames.contains(prefixedName);
 	}
+
+	// The order is part of the format written by writeRecordedNames
+	private List<Set<String>> getPrefixedNameSets()
+	{
+		List<Set<String>> prefixedNameSets = new ArrayList<>();
+
+		prefixedNameSets.add(this.variablePrefixedNames);
+		prefixedNameSets.add(this.classPrefixedNames);
+		prefixedNameSets.add(this.namedIndividualPrefixedNames);
+		prefixedNameSets.add(this.objectPropertyPrefixedNames);
+		prefixedNameSets.add(this.dataPropertyPrefixedNames);
+		prefixedNameSets.add(this.annotationPropertyPrefixedNames);
+		prefixedNameSets.add(this.datatypePrefixedNames);
+
+		return prefixedNameSets;
+	}
 }
@@ -0,0 +1,83 @@
+package org.swrlapi.engine;
+
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.swrlapi.builtins.arguments.SWRLAnnotationPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentFactory;
+import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDataPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDatatypeBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLObjectPropertyBuiltInArgument;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+
+/**
+ * Converts between the values bound to variables by the native rule engine and built-in arguments. Individuals,
+ * literals, and named entities are bound as OWLAPI objects so that they can be looked up in a {@link FactStore}; other
+ * built-in results, such as SQWRL collections, are bound as the built-in arguments themselves.
+ */
+class BuiltInArgumentConverter
+{
+	private final SWRLBuiltInArgumentFactory argumentFactory;
+
+	public BuiltInArgumentConverter(SWRLBuiltInArgumentFactory argumentFactory)
+	{
+		this.argumentFactory = argumentFactory;
+	}
+
+	public Object toValue(SWRLBuiltInArgument argument)
+	{
+		if (argument instanceof SWRLNamedIndividualBuiltInArgument)
+			return ((SWRLNamedIndividualBuiltInArgument)argument).getOWLNamedIndividual();
+		else if (argument instanceof SWRLLiteralBuiltInArgument)
+			return ((SWRLLiteralBuiltInArgument)argument).getLiteral();
+		else if (argument instanceof SWRLClassBuiltInArgument)
+			return ((SWRLClassBuiltInArgument)argument).getOWLClass();
+		else if (argument instanceof SWRLObjectPropertyBuiltInArgument)
+			return ((SWRLObjectPropertyBuiltInArgument)argument).getOWLObjectProperty();
+		else if (argument instanceof SWRLDataPropertyBuiltInArgument)
+			return ((SWRLDataPropertyBuiltInArgument)argument).getOWLDataProperty();
+		else if (argument instanceof SWRLAnnotationPropertyBuiltInArgument)
+			return ((SWRLAnnotationPropertyBuiltInArgument)argument).getOWLAnnotationProperty();
+		else if (argument instanceof SWRLDatatypeBuiltInArgument)
+			return ((SWRLDatatypeBuiltInArgument)argument).getOWLDatatype();
+		else
+			return argument;
+	}
+
+	/**
+	 * @return A new built-in argument for the value, or the value itself if it is a built-in argument
+	 */
+	public SWRLBuiltInArgument toBuiltInArgument(Object value) throws TargetSWRLRuleEngineException
+	{
+		if (value instanceof SWRLBuiltInArgument)
+			return (SWRLBuiltInArgument)value;
+		else if (value instanceof OWLIndividual) {
+			OWLIndividual individual = (OWLIndividual)value;
+			if (individual.isNamed())
+				return this.argumentFactory.getNamedIndividualBuiltInArgument(individual.asOWLNamedIndividual());
+			else
+				throw new TargetSWRLRuleEngineException("anonymous individual " + individual + " cannot be passed to a built-in");
+		} else if (value instanceof OWLLiteral)
+			return this.argumentFactory.getLiteralBuiltInArgument((OWLLiteral)value);
+		else if (value instanceof OWLClass)
+			return this.argumentFactory.getClassBuiltInArgument((OWLClass)value);
+		else if (value instanceof OWLObjectProperty)
+			return this.argumentFactory.getObjectPropertyBuiltInArgument((OWLObjectProperty)value);
+		else if (value instanceof OWLDataProperty)
+			return this.argumentFactory.getDataPropertyBuiltInArgument((OWLDataProperty)value);
+		else if (value instanceof OWLAnnotationProperty)
+			return this.argumentFactory.getAnnotationPropertyBuiltInArgument((OWLAnnotationProperty)value);
+		else if (value instanceof OWLDatatype)
+			return this.argumentFactory.getDatatypeBuiltInArgument((OWLDatatype)value);
+		else
+			throw new TargetSWRLRuleEngineException("unexpected value type " + value.getClass().getCanonicalName());
+	}
+}
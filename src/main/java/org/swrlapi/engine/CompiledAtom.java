@@ -0,0 +1,99 @@
+package org.swrlapi.engine;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+
+/**
+ * A rule atom compiled for evaluation. Each argument is either a variable, identified by its slot in the binding array
+ * of the rule, or a constant. Constants of fact atoms are OWL individuals and literals; constants of built-in atoms are
+ * the original {@link org.swrlapi.builtins.arguments.SWRLBuiltInArgument}s. Demand atoms are created by the
+ * {@link MagicSetRewriter}.
+ */
+class CompiledAtom
+{
+	enum Kind
+	{
+		CLASS, OBJECT_PROPERTY, DATA_PROPERTY, SAME_INDIVIDUAL, DIFFERENT_INDIVIDUALS, DATA_RANGE, BUILT_IN, DEMAND
+	}
+
+	private final Kind kind;
+	private final Object predicate; // A class expression, property, data range or demand predicate; null for others
+	private final int[] slots; // The slot of each argument, or -1 if the argument is a constant
+	private final Object[] constants;
+	private final IRI[] variableIRIs;
+	private final String[] variablePrefixedNames;
+	private final SWRLAPIBuiltInAtom builtInAtom;
+
+	public CompiledAtom(Kind kind, Object predicate, int[] slots, Object[] constants, IRI[] variableIRIs,
+			String[] variablePrefixedNames, SWRLAPIBuiltInAtom builtInAtom)
+	{
+		this.kind = kind;
+		this.predicate = predicate;
+		this.slots = slots;
+		this.constants = constants;
+		this.variableIRIs = variableIRIs;
+		this.variablePrefixedNames = variablePrefixedNames;
+		this.builtInAtom = builtInAtom;
+	}
+
+	public Kind getKind()
+	{
+		return this.kind;
+	}
+
+	public Object getPredicate()
+	{
+		return this.predicate;
+	}
+
+	public int getNumberOfArguments()
+	{
+		return this.slots.length;
+	}
+
+	public int getSlot(int argumentIndex)
+	{
+		return this.slots[argumentIndex];
+	}
+
+	public Object getConstant(int argumentIndex)
+	{
+		return this.constants[argumentIndex];
+	}
+
+	public IRI getVariableIRI(int argumentIndex)
+	{
+		return this.variableIRIs[argumentIndex];
+	}
+
+	/**
+	 * @return The prefixed name of a variable argument of a built-in atom
+	 */
+	public String getVariablePrefixedName(int argumentIndex)
+	{
+		return this.variablePrefixedNames[argumentIndex];
+	}
+
+	public SWRLAPIBuiltInAtom getBuiltInAtom()
+	{
+		return this.builtInAtom;
+	}
+
+	/**
+	 * @return The value of the argument under the bindings, or null if it is an unbound variable
+	 */
+	public Object getValue(int argumentIndex, Object[] bindings)
+	{
+		int slot = this.slots[argumentIndex];
+
+		return slot == -1 ? this.constants[argumentIndex] : bindings[slot];
+	}
+
+	/**
+	 * Fact atoms are matched against the assertions in a {@link FactStore}.
+	 */
+	public boolean isFactAtom()
+	{
+		return this.kind != Kind.BUILT_IN && this.kind != Kind.DATA_RANGE && this.kind != Kind.DEMAND;
+	}
+}
@@ -0,0 +1,105 @@
+package org.swrlapi.engine;
+
+import java.util.List;
+
+/**
+ * A SWRL rule or SQWRL query compiled for evaluation. Variables are numbered so that a match is an array of bindings
+ * indexed by variable slot.
+ * <p/>
+ * The body is evaluated in the order of its atoms except that, during semi-naive evaluation, the atom matched against
+ * the newly added facts is evaluated first. A SQWRL query that uses collections has a second body that is evaluated
+ * after the first has built the collections; the collection variables are bound from the matches of the first body.
+ */
+class CompiledRule
+{
+	private final String name;
+	private final List<CompiledAtom> bodyAtoms;
+	private final List<CompiledAtom> headAtoms;
+	private final List<CompiledAtom> sqwrlCollectionBodyAtoms; // Null if the rule does not build SQWRL collections
+	private final int[] sqwrlCollectionSlots;
+	private final int numberOfVariables;
+	private final int[][] evaluationOrders;
+	private final int[] sqwrlCollectionEvaluationOrder;
+
+	public CompiledRule(String name, List<CompiledAtom> bodyAtoms, List<CompiledAtom> headAtoms,
+			List<CompiledAtom> sqwrlCollectionBodyAtoms, int[] sqwrlCollectionSlots, int numberOfVariables)
+	{
+		this.name = name;
+		this.bodyAtoms = bodyAtoms;
+		this.headAtoms = headAtoms;
+		this.sqwrlCollectionBodyAtoms = sqwrlCollectionBodyAtoms;
+		this.sqwrlCollectionSlots = sqwrlCollectionSlots;
+		this.numberOfVariables = numberOfVariables;
+		this.evaluationOrders = new int[bodyAtoms.size() + 1][];
+
+		for (int firstAtomIndex = -1; firstAtomIndex < bodyAtoms.size(); firstAtomIndex++)
+			this.evaluationOrders[firstAtomIndex + 1] = createEvaluationOrder(firstAtomIndex, bodyAtoms.size());
+
+		this.sqwrlCollectionEvaluationOrder = sqwrlCollectionBodyAtoms == null ?
+				null :
+				createEvaluationOrder(-1, sqwrlCollectionBodyAtoms.size());
+	}
+
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public List<CompiledAtom> getBodyAtoms()
+	{
+		return this.bodyAtoms;
+	}
+
+	public List<CompiledAtom> getHeadAtoms()
+	{
+		return this.headAtoms;
+	}
+
+	public boolean hasSQWRLCollections()
+	{
+		return this.sqwrlCollectionBodyAtoms != null;
+	}
+
+	public List<CompiledAtom> getSQWRLCollectionBodyAtoms()
+	{
+		return this.sqwrlCollectionBodyAtoms;
+	}
+
+	public int[] getSQWRLCollectionEvaluationOrder()
+	{
+		return this.sqwrlCollectionEvaluationOrder;
+	}
+
+	public int[] getSQWRLCollectionSlots()
+	{
+		return this.sqwrlCollectionSlots;
+	}
+
+	public int getNumberOfVariables()
+	{
+		return this.numberOfVariables;
+	}
+
+	/**
+	 * @param firstAtomIndex The index of the body atom to evaluate first, or -1 to evaluate the body in order
+	 */
+	public int[] getEvaluationOrder(int firstAtomIndex)
+	{
+		return this.evaluationOrders[firstAtomIndex + 1];
+	}
+
+	private static int[] createEvaluationOrder(int firstAtomIndex, int numberOfAtoms)
+	{
+		int[] order = new int[numberOfAtoms];
+		int position = 0;
+
+		if (firstAtomIndex != -1)
+			order[position++] = firstAtomIndex;
+
+		for (int atomIndex = 0; atomIndex < numberOfAtoms; atomIndex++) {
+			if (atomIndex != firstAtomIndex)
+				order[position++] = atomIndex;
+		}
+		return order;
+	}
+}
@@ -0,0 +1,75 @@
+package org.swrlapi.engine;
+
+import java.util.Arrays;
+
+/**
+ * A predicate created by the {@link MagicSetRewriter}. It holds the demands for the facts of a class, property, same
+ * individual or different individuals predicate whose arguments are bound where its adornment is true. A demand is held
+ * in the {@link FactStore} as the list of the values of the bound arguments.
+ */
+class DemandPredicate
+{
+	private final CompiledAtom.Kind kind;
+	private final Object predicate; // Null for same and different individuals
+	private final boolean[] adornment;
+
+	public DemandPredicate(CompiledAtom.Kind kind, Object predicate, boolean[] adornment)
+	{
+		this.kind = kind;
+		this.predicate = predicate;
+		this.adornment = adornment;
+	}
+
+	public CompiledAtom.Kind getKind()
+	{
+		return this.kind;
+	}
+
+	public Object getPredicate()
+	{
+		return this.predicate;
+	}
+
+	public int getNumberOfArguments()
+	{
+		return this.adornment.length;
+	}
+
+	public boolean isBound(int argumentIndex)
+	{
+		return this.adornment[argumentIndex];
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+			return true;
+		if (!(obj instanceof DemandPredicate))
+			return false;
+
+		DemandPredicate other = (DemandPredicate)obj;
+
+		return this.kind == other.kind && (this.predicate == null ?
+				other.predicate == null :
+				this.predicate.equals(other.predicate)) && Arrays.equals(this.adornment, other.adornment);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return 31 * (31 * this.kind.hashCode() + (this.predicate == null ? 0 : this.predicate.hashCode())) + Arrays
+				.hashCode(this.adornment);
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder adornment = new StringBuilder();
+
+		for (boolean isBound : this.adornment)
+			adornment.append(isBound ? 'b' : 'f');
+
+		return "demand_" + this.kind + "(" + this.predicate + ")_" + adornment;
+	}
+}
@@ -0,0 +1,448 @@
+package org.swrlapi.engine;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNaryIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The class, object property, data property, same individual and different individuals assertions known to the
+ * native rule engine. Assertions are hash-indexed by predicate and by each of their arguments so that an atom can be
+ * matched against them with any combination of bound arguments without a scan. Same and different individual
+ * assertions are stored in both directions. The store also holds the demands of the {@link MagicSetRewriter}.
+ */
+class FactStore
+{
+	private final Map<OWLClass, Set<OWLIndividual>> classAssertions;
+	private final Map<OWLObjectProperty, BinaryIndex<OWLIndividual, OWLIndividual>> objectPropertyAssertions;
+	private final Map<OWLDataProperty, BinaryIndex<OWLIndividual, OWLLiteral>> dataPropertyAssertions;
+	private final BinaryIndex<OWLIndividual, OWLIndividual> sameIndividuals;
+	private final BinaryIndex<OWLIndividual, OWLIndividual> differentIndividuals;
+	private final Map<DemandPredicate, Set<List<Object>>> demands;
+	private int size;
+
+	public FactStore()
+	{
+		this.classAssertions = new HashMap<>();
+		this.objectPropertyAssertions = new HashMap<>();
+		this.dataPropertyAssertions = new HashMap<>();
+		this.sameIndividuals = new BinaryIndex<>();
+		this.differentIndividuals = new BinaryIndex<>();
+		this.demands = new HashMap<>();
+		this.size = 0;
+	}
+
+	/**
+	 * @return true if the axiom is an assertion held by the store and was not already present
+	 */
+	public boolean add(OWLAxiom axiom)
+	{
+		boolean added = false;
+
+		if (axiom instanceof OWLClassAssertionAxiom) {
+			OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+
+			if (!classAssertionAxiom.getClassExpression().isAnonymous())
+				added = addClassAssertion(classAssertionAxiom.getClassExpression().asOWLClass(),
+						classAssertionAxiom.getIndividual());
+		} else if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+			OWLObjectPropertyAssertionAxiom propertyAssertionAxiom = ((OWLObjectPropertyAssertionAxiom)axiom)
+					.getSimplified(); // Replaces an inverse property by a named property
+
+			added = addObjectPropertyAssertion(propertyAssertionAxiom.getProperty().asOWLObjectProperty(),
+					propertyAssertionAxiom.getSubject(), propertyAssertionAxiom.getObject());
+		} else if (axiom instanceof OWLDataPropertyAssertionAxiom) {
+			OWLDataPropertyAssertionAxiom propertyAssertionAxiom = (OWLDataPropertyAssertionAxiom)axiom;
+
+			added = addDataPropertyAssertion(propertyAssertionAxiom.getProperty().asOWLDataProperty(),
+					propertyAssertionAxiom.getSubject(), propertyAssertionAxiom.getObject());
+		} else if (axiom instanceof OWLSameIndividualAxiom)
+			added = addPairs(this.sameIndividuals, (OWLNaryIndividualAxiom)axiom);
+		else if (axiom instanceof OWLDifferentIndividualsAxiom)
+			added = addPairs(this.differentIndividuals, (OWLNaryIndividualAxiom)axiom);
+
+		return added;
+	}
+
+	/**
+	 * @return true if the axiom is an assertion held by the store; a same or different individuals axiom is held if all
+	 * of its pairs are
+	 */
+	public boolean contains(OWLAxiom axiom)
+	{
+		if (axiom instanceof OWLClassAssertionAxiom) {
+			OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+
+			return !classAssertionAxiom.getClassExpression().isAnonymous() && hasClassAssertion(
+					classAssertionAxiom.getClassExpression().asOWLClass(), classAssertionAxiom.getIndividual());
+		} else if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+			OWLObjectPropertyAssertionAxiom propertyAssertionAxiom = ((OWLObjectPropertyAssertionAxiom)axiom)
+					.getSimplified();
+			BinaryIndex<OWLIndividual, OWLIndividual> index = this.objectPropertyAssertions
+					.get(propertyAssertionAxiom.getProperty().asOWLObjectProperty());
+
+			return index != null && index.contains(propertyAssertionAxiom.getSubject(), propertyAssertionAxiom.getObject());
+		} else if (axiom instanceof OWLDataPropertyAssertionAxiom) {
+			OWLDataPropertyAssertionAxiom propertyAssertionAxiom = (OWLDataPropertyAssertionAxiom)axiom;
+			BinaryIndex<OWLIndividual, OWLLiteral> index = this.dataPropertyAssertions
+					.get(propertyAssertionAxiom.getProperty().asOWLDataProperty());
+
+			return index != null && index.contains(propertyAssertionAxiom.getSubject(), propertyAssertionAxiom.getObject());
+		} else if (axiom instanceof OWLSameIndividualAxiom)
+			return containsPairs(this.sameIndividuals, (OWLNaryIndividualAxiom)axiom);
+		else if (axiom instanceof OWLDifferentIndividualsAxiom)
+			return containsPairs(this.differentIndividuals, (OWLNaryIndividualAxiom)axiom);
+		else
+			return false;
+	}
+
+	/**
+	 * Remove a class, object property or data property assertion. Same and different individual assertions cannot be
+	 * removed.
+	 *
+	 * @return true if the axiom was present
+	 */
+	public boolean remove(OWLAxiom axiom)
+	{
+		boolean removed = false;
+
+		if (axiom instanceof OWLClassAssertionAxiom) {
+			OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+
+			if (!classAssertionAxiom.getClassExpression().isAnonymous()) {
+				OWLClass cls = classAssertionAxiom.getClassExpression().asOWLClass();
+				Set<OWLIndividual> individuals = this.classAssertions.get(cls);
+
+				if (individuals != null && individuals.remove(classAssertionAxiom.getIndividual())) {
+					if (individuals.isEmpty())
+						this.classAssertions.remove(cls);
+					removed = true;
+				}
+			}
+		} else if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+			OWLObjectPropertyAssertionAxiom propertyAssertionAxiom = ((OWLObjectPropertyAssertionAxiom)axiom)
+					.getSimplified();
+			OWLObjectProperty property = propertyAssertionAxiom.getProperty().asOWLObjectProperty();
+			BinaryIndex<OWLIndividual, OWLIndividual> index = this.objectPropertyAssertions.get(property);
+
+			if (index != null && index.remove(propertyAssertionAxiom.getSubject(), propertyAssertionAxiom.getObject())) {
+				if (index.isEmpty())
+					this.objectPropertyAssertions.remove(property);
+				removed = true;
+			}
+		} else if (axiom instanceof OWLDataPropertyAssertionAxiom) {
+			OWLDataPropertyAssertionAxiom propertyAssertionAxiom = (OWLDataPropertyAssertionAxiom)axiom;
+			OWLDataProperty property = propertyAssertionAxiom.getProperty().asOWLDataProperty();
+			BinaryIndex<OWLIndividual, OWLLiteral> index = this.dataPropertyAssertions.get(property);
+
+			if (index != null && index.remove(propertyAssertionAxiom.getSubject(), propertyAssertionAxiom.getObject())) {
+				if (index.isEmpty())
+					this.dataPropertyAssertions.remove(property);
+				removed = true;
+			}
+		}
+
+		if (removed)
+			this.size--;
+
+		return removed;
+	}
+
+	/**
+	 * @return true if the axiom is of a kind that the store holds
+	 */
+	public static boolean isFact(OWLAxiom axiom)
+	{
+		if (axiom instanceof OWLClassAssertionAxiom)
+			return !((OWLClassAssertionAxiom)axiom).getClassExpression().isAnonymous();
+		else
+			return axiom instanceof OWLObjectPropertyAssertionAxiom || axiom instanceof OWLDataPropertyAssertionAxiom
+					|| axiom instanceof OWLSameIndividualAxiom || axiom instanceof OWLDifferentIndividualsAxiom;
+	}
+
+	public boolean addClassAssertion(OWLClass cls, OWLIndividual individual)
+	{
+		Set<OWLIndividual> individuals = this.classAssertions.get(cls);
+
+		if (individuals == null) {
+			individuals = new HashSet<>();
+			this.classAssertions.put(cls, individuals);
+		}
+
+		if (individuals.add(individual)) {
+			this.size++;
+			return true;
+		} else
+			return false;
+	}
+
+	public boolean addObjectPropertyAssertion(OWLObjectProperty property, OWLIndividual subject, OWLIndividual object)
+	{
+		BinaryIndex<OWLIndividual, OWLIndividual> index = this.objectPropertyAssertions.get(property);
+
+		if (index == null) {
+			index = new BinaryIndex<>();
+			this.objectPropertyAssertions.put(property, index);
+		}
+		return countIfAdded(index.add(subject, object));
+	}
+
+	public boolean addDataPropertyAssertion(OWLDataProperty property, OWLIndividual subject, OWLLiteral value)
+	{
+		BinaryIndex<OWLIndividual, OWLLiteral> index = this.dataPropertyAssertions.get(property);
+
+		if (index == null) {
+			index = new BinaryIndex<>();
+			this.dataPropertyAssertions.put(property, index);
+		}
+		return countIfAdded(index.add(subject, value));
+	}
+
+	/**
+	 * @param values The values of the bound arguments of the demand predicate
+	 * @return true if the demand was not already present
+	 */
+	public boolean addDemand(DemandPredicate demandPredicate, List<Object> values)
+	{
+		Set<List<Object>> demands = this.demands.get(demandPredicate);
+
+		if (demands == null) {
+			demands = new HashSet<>();
+			this.demands.put(demandPredicate, demands);
+		}
+		return countIfAdded(demands.add(values));
+	}
+
+	public Set<List<Object>> getDemands(DemandPredicate demandPredicate)
+	{
+		Set<List<Object>> demands = this.demands.get(demandPredicate);
+
+		return demands == null ? Collections.<List<Object>>emptySet() : demands;
+	}
+
+	public void clearDemands()
+	{
+		for (Set<List<Object>> demands : this.demands.values())
+			this.size -= demands.size();
+		this.demands.clear();
+	}
+
+	public boolean hasClassAssertion(OWLClass cls, Object individual)
+	{
+		Set<OWLIndividual> individuals = this.classAssertions.get(cls);
+
+		return individuals != null && individuals.contains(individual);
+	}
+
+	public Set<OWLIndividual> getClassAssertions(OWLClass cls)
+	{
+		Set<OWLIndividual> individuals = this.classAssertions.get(cls);
+
+		return individuals == null ? Collections.<OWLIndividual>emptySet() : individuals;
+	}
+
+	/**
+	 * @return The assertions of the property, or null if there are none
+	 */
+	public BinaryIndex<OWLIndividual, OWLIndividual> getObjectPropertyAssertions(OWLObjectProperty property)
+	{
+		return this.objectPropertyAssertions.get(property);
+	}
+
+	/**
+	 * @return The assertions of the property, or null if there are none
+	 */
+	public BinaryIndex<OWLIndividual, OWLLiteral> getDataPropertyAssertions(OWLDataProperty property)
+	{
+		return this.dataPropertyAssertions.get(property);
+	}
+
+	public BinaryIndex<OWLIndividual, OWLIndividual> getSameIndividuals()
+	{
+		return this.sameIndividuals;
+	}
+
+	public BinaryIndex<OWLIndividual, OWLIndividual> getDifferentIndividuals()
+	{
+		return this.differentIndividuals;
+	}
+
+	public Set<OWLClass> getClasses()
+	{
+		return this.classAssertions.keySet();
+	}
+
+	public Set<OWLObjectProperty> getObjectProperties()
+	{
+		return this.objectPropertyAssertions.keySet();
+	}
+
+	public Set<OWLDataProperty> getDataProperties()
+	{
+		return this.dataPropertyAssertions.keySet();
+	}
+
+	public boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+
+	public int size()
+	{
+		return this.size;
+	}
+
+	public void clear()
+	{
+		this.classAssertions.clear();
+		this.objectPropertyAssertions.clear();
+		this.dataPropertyAssertions.clear();
+		this.sameIndividuals.clear();
+		this.differentIndividuals.clear();
+		this.demands.clear();
+		this.size = 0;
+	}
+
+	private boolean addPairs(BinaryIndex<OWLIndividual, OWLIndividual> index, OWLNaryIndividualAxiom axiom)
+	{
+		List<OWLIndividual> individuals = axiom.getIndividualsAsList();
+		boolean added = false;
+
+		for (OWLIndividual first : individuals) {
+			for (OWLIndividual second : individuals) {
+				if (!first.equals(second))
+					added |= countIfAdded(index.add(first, second));
+			}
+		}
+		return added;
+	}
+
+	private static boolean containsPairs(BinaryIndex<OWLIndividual, OWLIndividual> index, OWLNaryIndividualAxiom axiom)
+	{
+		List<OWLIndividual> individuals = axiom.getIndividualsAsList();
+
+		for (OWLIndividual first : individuals) {
+			for (OWLIndividual second : individuals) {
+				if (!first.equals(second) && !index.contains(first, second))
+					return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean countIfAdded(boolean added)
+	{
+		if (added)
+			this.size++;
+
+		return added;
+	}
+
+	/**
+	 * Pairs indexed by their first and by their second element.
+	 */
+	static class BinaryIndex<S, O>
+	{
+		private final Map<S, Set<O>> bySubject;
+		private final Map<O, Set<S>> byObject;
+
+		public BinaryIndex()
+		{
+			this.bySubject = new HashMap<>();
+			this.byObject = new HashMap<>();
+		}
+
+		public boolean add(S subject, O object)
+		{
+			Set<O> objects = this.bySubject.get(subject);
+
+			if (objects == null) {
+				objects = new HashSet<>();
+				this.bySubject.put(subject, objects);
+			}
+
+			if (objects.add(object)) {
+				Set<S> subjects = this.byObject.get(object);
+
+				if (subjects == null) {
+					subjects = new HashSet<>();
+					this.byObject.put(object, subjects);
+				}
+				subjects.add(subject);
+				return true;
+			} else
+				return false;
+		}
+
+		public boolean remove(S subject, O object)
+		{
+			Set<O> objects = this.bySubject.get(subject);
+
+			if (objects == null || !objects.remove(object))
+				return false;
+
+			if (objects.isEmpty())
+				this.bySubject.remove(subject);
+
+			Set<S> subjects = this.byObject.get(object);
+
+			subjects.remove(subject);
+			if (subjects.isEmpty())
+				this.byObject.remove(object);
+
+			return true;
+		}
+
+		public boolean contains(Object subject, Object object)
+		{
+			Set<O> objects = this.bySubject.get(subject);
+
+			return objects != null && objects.contains(object);
+		}
+
+		public Set<O> getObjects(Object subject)
+		{
+			Set<O> objects = this.bySubject.get(subject);
+
+			return objects == null ? Collections.<O>emptySet() : objects;
+		}
+
+		public Set<S> getSubjects(Object object)
+		{
+			Set<S> subjects = this.byObject.get(object);
+
+			return subjects == null ? Collections.<S>emptySet() : subjects;
+		}
+
+		public Set<S> getSubjects()
+		{
+			return this.bySubject.keySet();
+		}
+
+		public boolean isEmpty()
+		{
+			return this.bySubject.isEmpty();
+		}
+
+		public void clear()
+		{
+			this.bySubject.clear();
+			this.byObject.clear();
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package org.swrlapi.engine;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.sqwrl.SQWRLNames;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rewrites SWRL rules by the magic-sets transformation so that evaluating them derives only the facts that a set of
+ * SQWRL queries can use.
+ * <p/>
+ * A predicate that appears in a rule head is derived. When a derived atom is reached in a query or rule body, its
+ * arguments that are constants or are bound by the atoms before it give it an adornment, and a demand rule derives the
+ * values of these arguments from the atoms before it. Every rule that concludes the adorned predicate is then guarded
+ * by a demand atom, so that it only fires for demanded values, and the atoms in its body are rewritten in turn.
+ * Bindings flow through a body from left to right, and a built-in is assumed to bind all of its arguments.
+ * <p/>
+ * Derived atoms that follow a SQWRL built-in in a query body are demanded with all arguments free, because SQWRL
+ * built-ins build the query result and cannot be evaluated in demand rules. So are the derived atoms that use the
+ * collections of a SQWRL query, which are evaluated after the collections are built.
+ */
+class MagicSetRewriter
+{
+	/**
+	 * @return The demand rules and guarded rules; rules that no query depends on are omitted
+	 */
+	public List<CompiledRule> rewrite(Collection<CompiledRule> rules, Collection<CompiledRule> queries)
+	{
+		Rewriting rewriting = new Rewriting(rules);
+
+		for (CompiledRule query : queries) {
+			if (query.hasSQWRLCollections()) {
+				rewriting.addDemandRules(query, query.getSQWRLCollectionBodyAtoms(), null);
+				for (CompiledAtom atom : query.getBodyAtoms()) {
+					if (rewriting.isDerived(atom))
+						rewriting.addDemandRule(query, Collections.<CompiledAtom>emptyList(), atom,
+								new boolean[query.getNumberOfVariables()]);
+				}
+			} else
+				rewriting.addDemandRules(query, query.getBodyAtoms(), null);
+		}
+
+		while (!rewriting.pendingDemandPredicates.isEmpty())
+			rewriting.addGuardedRules(rewriting.pendingDemandPredicates.poll());
+
+		return rewriting.rewrittenRules;
+	}
+
+	private static List<Object> getPredicateKey(CompiledAtom atom)
+	{
+		return Arrays.asList(atom.getKind(), atom.getPredicate());
+	}
+
+	private static List<Object> getPredicateKey(DemandPredicate demandPredicate)
+	{
+		return Arrays.asList(demandPredicate.getKind(), demandPredicate.getPredicate());
+	}
+
+	/**
+	 * An atom with the bound arguments of a derived atom as its arguments.
+	 */
+	private static CompiledAtom createDemandAtom(DemandPredicate demandPredicate, CompiledAtom atom)
+	{
+		List<Integer> argumentIndexes = new ArrayList<>();
+
+		for (int argumentIndex = 0; argumentIndex < demandPredicate.getNumberOfArguments(); argumentIndex++) {
+			if (demandPredicate.isBound(argumentIndex))
+				argumentIndexes.add(argumentIndex);
+		}
+
+		int[] slots = new int[argumentIndexes.size()];
+		Object[] constants = new Object[argumentIndexes.size()];
+		IRI[] variableIRIs = new IRI[argumentIndexes.size()];
+
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = atom.getSlot(argumentIndexes.get(i));
+			constants[i] = atom.getConstant(argumentIndexes.get(i));
+			variableIRIs[i] = atom.getVariableIRI(argumentIndexes.get(i));
+		}
+		return new CompiledAtom(CompiledAtom.Kind.DEMAND, demandPredicate, slots, constants, variableIRIs,
+				new String[slots.length], null);
+	}
+
+	/**
+	 * The state of a single rewriting.
+	 */
+	private static class Rewriting
+	{
+		private final Map<List<Object>, List<CompiledRule>> definingRules;
+		private final List<CompiledRule> rewrittenRules;
+		private final Set<DemandPredicate> demandPredicates;
+		private final Deque<DemandPredicate> pendingDemandPredicates;
+
+		public Rewriting(Collection<CompiledRule> rules)
+		{
+			this.definingRules = new HashMap<>();
+			this.rewrittenRules = new ArrayList<>();
+			this.demandPredicates = new HashSet<>();
+			this.pendingDemandPredicates = new ArrayDeque<>();
+
+			for (CompiledRule rule : rules) {
+				for (CompiledAtom atom : rule.getHeadAtoms()) {
+					if (atom.isFactAtom()) {
+						List<CompiledRule> definingRules = this.definingRules.get(getPredicateKey(atom));
+
+						if (definingRules == null) {
+							definingRules = new ArrayList<>();
+							this.definingRules.put(getPredicateKey(atom), definingRules);
+						}
+						if (!definingRules.contains(rule))
+							definingRules.add(rule);
+					}
+				}
+			}
+		}
+
+		public boolean isDerived(CompiledAtom atom)
+		{
+			return atom.isFactAtom() && this.definingRules.containsKey(getPredicateKey(atom));
+		}
+
+		/**
+		 * Add a demand rule for each derived atom in a body.
+		 *
+		 * @param guard The demand atom that guards the rule, or null for a query
+		 */
+		public void addDemandRules(CompiledRule rule, List<CompiledAtom> bodyAtoms, CompiledAtom guard)
+		{
+			List<CompiledAtom> precedingAtoms = new ArrayList<>();
+			boolean[] bound = new boolean[rule.getNumberOfVariables()];
+
+			if (guard != null) {
+				precedingAtoms.add(guard);
+				bind(guard, bound);
+			}
+
+			for (CompiledAtom atom : bodyAtoms) {
+				if (isDerived(atom)) {
+					if (precedingAtoms == null)
+						addDemandRule(rule, Collections.<CompiledAtom>emptyList(), atom, bound);
+					else
+						addDemandRule(rule, precedingAtoms, atom, bound);
+				}
+
+				if (precedingAtoms != null && atom.getKind() == CompiledAtom.Kind.BUILT_IN && SQWRLNames
+						.isSQWRLBuiltIn(atom.getBuiltInAtom().getBuiltInPrefixedName())) {
+					precedingAtoms = null;
+					bound = new boolean[rule.getNumberOfVariables()];
+				} else if (precedingAtoms != null) {
+					precedingAtoms.add(atom);
+					bind(atom, bound);
+				}
+			}
+		}
+
+		public void addDemandRule(CompiledRule rule, List<CompiledAtom> precedingAtoms, CompiledAtom atom, boolean[] bound)
+		{
+			boolean[] adornment = new boolean[atom.getNumberOfArguments()];
+
+			for (int argumentIndex = 0; argumentIndex < adornment.length; argumentIndex++) {
+				int slot = atom.getSlot(argumentIndex);
+				adornment[argumentIndex] = slot == -1 || bound[slot];
+			}
+
+			DemandPredicate demandPredicate = new DemandPredicate(atom.getKind(), atom.getPredicate(), adornment);
+
+			this.rewrittenRules.add(new CompiledRule(rule.getName(), new ArrayList<>(precedingAtoms),
+					Collections.singletonList(createDemandAtom(demandPredicate, atom)), null, null,
+					rule.getNumberOfVariables()));
+
+			if (this.demandPredicates.add(demandPredicate))
+				this.pendingDemandPredicates.add(demandPredicate);
+		}
+
+		/**
+		 * Guard each rule that concludes the predicate of a demand and rewrite the body of the guarded rule.
+		 */
+		public void addGuardedRules(DemandPredicate demandPredicate)
+		{
+			for (CompiledRule rule : this.definingRules.get(getPredicateKey(demandPredicate))) {
+				for (CompiledAtom headAtom : rule.getHeadAtoms()) {
+					if (headAtom.isFactAtom() && getPredicateKey(headAtom).equals(getPredicateKey(demandPredicate))) {
+						CompiledAtom guard = createDemandAtom(demandPredicate, headAtom);
+						List<CompiledAtom> bodyAtoms = new ArrayList<>();
+
+						bodyAtoms.add(guard);
+						bodyAtoms.addAll(rule.getBodyAtoms());
+						this.rewrittenRules.add(new CompiledRule(rule.getName(), bodyAtoms, rule.getHeadAtoms(), null, null,
+								rule.getNumberOfVariables()));
+						addDemandRules(rule, rule.getBodyAtoms(), guard);
+					}
+				}
+			}
+		}
+
+		private static void bind(CompiledAtom atom, boolean[] bound)
+		{
+			for (int argumentIndex = 0; argumentIndex < atom.getNumberOfArguments(); argumentIndex++) {
+				if (atom.getSlot(argumentIndex) != -1)
+					bound[atom.getSlot(argumentIndex)] = true;
+			}
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package org.swrlapi.engine;
+
+import org.swrlapi.owl2rl.AbstractOWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLPersistenceLayer;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The OWL 2 RL engine of the native rule engine. The supported rules are materialized by an
+ * {@link OWL2RLMaterializer}.
+ * <p/>
+ * Reflexive equality, datatype, key and qualified cardinality rules are not supported, nor are the schema rules that
+ * infer axioms between anonymous class or property expressions.
+ */
+public class NativeOWL2RLEngine extends AbstractOWL2RLEngine
+{
+	private static final Set<Rule> UNSUPPORTED_RULES = EnumSet
+			.of(Rule.EQ_REF, Rule.EQ_REP_P, Rule.EQ_DIFF2, Rule.EQ_DIFF3, Rule.PRP_AP, Rule.PRP_KEY, Rule.CLS_THING,
+					Rule.CLS_NOTHING1, Rule.CLS_MAXQC1, Rule.CLS_MAXQC2, Rule.CLS_MAXQC3, Rule.CLS_MAXQC4, Rule.DT_TYPE1,
+					Rule.DT_TYPE2, Rule.DT_EQ, Rule.DT_DIFF, Rule.DT_NOT_TYPE, Rule.SCM_CLS, Rule.SCM_EQC2, Rule.SCM_OP,
+					Rule.SCM_DP, Rule.SCM_EQP2, Rule.SCM_HV, Rule.SCM_SVF1, Rule.SCM_SVF2, Rule.SCM_AVF1, Rule.SCM_AVF2,
+					Rule.SCM_INT, Rule.SCM_UNI);
+
+	public NativeOWL2RLEngine(OWL2RLPersistenceLayer persistenceLayer)
+	{
+		super(persistenceLayer, UNSUPPORTED_RULES, EnumSet.noneOf(Rule.class), Collections.<Set<Rule>>emptySet());
+	}
+}
@@ -0,0 +1,908 @@
+package org.swrlapi.engine;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNaryIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.core.OWLAxiomDerivation;
+import org.swrlapi.core.SWRLAPIOWLDataFactory;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineNotImplementedFeatureException;
+import org.swrlapi.owl2rl.OWL2RLEngine;
+import org.swrlapi.sqwrl.SQWRLQuery;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * A pure-Java forward-chaining rule engine that needs no third-party rule engine.
+ * <p/>
+ * Class, property, same individual and different individuals assertions are held in a hash-indexed {@link FactStore}.
+ * Rules are evaluated semi-naively: after each rule has been evaluated once against all facts, a rule is only
+ * re-evaluated with one of its atoms matched against the facts inferred in the previous iteration, until no new facts
+ * are inferred. Built-ins are evaluated by the SWRLAPI built-in libraries through the bridge. SQWRL queries are
+ * evaluated once the rules have reached a fixpoint.
+ * <p/>
+ * With a parallelism greater than 1, the rule evaluations of each iteration are run concurrently in a
+ * {@link ForkJoinPool}. The pool is created by the first run and used by every later run until {@link #shutdown()} is
+ * called. It is not shut down when the engine is reset, because the engine is reset before every SQWRL query run. Its
+ * threads are daemon threads that exit when they have been idle for a while. The facts are not modified while the
+ * rules are evaluated, and each evaluation collects its inferences in its own buffer. The buffers are merged in rule
+ * order, so a run infers the same axioms in the same order whatever its parallelism. A buffer holds each inferred axiom once, and the limits of the execution context are
+ * checked while rules are joined and as buffers grow, so a run that is cancelled or exceeds a limit stops during the
+ * evaluation rather than once it is merged. Built-ins in rule heads are also buffered and are invoked on the calling
+ * thread as the buffers are merged, in the order in which the rules fired.
+ * <p/>
+ * Built-ins in rule bodies are invoked on the evaluating threads, but each built-in library invokes one built-in at a
+ * time, so rules whose evaluation is dominated by built-ins of the same library gain little from parallel evaluation.
+ * <p/>
+ * The enabled OWL 2 RL rules are materialized by an {@link OWL2RLMaterializer} whenever the SWRL rules reach a
+ * fixpoint, and the SWRL rules are then run again over the facts it inferred. An inconsistency found by an OWL 2 RL
+ * rule is reported by throwing an {@link org.swrlapi.exceptions.InconsistentKnowledgeBaseException}.
+ * <p/>
+ * A goal-directed engine that runs SQWRL queries with no OWL 2 RL rules enabled evaluates the SWRL rules as rewritten
+ * for the queries by a {@link MagicSetRewriter}, so only the facts that the queries can use are inferred. The OWL 2 RL
+ * rules are materialized over all facts, so the SWRL rules are evaluated in full when any are enabled.
+ * <p/>
+ * An engine that records derivations records each distinct rule firing with the bridge as a derivation of the axioms
+ * it infers, naming the rule and the facts that matched its body. Retracted assertions are then removed by delete and
+ * rederive, using these derivations to withdraw only the affected inferences. Derivations are not recorded by default
+ * because they take memory for every firing, so an engine that does not record them is reset and reloaded when
+ * assertions are retracted. Rules and same or different individuals assertions cannot be retracted, so the engine is
+ * also reset and reloaded when they are removed. The engine provides no OWL reasoner.
+ */
+public class NativeSWRLRuleEngine implements TargetSWRLRuleEngine
+{
+	public static final String NAME = "Native";
+	public static final String VERSION = "1.0";
+
+	private final SWRLRuleEngineBridge bridge;
+	private final int parallelism;
+	private final boolean isGoalDirected;
+	private final boolean isRecordingDerivations;
+	private final OWL2RLEngine owl2RLEngine;
+	private final SWRLRuleCompiler compiler;
+	private final MagicSetRewriter magicSetRewriter;
+	private final FactStore facts;
+	private final RuleEvaluator evaluator;
+	private final OWL2RLMaterializer owl2RLMaterializer;
+	private final Map<String, CompiledRule> swrlRules;
+	private final Set<CompiledRule> newSWRLRules; // Rules not yet evaluated against all facts
+	private final Map<String, SQWRLQuery> sqwrlQueries;
+	private final Map<String, CompiledRule> compiledSQWRLQueries;
+	private final Set<String> activeSQWRLQueryNames; // Recorded when defined; processing the ontology resets the flags
+	private final Set<OWLAxiom> inferredOWLAxioms; // Inferred axioms that are not held as facts
+	private final Set<OWLAxiom> definedOWLAxioms; // Normalized as facts are, to match them against premises
+	private final Set<OWLAxiom> owl2RLInferredOWLAxioms; // The OWL 2 RL rules record no derivations
+	private final List<OWLAxiom> deferredOWLAxioms; // Axioms defined during a run, for example by built-ins
+	private final List<OWLAxiom> newOWL2RLFacts; // Facts added since the OWL 2 RL rules were last materialized
+
+	private FactStore delta; // Facts added since they were last used to evaluate the rules
+	private ForkJoinPool pool; // Created by the first run with a parallelism greater than 1
+	private boolean isRunning;
+
+	public NativeSWRLRuleEngine(SWRLRuleEngineBridge bridge)
+	{
+		this(bridge, 1);
+	}
+
+	/**
+	 * @param parallelism The number of threads used to evaluate rules; 1 evaluates them on the calling thread
+	 */
+	public NativeSWRLRuleEngine(SWRLRuleEngineBridge bridge, int parallelism)
+	{
+		this(bridge, parallelism, false);
+	}
+
+	/**
+	 * @param parallelism    The number of threads used to evaluate rules; 1 evaluates them on the calling thread
+	 * @param isGoalDirected If true, the SWRL rules are rewritten for the SQWRL queries being run
+	 */
+	public NativeSWRLRuleEngine(SWRLRuleEngineBridge bridge, int parallelism, boolean isGoalDirected)
+	{
+		this(bridge, parallelism, isGoalDirected, false);
+	}
+
+	/**
+	 * @param parallelism            The number of threads used to evaluate rules; 1 evaluates them on the calling thread
+	 * @param isGoalDirected         If true, the SWRL rules are rewritten for the SQWRL queries being run
+	 * @param isRecordingDerivations If true, rule firings are recorded as derivations so that retracted assertions can be
+	 *                               removed without a reset
+	 */
+	public NativeSWRLRuleEngine(SWRLRuleEngineBridge bridge, int parallelism, boolean isGoalDirected,
+			boolean isRecordingDerivations)
+	{
+		BuiltInArgumentConverter argumentConverter = new BuiltInArgumentConverter(bridge.getSWRLBuiltInArgumentFactory());
+
+		this.bridge = bridge;
+		this.parallelism = parallelism;
+		this.isGoalDirected = isGoalDirected;
+		this.isRecordingDerivations = isRecordingDerivations;
+		this.owl2RLEngine = new NativeOWL2RLEngine(bridge.getOWL2RLPersistenceLayer());
+		this.compiler = new SWRLRuleCompiler(argumentConverter);
+		this.magicSetRewriter = new MagicSetRewriter();
+		this.facts = new FactStore();
+		this.evaluator = new RuleEvaluator(bridge, argumentConverter, this.facts);
+		this.owl2RLMaterializer = new OWL2RLMaterializer(this.facts, bridge.getSWRLAPIOWLDataFactory());
+		this.swrlRules = new LinkedHashMap<>();
+		this.newSWRLRules = new HashSet<>();
+		this.sqwrlQueries = new LinkedHashMap<>();
+		this.compiledSQWRLQueries = new LinkedHashMap<>();
+		this.activeSQWRLQueryNames = new HashSet<>();
+		this.inferredOWLAxioms = new HashSet<>();
+		this.definedOWLAxioms = new HashSet<>();
+		this.owl2RLInferredOWLAxioms = new HashSet<>();
+		this.deferredOWLAxioms = Collections.synchronizedList(new ArrayList<OWLAxiom>());
+		this.newOWL2RLFacts = new ArrayList<>();
+		this.delta = new FactStore();
+		this.pool = null;
+		this.isRunning = false;
+	}
+
+	@Override
+	public void defineOWLAxiom(OWLAxiom axiom) throws TargetSWRLRuleEngineException
+	{
+		if (axiom instanceof SWRLAPIRule)
+			defineSWRLRule((SWRLAPIRule)axiom);
+		else if (this.isRunning) // Added once the current iteration is complete; may be called from several threads
+			this.deferredOWLAxioms.add(axiom);
+		else
+			addOWLAxiom(axiom);
+	}
+
+	@Override
+	public void defineOWLAxioms(Collection<? extends OWLAxiom> axioms) throws TargetSWRLRuleEngineException
+	{
+		for (OWLAxiom axiom : axioms)
+			defineOWLAxiom(axiom);
+	}
+
+	@Override
+	public void retractOWLAxiom(OWLAxiom axiom) throws TargetSWRLRuleEngineException
+	{
+		retractOWLAxioms(Collections.singleton(axiom));
+	}
+
+	/**
+	 * Retracted axioms are removed by delete and rederive. Every inference that depends on them, directly or through
+	 * other inferences, is deleted, and the deleted inferences that still have a derivation whose premises are all
+	 * present are then restored. The inferences of the OWL 2 RL rules are all deleted and are materialized again on the
+	 * next run. An engine that does not record derivations cannot retract assertions and must be reset.
+	 */
+	@Override
+	public void retractOWLAxioms(Collection<? extends OWLAxiom> axioms) throws TargetSWRLRuleEngineException
+	{
+		Set<OWLAxiom> retractedOWLAxioms = new HashSet<>();
+		boolean isFactRetracted = false;
+		boolean isSchemaChanged = false;
+
+		for (OWLAxiom axiom : axioms) {
+			if (axiom instanceof SWRLAPIRule)
+				throw new TargetSWRLRuleEngineNotImplementedFeatureException(
+						"rule retraction is not supported by the " + NAME + " rule engine");
+
+			OWLAxiom normalizedAxiom = normalizeOWLAxiom(axiom);
+
+			if (this.definedOWLAxioms.contains(normalizedAxiom)) {
+				retractedOWLAxioms.add(normalizedAxiom);
+				if (FactStore.isFact(normalizedAxiom))
+					isFactRetracted = true;
+				else if (normalizedAxiom.isLogicalAxiom())
+					isSchemaChanged = true;
+			}
+		}
+
+		if (retractedOWLAxioms.isEmpty())
+			return;
+
+		if (!this.isRecordingDerivations)
+			throw new TargetSWRLRuleEngineNotImplementedFeatureException(
+					"retraction without recorded derivations is not supported by the " + NAME + " rule engine");
+
+		boolean isOWL2RLAffected = isSchemaChanged || (isFactRetracted && !this.owl2RLEngine.getEnabledRules().isEmpty());
+		Set<OWLAxiom> deletedOWLAxioms = overdelete(retractedOWLAxioms, isOWL2RLAffected);
+		Set<OWLAxiom> undeliveredOWLAxioms = new HashSet<>(); // Deleted facts that were waiting in the delta
+
+		for (OWLAxiom axiom : deletedOWLAxioms) { // Checked before anything is changed so that the engine can be reset
+			if (axiom instanceof OWLNaryIndividualAxiom)
+				throw new TargetSWRLRuleEngineNotImplementedFeatureException(
+						"retraction of same or different individuals axioms is not supported by the " + NAME + " rule engine");
+		}
+
+		this.definedOWLAxioms.removeAll(retractedOWLAxioms);
+		for (OWLAxiom axiom : deletedOWLAxioms) {
+			if (FactStore.isFact(axiom)) {
+				this.facts.remove(axiom);
+				if (this.delta.remove(axiom))
+					undeliveredOWLAxioms.add(axiom);
+			} else if (retractedOWLAxioms.contains(axiom))
+				this.owl2RLMaterializer.retractSchemaAxiom(axiom);
+			else
+				this.inferredOWLAxioms.remove(axiom);
+			this.owl2RLInferredOWLAxioms.remove(axiom);
+		}
+
+		for (OWLAxiom axiom : rederive(deletedOWLAxioms)) {
+			deletedOWLAxioms.remove(axiom);
+			if (undeliveredOWLAxioms.contains(axiom))
+				this.delta.add(axiom);
+			if (retractedOWLAxioms.contains(axiom)) // No longer asserted but still inferred
+				this.bridge.inferOWLAxiom(axiom);
+		}
+
+		for (OWLAxiom axiom : deletedOWLAxioms) {
+			for (OWLAxiom conclusion : new ArrayList<>(this.bridge.getOWLAxiomsDerivedFrom(axiom))) {
+				for (OWLAxiomDerivation derivation : new ArrayList<>(this.bridge.getOWLAxiomDerivations(conclusion))) {
+					if (derivation.getPremises().contains(axiom))
+						this.bridge.retractOWLAxiomDerivation(conclusion, derivation);
+				}
+			}
+			if (!retractedOWLAxioms.contains(axiom))
+				this.bridge.retractInferredOWLAxiom(axiom);
+		}
+		this.newOWL2RLFacts.removeAll(deletedOWLAxioms);
+
+		if (isOWL2RLAffected)
+			this.owl2RLMaterializer.invalidate();
+	}
+
+	@Override
+	public void defineSQWRLQuery(SQWRLQuery query) throws TargetSWRLRuleEngineException
+	{
+		this.compiledSQWRLQueries.put(query.getQueryName(), this.compiler.compileSQWRLQuery(query));
+		this.sqwrlQueries.put(query.getQueryName(), query);
+		if (query.isActive())
+			this.activeSQWRLQueryNames.add(query.getQueryName());
+		else
+			this.activeSQWRLQueryNames.remove(query.getQueryName());
+	}
+
+	@Override
+	public void retractSQWRLQuery(SQWRLQuery query) throws TargetSWRLRuleEngineException
+	{
+		this.sqwrlQueries.remove(query.getQueryName());
+		this.compiledSQWRLQueries.remove(query.getQueryName());
+		this.activeSQWRLQueryNames.remove(query.getQueryName());
+	}
+
+	@Override
+	public void runRuleEngine() throws TargetSWRLRuleEngineException
+	{
+		this.isRunning = true;
+		if (this.parallelism > 1 && this.pool == null)
+			this.pool = new ForkJoinPool(this.parallelism);
+		try {
+			List<CompiledRule> goalDirectedRules = rewriteSWRLRules();
+
+			if (goalDirectedRules == null) {
+				do {
+					runSWRLRules(this.swrlRules.values(), this.newSWRLRules);
+					runOWL2RLRules();
+				} while (!this.delta.isEmpty());
+			} else {
+				runSWRLRules(goalDirectedRules, new HashSet<>(goalDirectedRules));
+				this.newOWL2RLFacts.clear();
+				this.facts.clearDemands();
+				this.newSWRLRules.addAll(this.swrlRules.values()); // Rules may not have inferred all facts
+			}
+			runSQWRLQueries();
+		} finally {
+			this.isRunning = false;
+		}
+	}
+
+	/**
+	 * Shut down the threads used to evaluate rules in parallel. A later run starts new threads.
+	 */
+	public void shutdown()
+	{
+		if (this.pool != null) {
+			this.pool.shutdown();
+			this.pool = null;
+		}
+	}
+
+	@Override
+	public void resetRuleEngine() throws TargetSWRLRuleEngineException
+	{
+		this.facts.clear();
+		this.delta = new FactStore();
+		this.swrlRules.clear();
+		this.newSWRLRules.clear();
+		this.sqwrlQueries.clear();
+		this.compiledSQWRLQueries.clear();
+		this.activeSQWRLQueryNames.clear();
+		this.inferredOWLAxioms.clear();
+		this.definedOWLAxioms.clear();
+		this.owl2RLInferredOWLAxioms.clear();
+		this.deferredOWLAxioms.clear();
+		this.newOWL2RLFacts.clear();
+		this.owl2RLMaterializer.reset();
+	}
+
+	@Override
+	public String getName()
+	{
+		return NAME;
+	}
+
+	@Override
+	public String getVersion()
+	{
+		return VERSION;
+	}
+
+	/**
+	 * @return null because the native rule engine provides no OWL reasoner
+	 */
+	@Override
+	public OWLReasoner getOWLReasoner()
+	{
+		return null;
+	}
+
+	@Override
+	public OWL2RLEngine getOWL2RLEngine()
+	{
+		return this.owl2RLEngine;
+	}
+
+	private void defineSWRLRule(SWRLAPIRule rule) throws TargetSWRLRuleEngineException
+	{
+		if (rule.isActive()) {
+			CompiledRule compiledRule = this.compiler.compileSWRLRule(rule);
+
+			this.swrlRules.put(rule.getRuleName(), compiledRule);
+			this.newSWRLRules.add(compiledRule);
+		}
+	}
+
+	/**
+	 * Facts are added to the delta and recorded for the OWL 2 RL rules; other axioms are passed to the OWL 2 RL rules as
+	 * schema axioms.
+	 */
+	private void addOWLAxiom(OWLAxiom axiom)
+	{
+		this.definedOWLAxioms.add(normalizeOWLAxiom(axiom));
+
+		if (this.facts.add(axiom)) {
+			this.delta.add(axiom);
+			this.newOWL2RLFacts.add(axiom);
+		} else if (!FactStore.isFact(axiom))
+			this.owl2RLMaterializer.defineSchemaAxiom(axiom);
+	}
+
+	/**
+	 * @return The SWRL rules rewritten for the active SQWRL queries, or null if the rules are evaluated in full
+	 */
+	private List<CompiledRule> rewriteSWRLRules()
+	{
+		List<CompiledRule> queries = new ArrayList<>();
+
+		if (!this.isGoalDirected || !this.owl2RLEngine.getEnabledRules().isEmpty())
+			return null;
+
+		for (SQWRLQuery query : this.sqwrlQueries.values()) {
+			if (this.activeSQWRLQueryNames.contains(query.getQueryName()))
+				queries.add(this.compiledSQWRLQueries.get(query.getQueryName()));
+		}
+		return queries.isEmpty() ? null : this.magicSetRewriter.rewrite(this.swrlRules.values(), queries);
+	}
+
+	/**
+	 * @param newRules The rules to evaluate against all facts rather than the delta; cleared once they are evaluated
+	 */
+	private void runSWRLRules(Collection<CompiledRule> rules, Set<CompiledRule> newRules)
+			throws TargetSWRLRuleEngineException
+	{
+		Set<CompiledRule> newRulesToEvaluate = new HashSet<>(newRules);
+
+		newRules.clear();
+
+		while (!this.delta.isEmpty() || !newRulesToEvaluate.isEmpty()) {
+			FactStore delta = this.delta;
+			List<SWRLRuleEvaluation> evaluations = new ArrayList<>();
+
+			this.delta = new FactStore();
+
+			for (CompiledRule rule : rules) {
+				if (newRulesToEvaluate.contains(rule))
+					evaluations.add(new SWRLRuleEvaluation(rule, -1, null));
+				else if (!delta.isEmpty()) {
+					for (int atomIndex = 0; atomIndex < rule.getBodyAtoms().size(); atomIndex++) {
+						if (RuleEvaluator.hasFacts(delta, rule.getBodyAtoms().get(atomIndex)))
+							evaluations.add(new SWRLRuleEvaluation(rule, atomIndex, delta));
+					}
+				}
+			}
+			newRulesToEvaluate.clear();
+
+			for (InferenceBuffer inferences : evaluateSWRLRules(evaluations)) {
+				for (Map.Entry<DemandPredicate, Set<List<Object>>> demands : inferences.getDemands().entrySet()) {
+					for (List<Object> demand : demands.getValue()) {
+						if (this.facts.addDemand(demands.getKey(), demand))
+							this.delta.addDemand(demands.getKey(), demand);
+					}
+				}
+
+				for (Map.Entry<OWLAxiom, Set<OWLAxiomDerivation>> inference : inferences.getDerivations().entrySet()) {
+					OWLAxiom axiom = inference.getKey();
+
+					for (OWLAxiomDerivation derivation : inference.getValue())
+						this.bridge.recordOWLAxiomDerivation(axiom, derivation);
+					if (this.facts.add(axiom)) {
+						this.delta.add(axiom);
+						this.newOWL2RLFacts.add(axiom);
+						this.bridge.inferOWLAxiom(axiom);
+					} else if (!FactStore.isFact(axiom) && this.inferredOWLAxioms.add(axiom))
+						this.bridge.inferOWLAxiom(axiom);
+				}
+
+				for (BuiltInInvocation invocation : inferences.getBuiltInInvocations())
+					this.evaluator.invokeBuiltIn(invocation.getRuleName(), invocation.getAtom(), invocation.getBindings(), true);
+			}
+
+			for (OWLAxiom axiom : this.deferredOWLAxioms)
+				addOWLAxiom(axiom);
+			this.deferredOWLAxioms.clear();
+		}
+	}
+
+	/**
+	 * @return The inferences of the evaluations, in the order of the evaluations
+	 */
+	private List<InferenceBuffer> evaluateSWRLRules(List<SWRLRuleEvaluation> evaluations)
+			throws TargetSWRLRuleEngineException
+	{
+		List<InferenceBuffer> inferences = new ArrayList<>(evaluations.size());
+
+		if (this.pool == null || evaluations.size() < 2) {
+			for (SWRLRuleEvaluation evaluation : evaluations)
+				inferences.add(evaluation.call());
+		} else {
+			try {
+				for (Future<InferenceBuffer> result : this.pool.invokeAll(evaluations))
+					inferences.add(result.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new TargetSWRLRuleEngineException("interrupted while evaluating SWRL rules", e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof TargetSWRLRuleEngineException)
+					throw (TargetSWRLRuleEngineException)cause;
+				else if (cause instanceof RuntimeException)
+					throw (RuntimeException)cause;
+				else if (cause instanceof Error)
+					throw (Error)cause;
+				else
+					throw new TargetSWRLRuleEngineException("error evaluating SWRL rules: " + cause.getMessage(), cause);
+			}
+		}
+		return inferences;
+	}
+
+	/**
+	 * Facts inferred by the OWL 2 RL rules have already been added to the fact store, so they are only added to the delta
+	 * for the SWRL rules.
+	 */
+	private void runOWL2RLRules()
+	{
+		if (!this.owl2RLEngine.getEnabledRules().isEmpty()) {
+			for (OWLAxiom axiom : this.owl2RLMaterializer
+					.materialize(this.newOWL2RLFacts, this.owl2RLEngine.getEnabledRules())) {
+				if (FactStore.isFact(axiom)) {
+					this.delta.add(axiom);
+					this.owl2RLInferredOWLAxioms.add(axiom);
+					this.bridge.inferOWLAxiom(axiom);
+				} else if (this.inferredOWLAxioms.add(axiom)) {
+					this.owl2RLInferredOWLAxioms.add(axiom);
+					this.bridge.inferOWLAxiom(axiom);
+				}
+			}
+		}
+		this.newOWL2RLFacts.clear();
+	}
+
+	/**
+	 * @param firstAtomIndex The index of the body atom to match against the delta, or -1 to match the whole body against
+	 *                       all facts
+	 */
+	private void evaluateSWRLRule(final CompiledRule rule, int firstAtomIndex, FactStore delta,
+			final InferenceBuffer inferences) throws TargetSWRLRuleEngineException
+	{
+		this.evaluator.evaluate(rule.getName(), rule.getBodyAtoms(), rule.getEvaluationOrder(firstAtomIndex), delta,
+				new Object[rule.getNumberOfVariables()], new RuleEvaluator.MatchHandler()
+				{
+					@Override
+					public void match(Object[] bindings) throws TargetSWRLRuleEngineException
+					{
+						fireSWRLRule(rule, bindings, inferences);
+					}
+				});
+	}
+
+	private void fireSWRLRule(CompiledRule rule, Object[] bindings, InferenceBuffer inferences)
+			throws TargetSWRLRuleEngineException
+	{
+		OWLAxiomDerivation derivation = null;
+
+		for (CompiledAtom atom : rule.getHeadAtoms()) {
+			if (atom.getKind() == CompiledAtom.Kind.BUILT_IN)
+				inferences.addBuiltInInvocation(new BuiltInInvocation(rule.getName(), atom, bindings.clone()));
+			else if (atom.getKind() == CompiledAtom.Kind.DEMAND) {
+				List<Object> demand = new ArrayList<>(atom.getNumberOfArguments());
+
+				for (int argumentIndex = 0; argumentIndex < atom.getNumberOfArguments(); argumentIndex++)
+					demand.add(atom.getValue(argumentIndex, bindings));
+				inferences.addDemand((DemandPredicate)atom.getPredicate(), demand);
+			} else {
+				OWLAxiom axiom = createOWLAxiom(atom, bindings);
+
+				if (axiom != null) {
+					if (derivation == null && this.isRecordingDerivations)
+						derivation = new OWLAxiomDerivation(rule.getName(), getPremises(rule, bindings));
+					inferences.addOWLAxiom(axiom, derivation);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return The facts matched by the body atoms of a rule for the bindings of a firing
+	 */
+	private List<OWLAxiom> getPremises(CompiledRule rule, Object[] bindings)
+	{
+		List<OWLAxiom> premises = new ArrayList<>();
+
+		for (CompiledAtom atom : rule.getBodyAtoms()) {
+			if (atom.getKind() != CompiledAtom.Kind.BUILT_IN) {
+				OWLAxiom premise = createOWLAxiom(atom, bindings);
+
+				if (premise != null)
+					premises.add(premise);
+			}
+		}
+		return premises;
+	}
+
+	/**
+	 * @return The axiom stated by a class, property, same individual or different individuals atom for the bindings, or
+	 * null if the atom states none
+	 */
+	private OWLAxiom createOWLAxiom(CompiledAtom atom, Object[] bindings)
+	{
+		SWRLAPIOWLDataFactory dataFactory = this.bridge.getSWRLAPIOWLDataFactory();
+		Object first = atom.getNumberOfArguments() > 0 ? atom.getValue(0, bindings) : null;
+		Object second = atom.getNumberOfArguments() > 1 ? atom.getValue(1, bindings) : null;
+
+		switch (atom.getKind()) {
+		case CLASS:
+			if (first instanceof OWLIndividual)
+				return dataFactory.getOWLClassAssertionAxiom((OWLClassExpression)atom.getPredicate(), (OWLIndividual)first);
+			break;
+		case OBJECT_PROPERTY:
+			if (first instanceof OWLIndividual && second instanceof OWLIndividual)
+				return dataFactory.getOWLObjectPropertyAssertionAxiom((OWLObjectProperty)atom.getPredicate(),
+						(OWLIndividual)first, (OWLIndividual)second);
+			break;
+		case DATA_PROPERTY:
+			if (first instanceof OWLIndividual && second instanceof OWLLiteral)
+				return dataFactory.getOWLDataPropertyAssertionAxiom((OWLDataProperty)atom.getPredicate(),
+						(OWLIndividual)first, (OWLLiteral)second);
+			break;
+		case SAME_INDIVIDUAL:
+			if (first instanceof OWLIndividual && second instanceof OWLIndividual && !first.equals(second))
+				return dataFactory.getOWLSameIndividualAxiom((OWLIndividual)first, (OWLIndividual)second);
+			break;
+		case DIFFERENT_INDIVIDUALS:
+			if (first instanceof OWLIndividual && second instanceof OWLIndividual)
+				return dataFactory.getOWLDifferentIndividualsAxiom((OWLIndividual)first, (OWLIndividual)second);
+			break;
+		default: // Data range and built-in atoms state no axioms
+			break;
+		}
+		return null;
+	}
+
+	/**
+	 * Axioms are matched against premises without their annotations and with inverse object properties replaced by named
+	 * properties, as they are held in the fact store.
+	 */
+	private static OWLAxiom normalizeOWLAxiom(OWLAxiom axiom)
+	{
+		OWLAxiom normalizedAxiom = axiom.getAxiomWithoutAnnotations();
+
+		if (normalizedAxiom instanceof OWLObjectPropertyAssertionAxiom)
+			return ((OWLObjectPropertyAssertionAxiom)normalizedAxiom).getSimplified();
+		else
+			return normalizedAxiom;
+	}
+
+	/**
+	 * @param isOWL2RLAffected If true, all axioms inferred by the OWL 2 RL rules are deleted
+	 * @return The retracted axioms and the inferences that depend on them
+	 */
+	private Set<OWLAxiom> overdelete(Set<OWLAxiom> retractedOWLAxioms, boolean isOWL2RLAffected)
+	{
+		Set<OWLAxiom> deletedOWLAxioms = new HashSet<>(retractedOWLAxioms);
+		Deque<OWLAxiom> pendingOWLAxioms = new ArrayDeque<>(retractedOWLAxioms);
+
+		if (isOWL2RLAffected) {
+			for (OWLAxiom axiom : this.owl2RLInferredOWLAxioms) {
+				if (!this.definedOWLAxioms.contains(axiom) && deletedOWLAxioms.add(axiom))
+					pendingOWLAxioms.add(axiom);
+			}
+		}
+
+		while (!pendingOWLAxioms.isEmpty()) {
+			for (OWLAxiom conclusion : this.bridge.getOWLAxiomsDerivedFrom(pendingOWLAxioms.poll())) {
+				if (!this.definedOWLAxioms.contains(conclusion) && deletedOWLAxioms.add(conclusion))
+					pendingOWLAxioms.add(conclusion);
+			}
+		}
+		return deletedOWLAxioms;
+	}
+
+	/**
+	 * Restore the deleted axioms that have a derivation whose premises are all present, until no more can be restored.
+	 *
+	 * @return The restored axioms
+	 */
+	private Set<OWLAxiom> rederive(Set<OWLAxiom> deletedOWLAxioms)
+	{
+		Set<OWLAxiom> rederivedOWLAxioms = new HashSet<>();
+		boolean isRederived;
+
+		do {
+			isRederived = false;
+			for (OWLAxiom axiom : deletedOWLAxioms) {
+				if (!rederivedOWLAxioms.contains(axiom) && isSupported(axiom, deletedOWLAxioms, rederivedOWLAxioms)) {
+					rederivedOWLAxioms.add(axiom);
+					if (FactStore.isFact(axiom))
+						this.facts.add(axiom);
+					else
+						this.inferredOWLAxioms.add(axiom);
+					isRederived = true;
+				}
+			}
+		} while (isRederived);
+
+		return rederivedOWLAxioms;
+	}
+
+	private boolean isSupported(OWLAxiom axiom, Set<OWLAxiom> deletedOWLAxioms, Set<OWLAxiom> rederivedOWLAxioms)
+	{
+		for (OWLAxiomDerivation derivation : this.bridge.getOWLAxiomDerivations(axiom)) {
+			boolean isSupported = true;
+
+			for (OWLAxiom premise : derivation.getPremises()) {
+				if (deletedOWLAxioms.contains(premise) && !rederivedOWLAxioms.contains(premise)) {
+					isSupported = false;
+					break;
+				}
+			}
+			if (isSupported)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * A built-in in the head of a rule with the bindings of the firing that invokes it.
+	 */
+	private static class BuiltInInvocation
+	{
+		private final String ruleName;
+		private final CompiledAtom atom;
+		private final Object[] bindings;
+
+		public BuiltInInvocation(String ruleName, CompiledAtom atom, Object[] bindings)
+		{
+			this.ruleName = ruleName;
+			this.atom = atom;
+			this.bindings = bindings;
+		}
+
+		public String getRuleName()
+		{
+			return this.ruleName;
+		}
+
+		public CompiledAtom getAtom()
+		{
+			return this.atom;
+		}
+
+		public Object[] getBindings()
+		{
+			return this.bindings;
+		}
+	}
+
+	/**
+	 * The axioms inferred, the demands made and the head built-ins invoked by an evaluation of a rule. Each axiom is held
+	 * once with the distinct derivations of the firings that inferred it, if derivations are recorded, in the order in
+	 * which the axioms were first inferred. The axioms that the engine does not already hold are counted as they are
+	 * added and checked against the limits of the execution context, so a buffer never grows past the inferred axiom
+	 * limit.
+	 */
+	private class InferenceBuffer
+	{
+		private final Map<OWLAxiom, Set<OWLAxiomDerivation>> derivations;
+		private final Map<DemandPredicate, Set<List<Object>>> demands;
+		private final List<BuiltInInvocation> builtInInvocations; // In firing order
+		private long numberOfNewOWLAxioms;
+
+		public InferenceBuffer()
+		{
+			this.derivations = new LinkedHashMap<>();
+			this.demands = new LinkedHashMap<>();
+			this.builtInInvocations = new ArrayList<>();
+			this.numberOfNewOWLAxioms = 0;
+		}
+
+		/**
+		 * @param derivation The derivation of the firing or null if derivations are not recorded
+		 */
+		public void addOWLAxiom(OWLAxiom axiom, OWLAxiomDerivation derivation)
+		{
+			Set<OWLAxiomDerivation> axiomDerivations = this.derivations.get(axiom);
+
+			if (axiomDerivations == null) {
+				axiomDerivations = derivation == null ?
+						Collections.<OWLAxiomDerivation>emptySet() :
+						new LinkedHashSet<OWLAxiomDerivation>();
+				this.derivations.put(axiom, axiomDerivations);
+				if (!isKnownOWLAxiom(axiom))
+					NativeSWRLRuleEngine.this.bridge.checkExecutionLimits(++this.numberOfNewOWLAxioms);
+			}
+			if (derivation != null)
+				axiomDerivations.add(derivation);
+		}
+
+		public void addDemand(DemandPredicate demandPredicate, List<Object> demand)
+		{
+			Set<List<Object>> predicateDemands = this.demands.get(demandPredicate);
+
+			if (predicateDemands == null) {
+				predicateDemands = new LinkedHashSet<>();
+				this.demands.put(demandPredicate, predicateDemands);
+			}
+			predicateDemands.add(demand);
+		}
+
+		public void addBuiltInInvocation(BuiltInInvocation invocation)
+		{
+			this.builtInInvocations.add(invocation);
+		}
+
+		public Map<OWLAxiom, Set<OWLAxiomDerivation>> getDerivations()
+		{
+			return this.derivations;
+		}
+
+		public Map<DemandPredicate, Set<List<Object>>> getDemands()
+		{
+			return this.demands;
+		}
+
+		public List<BuiltInInvocation> getBuiltInInvocations()
+		{
+			return this.builtInInvocations;
+		}
+
+		/**
+		 * Only reads the facts and inferred axioms, which are not modified while rules are evaluated.
+		 */
+		private boolean isKnownOWLAxiom(OWLAxiom axiom)
+		{
+			if (FactStore.isFact(axiom))
+				return NativeSWRLRuleEngine.this.facts.contains(axiom);
+			else
+				return NativeSWRLRuleEngine.this.inferredOWLAxioms.contains(axiom);
+		}
+	}
+
+	/**
+	 * An evaluation of a rule in an iteration, which collects the axioms that it infers in its own buffer.
+	 */
+	private class SWRLRuleEvaluation implements Callable<InferenceBuffer>
+	{
+		private final CompiledRule rule;
+		private final int firstAtomIndex;
+		private final FactStore delta;
+
+		public SWRLRuleEvaluation(CompiledRule rule, int firstAtomIndex, FactStore delta)
+		{
+			this.rule = rule;
+			this.firstAtomIndex = firstAtomIndex;
+			this.delta = delta;
+		}
+
+		@Override
+		public InferenceBuffer call() throws TargetSWRLRuleEngineException
+		{
+			InferenceBuffer inferences = new InferenceBuffer();
+
+			evaluateSWRLRule(this.rule, this.firstAtomIndex, this.delta, inferences);
+
+			return inferences;
+		}
+	}
+
+	private void runSQWRLQueries() throws TargetSWRLRuleEngineException
+	{
+		for (SQWRLQuery query : this.sqwrlQueries.values()) {
+			if (this.activeSQWRLQueryNames.contains(query.getQueryName()))
+				runSQWRLQuery(this.compiledSQWRLQueries.get(query.getQueryName()));
+		}
+	}
+
+	/**
+	 * The head of a query contains only built-ins, which build the query result. A query that uses collections first
+	 * builds them and then evaluates its remaining atoms with the collection variables bound.
+	 */
+	private void runSQWRLQuery(final CompiledRule query) throws TargetSWRLRuleEngineException
+	{
+		Object[] bindings = new Object[query.getNumberOfVariables()];
+
+		if (query.hasSQWRLCollections()) {
+			final Object[] collections = new Object[query.getNumberOfVariables()];
+			final int[] collectionSlots = query.getSQWRLCollectionSlots();
+
+			this.evaluator.evaluate(query.getName(), query.getSQWRLCollectionBodyAtoms(),
+					query.getSQWRLCollectionEvaluationOrder(), null, new Object[query.getNumberOfVariables()],
+					new RuleEvaluator.MatchHandler()
+					{
+						@Override
+						public void match(Object[] bindings)
+						{
+							for (int slot : collectionSlots) {
+								if (collections[slot] == null)
+									collections[slot] = bindings[slot];
+							}
+						}
+					});
+
+			for (int slot : collectionSlots) {
+				if (collections[slot] == null) // No collection was made so the query has no results
+					return;
+				bindings[slot] = collections[slot];
+			}
+		}
+
+		this.evaluator.evaluate(query.getName(), query.getBodyAtoms(), query.getEvaluationOrder(-1), null, bindings,
+				new RuleEvaluator.MatchHandler()
+				{
+					@Override
+					public void match(Object[] bindings) throws TargetSWRLRuleEngineException
+					{
+						for (CompiledAtom atom : query.getHeadAtoms()) {
+							if (atom.getKind() == CompiledAtom.Kind.BUILT_IN)
+								NativeSWRLRuleEngine.this.evaluator.invokeBuiltIn(query.getName(), atom, bindings, true);
+						}
+					}
+				});
+	}
+}
@@ -0,0 +1,67 @@
+package org.swrlapi.engine;
+
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.core.SWRLRuleEngineManager;
+import org.swrlapi.exceptions.SWRLAPIException;
+
+/**
+ * Creates instances of the native rule engine.
+ *
+ * @see org.swrlapi.engine.NativeSWRLRuleEngine
+ */
+public class NativeSWRLRuleEngineCreator implements SWRLRuleEngineManager.TargetSWRLRuleEngineCreator
+{
+	private final int parallelism;
+	private final boolean isGoalDirected;
+	private final boolean isRecordingDerivations;
+
+	public NativeSWRLRuleEngineCreator()
+	{
+		this(1);
+	}
+
+	/**
+	 * @param parallelism The number of threads that the created engines use to evaluate rules
+	 */
+	public NativeSWRLRuleEngineCreator(int parallelism)
+	{
+		this(parallelism, false);
+	}
+
+	/**
+	 * @param parallelism    The number of threads that the created engines use to evaluate rules
+	 * @param isGoalDirected If true, the created engines rewrite the SWRL rules for the SQWRL queries they run
+	 */
+	public NativeSWRLRuleEngineCreator(int parallelism, boolean isGoalDirected)
+	{
+		this(parallelism, isGoalDirected, false);
+	}
+
+	/**
+	 * @param parallelism            The number of threads that the created engines use to evaluate rules
+	 * @param isGoalDirected         If true, the created engines rewrite the SWRL rules for the SQWRL queries they run
+	 * @param isRecordingDerivations If true, the created engines record the derivations of the axioms they infer
+	 */
+	public NativeSWRLRuleEngineCreator(int parallelism, boolean isGoalDirected, boolean isRecordingDerivations)
+	{
+		if (parallelism < 1)
+			throw new SWRLAPIException("rule evaluation parallelism must be at least 1; got " + parallelism);
+
+		this.parallelism = parallelism;
+		this.isGoalDirected = isGoalDirected;
+		this.isRecordingDerivations = isRecordingDerivations;
+	}
+
+	@Override
+	public TargetSWRLRuleEngine create(SWRLRuleEngineBridge bridge)
+	{
+		return new NativeSWRLRuleEngine(bridge, this.parallelism, this.isGoalDirected, this.isRecordingDerivations);
+	}
+
+	@Override
+	public String getRuleEngineName()
+	{
+		return NativeSWRLRuleEngine.NAME;
+	}
+}
@@ -0,0 +1,711 @@
+package org.swrlapi.engine;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataHasValue;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObjectAllValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectComplementOf;
+import org.semanticweb.owlapi.model.OWLObjectHasValue;
+import org.semanticweb.owlapi.model.OWLObjectIntersectionOf;
+import org.semanticweb.owlapi.model.OWLObjectMaxCardinality;
+import org.semanticweb.owlapi.model.OWLObjectOneOf;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectUnionOf;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
+import org.swrlapi.exceptions.InconsistentKnowledgeBaseException;
+import org.swrlapi.owl2rl.OWL2RLNames.Rule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Materializes the consequences of the enabled OWL 2 RL rules over the assertions in a {@link FactStore}.
+ * <p/>
+ * Rules are not evaluated generically. Instead, each new assertion is taken from a work list and the rules that it
+ * can trigger are applied directly, using the precomputed closures and indexes of an {@link OWL2RLSchema} and the hash
+ * indexes of the fact store to find the other premises. Same individuals are kept in equivalence classes in a
+ * union-find structure that merges the smaller class into the larger.
+ * <p/>
+ * An inconsistency found by a rule is reported by throwing an {@link InconsistentKnowledgeBaseException} that names the
+ * rule.
+ */
+class OWL2RLMaterializer
+{
+	private enum FactKind
+	{
+		CLASS, OBJECT_PROPERTY, DATA_PROPERTY, SAME_INDIVIDUAL, DIFFERENT_INDIVIDUALS
+	}
+
+	private final FactStore facts;
+	private final OWLDataFactory dataFactory;
+	private final Set<OWLAxiom> schemaAxioms;
+	private final Map<OWLIndividual, Set<OWLClassExpression>> individualTypes;
+	private final Map<OWLClassExpression, Set<OWLIndividual>> anonymousClassMembers;
+	private final Map<OWLIndividual, Set<OWLIndividual>> sameIndividuals; // Each individual maps to its class
+	private final Deque<Fact> pendingFacts;
+	private final List<OWLAxiom> inferredAxioms;
+
+	private OWL2RLSchema schema; // Null if the schema axioms or enabled rules have changed since it was compiled
+	private Set<Rule> enabledRules;
+
+	public OWL2RLMaterializer(FactStore facts, OWLDataFactory dataFactory)
+	{
+		this.facts = facts;
+		this.dataFactory = dataFactory;
+		this.schemaAxioms = new HashSet<>();
+		this.individualTypes = new HashMap<>();
+		this.anonymousClassMembers = new HashMap<>();
+		this.sameIndividuals = new HashMap<>();
+		this.pendingFacts = new ArrayDeque<>();
+		this.inferredAxioms = new ArrayList<>();
+		this.schema = null;
+		this.enabledRules = EnumSet.noneOf(Rule.class);
+	}
+
+	/**
+	 * Record a class or property axiom, or an assertion that is not held as a fact. The schema is recompiled, and all facts are materialized again, on the next call
+	 * to {@link #materialize(Collection, Set)}.
+	 */
+	public void defineSchemaAxiom(OWLAxiom axiom)
+	{
+		if (axiom.isLogicalAxiom() && this.schemaAxioms.add(axiom.getAxiomWithoutAnnotations()))
+			this.schema = null;
+	}
+
+	/**
+	 * Withdraw an axiom recorded by {@link #defineSchemaAxiom(OWLAxiom)}. The schema is recompiled, and all facts are
+	 * materialized again, on the next call to {@link #materialize(Collection, Set)}.
+	 */
+	public void retractSchemaAxiom(OWLAxiom axiom)
+	{
+		if (this.schemaAxioms.remove(axiom.getAxiomWithoutAnnotations()))
+			this.schema = null;
+	}
+
+	/**
+	 * Materialize all facts again on the next call to {@link #materialize(Collection, Set)}, which is needed once facts
+	 * have been removed from the fact store.
+	 */
+	public void invalidate()
+	{
+		this.schema = null;
+	}
+
+	/**
+	 * Apply the enabled rules to the new facts, which must already have been added to the fact store, until no more
+	 * facts can be inferred.
+	 *
+	 * @return The facts and schema axioms inferred; inferred facts have been added to the fact store
+	 * @throws InconsistentKnowledgeBaseException If a rule finds an inconsistency
+	 */
+	public List<OWLAxiom> materialize(Collection<OWLAxiom> newFacts, Set<Rule> enabledRules)
+	{
+		this.inferredAxioms.clear();
+
+		if (this.schema == null || !this.enabledRules.equals(enabledRules)) {
+			this.enabledRules = enabledRules.isEmpty() ? EnumSet.noneOf(Rule.class) : EnumSet.copyOf(enabledRules);
+			this.schema = new OWL2RLSchema(this.schemaAxioms, this.enabledRules, this.dataFactory);
+			this.individualTypes.clear();
+			this.anonymousClassMembers.clear();
+			this.sameIndividuals.clear();
+			this.inferredAxioms.addAll(this.schema.getInferredSchemaAxioms());
+			addAllFacts();
+		} else {
+			for (OWLAxiom axiom : newFacts)
+				addFact(axiom);
+		}
+
+		while (!this.pendingFacts.isEmpty())
+			applyRules(this.pendingFacts.poll());
+
+		return new ArrayList<>(this.inferredAxioms);
+	}
+
+	public void reset()
+	{
+		this.schemaAxioms.clear();
+		this.individualTypes.clear();
+		this.anonymousClassMembers.clear();
+		this.sameIndividuals.clear();
+		this.pendingFacts.clear();
+		this.inferredAxioms.clear();
+		this.schema = null;
+	}
+
+	private void addAllFacts()
+	{
+		for (OWLObjectProperty property : this.facts.getObjectProperties()) {
+			FactStore.BinaryIndex<OWLIndividual, OWLIndividual> index = this.facts.getObjectPropertyAssertions(property);
+			for (OWLIndividual subject : index.getSubjects())
+				for (OWLIndividual object : index.getObjects(subject))
+					this.pendingFacts.add(new Fact(FactKind.OBJECT_PROPERTY, property, subject, object));
+		}
+
+		for (OWLDataProperty property : this.facts.getDataProperties()) {
+			FactStore.BinaryIndex<OWLIndividual, OWLLiteral> index = this.facts.getDataPropertyAssertions(property);
+			for (OWLIndividual subject : index.getSubjects())
+				for (OWLLiteral value : index.getObjects(subject))
+					this.pendingFacts.add(new Fact(FactKind.DATA_PROPERTY, property, subject, value));
+		}
+
+		for (OWLClassExpression cls : this.facts.getClasses())
+			for (OWLIndividual individual : this.facts.getClassAssertions(cls.asOWLClass()))
+				this.pendingFacts.add(new Fact(FactKind.CLASS, cls, individual, null));
+
+		addAllPairs(FactKind.SAME_INDIVIDUAL, this.facts.getSameIndividuals());
+		addAllPairs(FactKind.DIFFERENT_INDIVIDUALS, this.facts.getDifferentIndividuals());
+
+		for (OWLAxiom axiom : this.schemaAxioms) {
+			if (axiom instanceof OWLClassAssertionAxiom) { // Assertions of class expressions are not held as facts
+				OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+				addClassAssertion(classAssertionAxiom.getIndividual(), classAssertionAxiom.getClassExpression());
+			}
+		}
+
+		for (OWLObjectOneOf oneOf : this.schema.getOneOfs()) // CLS_OO
+			for (OWLIndividual individual : oneOf.getIndividuals())
+				addClassAssertion(individual, oneOf);
+	}
+
+	private void addAllPairs(FactKind kind, FactStore.BinaryIndex<OWLIndividual, OWLIndividual> index)
+	{
+		for (OWLIndividual first : index.getSubjects())
+			for (OWLIndividual second : index.getObjects(first))
+				this.pendingFacts.add(new Fact(kind, null, first, second));
+	}
+
+	private void addFact(OWLAxiom axiom)
+	{
+		if (axiom instanceof OWLClassAssertionAxiom) {
+			OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+			this.pendingFacts.add(new Fact(FactKind.CLASS, classAssertionAxiom.getClassExpression(),
+					classAssertionAxiom.getIndividual(), null));
+		} else if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+			OWLObjectPropertyAssertionAxiom propertyAssertionAxiom = ((OWLObjectPropertyAssertionAxiom)axiom)
+					.getSimplified();
+			this.pendingFacts.add(new Fact(FactKind.OBJECT_PROPERTY, propertyAssertionAxiom.getProperty(),
+					propertyAssertionAxiom.getSubject(), propertyAssertionAxiom.getObject()));
+		} else if (axiom instanceof OWLDataPropertyAssertionAxiom) {
+			OWLDataPropertyAssertionAxiom propertyAssertionAxiom = (OWLDataPropertyAssertionAxiom)axiom;
+			this.pendingFacts.add(new Fact(FactKind.DATA_PROPERTY, propertyAssertionAxiom.getProperty(),
+					propertyAssertionAxiom.getSubject(), propertyAssertionAxiom.getObject()));
+		} else if (axiom instanceof OWLSameIndividualAxiom || axiom instanceof OWLDifferentIndividualsAxiom) {
+			FactKind kind = axiom instanceof OWLSameIndividualAxiom ?
+					FactKind.SAME_INDIVIDUAL :
+					FactKind.DIFFERENT_INDIVIDUALS;
+			for (OWLIndividual first : axiom.getIndividualsInSignature())
+				for (OWLIndividual second : axiom.getIndividualsInSignature())
+					if (!first.equals(second))
+						this.pendingFacts.add(new Fact(kind, null, first, second));
+		}
+	}
+
+	private void applyRules(Fact fact)
+	{
+		switch (fact.kind) {
+		case CLASS:
+			applyClassRules((OWLClassExpression)fact.predicate, fact.subject);
+			break;
+		case OBJECT_PROPERTY:
+			applyObjectPropertyRules((OWLObjectProperty)fact.predicate, fact.subject, (OWLIndividual)fact.object);
+			break;
+		case DATA_PROPERTY:
+			applyDataPropertyRules((OWLDataProperty)fact.predicate, fact.subject, (OWLLiteral)fact.object);
+			break;
+		case SAME_INDIVIDUAL:
+			mergeSameIndividuals(fact.subject, (OWLIndividual)fact.object);
+			break;
+		case DIFFERENT_INDIVIDUALS:
+			if (isEnabled(Rule.EQ_DIFF1) && getSameIndividuals(fact.subject).contains(fact.object))
+				throwInconsistency(Rule.EQ_DIFF1, fact.subject, fact.object);
+			break;
+		}
+	}
+
+	private void applyClassRules(OWLClassExpression cls, OWLIndividual individual)
+	{
+		addToMap(this.individualTypes, individual, cls);
+
+		if (cls.isOWLNothing() && isEnabled(Rule.CLS_NOTHING2))
+			throwInconsistency(Rule.CLS_NOTHING2, individual);
+
+		for (OWLClassExpression superClass : this.schema.getSuperClasses(cls)) // CAX_SCO, CAX_EQC1, CAX_EQC2
+			addClassAssertion(individual, superClass);
+
+		for (Map.Entry<OWLClassExpression, Rule> disjointClass : this.schema.getDisjointClasses(cls).entrySet())
+			if (isMember(individual, disjointClass.getKey())) // CAX_DW, CAX_ADC
+				throwInconsistency(disjointClass.getValue(), individual, cls, disjointClass.getKey());
+
+		if (cls instanceof OWLObjectIntersectionOf && isEnabled(Rule.CLS_INT2))
+			for (OWLClassExpression operand : ((OWLObjectIntersectionOf)cls).getOperands())
+				addClassAssertion(individual, operand);
+
+		for (OWLObjectIntersectionOf intersection : this.schema.getIntersectionsByOperand(cls)) // CLS_INT1
+			if (isMemberOfAll(individual, intersection.getOperands()))
+				addClassAssertion(individual, intersection);
+
+		for (OWLObjectUnionOf union : this.schema.getUnionsByOperand(cls)) // CLS_UNI
+			addClassAssertion(individual, union);
+
+		if (cls instanceof OWLObjectComplementOf && isEnabled(Rule.CLS_COM) && isMember(individual,
+				((OWLObjectComplementOf)cls).getOperand()))
+			throwInconsistency(Rule.CLS_COM, individual, cls);
+
+		for (OWLObjectComplementOf complement : this.schema.getComplementsByOperand(cls)) // CLS_COM
+			if (isMember(individual, complement))
+				throwInconsistency(Rule.CLS_COM, individual, complement);
+
+		for (OWLObjectSomeValuesFrom someValuesFrom : this.schema.getSomeValuesFromByFiller(cls)) // CLS_SFV1
+			for (OWLIndividual subject : copy(getSubjects(someValuesFrom.getProperty(), individual)))
+				addClassAssertion(subject, someValuesFrom);
+
+		if (cls instanceof OWLObjectAllValuesFrom && isEnabled(Rule.CLS_AVF)) {
+			OWLObjectAllValuesFrom allValuesFrom = (OWLObjectAllValuesFrom)cls;
+			for (OWLIndividual object : copy(getObjects(allValuesFrom.getProperty(), individual)))
+				addClassAssertion(object, allValuesFrom.getFiller());
+		}
+
+		if (cls instanceof OWLObjectHasValue && isEnabled(Rule.CLS_HV1)) {
+			OWLObjectHasValue hasValue = (OWLObjectHasValue)cls;
+			addObjectPropertyAssertion(hasValue.getProperty(), individual, hasValue.getFiller());
+		} else if (cls instanceof OWLDataHasValue && isEnabled(Rule.CLS_HV1)) {
+			OWLDataHasValue hasValue = (OWLDataHasValue)cls;
+			addDataPropertyAssertion(hasValue.getProperty(), individual, hasValue.getFiller());
+		}
+
+		if (cls instanceof OWLObjectMaxCardinality) {
+			OWLObjectMaxCardinality maxCardinality = (OWLObjectMaxCardinality)cls;
+			if (this.schema.getMaxCardinalitiesByProperty(maxCardinality.getProperty().getSimplified())
+					.contains(maxCardinality))
+				applyMaxCardinality(individual, maxCardinality);
+		}
+
+		if (isEnabled(Rule.EQ_REP_S))
+			for (OWLIndividual sameIndividual : getOtherSameIndividuals(individual))
+				addClassAssertion(sameIndividual, cls);
+	}
+
+	private void applyObjectPropertyRules(OWLObjectProperty property, OWLIndividual subject, OWLIndividual object)
+	{
+		applyObjectPropertyExpressionRules(property, subject, object);
+		applyObjectPropertyExpressionRules(property.getInverseProperty(), object, subject);
+
+		if (this.schema.isIrreflexive(property) && subject.equals(object))
+			throwInconsistency(Rule.PRP_IRP, subject, property);
+
+		if (this.schema.isAsymmetric(property) && hasObjectPropertyAssertion(property, object, subject))
+			throwInconsistency(Rule.PRP_ASYP, subject, object, property);
+
+		if (this.schema.hasNegativePropertyAssertions() && this.schema.hasNegativePropertyAssertion(
+				this.dataFactory.getOWLNegativeObjectPropertyAssertionAxiom(property, subject, object)))
+			throwInconsistency(Rule.PRP_NPA1, subject, object, property);
+
+		if (this.schema.isTransitive(property)) { // PRP_TRP
+			for (OWLIndividual next : copy(getObjects(property, object)))
+				addObjectPropertyAssertion(property, subject, next);
+			for (OWLIndividual previous : copy(getSubjects(property, subject)))
+				addObjectPropertyAssertion(property, previous, object);
+		}
+
+		for (OWLSubPropertyChainOfAxiom chainAxiom : this.schema.getPropertyChains(property)) // PRP_SPO2
+			applyPropertyChain(chainAxiom, property, subject, object);
+
+		if (isEnabled(Rule.EQ_REP_S))
+			for (OWLIndividual sameIndividual : getOtherSameIndividuals(subject))
+				addObjectPropertyAssertion(property, sameIndividual, object);
+
+		if (isEnabled(Rule.EQ_REP_O))
+			for (OWLIndividual sameIndividual : getOtherSameIndividuals(object))
+				addObjectPropertyAssertion(property, subject, sameIndividual);
+	}
+
+	/**
+	 * Apply the rules that are indexed by property expression. Each object property assertion is applied both as an
+	 * assertion of its property and, with its arguments swapped, as an assertion of the inverse of its property.
+	 */
+	private void applyObjectPropertyExpressionRules(OWLObjectPropertyExpression property, OWLIndividual subject,
+			OWLIndividual object)
+	{
+		// PRP_SPO1, PRP_EQP1, PRP_EQP2, PRP_INV1, PRP_INV2, PRP_SYMP
+		for (OWLObjectPropertyExpression superProperty : this.schema.getSuperObjectProperties(property))
+			addObjectPropertyAssertion(superProperty, subject, object);
+
+		for (OWLClassExpression domain : this.schema.getObjectPropertyDomains(property)) // PRP_DOM
+			addClassAssertion(subject, domain);
+
+		for (OWLClassExpression range : this.schema.getObjectPropertyRanges(property)) // PRP_RNG
+			addClassAssertion(object, range);
+
+		Rule functionalRule = this.schema.getFunctionalObjectPropertyRule(property); // PRP_FP, PRP_IFP
+		if (functionalRule != null)
+			for (OWLIndividual otherObject : getObjects(property, subject))
+				if (!otherObject.equals(object))
+					addSameIndividuals(object, otherObject);
+
+		for (OWLObjectSomeValuesFrom someValuesFrom : this.schema.getSomeValuesFromByProperty(property)) // CLS_SFV1, CLS_SFV2
+			if (someValuesFrom.getFiller().isOWLThing() || isMember(object, someValuesFrom.getFiller()))
+				addClassAssertion(subject, someValuesFrom);
+
+		for (OWLObjectAllValuesFrom allValuesFrom : this.schema.getAllValuesFromByProperty(property)) // CLS_AVF
+			if (isMember(subject, allValuesFrom))
+				addClassAssertion(object, allValuesFrom.getFiller());
+
+		for (OWLObjectHasValue hasValue : this.schema.getObjectHasValuesByProperty(property)) // CLS_HV2
+			if (hasValue.getFiller().equals(object))
+				addClassAssertion(subject, hasValue);
+
+		for (OWLObjectMaxCardinality maxCardinality : this.schema.getMaxCardinalitiesByProperty(property))
+			if (isMember(subject, maxCardinality)) // CLS_MAXC1, CLS_MAXC2
+				applyMaxCardinality(subject, maxCardinality);
+
+		for (Map.Entry<OWLObjectPropertyExpression, Rule> disjointProperty : this.schema
+				.getDisjointObjectProperties(property).entrySet())
+			if (hasObjectPropertyAssertion(disjointProperty.getKey(), subject, object)) // PRP_PDW, PRP_ADP
+				throwInconsistency(disjointProperty.getValue(), subject, object, property, disjointProperty.getKey());
+	}
+
+	private void applyDataPropertyRules(OWLDataProperty property, OWLIndividual subject, OWLLiteral value)
+	{
+		for (OWLDataPropertyExpression superProperty : this.schema.getSuperDataProperties(property)) // PRP_SPO1, PRP_EQP*
+			addDataPropertyAssertion(superProperty, subject, value);
+
+		for (OWLClassExpression domain : this.schema.getDataPropertyDomains(property)) // PRP_DOM
+			addClassAssertion(subject, domain);
+
+		for (OWLDataHasValue hasValue : this.schema.getDataHasValuesByProperty(property)) // CLS_HV2
+			if (hasValue.getFiller().equals(value))
+				addClassAssertion(subject, hasValue);
+
+		for (Map.Entry<OWLDataPropertyExpression, Rule> disjointProperty : this.schema.getDisjointDataProperties(property)
+				.entrySet()) {
+			FactStore.BinaryIndex<OWLIndividual, OWLLiteral> index = this.facts
+					.getDataPropertyAssertions(disjointProperty.getKey().asOWLDataProperty());
+			if (index != null && index.contains(subject, value)) // PRP_PDW, PRP_ADP
+				throwInconsistency(disjointProperty.getValue(), subject, value, property, disjointProperty.getKey());
+		}
+
+		if (this.schema.hasNegativePropertyAssertions() && this.schema.hasNegativePropertyAssertion(
+				this.dataFactory.getOWLNegativeDataPropertyAssertionAxiom(property, subject, value)))
+			throwInconsistency(Rule.PRP_NPA2, subject, value, property);
+
+		if (isEnabled(Rule.EQ_REP_S))
+			for (OWLIndividual sameIndividual : getOtherSameIndividuals(subject))
+				addDataPropertyAssertion(property, sameIndividual, value);
+	}
+
+	/**
+	 * Find every chain of assertions that passes through the new assertion at a position of its property in the chain.
+	 */
+	private void applyPropertyChain(OWLSubPropertyChainOfAxiom chainAxiom, OWLObjectProperty property,
+			OWLIndividual subject, OWLIndividual object)
+	{
+		List<OWLObjectPropertyExpression> chain = chainAxiom.getPropertyChain();
+
+		for (int position = 0; position < chain.size(); position++) {
+			OWLObjectPropertyExpression chainProperty = chain.get(position);
+
+			if (chainProperty.getNamedProperty().equals(property)) {
+				Set<OWLIndividual> starts = new HashSet<>();
+				Set<OWLIndividual> ends = new HashSet<>();
+
+				starts.add(chainProperty.isAnonymous() ? object : subject);
+				ends.add(chainProperty.isAnonymous() ? subject : object);
+
+				for (int previousPosition = position - 1; previousPosition >= 0 && !starts.isEmpty(); previousPosition--) {
+					Set<OWLIndividual> previous = new HashSet<>();
+					for (OWLIndividual start : starts)
+						previous.addAll(getSubjects(chain.get(previousPosition), start));
+					starts = previous;
+				}
+
+				for (int nextPosition = position + 1; nextPosition < chain.size() && !ends.isEmpty(); nextPosition++) {
+					Set<OWLIndividual> next = new HashSet<>();
+					for (OWLIndividual end : ends)
+						next.addAll(getObjects(chain.get(nextPosition), end));
+					ends = next;
+				}
+
+				for (OWLIndividual start : starts)
+					for (OWLIndividual end : ends)
+						addObjectPropertyAssertion(chainAxiom.getSuperProperty(), start, end);
+			}
+		}
+	}
+
+	private void applyMaxCardinality(OWLIndividual individual, OWLObjectMaxCardinality maxCardinality)
+	{
+		List<OWLIndividual> objects = copy(getObjects(maxCardinality.getProperty(), individual));
+
+		if (maxCardinality.getCardinality() == 0 && !objects.isEmpty())
+			throwInconsistency(Rule.CLS_MAXC1, individual, maxCardinality);
+		else if (maxCardinality.getCardinality() == 1) { // CLS_MAXC2
+			for (int i = 1; i < objects.size(); i++)
+				addSameIndividuals(objects.get(0), objects.get(i));
+		}
+	}
+
+	/**
+	 * Merge the classes of same individuals. With EQ_TRANS every pair of individuals in the merged class is inferred to
+	 * be the same; otherwise only the merged pair is. With EQ_REP_S and EQ_REP_O the assertions of each individual are
+	 * copied to the individuals in the other class.
+	 */
+	private void mergeSameIndividuals(OWLIndividual first, OWLIndividual second)
+	{
+		Set<OWLIndividual> firstClass = getSameIndividualClass(first);
+		Set<OWLIndividual> secondClass = getSameIndividualClass(second);
+
+		if (firstClass == secondClass)
+			return;
+
+		Set<OWLIndividual> smallerClass = firstClass.size() < secondClass.size() ? firstClass : secondClass;
+		Set<OWLIndividual> largerClass = smallerClass == firstClass ? secondClass : firstClass;
+
+		if (isEnabled(Rule.EQ_DIFF1))
+			for (OWLIndividual individual : smallerClass)
+				for (OWLIndividual differentIndividual : this.facts.getDifferentIndividuals().getObjects(individual))
+					if (largerClass.contains(differentIndividual))
+						throwInconsistency(Rule.EQ_DIFF1, individual, differentIndividual);
+
+		List<OWLIndividual> largerClassMembers = new ArrayList<>(largerClass);
+
+		largerClass.addAll(smallerClass);
+		for (OWLIndividual individual : smallerClass)
+			this.sameIndividuals.put(individual, largerClass);
+
+		if (isEnabled(Rule.EQ_TRANS)) {
+			for (OWLIndividual individual : smallerClass)
+				for (OWLIndividual otherIndividual : largerClassMembers)
+					addSameIndividualAssertion(individual, otherIndividual);
+		} else
+			addSameIndividualAssertion(first, second);
+
+		if (isEnabled(Rule.EQ_REP_S) || isEnabled(Rule.EQ_REP_O)) {
+			for (OWLIndividual individual : smallerClass) {
+				for (OWLIndividual otherIndividual : largerClassMembers) {
+					copyAssertions(individual, otherIndividual);
+					copyAssertions(otherIndividual, individual);
+				}
+			}
+		}
+	}
+
+	private void copyAssertions(OWLIndividual from, OWLIndividual to)
+	{
+		if (isEnabled(Rule.EQ_REP_S)) {
+			for (OWLClassExpression cls : copy(getIndividualTypes(from)))
+				addClassAssertion(to, cls);
+
+			for (OWLObjectProperty property : copy(this.facts.getObjectProperties()))
+				for (OWLIndividual object : copy(getObjects(property, from)))
+					addObjectPropertyAssertion(property, to, object);
+
+			for (OWLDataProperty property : copy(this.facts.getDataProperties()))
+				for (OWLLiteral value : copy(this.facts.getDataPropertyAssertions(property).getObjects(from)))
+					addDataPropertyAssertion(property, to, value);
+		}
+
+		if (isEnabled(Rule.EQ_REP_O)) {
+			for (OWLObjectProperty property : copy(this.facts.getObjectProperties()))
+				for (OWLIndividual subject : copy(getSubjects(property, from)))
+					addObjectPropertyAssertion(property, subject, to);
+		}
+	}
+
+	private void addClassAssertion(OWLIndividual individual, OWLClassExpression cls)
+	{
+		if (cls.isOWLThing()) // Every individual is a member of owl:Thing so its membership is not recorded
+			return;
+
+		if (!cls.isAnonymous()) {
+			if (this.facts.addClassAssertion(cls.asOWLClass(), individual)) {
+				this.inferredAxioms.add(this.dataFactory.getOWLClassAssertionAxiom(cls, individual));
+				this.pendingFacts.add(new Fact(FactKind.CLASS, cls, individual, null));
+			}
+		} else if (addToMap(this.anonymousClassMembers, cls, individual))
+			this.pendingFacts.add(new Fact(FactKind.CLASS, cls, individual, null));
+	}
+
+	private void addObjectPropertyAssertion(OWLObjectPropertyExpression property, OWLIndividual subject,
+			OWLIndividual object)
+	{
+		if (property.isAnonymous())
+			addObjectPropertyAssertion(property.getNamedProperty(), object, subject);
+		else if (this.facts.addObjectPropertyAssertion(property.asOWLObjectProperty(), subject, object)) {
+			this.inferredAxioms.add(this.dataFactory.getOWLObjectPropertyAssertionAxiom(property, subject, object));
+			this.pendingFacts.add(new Fact(FactKind.OBJECT_PROPERTY, property, subject, object));
+		}
+	}
+
+	private void addDataPropertyAssertion(OWLDataPropertyExpression property, OWLIndividual subject, OWLLiteral value)
+	{
+		if (this.facts.addDataPropertyAssertion(property.asOWLDataProperty(), subject, value)) {
+			this.inferredAxioms.add(this.dataFactory.getOWLDataPropertyAssertionAxiom(property, subject, value));
+			this.pendingFacts.add(new Fact(FactKind.DATA_PROPERTY, property, subject, value));
+		}
+	}
+
+	private void addSameIndividuals(OWLIndividual first, OWLIndividual second)
+	{
+		this.pendingFacts.add(new Fact(FactKind.SAME_INDIVIDUAL, null, first, second));
+	}
+
+	private void addSameIndividualAssertion(OWLIndividual first, OWLIndividual second)
+	{
+		OWLAxiom axiom = this.dataFactory.getOWLSameIndividualAxiom(first, second);
+
+		if (this.facts.add(axiom))
+			this.inferredAxioms.add(axiom);
+	}
+
+	private boolean hasObjectPropertyAssertion(OWLObjectPropertyExpression property, OWLIndividual subject,
+			OWLIndividual object)
+	{
+		return getObjects(property, subject).contains(object);
+	}
+
+	private Set<OWLIndividual> getObjects(OWLObjectPropertyExpression property, OWLIndividual subject)
+	{
+		FactStore.BinaryIndex<OWLIndividual, OWLIndividual> index = this.facts
+				.getObjectPropertyAssertions(property.getNamedProperty());
+
+		if (index == null)
+			return Collections.emptySet();
+		else
+			return property.isAnonymous() ? index.getSubjects(subject) : index.getObjects(subject);
+	}
+
+	private Set<OWLIndividual> getSubjects(OWLObjectPropertyExpression property, OWLIndividual object)
+	{
+		return getObjects(property.getInverseProperty(), object);
+	}
+
+	private boolean isMember(OWLIndividual individual, OWLClassExpression cls)
+	{
+		if (cls.isOWLThing())
+			return true;
+		else if (!cls.isAnonymous())
+			return this.facts.hasClassAssertion(cls.asOWLClass(), individual);
+		else {
+			Set<OWLIndividual> members = this.anonymousClassMembers.get(cls);
+			return members != null && members.contains(individual);
+		}
+	}
+
+	private boolean isMemberOfAll(OWLIndividual individual, Set<OWLClassExpression> classes)
+	{
+		for (OWLClassExpression cls : classes)
+			if (!isMember(individual, cls))
+				return false;
+
+		return true;
+	}
+
+	private Set<OWLClassExpression> getIndividualTypes(OWLIndividual individual)
+	{
+		Set<OWLClassExpression> types = this.individualTypes.get(individual);
+
+		return types == null ? Collections.<OWLClassExpression>emptySet() : types;
+	}
+
+	private Set<OWLIndividual> getSameIndividuals(OWLIndividual individual)
+	{
+		Set<OWLIndividual> sameIndividualClass = this.sameIndividuals.get(individual);
+
+		return sameIndividualClass == null ? Collections.singleton(individual) : sameIndividualClass;
+	}
+
+	private Set<OWLIndividual> getSameIndividualClass(OWLIndividual individual)
+	{
+		Set<OWLIndividual> sameIndividualClass = this.sameIndividuals.get(individual);
+
+		if (sameIndividualClass == null) {
+			sameIndividualClass = new HashSet<>();
+			sameIndividualClass.add(individual);
+			this.sameIndividuals.put(individual, sameIndividualClass);
+		}
+		return sameIndividualClass;
+	}
+
+	private List<OWLIndividual> getOtherSameIndividuals(OWLIndividual individual)
+	{
+		Set<OWLIndividual> sameIndividualClass = this.sameIndividuals.get(individual);
+
+		if (sameIndividualClass == null || sameIndividualClass.size() == 1)
+			return Collections.emptyList();
+		else {
+			List<OWLIndividual> otherIndividuals = new ArrayList<>(sameIndividualClass);
+			otherIndividuals.remove(individual);
+			return otherIndividuals;
+		}
+	}
+
+	private boolean isEnabled(Rule rule)
+	{
+		return this.schema.isEnabled(rule);
+	}
+
+	private void throwInconsistency(Rule rule, Object... arguments)
+	{
+		throw new InconsistentKnowledgeBaseException(
+				"OWL 2 RL rule " + rule + " found an inconsistency involving " + Arrays.toString(arguments));
+	}
+
+	// Rules add assertions to the sets that they iterate over, so they iterate over copies
+	private static <T> List<T> copy(Collection<T> collection)
+	{
+		return new ArrayList<>(collection);
+	}
+
+	private static <K, V> boolean addToMap(Map<K, Set<V>> map, K key, V value)
+	{
+		Set<V> values = map.get(key);
+
+		if (values == null) {
+			values = new HashSet<>();
+			map.put(key, values);
+		}
+		return values.add(value);
+	}
+
+	/**
+	 * An assertion waiting to have the rules applied to it. The predicate is a class expression or named property; the
+	 * object is an individual or literal.
+	 */
+	private static class Fact
+	{
+		private final FactKind kind;
+		private final Object predicate;
+		private final OWLIndividual subject;
+		private final Object object;
+
+		public Fact(FactKind kind, Object predicate, OWLIndividual subject, Object object)
+		{
+			this.kind = kind;
+			this.predicate = predicate;
+			this.subject = subject;
+			this.object = object;
+		}
+	}
+}
@@ -0,0 +1,737 @@
+package org.swrlapi.engine;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataHasValue;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLNegativeDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectAllValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectComplementOf;
+import org.semanticweb.owlapi.model.OWLObjectHasValue;
+import org.semanticweb.owlapi.model.OWLObjectIntersectionOf;
+import org.semanticweb.owlapi.model.OWLObjectMaxCardinality;
+import org.semanticweb.owlapi.model.OWLObjectOneOf;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLPropertyExpression;
+import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectUnionOf;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubPropertyChainOfAxiom;
+import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
+import org.swrlapi.owl2rl.OWL2RLNames.Rule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The class and property axioms used by the {@link OWL2RLMaterializer}, compiled for the enabled OWL 2 RL rules.
+ * <p/>
+ * Subclass, equivalent class, subproperty, equivalent property, inverse property, and symmetric property axioms are
+ * compiled into edges whose transitive closures are precomputed, so that a single lookup gives every class or property
+ * that an assertion implies. An inverse property is treated as a property expression of its own; for example, an
+ * inverse property axiom between p and q gives the edges p to inverse(q) and inverse(p) to q. Class expressions are
+ * indexed by their operands, properties and fillers so that each rule is applied by lookup.
+ * <p/>
+ * The schema axioms inferred by the supported scm-* rules are computed when the schema is compiled.
+ */
+class OWL2RLSchema
+{
+	private final Set<Rule> enabledRules;
+
+	private final Map<OWLClassExpression, Set<OWLClassExpression>> superClasses;
+	private final Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyExpression>> superObjectProperties;
+	private final Map<OWLDataPropertyExpression, Set<OWLDataPropertyExpression>> superDataProperties;
+	private final Map<OWLClassExpression, Map<OWLClassExpression, Rule>> disjointClasses;
+	private final Map<OWLObjectPropertyExpression, Map<OWLObjectPropertyExpression, Rule>> disjointObjectProperties;
+	private final Map<OWLDataPropertyExpression, Map<OWLDataPropertyExpression, Rule>> disjointDataProperties;
+
+	private final Map<OWLObjectPropertyExpression, Set<OWLClassExpression>> objectPropertyDomains;
+	private final Map<OWLObjectPropertyExpression, Set<OWLClassExpression>> objectPropertyRanges;
+	private final Map<OWLDataPropertyExpression, Set<OWLClassExpression>> dataPropertyDomains;
+	private final Map<OWLObjectPropertyExpression, Rule> functionalObjectProperties; // PRP_FP, or PRP_IFP for inverses
+	private final Set<OWLObjectProperty> transitiveObjectProperties;
+	private final Set<OWLObjectProperty> irreflexiveObjectProperties;
+	private final Set<OWLObjectProperty> asymmetricObjectProperties;
+	private final Map<OWLObjectProperty, Set<OWLSubPropertyChainOfAxiom>> propertyChains;
+	private final Set<OWLAxiom> negativePropertyAssertions;
+
+	private final Map<OWLClassExpression, Set<OWLObjectIntersectionOf>> intersectionsByOperand;
+	private final Map<OWLClassExpression, Set<OWLObjectUnionOf>> unionsByOperand;
+	private final Map<OWLClassExpression, Set<OWLObjectComplementOf>> complementsByOperand;
+	private final Map<OWLObjectPropertyExpression, Set<OWLObjectSomeValuesFrom>> someValuesFromByProperty;
+	private final Map<OWLClassExpression, Set<OWLObjectSomeValuesFrom>> someValuesFromByFiller;
+	private final Map<OWLObjectPropertyExpression, Set<OWLObjectAllValuesFrom>> allValuesFromByProperty;
+	private final Map<OWLObjectPropertyExpression, Set<OWLObjectHasValue>> objectHasValuesByProperty;
+	private final Map<OWLDataPropertyExpression, Set<OWLDataHasValue>> dataHasValuesByProperty;
+	private final Map<OWLObjectPropertyExpression, Set<OWLObjectMaxCardinality>> maxCardinalitiesByProperty;
+	private final Set<OWLObjectOneOf> oneOfs;
+
+	private final List<OWLAxiom> inferredSchemaAxioms;
+
+	public OWL2RLSchema(Set<OWLAxiom> axioms, Set<Rule> enabledRules, OWLDataFactory dataFactory)
+	{
+		Map<OWLClassExpression, Set<OWLClassExpression>> subClassEdges = new HashMap<>();
+		Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyExpression>> subObjectPropertyEdges = new HashMap<>();
+		Map<OWLDataPropertyExpression, Set<OWLDataPropertyExpression>> subDataPropertyEdges = new HashMap<>();
+
+		this.enabledRules = enabledRules;
+		this.disjointClasses = new HashMap<>();
+		this.disjointObjectProperties = new HashMap<>();
+		this.disjointDataProperties = new HashMap<>();
+		this.objectPropertyDomains = new HashMap<>();
+		this.objectPropertyRanges = new HashMap<>();
+		this.dataPropertyDomains = new HashMap<>();
+		this.functionalObjectProperties = new HashMap<>();
+		this.transitiveObjectProperties = new HashSet<>();
+		this.irreflexiveObjectProperties = new HashSet<>();
+		this.asymmetricObjectProperties = new HashSet<>();
+		this.propertyChains = new HashMap<>();
+		this.negativePropertyAssertions = new HashSet<>();
+		this.intersectionsByOperand = new HashMap<>();
+		this.unionsByOperand = new HashMap<>();
+		this.complementsByOperand = new HashMap<>();
+		this.someValuesFromByProperty = new HashMap<>();
+		this.someValuesFromByFiller = new HashMap<>();
+		this.allValuesFromByProperty = new HashMap<>();
+		this.objectHasValuesByProperty = new HashMap<>();
+		this.dataHasValuesByProperty = new HashMap<>();
+		this.maxCardinalitiesByProperty = new HashMap<>();
+		this.oneOfs = new HashSet<>();
+
+		for (OWLAxiom axiom : axioms) {
+			compileClassAxiom(axiom, subClassEdges);
+			compileObjectPropertyAxiom(axiom, subObjectPropertyEdges);
+			compileDataPropertyAxiom(axiom, subDataPropertyEdges);
+
+			for (OWLClassExpression classExpression : axiom.getNestedClassExpressions())
+				indexClassExpression(classExpression);
+		}
+
+		this.superClasses = getClosures(subClassEdges);
+		this.superObjectProperties = getClosures(subObjectPropertyEdges);
+		this.superDataProperties = getClosures(subDataPropertyEdges);
+		this.inferredSchemaAxioms = inferSchemaAxioms(axioms, dataFactory);
+	}
+
+	public boolean isEnabled(Rule rule)
+	{
+		return this.enabledRules.contains(rule);
+	}
+
+	public Set<OWLClassExpression> getSuperClasses(OWLClassExpression classExpression)
+	{
+		return get(this.superClasses, classExpression);
+	}
+
+	public Set<OWLObjectPropertyExpression> getSuperObjectProperties(OWLObjectPropertyExpression property)
+	{
+		return get(this.superObjectProperties, property);
+	}
+
+	public Set<OWLDataPropertyExpression> getSuperDataProperties(OWLDataPropertyExpression property)
+	{
+		return get(this.superDataProperties, property);
+	}
+
+	/**
+	 * @return The classes disjoint with the class and the rule (CAX_DW or CAX_ADC) that makes them disjoint
+	 */
+	public Map<OWLClassExpression, Rule> getDisjointClasses(OWLClassExpression classExpression)
+	{
+		return getRules(this.disjointClasses, classExpression);
+	}
+
+	/**
+	 * @return The properties disjoint with the property and the rule (PRP_PDW or PRP_ADP) that makes them disjoint
+	 */
+	public Map<OWLObjectPropertyExpression, Rule> getDisjointObjectProperties(OWLObjectPropertyExpression property)
+	{
+		return getRules(this.disjointObjectProperties, property);
+	}
+
+	public Map<OWLDataPropertyExpression, Rule> getDisjointDataProperties(OWLDataPropertyExpression property)
+	{
+		return getRules(this.disjointDataProperties, property);
+	}
+
+	public Set<OWLClassExpression> getObjectPropertyDomains(OWLObjectPropertyExpression property)
+	{
+		return get(this.objectPropertyDomains, property);
+	}
+
+	public Set<OWLClassExpression> getObjectPropertyRanges(OWLObjectPropertyExpression property)
+	{
+		return get(this.objectPropertyRanges, property);
+	}
+
+	public Set<OWLClassExpression> getDataPropertyDomains(OWLDataPropertyExpression property)
+	{
+		return get(this.dataPropertyDomains, property);
+	}
+
+	/**
+	 * @return The rule that makes the property expression functional, or null if it is not functional
+	 */
+	public Rule getFunctionalObjectPropertyRule(OWLObjectPropertyExpression property)
+	{
+		return this.functionalObjectProperties.get(property);
+	}
+
+	public boolean isTransitive(OWLObjectProperty property)
+	{
+		return this.transitiveObjectProperties.contains(property);
+	}
+
+	public boolean isIrreflexive(OWLObjectProperty property)
+	{
+		return this.irreflexiveObjectProperties.contains(property);
+	}
+
+	public boolean isAsymmetric(OWLObjectProperty property)
+	{
+		return this.asymmetricObjectProperties.contains(property);
+	}
+
+	/**
+	 * @return The property chains that the property, or its inverse, is part of
+	 */
+	public Set<OWLSubPropertyChainOfAxiom> getPropertyChains(OWLObjectProperty property)
+	{
+		return get(this.propertyChains, property);
+	}
+
+	/**
+	 * @param axiom A negative property assertion without annotations
+	 */
+	public boolean hasNegativePropertyAssertion(OWLAxiom axiom)
+	{
+		return this.negativePropertyAssertions.contains(axiom);
+	}
+
+	public boolean hasNegativePropertyAssertions()
+	{
+		return !this.negativePropertyAssertions.isEmpty();
+	}
+
+	public Set<OWLObjectIntersectionOf> getIntersectionsByOperand(OWLClassExpression operand)
+	{
+		return get(this.intersectionsByOperand, operand);
+	}
+
+	public Set<OWLObjectUnionOf> getUnionsByOperand(OWLClassExpression operand)
+	{
+		return get(this.unionsByOperand, operand);
+	}
+
+	public Set<OWLObjectComplementOf> getComplementsByOperand(OWLClassExpression operand)
+	{
+		return get(this.complementsByOperand, operand);
+	}
+
+	public Set<OWLObjectSomeValuesFrom> getSomeValuesFromByProperty(OWLObjectPropertyExpression property)
+	{
+		return get(this.someValuesFromByProperty, property);
+	}
+
+	public Set<OWLObjectSomeValuesFrom> getSomeValuesFromByFiller(OWLClassExpression filler)
+	{
+		return get(this.someValuesFromByFiller, filler);
+	}
+
+	public Set<OWLObjectAllValuesFrom> getAllValuesFromByProperty(OWLObjectPropertyExpression property)
+	{
+		return get(this.allValuesFromByProperty, property);
+	}
+
+	public Set<OWLObjectHasValue> getObjectHasValuesByProperty(OWLObjectPropertyExpression property)
+	{
+		return get(this.objectHasValuesByProperty, property);
+	}
+
+	public Set<OWLDataHasValue> getDataHasValuesByProperty(OWLDataPropertyExpression property)
+	{
+		return get(this.dataHasValuesByProperty, property);
+	}
+
+	public Set<OWLObjectMaxCardinality> getMaxCardinalitiesByProperty(OWLObjectPropertyExpression property)
+	{
+		return get(this.maxCardinalitiesByProperty, property);
+	}
+
+	public Set<OWLObjectOneOf> getOneOfs()
+	{
+		return this.oneOfs;
+	}
+
+	/**
+	 * @return The schema axioms inferred by the enabled scm-* rules that are not already asserted
+	 */
+	public List<OWLAxiom> getInferredSchemaAxioms()
+	{
+		return this.inferredSchemaAxioms;
+	}
+
+	private void compileClassAxiom(OWLAxiom axiom, Map<OWLClassExpression, Set<OWLClassExpression>> subClassEdges)
+	{
+		if (axiom instanceof OWLSubClassOfAxiom) {
+			OWLSubClassOfAxiom subClassOfAxiom = (OWLSubClassOfAxiom)axiom;
+			if (isEnabled(Rule.CAX_SCO))
+				addToMap(subClassEdges, subClassOfAxiom.getSubClass(), subClassOfAxiom.getSuperClass());
+		} else if (axiom instanceof OWLEquivalentClassesAxiom) {
+			List<OWLClassExpression> classExpressions = ((OWLEquivalentClassesAxiom)axiom).getClassExpressionsAsList();
+			for (int i = 0; i < classExpressions.size(); i++) {
+				for (int j = i + 1; j < classExpressions.size(); j++) {
+					if (isEnabled(Rule.CAX_EQC1))
+						addToMap(subClassEdges, classExpressions.get(i), classExpressions.get(j));
+					if (isEnabled(Rule.CAX_EQC2))
+						addToMap(subClassEdges, classExpressions.get(j), classExpressions.get(i));
+				}
+			}
+		} else if (axiom instanceof OWLDisjointClassesAxiom) {
+			List<OWLClassExpression> classExpressions = ((OWLDisjointClassesAxiom)axiom).getClassExpressionsAsList();
+			Rule rule = classExpressions.size() == 2 ? Rule.CAX_DW : Rule.CAX_ADC;
+			if (isEnabled(rule))
+				addPairs(this.disjointClasses, classExpressions, rule);
+		}
+	}
+
+	private void compileObjectPropertyAxiom(OWLAxiom axiom,
+			Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyExpression>> subPropertyEdges)
+	{
+		if (axiom instanceof OWLSubObjectPropertyOfAxiom) {
+			OWLSubObjectPropertyOfAxiom subPropertyOfAxiom = (OWLSubObjectPropertyOfAxiom)axiom;
+			if (isEnabled(Rule.PRP_SPO1))
+				addObjectPropertyEdge(subPropertyEdges, subPropertyOfAxiom.getSubProperty(),
+						subPropertyOfAxiom.getSuperProperty());
+		} else if (axiom instanceof OWLEquivalentObjectPropertiesAxiom) {
+			List<OWLObjectPropertyExpression> properties = new ArrayList<>(
+					((OWLEquivalentObjectPropertiesAxiom)axiom).getProperties());
+			for (int i = 0; i < properties.size(); i++) {
+				for (int j = i + 1; j < properties.size(); j++) {
+					if (isEnabled(Rule.PRP_EQP1))
+						addObjectPropertyEdge(subPropertyEdges, properties.get(i), properties.get(j));
+					if (isEnabled(Rule.PRP_EQP2))
+						addObjectPropertyEdge(subPropertyEdges, properties.get(j), properties.get(i));
+				}
+			}
+		} else if (axiom instanceof OWLInverseObjectPropertiesAxiom) {
+			OWLInverseObjectPropertiesAxiom inverseAxiom = (OWLInverseObjectPropertiesAxiom)axiom;
+			if (isEnabled(Rule.PRP_INV1))
+				addObjectPropertyEdge(subPropertyEdges, inverseAxiom.getFirstProperty(),
+						inverseAxiom.getSecondProperty().getInverseProperty().getSimplified());
+			if (isEnabled(Rule.PRP_INV2))
+				addObjectPropertyEdge(subPropertyEdges, inverseAxiom.getSecondProperty(),
+						inverseAxiom.getFirstProperty().getInverseProperty().getSimplified());
+		} else if (axiom instanceof OWLSymmetricObjectPropertyAxiom) {
+			OWLObjectPropertyExpression property = ((OWLSymmetricObjectPropertyAxiom)axiom).getProperty();
+			if (isEnabled(Rule.PRP_SYMP))
+				addObjectPropertyEdge(subPropertyEdges, property, property.getInverseProperty().getSimplified());
+		} else if (axiom instanceof OWLTransitiveObjectPropertyAxiom) {
+			if (isEnabled(Rule.PRP_TRP)) // A property is transitive if and only if its inverse is
+				this.transitiveObjectProperties.add(((OWLTransitiveObjectPropertyAxiom)axiom).getProperty().getNamedProperty());
+		} else if (axiom instanceof OWLIrreflexiveObjectPropertyAxiom) {
+			if (isEnabled(Rule.PRP_IRP))
+				this.irreflexiveObjectProperties
+						.add(((OWLIrreflexiveObjectPropertyAxiom)axiom).getProperty().getNamedProperty());
+		} else if (axiom instanceof OWLAsymmetricObjectPropertyAxiom) {
+			if (isEnabled(Rule.PRP_ASYP))
+				this.asymmetricObjectProperties
+						.add(((OWLAsymmetricObjectPropertyAxiom)axiom).getProperty().getNamedProperty());
+		} else if (axiom instanceof OWLFunctionalObjectPropertyAxiom) {
+			if (isEnabled(Rule.PRP_FP))
+				this.functionalObjectProperties
+						.put(((OWLFunctionalObjectPropertyAxiom)axiom).getProperty().getSimplified(), Rule.PRP_FP);
+		} else if (axiom instanceof OWLInverseFunctionalObjectPropertyAxiom) {
+			if (isEnabled(Rule.PRP_IFP)) // An inverse functional property has a functional inverse
+				this.functionalObjectProperties.put(
+						((OWLInverseFunctionalObjectPropertyAxiom)axiom).getProperty().getInverseProperty().getSimplified(),
+						Rule.PRP_IFP);
+		} else if (axiom instanceof OWLSubPropertyChainOfAxiom) {
+			OWLSubPropertyChainOfAxiom chainAxiom = (OWLSubPropertyChainOfAxiom)axiom;
+			if (isEnabled(Rule.PRP_SPO2)) {
+				for (OWLObjectPropertyExpression property : chainAxiom.getPropertyChain())
+					addToMap(this.propertyChains, property.getNamedProperty(), chainAxiom);
+			}
+		} else if (axiom instanceof OWLDisjointObjectPropertiesAxiom) {
+			List<OWLObjectPropertyExpression> properties = new ArrayList<>(
+					((OWLDisjointObjectPropertiesAxiom)axiom).getProperties());
+			Rule rule = properties.size() == 2 ? Rule.PRP_PDW : Rule.PRP_ADP;
+			if (isEnabled(rule))
+				addPairs(this.disjointObjectProperties, properties, rule);
+		} else if (axiom instanceof OWLObjectPropertyDomainAxiom) {
+			OWLObjectPropertyDomainAxiom domainAxiom = (OWLObjectPropertyDomainAxiom)axiom;
+			if (isEnabled(Rule.PRP_DOM))
+				addToMap(this.objectPropertyDomains, domainAxiom.getProperty().getSimplified(), domainAxiom.getDomain());
+		} else if (axiom instanceof OWLObjectPropertyRangeAxiom) {
+			OWLObjectPropertyRangeAxiom rangeAxiom = (OWLObjectPropertyRangeAxiom)axiom;
+			if (isEnabled(Rule.PRP_RNG))
+				addToMap(this.objectPropertyRanges, rangeAxiom.getProperty().getSimplified(), rangeAxiom.getRange());
+		} else if (axiom instanceof OWLNegativeObjectPropertyAssertionAxiom) {
+			if (isEnabled(Rule.PRP_NPA1))
+				this.negativePropertyAssertions.add(axiom.getAxiomWithoutAnnotations());
+		}
+	}
+
+	private void compileDataPropertyAxiom(OWLAxiom axiom,
+			Map<OWLDataPropertyExpression, Set<OWLDataPropertyExpression>> subPropertyEdges)
+	{
+		if (axiom instanceof OWLSubDataPropertyOfAxiom) {
+			OWLSubDataPropertyOfAxiom subPropertyOfAxiom = (OWLSubDataPropertyOfAxiom)axiom;
+			if (isEnabled(Rule.PRP_SPO1))
+				addToMap(subPropertyEdges, subPropertyOfAxiom.getSubProperty(), subPropertyOfAxiom.getSuperProperty());
+		} else if (axiom instanceof OWLEquivalentDataPropertiesAxiom) {
+			List<OWLDataPropertyExpression> properties = new ArrayList<>(
+					((OWLEquivalentDataPropertiesAxiom)axiom).getProperties());
+			for (int i = 0; i < properties.size(); i++) {
+				for (int j = i + 1; j < properties.size(); j++) {
+					if (isEnabled(Rule.PRP_EQP1))
+						addToMap(subPropertyEdges, properties.get(i), properties.get(j));
+					if (isEnabled(Rule.PRP_EQP2))
+						addToMap(subPropertyEdges, properties.get(j), properties.get(i));
+				}
+			}
+		} else if (axiom instanceof OWLDisjointDataPropertiesAxiom) {
+			List<OWLDataPropertyExpression> properties = new ArrayList<>(
+					((OWLDisjointDataPropertiesAxiom)axiom).getProperties());
+			Rule rule = properties.size() == 2 ? Rule.PRP_PDW : Rule.PRP_ADP;
+			if (isEnabled(rule))
+				addPairs(this.disjointDataProperties, properties, rule);
+		} else if (axiom instanceof OWLDataPropertyDomainAxiom) {
+			OWLDataPropertyDomainAxiom domainAxiom = (OWLDataPropertyDomainAxiom)axiom;
+			if (isEnabled(Rule.PRP_DOM))
+				addToMap(this.dataPropertyDomains, domainAxiom.getProperty(), domainAxiom.getDomain());
+		} else if (axiom instanceof OWLNegativeDataPropertyAssertionAxiom) {
+			if (isEnabled(Rule.PRP_NPA2))
+				this.negativePropertyAssertions.add(axiom.getAxiomWithoutAnnotations());
+		}
+	}
+
+	private void indexClassExpression(OWLClassExpression classExpression)
+	{
+		if (classExpression instanceof OWLObjectIntersectionOf) {
+			OWLObjectIntersectionOf intersection = (OWLObjectIntersectionOf)classExpression;
+			if (isEnabled(Rule.CLS_INT1))
+				for (OWLClassExpression operand : intersection.getOperands())
+					addToMap(this.intersectionsByOperand, operand, intersection);
+		} else if (classExpression instanceof OWLObjectUnionOf) {
+			OWLObjectUnionOf union = (OWLObjectUnionOf)classExpression;
+			if (isEnabled(Rule.CLS_UNI))
+				for (OWLClassExpression operand : union.getOperands())
+					addToMap(this.unionsByOperand, operand, union);
+		} else if (classExpression instanceof OWLObjectComplementOf) {
+			OWLObjectComplementOf complement = (OWLObjectComplementOf)classExpression;
+			if (isEnabled(Rule.CLS_COM))
+				addToMap(this.complementsByOperand, complement.getOperand(), complement);
+		} else if (classExpression instanceof OWLObjectSomeValuesFrom) {
+			OWLObjectSomeValuesFrom someValuesFrom = (OWLObjectSomeValuesFrom)classExpression;
+			OWLObjectPropertyExpression property = someValuesFrom.getProperty().getSimplified();
+			if (someValuesFrom.getFiller().isOWLThing()) {
+				if (isEnabled(Rule.CLS_SFV2))
+					addToMap(this.someValuesFromByProperty, property, someValuesFrom);
+			} else if (isEnabled(Rule.CLS_SFV1)) {
+				addToMap(this.someValuesFromByProperty, property, someValuesFrom);
+				addToMap(this.someValuesFromByFiller, someValuesFrom.getFiller(), someValuesFrom);
+			}
+		} else if (classExpression instanceof OWLObjectAllValuesFrom) {
+			OWLObjectAllValuesFrom allValuesFrom = (OWLObjectAllValuesFrom)classExpression;
+			if (isEnabled(Rule.CLS_AVF))
+				addToMap(this.allValuesFromByProperty, allValuesFrom.getProperty().getSimplified(), allValuesFrom);
+		} else if (classExpression instanceof OWLObjectHasValue) {
+			OWLObjectHasValue hasValue = (OWLObjectHasValue)classExpression;
+			if (isEnabled(Rule.CLS_HV2))
+				addToMap(this.objectHasValuesByProperty, hasValue.getProperty().getSimplified(), hasValue);
+		} else if (classExpression instanceof OWLDataHasValue) {
+			OWLDataHasValue hasValue = (OWLDataHasValue)classExpression;
+			if (isEnabled(Rule.CLS_HV2))
+				addToMap(this.dataHasValuesByProperty, hasValue.getProperty(), hasValue);
+		} else if (classExpression instanceof OWLObjectMaxCardinality) {
+			OWLObjectMaxCardinality maxCardinality = (OWLObjectMaxCardinality)classExpression;
+			if (maxCardinality.getFiller().isOWLThing() && (maxCardinality.getCardinality() == 0 && isEnabled(
+					Rule.CLS_MAXC1) || maxCardinality.getCardinality() == 1 && isEnabled(Rule.CLS_MAXC2)))
+				addToMap(this.maxCardinalitiesByProperty, maxCardinality.getProperty().getSimplified(), maxCardinality);
+		} else if (classExpression instanceof OWLObjectOneOf) {
+			if (isEnabled(Rule.CLS_OO))
+				this.oneOfs.add((OWLObjectOneOf)classExpression);
+		}
+	}
+
+	/**
+	 * Infer subclass, subproperty, domain and range axioms between named entities from the asserted schema. Equivalence
+	 * axioms contribute subclass and subproperty edges in both directions (SCM_EQC1, SCM_EQP1).
+	 */
+	private List<OWLAxiom> inferSchemaAxioms(Set<OWLAxiom> axioms, OWLDataFactory dataFactory)
+	{
+		Map<OWLClassExpression, Set<OWLClassExpression>> subClassEdges = new HashMap<>();
+		Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyExpression>> subObjectPropertyEdges = new HashMap<>();
+		Map<OWLDataPropertyExpression, Set<OWLDataPropertyExpression>> subDataPropertyEdges = new HashMap<>();
+		Map<OWLObjectPropertyExpression, Set<OWLClassExpression>> objectPropertyDomains = new HashMap<>();
+		Map<OWLObjectPropertyExpression, Set<OWLClassExpression>> objectPropertyRanges = new HashMap<>();
+		Map<OWLDataPropertyExpression, Set<OWLClassExpression>> dataPropertyDomains = new HashMap<>();
+		Set<OWLAxiom> inferredAxioms = new LinkedHashSet<>();
+
+		for (OWLAxiom axiom : axioms) {
+			if (axiom instanceof OWLSubClassOfAxiom)
+				addToMap(subClassEdges, ((OWLSubClassOfAxiom)axiom).getSubClass(),
+						((OWLSubClassOfAxiom)axiom).getSuperClass());
+			else if (axiom instanceof OWLEquivalentClassesAxiom && isEnabled(Rule.SCM_EQC1))
+				addPairs(subClassEdges, ((OWLEquivalentClassesAxiom)axiom).getClassExpressionsAsList());
+			else if (axiom instanceof OWLSubObjectPropertyOfAxiom)
+				addToMap(subObjectPropertyEdges, ((OWLSubObjectPropertyOfAxiom)axiom).getSubProperty(),
+						((OWLSubObjectPropertyOfAxiom)axiom).getSuperProperty());
+			else if (axiom instanceof OWLEquivalentObjectPropertiesAxiom && isEnabled(Rule.SCM_EQP1))
+				addPairs(subObjectPropertyEdges,
+						new ArrayList<>(((OWLEquivalentObjectPropertiesAxiom)axiom).getProperties()));
+			else if (axiom instanceof OWLSubDataPropertyOfAxiom)
+				addToMap(subDataPropertyEdges, ((OWLSubDataPropertyOfAxiom)axiom).getSubProperty(),
+						((OWLSubDataPropertyOfAxiom)axiom).getSuperProperty());
+			else if (axiom instanceof OWLEquivalentDataPropertiesAxiom && isEnabled(Rule.SCM_EQP1))
+				addPairs(subDataPropertyEdges, new ArrayList<>(((OWLEquivalentDataPropertiesAxiom)axiom).getProperties()));
+			else if (axiom instanceof OWLObjectPropertyDomainAxiom)
+				addToMap(objectPropertyDomains, ((OWLObjectPropertyDomainAxiom)axiom).getProperty(),
+						((OWLObjectPropertyDomainAxiom)axiom).getDomain());
+			else if (axiom instanceof OWLObjectPropertyRangeAxiom)
+				addToMap(objectPropertyRanges, ((OWLObjectPropertyRangeAxiom)axiom).getProperty(),
+						((OWLObjectPropertyRangeAxiom)axiom).getRange());
+			else if (axiom instanceof OWLDataPropertyDomainAxiom)
+				addToMap(dataPropertyDomains, ((OWLDataPropertyDomainAxiom)axiom).getProperty(),
+						((OWLDataPropertyDomainAxiom)axiom).getDomain());
+		}
+
+		Map<OWLClassExpression, Set<OWLClassExpression>> superClasses = isEnabled(Rule.SCM_SCO) ?
+				getClosures(subClassEdges) :
+				subClassEdges;
+		Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyExpression>> superObjectProperties = isEnabled(
+				Rule.SCM_SPO) ? getClosures(subObjectPropertyEdges) : subObjectPropertyEdges;
+		Map<OWLDataPropertyExpression, Set<OWLDataPropertyExpression>> superDataProperties = isEnabled(Rule.SCM_SPO) ?
+				getClosures(subDataPropertyEdges) :
+				subDataPropertyEdges;
+
+		for (OWLClassExpression subClass : superClasses.keySet()) {
+			for (OWLClassExpression superClass : superClasses.get(subClass)) {
+				if (!subClass.isAnonymous() && !superClass.isAnonymous() && !superClass.isOWLThing())
+					inferredAxioms.add(dataFactory.getOWLSubClassOfAxiom(subClass, superClass));
+			}
+		}
+
+		for (OWLObjectPropertyExpression subProperty : superObjectProperties.keySet()) {
+			for (OWLObjectPropertyExpression superProperty : superObjectProperties.get(subProperty)) {
+				if (!subProperty.isAnonymous() && !superProperty.isAnonymous())
+					inferredAxioms.add(dataFactory.getOWLSubObjectPropertyOfAxiom(subProperty, superProperty));
+			}
+		}
+
+		for (OWLDataPropertyExpression subProperty : superDataProperties.keySet()) {
+			for (OWLDataPropertyExpression superProperty : superDataProperties.get(subProperty))
+				inferredAxioms.add(dataFactory.getOWLSubDataPropertyOfAxiom(subProperty, superProperty));
+		}
+
+		for (OWLObjectPropertyExpression property : getPropertiesWithInheritedClasses(objectPropertyDomains,
+				superObjectProperties, Rule.SCM_DOM2)) {
+			for (OWLClassExpression domain : getInheritedClasses(property, objectPropertyDomains, superObjectProperties,
+					superClasses, Rule.SCM_DOM1, Rule.SCM_DOM2))
+				inferredAxioms.add(dataFactory.getOWLObjectPropertyDomainAxiom(property, domain));
+		}
+
+		for (OWLObjectPropertyExpression property : getPropertiesWithInheritedClasses(objectPropertyRanges,
+				superObjectProperties, Rule.SCM_RNG2)) {
+			for (OWLClassExpression range : getInheritedClasses(property, objectPropertyRanges, superObjectProperties,
+					superClasses, Rule.SCM_RNG1, Rule.SCM_RNG2))
+				inferredAxioms.add(dataFactory.getOWLObjectPropertyRangeAxiom(property, range));
+		}
+
+		for (OWLDataPropertyExpression property : getPropertiesWithInheritedClasses(dataPropertyDomains,
+				superDataProperties, Rule.SCM_DOM2)) {
+			for (OWLClassExpression domain : getInheritedClasses(property, dataPropertyDomains, superDataProperties,
+					superClasses, Rule.SCM_DOM1, Rule.SCM_DOM2))
+				inferredAxioms.add(dataFactory.getOWLDataPropertyDomainAxiom(property, domain));
+		}
+
+		if (!isEnabled(Rule.SCM_SCO) && !isEnabled(Rule.SCM_EQC1)) // Subclass axioms were only needed for domains and ranges
+			removeAxiomsOfType(inferredAxioms, OWLSubClassOfAxiom.class);
+		if (!isEnabled(Rule.SCM_SPO) && !isEnabled(Rule.SCM_EQP1)) {
+			removeAxiomsOfType(inferredAxioms, OWLSubObjectPropertyOfAxiom.class);
+			removeAxiomsOfType(inferredAxioms, OWLSubDataPropertyOfAxiom.class);
+		}
+
+		inferredAxioms.removeAll(axioms);
+
+		return new ArrayList<>(inferredAxioms);
+	}
+
+	/**
+	 * @return The named properties that have domains (or ranges) of their own or, if the rule is enabled, inherited from a
+	 * superproperty
+	 */
+	private <P extends OWLPropertyExpression> Set<P> getPropertiesWithInheritedClasses(
+			Map<P, Set<OWLClassExpression>> propertyClasses, Map<P, Set<P>> superProperties, Rule inheritanceRule)
+	{
+		Set<P> properties = new HashSet<>(propertyClasses.keySet());
+
+		if (isEnabled(inheritanceRule))
+			properties.addAll(superProperties.keySet());
+
+		Set<P> namedProperties = new HashSet<>();
+		for (P property : properties) {
+			if (!property.isAnonymous())
+				namedProperties.add(property);
+		}
+		return namedProperties;
+	}
+
+	/**
+	 * @return The named classes that are domains (or ranges) of the property by a superclass rule (SCM_DOM1, SCM_RNG1)
+	 * or a superproperty rule (SCM_DOM2, SCM_RNG2)
+	 */
+	private <P> Set<OWLClassExpression> getInheritedClasses(P property, Map<P, Set<OWLClassExpression>> propertyClasses,
+			Map<P, Set<P>> superProperties, Map<OWLClassExpression, Set<OWLClassExpression>> superClasses,
+			Rule superClassRule, Rule superPropertyRule)
+	{
+		Set<OWLClassExpression> classes = new HashSet<>(get(propertyClasses, property));
+		Set<OWLClassExpression> inheritedClasses = new HashSet<>();
+
+		if (isEnabled(superPropertyRule)) {
+			for (P superProperty : get(superProperties, property))
+				classes.addAll(get(propertyClasses, superProperty));
+		}
+
+		for (OWLClassExpression cls : classes) {
+			inheritedClasses.add(cls);
+			if (isEnabled(superClassRule))
+				inheritedClasses.addAll(get(superClasses, cls));
+		}
+
+		Set<OWLClassExpression> namedClasses = new HashSet<>();
+		for (OWLClassExpression cls : inheritedClasses) {
+			if (!cls.isAnonymous() && !cls.isOWLThing())
+				namedClasses.add(cls);
+		}
+		return namedClasses;
+	}
+
+	private static void removeAxiomsOfType(Set<OWLAxiom> axioms, Class<? extends OWLAxiom> axiomClass)
+	{
+		Set<OWLAxiom> axiomsToRemove = new HashSet<>();
+
+		for (OWLAxiom axiom : axioms) {
+			if (axiomClass.isInstance(axiom))
+				axiomsToRemove.add(axiom);
+		}
+		axioms.removeAll(axiomsToRemove);
+	}
+
+	/**
+	 * An edge is added between the inverses of the properties too.
+	 */
+	private static void addObjectPropertyEdge(
+			Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyExpression>> subPropertyEdges,
+			OWLObjectPropertyExpression subProperty, OWLObjectPropertyExpression superProperty)
+	{
+		addToMap(subPropertyEdges, subProperty.getSimplified(), superProperty.getSimplified());
+		addToMap(subPropertyEdges, subProperty.getInverseProperty().getSimplified(),
+				superProperty.getInverseProperty().getSimplified());
+	}
+
+	/**
+	 * @return The transitive closure of the edges; a node is not included in its own closure
+	 */
+	private static <T> Map<T, Set<T>> getClosures(Map<T, Set<T>> edges)
+	{
+		Map<T, Set<T>> closures = new HashMap<>();
+
+		for (T start : edges.keySet()) {
+			Set<T> closure = new LinkedHashSet<>();
+			Deque<T> nodes = new ArrayDeque<>(edges.get(start));
+
+			while (!nodes.isEmpty()) {
+				T node = nodes.pop();
+				if (!node.equals(start) && closure.add(node)) {
+					Set<T> nextNodes = edges.get(node);
+					if (nextNodes != null)
+						nodes.addAll(nextNodes);
+				}
+			}
+			closures.put(start, closure);
+		}
+		return closures;
+	}
+
+	private static <T> void addPairs(Map<T, Map<T, Rule>> map, List<? extends T> elements, Rule rule)
+	{
+		for (T first : elements) {
+			for (T second : elements) {
+				if (!first.equals(second)) {
+					Map<T, Rule> values = map.get(first);
+					if (values == null) {
+						values = new HashMap<>();
+						map.put(first, values);
+					}
+					values.put(second, rule);
+				}
+			}
+		}
+	}
+
+	private static <T> void addPairs(Map<T, Set<T>> map, List<? extends T> elements)
+	{
+		for (T first : elements) {
+			for (T second : elements) {
+				if (!first.equals(second))
+					addToMap(map, first, second);
+			}
+		}
+	}
+
+	private static <K, V> void addToMap(Map<K, Set<V>> map, K key, V value)
+	{
+		Set<V> values = map.get(key);
+
+		if (values == null) {
+			values = new HashSet<>();
+			map.put(key, values);
+		}
+		values.add(value);
+	}
+
+	private static <K, V> Set<V> get(Map<K, Set<V>> map, Object key)
+	{
+		Set<V> values = map.get(key);
+
+		return values == null ? Collections.<V>emptySet() : values;
+	}
+
+	private static <K> Map<K, Rule> getRules(Map<K, Map<K, Rule>> map, Object key)
+	{
+		Map<K, Rule> values = map.get(key);
+
+		return values == null ? Collections.<K, Rule>emptyMap() : values;
+	}
+}
@@ -0,0 +1,376 @@
+package org.swrlapi.engine;
+
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataOneOf;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the matches of a rule body by a nested-loop join over the hash indexes of a {@link FactStore}. Each atom is
+ * matched using the index that corresponds to its bound arguments. Built-in atoms are evaluated by the SWRLAPI
+ * built-in libraries, which may bind their unbound arguments.
+ * <p/>
+ * For semi-naive evaluation, the first atom in the evaluation order can be matched against a separate store that holds
+ * only the facts added in the previous iteration.
+ * <p/>
+ * A long join may find few or no matches, so the limits of the execution context are checked every
+ * {@link #LIMIT_CHECK_INTERVAL} join steps as well as when axioms are inferred.
+ */
+class RuleEvaluator
+{
+	static final int LIMIT_CHECK_INTERVAL = 1024;
+
+	interface MatchHandler
+	{
+		void match(Object[] bindings) throws TargetSWRLRuleEngineException;
+	}
+
+	private final SWRLRuleEngineBridge bridge;
+	private final BuiltInArgumentConverter argumentConverter;
+	private final FactStore facts;
+
+	public RuleEvaluator(SWRLRuleEngineBridge bridge, BuiltInArgumentConverter argumentConverter, FactStore facts)
+	{
+		this.bridge = bridge;
+		this.argumentConverter = argumentConverter;
+		this.facts = facts;
+	}
+
+	/**
+	 * @param atoms    The atoms to match
+	 * @param order    The indexes of the atoms in the order in which they are matched
+	 * @param delta    If not null, the store against which the first atom in the order is matched
+	 * @param bindings The initial bindings, indexed by variable slot; unbound slots are null
+	 * @param handler  Called with the bindings of each match
+	 */
+	public void evaluate(String ruleName, List<CompiledAtom> atoms, int[] order, FactStore delta, Object[] bindings,
+			MatchHandler handler) throws TargetSWRLRuleEngineException
+	{
+		new Evaluation(ruleName, atoms, order, delta, bindings, handler).join(0);
+	}
+
+	/**
+	 * @return The argument patterns returned by the built-in; an empty list if the built-in is not satisfied
+	 */
+	public List<List<SWRLBuiltInArgument>> invokeBuiltIn(String ruleName, CompiledAtom atom, Object[] bindings,
+			boolean isInConsequent) throws TargetSWRLRuleEngineException
+	{
+		SWRLAPIBuiltInAtom builtInAtom = atom.getBuiltInAtom();
+		List<SWRLBuiltInArgument> arguments = new ArrayList<>(atom.getNumberOfArguments());
+
+		for (int argumentIndex = 0; argumentIndex < atom.getNumberOfArguments(); argumentIndex++) {
+			int slot = atom.getSlot(argumentIndex);
+
+			if (slot == -1)
+				arguments.add((SWRLBuiltInArgument)atom.getConstant(argumentIndex));
+			else if (bindings[slot] != null) {
+				Object value = bindings[slot];
+				SWRLBuiltInArgument argument = this.argumentConverter.toBuiltInArgument(value);
+
+				if (!(value instanceof SWRLBuiltInArgument)) // Built-in results are passed as they were bound
+					argument.setBoundVariableName(atom.getVariablePrefixedName(argumentIndex));
+				arguments.add(argument);
+			} else
+				arguments.add(this.bridge.getSWRLBuiltInArgumentFactory().getUnboundVariableBuiltInArgument(
+						atom.getVariableIRI(argumentIndex)));
+		}
+
+		try {
+			return this.bridge.invokeSWRLBuiltIn(ruleName, builtInAtom.getBuiltInPrefixedName(),
+					builtInAtom.getBuiltInIndex(), isInConsequent, arguments);
+		} catch (SWRLBuiltInException e) {
+			throw new TargetSWRLRuleEngineException(
+					"error invoking built-in " + builtInAtom.getBuiltInPrefixedName() + " in rule " + ruleName + ": " + e
+							.getMessage(), e);
+		}
+	}
+
+	/**
+	 * @return true if the store holds any facts that could match the atom
+	 */
+	public static boolean hasFacts(FactStore store, CompiledAtom atom)
+	{
+		switch (atom.getKind()) {
+		case CLASS:
+			OWLClassExpression classExpression = (OWLClassExpression)atom.getPredicate();
+			return !classExpression.isAnonymous() && !store.getClassAssertions(classExpression.asOWLClass()).isEmpty();
+		case OBJECT_PROPERTY:
+			return store.getObjectPropertyAssertions((OWLObjectProperty)atom.getPredicate()) != null;
+		case DATA_PROPERTY:
+			return store.getDataPropertyAssertions((OWLDataProperty)atom.getPredicate()) != null;
+		case SAME_INDIVIDUAL:
+			return !store.getSameIndividuals().isEmpty();
+		case DIFFERENT_INDIVIDUALS:
+			return !store.getDifferentIndividuals().isEmpty();
+		case DEMAND:
+			return !store.getDemands((DemandPredicate)atom.getPredicate()).isEmpty();
+		default:
+			return false;
+		}
+	}
+
+	private static boolean matchesDataRange(OWLLiteral literal, OWLDataRange dataRange)
+	{
+		if (dataRange.isDatatype()) {
+			OWLDatatype datatype = dataRange.asOWLDatatype();
+			return datatype.isTopDatatype() || literal.getDatatype().equals(datatype);
+		} else if (dataRange instanceof OWLDataOneOf)
+			return ((OWLDataOneOf)dataRange).getValues().contains(literal);
+		else
+			return false;
+	}
+
+	/**
+	 * The state of a single evaluation of a rule body.
+	 */
+	private class Evaluation
+	{
+		private final String ruleName;
+		private final List<CompiledAtom> atoms;
+		private final int[] order;
+		private final FactStore delta;
+		private final Object[] bindings;
+		private final MatchHandler handler;
+		private int numberOfJoinSteps;
+
+		public Evaluation(String ruleName, List<CompiledAtom> atoms, int[] order, FactStore delta, Object[] bindings,
+				MatchHandler handler)
+		{
+			this.ruleName = ruleName;
+			this.atoms = atoms;
+			this.order = order;
+			this.delta = delta;
+			this.bindings = bindings;
+			this.handler = handler;
+			this.numberOfJoinSteps = 0;
+		}
+
+		public void join(int position) throws TargetSWRLRuleEngineException
+		{
+			if (++this.numberOfJoinSteps % LIMIT_CHECK_INTERVAL == 0)
+				RuleEvaluator.this.bridge.checkExecutionLimits(0);
+
+			if (position == this.order.length) {
+				this.handler.match(this.bindings);
+				return;
+			}
+
+			CompiledAtom atom = this.atoms.get(this.order[position]);
+			FactStore store = (position == 0 && this.delta != null) ? this.delta : RuleEvaluator.this.facts;
+
+			switch (atom.getKind()) {
+			case CLASS:
+				joinClassAtom(atom, store, position);
+				break;
+			case OBJECT_PROPERTY:
+				joinBinaryAtom(atom, store.getObjectPropertyAssertions((OWLObjectProperty)atom.getPredicate()), position);
+				break;
+			case DATA_PROPERTY:
+				joinBinaryAtom(atom, store.getDataPropertyAssertions((OWLDataProperty)atom.getPredicate()), position);
+				break;
+			case SAME_INDIVIDUAL:
+				joinSameIndividualAtom(atom, store, position);
+				break;
+			case DIFFERENT_INDIVIDUALS:
+				joinBinaryAtom(atom, store.getDifferentIndividuals(), position);
+				break;
+			case DATA_RANGE:
+				joinDataRangeAtom(atom, position);
+				break;
+			case BUILT_IN:
+				joinBuiltInAtom(atom, position);
+				break;
+			case DEMAND:
+				joinDemandAtom(atom, store, position);
+				break;
+			default:
+				throw new TargetSWRLRuleEngineException("unknown atom kind " + atom.getKind());
+			}
+		}
+
+		private void joinClassAtom(CompiledAtom atom, FactStore store, int position) throws TargetSWRLRuleEngineException
+		{
+			OWLClassExpression classExpression = (OWLClassExpression)atom.getPredicate();
+
+			if (classExpression.isAnonymous()) // Only named class assertions are held
+				return;
+
+			OWLClass cls = classExpression.asOWLClass();
+			Object individual = atom.getValue(0, this.bindings);
+
+			if (individual != null) {
+				if (store.hasClassAssertion(cls, individual))
+					join(position + 1);
+			} else {
+				for (Object candidate : store.getClassAssertions(cls))
+					bindAndJoin(atom.getSlot(0), candidate, position);
+			}
+		}
+
+		private <S, O> void joinBinaryAtom(CompiledAtom atom, FactStore.BinaryIndex<S, O> index, int position)
+				throws TargetSWRLRuleEngineException
+		{
+			if (index == null)
+				return;
+
+			Object subject = atom.getValue(0, this.bindings);
+			Object object = atom.getValue(1, this.bindings);
+
+			if (subject != null && object != null) {
+				if (index.contains(subject, object))
+					join(position + 1);
+			} else if (subject != null) {
+				for (O candidate : index.getObjects(subject))
+					bindAndJoin(atom.getSlot(1), candidate, position);
+			} else if (object != null) {
+				for (S candidate : index.getSubjects(object))
+					bindAndJoin(atom.getSlot(0), candidate, position);
+			} else {
+				for (S subjectCandidate : index.getSubjects()) {
+					for (O objectCandidate : index.getObjects(subjectCandidate))
+						bindPairAndJoin(atom, subjectCandidate, objectCandidate, position);
+				}
+			}
+		}
+
+		private void joinSameIndividualAtom(CompiledAtom atom, FactStore store, int position)
+				throws TargetSWRLRuleEngineException
+		{
+			FactStore.BinaryIndex<?, ?> sameIndividuals = store.getSameIndividuals();
+			Object first = atom.getValue(0, this.bindings);
+			Object second = atom.getValue(1, this.bindings);
+
+			if (first != null && second != null) {
+				if (first.equals(second) || sameIndividuals.contains(first, second))
+					join(position + 1);
+			} else if (first != null) {
+				bindAndJoin(atom.getSlot(1), first, position); // Every individual is the same as itself
+				for (Object candidate : sameIndividuals.getObjects(first))
+					bindAndJoin(atom.getSlot(1), candidate, position);
+			} else if (second != null) {
+				bindAndJoin(atom.getSlot(0), second, position);
+				for (Object candidate : sameIndividuals.getSubjects(second))
+					bindAndJoin(atom.getSlot(0), candidate, position);
+			} else
+				joinBinaryAtom(atom, sameIndividuals, position);
+		}
+
+		private void joinDataRangeAtom(CompiledAtom atom, int position) throws TargetSWRLRuleEngineException
+		{
+			Object value = atom.getValue(0, this.bindings);
+
+			if (value instanceof OWLLiteral && matchesDataRange((OWLLiteral)value, (OWLDataRange)atom.getPredicate()))
+				join(position + 1);
+		}
+
+		private void joinDemandAtom(CompiledAtom atom, FactStore store, int position) throws TargetSWRLRuleEngineException
+		{
+			Set<List<Object>> demands = store.getDemands((DemandPredicate)atom.getPredicate());
+			List<Object> values = new ArrayList<>(atom.getNumberOfArguments());
+
+			for (int argumentIndex = 0; argumentIndex < atom.getNumberOfArguments(); argumentIndex++)
+				values.add(atom.getValue(argumentIndex, this.bindings));
+
+			if (!values.contains(null)) {
+				if (demands.contains(values))
+					join(position + 1);
+				return;
+			}
+
+			for (List<Object> demand : demands) {
+				List<Integer> boundSlots = new ArrayList<>();
+				boolean consistent = true;
+
+				for (int argumentIndex = 0; argumentIndex < demand.size() && consistent; argumentIndex++) {
+					Object value = atom.getValue(argumentIndex, this.bindings);
+
+					if (value == null) {
+						this.bindings[atom.getSlot(argumentIndex)] = demand.get(argumentIndex);
+						boundSlots.add(atom.getSlot(argumentIndex));
+					} else
+						consistent = value.equals(demand.get(argumentIndex));
+				}
+
+				if (consistent)
+					join(position + 1);
+
+				for (int slot : boundSlots)
+					this.bindings[slot] = null;
+			}
+		}
+
+		private void joinBuiltInAtom(CompiledAtom atom, int position) throws TargetSWRLRuleEngineException
+		{
+			boolean[] unbound = new boolean[atom.getNumberOfArguments()];
+
+			for (int argumentIndex = 0; argumentIndex < unbound.length; argumentIndex++) {
+				int slot = atom.getSlot(argumentIndex);
+				unbound[argumentIndex] = slot != -1 && this.bindings[slot] == null;
+			}
+
+			List<List<SWRLBuiltInArgument>> argumentPatterns = invokeBuiltIn(this.ruleName, atom, this.bindings, false);
+
+			for (List<SWRLBuiltInArgument> argumentPattern : argumentPatterns) {
+				List<Integer> boundSlots = new ArrayList<>();
+				boolean consistent = true;
+
+				for (int argumentIndex = 0; argumentIndex < unbound.length && consistent; argumentIndex++) {
+					if (unbound[argumentIndex]) {
+						int slot = atom.getSlot(argumentIndex);
+						Object value = RuleEvaluator.this.argumentConverter.toValue(argumentPattern.get(argumentIndex));
+
+						if (this.bindings[slot] == null) {
+							this.bindings[slot] = value;
+							boundSlots.add(slot);
+						} else // The same unbound variable appears more than once
+							consistent = this.bindings[slot].equals(value);
+					}
+				}
+
+				if (consistent)
+					join(position + 1);
+
+				for (int slot : boundSlots)
+					this.bindings[slot] = null;
+			}
+		}
+
+		private void bindAndJoin(int slot, Object value, int position) throws TargetSWRLRuleEngineException
+		{
+			this.bindings[slot] = value;
+			join(position + 1);
+			this.bindings[slot] = null;
+		}
+
+		private void bindPairAndJoin(CompiledAtom atom, Object first, Object second, int position)
+				throws TargetSWRLRuleEngineException
+		{
+			int firstSlot = atom.getSlot(0);
+			int secondSlot = atom.getSlot(1);
+
+			if (firstSlot == secondSlot) {
+				if (first.equals(second))
+					bindAndJoin(firstSlot, first, position);
+			} else {
+				this.bindings[firstSlot] = first;
+				this.bindings[secondSlot] = second;
+				join(position + 1);
+				this.bindings[firstSlot] = null;
+				this.bindings[secondSlot] = null;
+			}
+		}
+	}
+}
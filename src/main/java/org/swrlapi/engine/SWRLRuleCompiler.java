@@ -0,0 +1,197 @@
+package org.swrlapi.engine;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.SWRLArgument;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLDataRangeAtom;
+import org.semanticweb.owlapi.model.SWRLDifferentIndividualsAtom;
+import org.semanticweb.owlapi.model.SWRLIndividualArgument;
+import org.semanticweb.owlapi.model.SWRLLiteralArgument;
+import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+import org.swrlapi.sqwrl.SQWRLNames;
+import org.swrlapi.sqwrl.SQWRLQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles SWRL rules and SQWRL queries into {@link CompiledRule}s. Variables are given slots in the order in which
+ * they first appear in the rule.
+ */
+class SWRLRuleCompiler
+{
+	private final BuiltInArgumentConverter argumentConverter;
+
+	public SWRLRuleCompiler(BuiltInArgumentConverter argumentConverter)
+	{
+		this.argumentConverter = argumentConverter;
+	}
+
+	public CompiledRule compileSWRLRule(SWRLAPIRule rule) throws TargetSWRLRuleEngineException
+	{
+		Map<IRI, Integer> variableSlots = new HashMap<>();
+		List<CompiledAtom> bodyAtoms = compileAtoms(rule.getRuleName(), rule.getBodyAtoms(), variableSlots);
+		List<CompiledAtom> headAtoms = compileAtoms(rule.getRuleName(), rule.getHeadAtoms(), variableSlots);
+
+		return new CompiledRule(rule.getRuleName(), bodyAtoms, headAtoms, null, null, variableSlots.size());
+	}
+
+	/**
+	 * A query that uses SQWRL collections is split into the atoms that build the collections and the atoms that use
+	 * them. The variables that hold the collections are the first arguments of the collection make built-ins.
+	 */
+	public CompiledRule compileSQWRLQuery(SQWRLQuery query) throws TargetSWRLRuleEngineException
+	{
+		Map<IRI, Integer> variableSlots = new HashMap<>();
+		String queryName = query.getQueryName();
+
+		if (query.hasSQWRLCollections()) {
+			List<CompiledAtom> collectionBodyAtoms = compileAtoms(queryName, query.getSQWRLPhase1BodyAtoms(), variableSlots);
+			List<CompiledAtom> bodyAtoms = compileAtoms(queryName, query.getSQWRLPhase2BodyAtoms(), variableSlots);
+			List<CompiledAtom> headAtoms = compileAtoms(queryName, query.getHeadAtoms(), variableSlots);
+			List<Integer> collectionSlots = new ArrayList<>();
+
+			for (CompiledAtom atom : collectionBodyAtoms) {
+				if (atom.getKind() == CompiledAtom.Kind.BUILT_IN && SQWRLNames
+						.isSQWRLCollectionMakeBuiltIn(atom.getBuiltInAtom().getBuiltInPrefixedName()) && atom.getSlot(0) != -1
+						&& !collectionSlots.contains(atom.getSlot(0)))
+					collectionSlots.add(atom.getSlot(0));
+			}
+
+			int[] slots = new int[collectionSlots.size()];
+			for (int i = 0; i < slots.length; i++)
+				slots[i] = collectionSlots.get(i);
+
+			return new CompiledRule(queryName, bodyAtoms, headAtoms, collectionBodyAtoms, slots, variableSlots.size());
+		} else {
+			List<CompiledAtom> bodyAtoms = compileAtoms(queryName, query.getBodyAtoms(), variableSlots);
+			List<CompiledAtom> headAtoms = compileAtoms(queryName, query.getHeadAtoms(), variableSlots);
+
+			return new CompiledRule(queryName, bodyAtoms, headAtoms, null, null, variableSlots.size());
+		}
+	}
+
+	private List<CompiledAtom> compileAtoms(String ruleName, List<SWRLAtom> atoms, Map<IRI, Integer> variableSlots)
+			throws TargetSWRLRuleEngineException
+	{
+		List<CompiledAtom> compiledAtoms = new ArrayList<>();
+
+		for (SWRLAtom atom : atoms)
+			compiledAtoms.add(compileAtom(ruleName, atom, variableSlots));
+
+		return compiledAtoms;
+	}
+
+	private CompiledAtom compileAtom(String ruleName, SWRLAtom atom, Map<IRI, Integer> variableSlots)
+			throws TargetSWRLRuleEngineException
+	{
+		if (atom instanceof SWRLAPIBuiltInAtom)
+			return compileBuiltInAtom((SWRLAPIBuiltInAtom)atom, variableSlots);
+		else if (atom instanceof SWRLClassAtom) {
+			SWRLClassAtom classAtom = (SWRLClassAtom)atom;
+			return compileFactAtom(CompiledAtom.Kind.CLASS, classAtom.getPredicate(), variableSlots,
+					classAtom.getArgument());
+		} else if (atom instanceof SWRLObjectPropertyAtom) {
+			SWRLObjectPropertyAtom propertyAtom = ((SWRLObjectPropertyAtom)atom).getSimplified();
+			return compileFactAtom(CompiledAtom.Kind.OBJECT_PROPERTY, propertyAtom.getPredicate().asOWLObjectProperty(),
+					variableSlots, propertyAtom.getFirstArgument(), propertyAtom.getSecondArgument());
+		} else if (atom instanceof SWRLDataPropertyAtom) {
+			SWRLDataPropertyAtom propertyAtom = (SWRLDataPropertyAtom)atom;
+			return compileFactAtom(CompiledAtom.Kind.DATA_PROPERTY, propertyAtom.getPredicate().asOWLDataProperty(),
+					variableSlots, propertyAtom.getFirstArgument(), propertyAtom.getSecondArgument());
+		} else if (atom instanceof SWRLSameIndividualAtom) {
+			SWRLSameIndividualAtom sameIndividualAtom = (SWRLSameIndividualAtom)atom;
+			return compileFactAtom(CompiledAtom.Kind.SAME_INDIVIDUAL, null, variableSlots,
+					sameIndividualAtom.getFirstArgument(), sameIndividualAtom.getSecondArgument());
+		} else if (atom instanceof SWRLDifferentIndividualsAtom) {
+			SWRLDifferentIndividualsAtom differentIndividualsAtom = (SWRLDifferentIndividualsAtom)atom;
+			return compileFactAtom(CompiledAtom.Kind.DIFFERENT_INDIVIDUALS, null, variableSlots,
+					differentIndividualsAtom.getFirstArgument(), differentIndividualsAtom.getSecondArgument());
+		} else if (atom instanceof SWRLDataRangeAtom) {
+			SWRLDataRangeAtom dataRangeAtom = (SWRLDataRangeAtom)atom;
+			return compileFactAtom(CompiledAtom.Kind.DATA_RANGE, dataRangeAtom.getPredicate(), variableSlots,
+					dataRangeAtom.getArgument());
+		} else
+			throw new TargetSWRLRuleEngineException("unsupported atom type " + atom.getClass().getCanonicalName()
+					+ " in rule " + ruleName);
+	}
+
+	private CompiledAtom compileFactAtom(CompiledAtom.Kind kind, OWLObject predicate, Map<IRI, Integer> variableSlots,
+			SWRLArgument... arguments) throws TargetSWRLRuleEngineException
+	{
+		int[] slots = new int[arguments.length];
+		Object[] constants = new Object[arguments.length];
+		IRI[] variableIRIs = new IRI[arguments.length];
+
+		for (int argumentIndex = 0; argumentIndex < arguments.length; argumentIndex++) {
+			SWRLArgument argument = arguments[argumentIndex];
+			IRI variableIRI = null;
+
+			if (argument instanceof SWRLBuiltInArgument) { // Named built-in arguments are also SWRL variables
+				SWRLBuiltInArgument builtInArgument = (SWRLBuiltInArgument)argument;
+				if (builtInArgument.isVariable())
+					variableIRI = builtInArgument.asVariable().getIRI();
+				else
+					constants[argumentIndex] = this.argumentConverter.toValue(builtInArgument);
+			} else if (argument instanceof SWRLVariable)
+				variableIRI = ((SWRLVariable)argument).getIRI();
+			else if (argument instanceof SWRLIndividualArgument)
+				constants[argumentIndex] = ((SWRLIndividualArgument)argument).getIndividual();
+			else if (argument instanceof SWRLLiteralArgument)
+				constants[argumentIndex] = ((SWRLLiteralArgument)argument).getLiteral();
+			else
+				throw new TargetSWRLRuleEngineException("unsupported argument type " + argument.getClass().getCanonicalName());
+
+			slots[argumentIndex] = variableIRI == null ? -1 : getSlot(variableIRI, variableSlots);
+			variableIRIs[argumentIndex] = variableIRI;
+		}
+		return new CompiledAtom(kind, predicate, slots, constants, variableIRIs, new String[arguments.length], null);
+	}
+
+	private CompiledAtom compileBuiltInAtom(SWRLAPIBuiltInAtom builtInAtom, Map<IRI, Integer> variableSlots)
+	{
+		List<SWRLBuiltInArgument> arguments = builtInAtom.getBuiltInArguments();
+		int[] slots = new int[arguments.size()];
+		Object[] constants = new Object[arguments.size()];
+		IRI[] variableIRIs = new IRI[arguments.size()];
+		String[] variablePrefixedNames = new String[arguments.size()];
+
+		Arrays.fill(slots, -1);
+
+		for (int argumentIndex = 0; argumentIndex < arguments.size(); argumentIndex++) {
+			SWRLBuiltInArgument argument = arguments.get(argumentIndex);
+
+			if (argument.isVariable()) {
+				variableIRIs[argumentIndex] = argument.asVariable().getIRI();
+				variablePrefixedNames[argumentIndex] = argument.asVariable().getVariablePrefixedName();
+				slots[argumentIndex] = getSlot(variableIRIs[argumentIndex], variableSlots);
+			} else
+				constants[argumentIndex] = argument;
+		}
+		return new CompiledAtom(CompiledAtom.Kind.BUILT_IN, null, slots, constants, variableIRIs, variablePrefixedNames,
+				builtInAtom);
+	}
+
+	private int getSlot(IRI variableIRI, Map<IRI, Integer> variableSlots)
+	{
+		Integer slot = variableSlots.get(variableIRI);
+
+		if (slot == null) {
+			slot = variableSlots.size();
+			variableSlots.put(variableIRI, slot);
+		}
+		return slot;
+	}
+}
@@ -0,0 +1,54 @@
+package org.swrlapi.exceptions;
+
+/**
+ * Thrown when a rule engine run is cancelled or reaches a limit set by an {@link org.swrlapi.core.ExecutionContext}.
+ * The exception records how much work the run had done when it was stopped.
+ */
+public class SWRLRuleEngineLimitException extends SWRLRuleEngineException
+{
+	private static final long serialVersionUID = 1L;
+
+	public enum Reason
+	{
+		CANCELLED, TIMEOUT, INFERRED_AXIOM_LIMIT, BUILT_IN_INVOCATION_LIMIT
+	}
+
+	private final Reason reason;
+	private final long elapsedTime;
+	private final long numberOfInferredOWLAxioms;
+	private final long numberOfBuiltInInvocations;
+
+	public SWRLRuleEngineLimitException(Reason reason, long elapsedTime, long numberOfInferredOWLAxioms,
+			long numberOfBuiltInInvocations)
+	{
+		super("rule engine run stopped (" + reason + ") after " + elapsedTime + " ms, " + numberOfInferredOWLAxioms
+				+ " inferred axioms, and " + numberOfBuiltInInvocations + " built-in invocations");
+		this.reason = reason;
+		this.elapsedTime = elapsedTime;
+		this.numberOfInferredOWLAxioms = numberOfInferredOWLAxioms;
+		this.numberOfBuiltInInvocations = numberOfBuiltInInvocations;
+	}
+
+	public Reason getReason()
+	{
+		return this.reason;
+	}
+
+	/**
+	 * @return The time in milliseconds from the start of the run until it was stopped
+	 */
+	public long getElapsedTime()
+	{
+		return this.elapsedTime;
+	}
+
+	public long getNumberOfInferredOWLAxioms()
+	{
+		return this.numberOfInferredOWLAxioms;
+	}
+
+	public long getNumberOfBuiltInInvocations()
+	{
+		return this.numberOfBuiltInInvocations;
+	}
+}
@@ -14,6 +14,14 @@ public class OWL2RLInconsistency
 		createArgumentDescription(OWL2RLNames.Rule.PRP_PDW.toString(), 0, 2, 2, 0);
 		createArgumentDescription(OWL2RLNames.Rule.PRP_ASYP.toString(), 0, 2, 1, 0);
 		createArgumentDescription(OWL2RLNames.Rule.CAX_DW.toString(), 2, 1, 0, 0);
+		createArgumentDescription(OWL2RLNames.Rule.CAX_ADC.toString(), 2, 1, 0, 0);
+		createArgumentDescription(OWL2RLNames.Rule.PRP_ADP.toString(), 0, 2, 2, 0);
+		createArgumentDescription(OWL2RLNames.Rule.PRP_IRP.toString(), 0, 1, 1, 0);
+		createArgumentDescription(OWL2RLNames.Rule.PRP_NPA1.toString(), 0, 2, 1, 0);
+		createArgumentDescription(OWL2RLNames.Rule.PRP_NPA2.toString(), 0, 1, 0, 1);
+		createArgumentDescription(OWL2RLNames.Rule.CLS_NOTHING2.toString(), 0, 1, 0, 0);
+		createArgumentDescription(OWL2RLNames.Rule.CLS_COM.toString(), 1, 1, 0, 0);
+		createArgumentDescription(OWL2RLNames.Rule.CLS_MAXC1.toString(), 1, 1, 0, 0);
 	}
 
 	public static boolean hasInconsistencyRuleArgumentsDescription(String owl2RLRuleName)
@@ -25,7 +25,8 @@ public class DefaultSQWRLQuery implements SQWRLQuery
 	private final String queryName;
 	private final List<SWRLAtom> bodyAtoms;
 	private final List<SWRLAtom> headAtoms;
-	private final DefaultSQWRLResult sqwrlResult;
+	private final DefaultSQWRLResult configuredSQWRLResult; // Empty result with this query's structure
+	private DefaultSQWRLResult sqwrlResult;
 	// Map of collection name to group  arguments. Applies only to grouped collections.
 	private final Map<String, List<SWRLBuiltInArgument>> collectionGroupArgumentsMap;
 	private final SWRLAPILiteralFactory swrlapiLiteralFactory;
@@ -48,6 +49,27 @@ public class DefaultSQWRLQuery implements SQWRLQuery
 
 		processSQWRLBuiltIns();
 		generateBuiltInAtomVariableDependencies();
+
+		this.configuredSQWRLResult = new DefaultSQWRLResult(this.sqwrlResult);
+	}
+
+	/**
+	 * Create a copy of a query that can be run independently of the original. The atoms and result configuration,
+	 * which are not modified once a query has been constructed, are shared; the copy has its own empty result and its
+	 * own active flag.
+	 */
+	public DefaultSQWRLQuery(DefaultSQWRLQuery query) throws SQWRLException
+	{
+		this.queryName = query.queryName;
+		this.bodyAtoms = query.bodyAtoms;
+		this.headAtoms = query.headAtoms;
+		this.active = query.active;
+		this.comment = query.comment;
+		this.collectionGroupArgumentsMap = query.collectionGroupArgumentsMap;
+		this.swrlapiLiteralFactory = query.swrlapiLiteralFactory;
+		this.configuredSQWRLResult = query.configuredSQWRLResult;
+
+		resetSQWRLResult();
 	}
 
 	@Override
@@ -83,6 +105,16 @@ public class DefaultSQWRLQuery implements SQWRLQuery
 		return this.sqwrlResult;
 	}
 
+	/**
+	 * Replace the result of this query with an empty one so that the query can be run again without reprocessing its
+	 * SQWRL built-ins. Results previously returned by {@link #getSQWRLResult()} are not affected.
+	 */
+	public void resetSQWRLResult() throws SQWRLException
+	{
+		this.sqwrlResult = new DefaultSQWRLResult(this.configuredSQWRLResult);
+		this.sqwrlResult.openRow();
+	}
+
 	@Override
 	public boolean hasSQWRLCollections()
 	{
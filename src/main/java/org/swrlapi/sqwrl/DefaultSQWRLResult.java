@@ -118,6 +118,7 @@ public class DefaultSQWRLResult implements SQWRLResult, SQWRLResultGenerator, Se
 	private boolean notNthSelection = false, firstSelection = false, lastSelection = false, notFirstSelection = false;
 	private boolean notLastSelection = false, nthSliceSelection = false, notNthSliceSelection = false;
 	private boolean nthLastSliceSelection = false, notNthLastSliceSelection = false;
+	private long runStartTime = -1, lastRowTime = -1, runTime = -1;
 
 	public DefaultSQWRLResult(SQWRLResultValueFactory sqwrlResultValueFactory)
 	{
@@ -142,6 +143,52 @@ public class DefaultSQWRLResult implements SQWRLResult, SQWRLResultGenerator, Se
 		this.rows = new ArrayList<>();
 	}
 
+	/**
+	 * Create an empty result with the same structure as a configured result. The new result is in the preparation
+	 * phase. The supplied result should not have been prepared because preparation can modify its selection settings.
+	 */
+	public DefaultSQWRLResult(DefaultSQWRLResult configuredResult) throws SQWRLException
+	{
+		configuredResult.throwExceptionIfNotConfigured();
+		configuredResult.throwExceptionIfAlreadyPrepared();
+
+		this.sqwrlResultValueFactory = configuredResult.sqwrlResultValueFactory;
+
+		this.isConfigured = true;
+		this.isPrepared = false;
+		this.isRowOpen = false;
+
+		this.allColumnNames = new ArrayList<>(configuredResult.allColumnNames);
+		this.aggregateColumnIndexes = new HashMap<>(configuredResult.aggregateColumnIndexes);
+		this.selectedColumnIndexes = new ArrayList<>(configuredResult.selectedColumnIndexes);
+		this.orderByColumnIndexes = new ArrayList<>(configuredResult.orderByColumnIndexes);
+		this.columnDisplayNames = new ArrayList<>(configuredResult.columnDisplayNames);
+
+		this.numberOfColumns = configuredResult.numberOfColumns;
+		this.isOrdered = configuredResult.isOrdered;
+		this.isAscending = configuredResult.isAscending;
+		this.isDistinct = configuredResult.isDistinct;
+		this.hasAggregates = configuredResult.hasAggregates;
+
+		this.limit = configuredResult.limit;
+		this.nth = configuredResult.nth;
+		this.firstN = configuredResult.firstN;
+		this.lastN = configuredResult.lastN;
+		this.sliceSize = configuredResult.sliceSize;
+		this.notNthSelection = configuredResult.notNthSelection;
+		this.firstSelection = configuredResult.firstSelection;
+		this.lastSelection = configuredResult.lastSelection;
+		this.notFirstSelection = configuredResult.notFirstSelection;
+		this.notLastSelection = configuredResult.notLastSelection;
+		this.nthSliceSelection = configuredResult.nthSliceSelection;
+		this.notNthSliceSelection = configuredResult.notNthSliceSelection;
+		this.nthLastSliceSelection = configuredResult.nthLastSliceSelection;
+		this.notNthLastSliceSelection = configuredResult.notNthLastSliceSelection;
+
+		this.currentRowIndex = -1;
+		this.rows = new ArrayList<>();
+	}
+
 	// Configuration phase methods
 
 	@Override
@@ -359,8 +406,11 @@ public class DefaultSQWRLResult implements SQWRLResult, SQWRLResultGenerator, Se
 		throwExceptionIfNotConfigured();
 		throwExceptionIfAlreadyPrepared();
 
-		if (this.isRowOpen)
+		if (this.isRowOpen) {
 			this.rows.add(this.rowData);
+			if (this.runStartTime != -1)
+				this.lastRowTime = System.currentTimeMillis();
+		}
 
 		this.isRowOpen = false;
 	}
@@ -374,6 +424,8 @@ public class DefaultSQWRLResult implements SQWRLResult, SQWRLResultGenerator, Se
 		if (this.currentRowDataColumnIndex != 0)
 			throwExceptionIfRowOpen(); // We allow prepared() with an open row if no data have been added.
 
+		long preparationStartTime = System.currentTimeMillis();
+
 		this.isPrepared = true;
 		this.isRowOpen = false;
 		this.currentRowDataColumnIndex = 0;
@@ -393,6 +445,26 @@ public class DefaultSQWRLResult implements SQWRLResult, SQWRLResultGenerator, Se
 		this.rows = processSelectionOperators(this.rows);
 
 		prepareColumnVectors();
+
+		if (this.runStartTime != -1) {
+			long preparationTime = System.currentTimeMillis() - preparationStartTime;
+			long generationTime = this.lastRowTime != -1 ? this.lastRowTime - this.runStartTime : 0;
+			this.runTime = generationTime + preparationTime;
+		}
+	}
+
+	@Override
+	public void setRunStartTime(long startTime)
+	{
+		this.runStartTime = startTime;
+	}
+
+	@Override
+	public long getRunTime() throws SQWRLException
+	{
+		throwExceptionIfNotPrepared();
+
+		return this.runTime;
 	}
 
 	// Methods used to retrieve data after result has been prepared
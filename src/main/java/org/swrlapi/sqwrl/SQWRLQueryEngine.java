@@ -1,8 +1,11 @@
 package org.swrlapi.sqwrl;
 
+import org.swrlapi.core.EngineMetrics;
+import org.swrlapi.core.ExecutionContext;
 import org.swrlapi.owl2rl.OWL2RLEngine;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -24,6 +27,18 @@ public interface SQWRLQueryEngine
 	 */
 	void runSQWRLQueries() throws SQWRLException;
 
+	/**
+	 * Run the named SQWRL queries together in a single rule engine pass and return their results, keyed by query name.
+	 * The time taken to produce each result is available from {@link SQWRLResult#getRunTime()}.
+	 */
+	Map<String, SQWRLResult> runSQWRLQueries(Set<String> queryNames) throws SQWRLException;
+
+	/**
+	 * Open a session for running successive SQWRL queries. Asserted axioms and SWRL rules are loaded into the underlying
+	 * rule engine once rather than before each query.
+	 */
+	SQWRLQuerySession openSession() throws SQWRLException;
+
 	/**
 	 * Create and run a SQWRL query. The query will be created and added to the associated ontology.
 	 */
@@ -49,6 +64,18 @@ public interface SQWRLQueryEngine
 	 */
 	Set<String> getSQWRLQueryNames();
 
+	/**
+	 * Limit the work done by each subsequent run of the underlying rule engine. When a limit is reached or the context is
+	 * cancelled the call that started the run throws a {@link org.swrlapi.exceptions.SWRLRuleEngineLimitException}. A
+	 * null context removes all limits.
+	 */
+	void setExecutionContext(ExecutionContext executionContext);
+
+	/**
+	 * Report phase timings and counts to a metrics listener. A null listener stops reporting.
+	 */
+	void setEngineMetrics(EngineMetrics engineMetrics);
+
 	/**
 	 * Reset the query engine.
 	 */
@@ -0,0 +1,30 @@
+package org.swrlapi.sqwrl;
+
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+/**
+ * A session for running successive SQWRL queries against an ontology whose asserted axioms and SWRL rules remain
+ * loaded in the underlying rule engine. Only the requested query is defined and run; between queries only the state of
+ * the SQWRL built-ins is cleared. Changes made to the ontology while a session is open are passed to the rule engine
+ * before the next query is run.
+ * <p/>
+ * Sessions are obtained from {@link org.swrlapi.sqwrl.SQWRLQueryEngine#openSession()}.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLQueryEngine
+ */
+public interface SQWRLQuerySession extends AutoCloseable
+{
+	/**
+	 * Run a named SQWRL query. SWRL rules will also be executed and any inferences produced by them will be available in
+	 * the query.
+	 */
+	SQWRLResult runSQWRLQuery(String queryName) throws SQWRLException;
+
+	boolean isOpen();
+
+	/**
+	 * Close the session. Queries cannot be run in a closed session.
+	 */
+	@Override
+	void close();
+}
@@ -31,6 +31,13 @@ public interface SQWRLResult
 
 	boolean isEmpty() throws SQWRLException;
 
+	/**
+	 * Get the time in milliseconds from the start of the rule engine run that generated this result until its last row
+	 * was generated, plus the time taken to prepare it. When several queries are run together this measures when each
+	 * result was complete. Returns -1 if the run start time was not recorded.
+	 */
+	long getRunTime() throws SQWRLException;
+
 	int getNumberOfRows() throws SQWRLException;
 
 	void reset() throws SQWRLException;
@@ -49,5 +49,11 @@ public interface SQWRLResultGenerator
 
 	void prepared() throws SQWRLException;
 
+	/**
+	 * Record the time (in milliseconds) at which the rule engine run that generates this result started. The run time of
+	 * the result is measured from this point.
+	 */
+	void setRunStartTime(long startTime);
+
 	int getCurrentNumberOfColumns() throws SQWRLException;
 }
@@ -4,8 +4,10 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIFactory;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleEngine;
 import org.swrlapi.parser.SWRLParseException;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 
@@ -18,6 +20,10 @@ import static org.swrlapi.test.SWRLAPITestUtil.createSWRLAPIOWLOntology;
 
 public class SWRLAPITestBase
 {
+	// The people declared by declarePeopleWithAges, aged 0, 10, 20 and so on, of whom those aged over 17 are adults
+	protected static final int NUMBER_OF_PEOPLE = 10;
+	protected static final int NUMBER_OF_ADULTS = 8;
+
 	String namespace;
 	OWLOntologyManager manager;
 	OWLOntology ontology;
@@ -115,4 +121,29 @@ public class SWRLAPITestBase
 	{
 		return swrlapiowlOntology.createSWRLRule(ruleName, rule);
 	}
+
+	/**
+	 * Declare the classes Person and Adult, the data property hasAge, and {@link #NUMBER_OF_PEOPLE} people p0, p1, ...
+	 * with ages 0, 10, ...
+	 */
+	protected void declarePeopleWithAges()
+	{
+		declareOWLClass("Person");
+		declareOWLClass("Adult");
+		declareOWLDataProperty("hasAge");
+
+		for (int personIndex = 0; personIndex < NUMBER_OF_PEOPLE; personIndex++) {
+			declareOWLNamedIndividual("p" + personIndex);
+			declareOWLClassAssertion("Person", "p" + personIndex);
+			declareOWLDataPropertyAssertion("p" + personIndex, "hasAge", "" + (personIndex * 10), "xsd:int");
+		}
+	}
+
+	/**
+	 * Create a native rule engine for the ontology created by {@link #createEmptyOntology(String)}.
+	 */
+	protected SWRLRuleEngine createRuleEngine()
+	{
+		return SWRLAPIFactory.createSWRLRuleEngine(swrlapiowlOntology, SWRLAPIFactory.createNativeSWRLRuleEngineCreator());
+	}
 }
@@ -0,0 +1,429 @@
+package org.swrlapi.test;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.util.DefaultPrefixManager;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.exceptions.SWRLAPIException;
+import org.swrlapi.parser.SWRLParseException;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates OWL ontologies containing SWRL rules and SQWRL queries of a chosen size. The same seed and settings always
+ * produce the same ontology, so the generated workloads can be used to compare runs of benchmarks and load tests.
+ * <p/>
+ * Classes are named <code>C0</code>, <code>C1</code>, ..., object properties <code>op0</code>, ..., data properties
+ * <code>dp0</code>, ..., and individuals <code>i0</code>, ..., all in the {@link #NAMESPACE} namespace. Classes form a
+ * forest with the configured depth and fan-out. Data properties with an even index have integer values and those with
+ * an odd index have string values.
+ * <p/>
+ * Rules are named <code>R0</code>, ... and queries <code>Q0</code>, .... Each has a class atom followed by a number of
+ * object property atoms joined in one of the {@link JoinShape}s, plus a number of built-in atoms drawn from the chosen
+ * {@link BuiltInKind}s. Rules infer a class assertion and queries select the join variables and built-in results.
+ */
+public class SyntheticWorkloadGenerator
+{
+	public static final String NAMESPACE = "http://swrlapi.org/ontologies/synthetic#";
+
+	public enum JoinShape
+	{
+		/**
+		 * <code>op0(?x0, ?x1) ^ op1(?x1, ?x2) ^ ...</code>
+		 */
+		CHAIN,
+		/**
+		 * <code>op0(?x0, ?x1) ^ op1(?x0, ?x2) ^ ...</code>
+		 */
+		STAR,
+		/**
+		 * <code>op0(?x0, ?x1) ^ op1(?x1, ?x2) ^ ... ^ opN(?xN, ?x0)</code>
+		 */
+		CYCLE
+	}
+
+	public enum BuiltInKind
+	{
+		/**
+		 * <code>swrlb:greaterThan</code> over an integer data property value
+		 */
+		COMPARISON,
+		/**
+		 * <code>swrlb:add</code> over an integer data property value
+		 */
+		ARITHMETIC,
+		/**
+		 * <code>swrlb:stringConcat</code> over a string data property value
+		 */
+		STRING
+	}
+
+	private final long seed;
+
+	private int numberOfClasses = 20;
+	private int hierarchyDepth = 3;
+	private int hierarchyFanOut = 3;
+	private int numberOfObjectProperties = 10;
+	private int numberOfDataProperties = 10;
+	private int numberOfIndividuals = 100;
+	private int numberOfClassAssertionsPerIndividual = 1;
+	private int numberOfObjectPropertyAssertionsPerIndividual = 2;
+	private int numberOfDataPropertyAssertionsPerIndividual = 2;
+	private int numberOfSWRLRules = 10;
+	private int numberOfSQWRLQueries = 10;
+	private int numberOfJoinAtoms = 2;
+	private int numberOfBuiltInsPerRule = 1;
+	private Set<JoinShape> joinShapes = EnumSet.allOf(JoinShape.class);
+	private Set<BuiltInKind> builtInKinds = EnumSet.allOf(BuiltInKind.class);
+
+	public SyntheticWorkloadGenerator(long seed)
+	{
+		this.seed = seed;
+	}
+
+	/**
+	 * Create a new ontology with the current settings. Each call with the same settings creates an identical ontology.
+	 */
+	public SWRLAPIOWLOntology generate() throws OWLOntologyCreationException, SWRLParseException, SQWRLException
+	{
+		checkSettings();
+
+		OWLOntologyManager ontologyManager = SWRLAPIFactory.createOWLOntologyManager();
+		OWLOntology ontology = ontologyManager.createOntology(IRI.create(NAMESPACE.substring(0, NAMESPACE.length() - 1)));
+		OWLDataFactory dataFactory = ontologyManager.getOWLDataFactory();
+		DefaultPrefixManager prefixManager = SWRLAPIFactory.createPrefixManager(ontology);
+		Random random = new Random(this.seed);
+
+		prefixManager.setDefaultPrefix(NAMESPACE);
+
+		ontologyManager.addAxioms(ontology, createOWLAxioms(dataFactory, random));
+
+		SWRLAPIOWLOntology swrlapiOWLOntology = SWRLAPIFactory.createOntology(ontology, prefixManager);
+
+		for (int ruleIndex = 0; ruleIndex < this.numberOfSWRLRules; ruleIndex++)
+			swrlapiOWLOntology.createSWRLRule("R" + ruleIndex, createRuleText(random, false));
+
+		for (int queryIndex = 0; queryIndex < this.numberOfSQWRLQueries; queryIndex++)
+			swrlapiOWLOntology.createSQWRLQuery("Q" + queryIndex, createRuleText(random, true));
+
+		return swrlapiOWLOntology;
+	}
+
+	public long getSeed()
+	{
+		return this.seed;
+	}
+
+	public void setNumberOfClasses(int numberOfClasses)
+	{
+		this.numberOfClasses = numberOfClasses;
+	}
+
+	/**
+	 * @param hierarchyDepth The number of levels in the class hierarchy; a depth of one gives no subclass axioms
+	 */
+	public void setHierarchyDepth(int hierarchyDepth)
+	{
+		this.hierarchyDepth = hierarchyDepth;
+	}
+
+	/**
+	 * @param hierarchyFanOut The number of root classes and the number of direct subclasses of each class
+	 */
+	public void setHierarchyFanOut(int hierarchyFanOut)
+	{
+		this.hierarchyFanOut = hierarchyFanOut;
+	}
+
+	public void setNumberOfObjectProperties(int numberOfObjectProperties)
+	{
+		this.numberOfObjectProperties = numberOfObjectProperties;
+	}
+
+	public void setNumberOfDataProperties(int numberOfDataProperties)
+	{
+		this.numberOfDataProperties = numberOfDataProperties;
+	}
+
+	public void setNumberOfIndividuals(int numberOfIndividuals)
+	{
+		this.numberOfIndividuals = numberOfIndividuals;
+	}
+
+	public void setNumberOfClassAssertionsPerIndividual(int numberOfClassAssertionsPerIndividual)
+	{
+		this.numberOfClassAssertionsPerIndividual = numberOfClassAssertionsPerIndividual;
+	}
+
+	public void setNumberOfObjectPropertyAssertionsPerIndividual(int numberOfObjectPropertyAssertionsPerIndividual)
+	{
+		this.numberOfObjectPropertyAssertionsPerIndividual = numberOfObjectPropertyAssertionsPerIndividual;
+	}
+
+	public void setNumberOfDataPropertyAssertionsPerIndividual(int numberOfDataPropertyAssertionsPerIndividual)
+	{
+		this.numberOfDataPropertyAssertionsPerIndividual = numberOfDataPropertyAssertionsPerIndividual;
+	}
+
+	public void setNumberOfSWRLRules(int numberOfSWRLRules)
+	{
+		this.numberOfSWRLRules = numberOfSWRLRules;
+	}
+
+	public void setNumberOfSQWRLQueries(int numberOfSQWRLQueries)
+	{
+		this.numberOfSQWRLQueries = numberOfSQWRLQueries;
+	}
+
+	/**
+	 * @param numberOfJoinAtoms The number of object property atoms in the body of each rule and query
+	 */
+	public void setNumberOfJoinAtoms(int numberOfJoinAtoms)
+	{
+		this.numberOfJoinAtoms = numberOfJoinAtoms;
+	}
+
+	public void setNumberOfBuiltInsPerRule(int numberOfBuiltInsPerRule)
+	{
+		this.numberOfBuiltInsPerRule = numberOfBuiltInsPerRule;
+	}
+
+	/**
+	 * @param joinShapes The shapes to choose from for each rule and query
+	 */
+	public void setJoinShapes(Set<JoinShape> joinShapes)
+	{
+		this.joinShapes = EnumSet.copyOf(joinShapes);
+	}
+
+	/**
+	 * @param builtInKinds The kinds of built-in to choose from for each built-in atom
+	 */
+	public void setBuiltInKinds(Set<BuiltInKind> builtInKinds)
+	{
+		this.builtInKinds = builtInKinds.isEmpty() ? EnumSet.noneOf(BuiltInKind.class) : EnumSet.copyOf(builtInKinds);
+	}
+
+	private void checkSettings()
+	{
+		if (this.numberOfClasses < 1)
+			throw new SWRLAPIException("at least one class is required");
+
+		if (this.hierarchyDepth < 1 || this.hierarchyFanOut < 1)
+			throw new SWRLAPIException("class hierarchy depth and fan-out must be at least one");
+
+		if (this.numberOfObjectProperties < 1 && (this.numberOfJoinAtoms > 0
+				|| this.numberOfIndividuals > 0 && this.numberOfObjectPropertyAssertionsPerIndividual > 0))
+			throw new SWRLAPIException("at least one object property is required");
+
+		if (this.numberOfDataProperties < 1 && (this.numberOfBuiltInsPerRule > 0
+				|| this.numberOfIndividuals > 0 && this.numberOfDataPropertyAssertionsPerIndividual > 0))
+			throw new SWRLAPIException("at least one data property is required");
+
+		if (this.numberOfBuiltInsPerRule > 0 && this.builtInKinds.isEmpty())
+			throw new SWRLAPIException("no built-in kinds chosen");
+
+		if (this.numberOfBuiltInsPerRule > 0 && this.builtInKinds.contains(BuiltInKind.STRING)
+				&& this.numberOfDataProperties < 2)
+			throw new SWRLAPIException("string built-ins require at least two data properties");
+
+		if (this.joinShapes.isEmpty())
+			throw new SWRLAPIException("no join shapes chosen");
+	}
+
+	private Set<OWLAxiom> createOWLAxioms(OWLDataFactory dataFactory, Random random)
+	{
+		Set<OWLAxiom> axioms = new LinkedHashSet<>();
+
+		for (int classIndex = 0; classIndex < this.numberOfClasses; classIndex++)
+			axioms.add(dataFactory.getOWLDeclarationAxiom(getOWLClass(dataFactory, classIndex)));
+		for (int propertyIndex = 0; propertyIndex < this.numberOfObjectProperties; propertyIndex++)
+			axioms.add(dataFactory.getOWLDeclarationAxiom(getOWLObjectProperty(dataFactory, propertyIndex)));
+		for (int propertyIndex = 0; propertyIndex < this.numberOfDataProperties; propertyIndex++)
+			axioms.add(dataFactory.getOWLDeclarationAxiom(getOWLDataProperty(dataFactory, propertyIndex)));
+
+		createClassHierarchyAxioms(dataFactory, axioms);
+
+		for (int individualIndex = 0; individualIndex < this.numberOfIndividuals; individualIndex++) {
+			OWLNamedIndividual individual = getOWLNamedIndividual(dataFactory, individualIndex);
+
+			axioms.add(dataFactory.getOWLDeclarationAxiom(individual));
+
+			for (int i = 0; i < this.numberOfClassAssertionsPerIndividual; i++)
+				axioms.add(dataFactory
+						.getOWLClassAssertionAxiom(getOWLClass(dataFactory, random.nextInt(this.numberOfClasses)), individual));
+
+			for (int i = 0; i < this.numberOfObjectPropertyAssertionsPerIndividual; i++)
+				axioms.add(dataFactory.getOWLObjectPropertyAssertionAxiom(
+						getOWLObjectProperty(dataFactory, random.nextInt(this.numberOfObjectProperties)), individual,
+						getOWLNamedIndividual(dataFactory, random.nextInt(this.numberOfIndividuals))));
+
+			for (int i = 0; i < this.numberOfDataPropertyAssertionsPerIndividual; i++) {
+				int propertyIndex = random.nextInt(this.numberOfDataProperties);
+				OWLLiteral value = propertyIndex % 2 == 0 ?
+						dataFactory.getOWLLiteral(random.nextInt(1000)) :
+						dataFactory.getOWLLiteral("s" + random.nextInt(1000));
+
+				axioms.add(dataFactory
+						.getOWLDataPropertyAssertionAxiom(getOWLDataProperty(dataFactory, propertyIndex), individual, value));
+			}
+		}
+		return axioms;
+	}
+
+	/**
+	 * The first <code>hierarchyFanOut</code> classes are roots. Each following class is a subclass of the earliest class
+	 * that is above the bottom level and has fewer than <code>hierarchyFanOut</code> subclasses, so the hierarchy is
+	 * filled breadth first. Classes left over when every level is full become further roots.
+	 */
+	private void createClassHierarchyAxioms(OWLDataFactory dataFactory, Set<OWLAxiom> axioms)
+	{
+		int[] levels = new int[this.numberOfClasses];
+		int[] numberOfSubclasses = new int[this.numberOfClasses];
+		List<Integer> parentCandidates = new ArrayList<>();
+		int nextCandidate = 0;
+
+		for (int classIndex = 0; classIndex < this.numberOfClasses; classIndex++) {
+			if (classIndex >= this.hierarchyFanOut && nextCandidate < parentCandidates.size()) {
+				int parentIndex = parentCandidates.get(nextCandidate);
+
+				axioms.add(dataFactory.getOWLSubClassOfAxiom(getOWLClass(dataFactory, classIndex),
+						getOWLClass(dataFactory, parentIndex)));
+				levels[classIndex] = levels[parentIndex] + 1;
+				if (++numberOfSubclasses[parentIndex] == this.hierarchyFanOut)
+					nextCandidate++;
+			}
+			if (levels[classIndex] < this.hierarchyDepth - 1)
+				parentCandidates.add(classIndex);
+		}
+	}
+
+	private String createRuleText(Random random, boolean isSQWRLQuery)
+	{
+		JoinShape joinShape = choose(random, this.joinShapes);
+		List<String> atoms = new ArrayList<>();
+		List<String> selectedVariables = new ArrayList<>();
+		int numberOfVariables = joinShape == JoinShape.CYCLE ? Math.max(1, this.numberOfJoinAtoms) :
+				this.numberOfJoinAtoms + 1;
+
+		atoms.add("C" + random.nextInt(this.numberOfClasses) + "(?x0)");
+
+		for (int atomIndex = 0; atomIndex < this.numberOfJoinAtoms; atomIndex++) {
+			String property = "op" + random.nextInt(this.numberOfObjectProperties);
+
+			switch (joinShape) {
+			case CHAIN:
+				atoms.add(property + "(?x" + atomIndex + ", ?x" + (atomIndex + 1) + ")");
+				break;
+			case STAR:
+				atoms.add(property + "(?x0, ?x" + (atomIndex + 1) + ")");
+				break;
+			default:
+				atoms.add(property + "(?x" + atomIndex + ", ?x" + (atomIndex + 1) % numberOfVariables + ")");
+				break;
+			}
+		}
+
+		for (int variableIndex = 0; variableIndex < numberOfVariables; variableIndex++)
+			selectedVariables.add("?x" + variableIndex);
+
+		for (int builtInIndex = 0; builtInIndex < this.numberOfBuiltInsPerRule; builtInIndex++) {
+			BuiltInKind builtInKind = choose(random, this.builtInKinds);
+			String subject = "?x" + builtInIndex % numberOfVariables;
+			String value = "?v" + builtInIndex;
+			String result = "?r" + builtInIndex;
+
+			switch (builtInKind) {
+			case COMPARISON:
+				atoms.add(getIntegerDataPropertyName(random) + "(" + subject + ", " + value + ")");
+				atoms.add("swrlb:greaterThan(" + value + ", " + random.nextInt(1000) + ")");
+				selectedVariables.add(value);
+				break;
+			case ARITHMETIC:
+				atoms.add(getIntegerDataPropertyName(random) + "(" + subject + ", " + value + ")");
+				atoms.add("swrlb:add(" + result + ", " + value + ", " + random.nextInt(1000) + ")");
+				selectedVariables.add(result);
+				break;
+			default:
+				atoms.add(getStringDataPropertyName(random) + "(" + subject + ", " + value + ")");
+				atoms.add("swrlb:stringConcat(" + result + ", " + value + ", \"s" + random.nextInt(1000) + "\")");
+				selectedVariables.add(result);
+				break;
+			}
+		}
+
+		StringBuilder sb = new StringBuilder();
+
+		for (String atom : atoms) {
+			if (sb.length() != 0)
+				sb.append(" ^ ");
+			sb.append(atom);
+		}
+		sb.append(" -> ");
+
+		if (isSQWRLQuery) {
+			sb.append("sqwrl:select(");
+			for (int i = 0; i < selectedVariables.size(); i++) {
+				if (i != 0)
+					sb.append(", ");
+				sb.append(selectedVariables.get(i));
+			}
+			sb.append(")");
+		} else
+			sb.append("C").append(random.nextInt(this.numberOfClasses)).append("(?x").append(numberOfVariables - 1)
+					.append(")");
+
+		return sb.toString();
+	}
+
+	private String getIntegerDataPropertyName(Random random)
+	{
+		return "dp" + 2 * random.nextInt((this.numberOfDataProperties + 1) / 2);
+	}
+
+	private String getStringDataPropertyName(Random random)
+	{
+		return "dp" + (2 * random.nextInt(this.numberOfDataProperties / 2) + 1);
+	}
+
+	private <T> T choose(Random random, Set<T> choices)
+	{
+		return new ArrayList<>(choices).get(random.nextInt(choices.size()));
+	}
+
+	private OWLClass getOWLClass(OWLDataFactory dataFactory, int classIndex)
+	{
+		return dataFactory.getOWLClass(IRI.create(NAMESPACE + "C" + classIndex));
+	}
+
+	private OWLObjectProperty getOWLObjectProperty(OWLDataFactory dataFactory, int propertyIndex)
+	{
+		return dataFactory.getOWLObjectProperty(IRI.create(NAMESPACE + "op" + propertyIndex));
+	}
+
+	private OWLDataProperty getOWLDataProperty(OWLDataFactory dataFactory, int propertyIndex)
+	{
+		return dataFactory.getOWLDataProperty(IRI.create(NAMESPACE + "dp" + propertyIndex));
+	}
+
+	private OWLNamedIndividual getOWLNamedIndividual(OWLDataFactory dataFactory, int individualIndex)
+	{
+		return dataFactory.getOWLNamedIndividual(IRI.create(NAMESPACE + "i" + individualIndex));
+	}
+}
@@ -0,0 +1,112 @@
+package org.swrlapi;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.swrlapi.core.EngineMetrics;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.core.impl.DefaultEngineMetrics;
+import org.swrlapi.parser.SWRLParseException;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.test.SWRLAPITestBase;
+
+/**
+ * Checks the timings and counts reported by a rule engine to its engine metrics.
+ */
+public class EngineMetricsTestCase extends SWRLAPITestBase
+{
+	private static final String Namespace = "http://protege.org/ontologies/EngineMetricsTests.owl#";
+
+	private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+	@Before
+	public void setUp() throws OWLOntologyCreationException, SWRLParseException
+	{
+		this.swrlapiOWLOntology = createEmptyOntology(Namespace);
+
+		declarePeopleWithAges();
+	}
+
+	@Test
+	public void TestInferRecordsEachPhase() throws Exception
+	{
+		createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		DefaultEngineMetrics engineMetrics = new DefaultEngineMetrics();
+
+		ruleEngine.setEngineMetrics(engineMetrics);
+		ruleEngine.infer(); // Knowledge was exported when the rule engine was created and the ontology has not changed
+
+		Assert.assertEquals(0, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.RESET));
+		Assert.assertEquals(0, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.EXPORT_OWL_AXIOMS));
+		Assert.assertEquals(1, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.RUN_TARGET_RULE_ENGINE));
+		Assert.assertEquals(1, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.WRITE_INFERRED_KNOWLEDGE));
+		Assert.assertTrue(engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.PROCESS_ONTOLOGY) >= 1);
+		Assert.assertEquals(0, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.PREPARE_SQWRL_RESULTS));
+		for (EngineMetrics.Phase phase : EngineMetrics.Phase.values())
+			Assert.assertTrue(engineMetrics.getPhaseDuration(phase) >= 0);
+	}
+
+	@Test
+	public void TestInferRecordsAxiomAndBuiltInCounts() throws Exception
+	{
+		createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		DefaultEngineMetrics engineMetrics = new DefaultEngineMetrics();
+
+		ruleEngine.setEngineMetrics(engineMetrics);
+		ruleEngine.reset(); // All knowledge is exported again
+		ruleEngine.infer();
+
+		Assert.assertEquals(1, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.EXPORT_OWL_AXIOMS));
+		Assert.assertEquals(NUMBER_OF_PEOPLE, engineMetrics.getNumberOfExportedOWLAxioms(AxiomType.CLASS_ASSERTION));
+		Assert.assertEquals(NUMBER_OF_PEOPLE,
+				engineMetrics.getNumberOfExportedOWLAxioms(AxiomType.DATA_PROPERTY_ASSERTION));
+		Assert.assertEquals(0, engineMetrics.getNumberOfExportedOWLAxioms(AxiomType.OBJECT_PROPERTY_ASSERTION));
+		Assert.assertEquals(NUMBER_OF_ADULTS, engineMetrics.getNumberOfInferredOWLAxioms(AxiomType.CLASS_ASSERTION));
+		Assert.assertEquals(NUMBER_OF_PEOPLE, engineMetrics.getNumberOfBuiltInInvocations("swrlb:greaterThan"));
+	}
+
+	@Test
+	public void TestQueryRecordsResultRows() throws Exception
+	{
+		createSQWRLQuery("q1", "Person(?p) ^ hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> sqwrl:select(?p)");
+
+		SQWRLQueryEngine queryEngine = SWRLAPIFactory
+				.createSQWRLQueryEngine(this.swrlapiOWLOntology, SWRLAPIFactory.createNativeSWRLRuleEngineCreator());
+		DefaultEngineMetrics engineMetrics = new DefaultEngineMetrics();
+
+		queryEngine.setEngineMetrics(engineMetrics);
+		queryEngine.runSQWRLQuery("q1");
+
+		Assert.assertEquals(1, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.PREPARE_SQWRL_RESULTS));
+		Assert.assertEquals(NUMBER_OF_ADULTS, engineMetrics.getNumberOfSQWRLResultRows("q1"));
+		Assert.assertEquals(0, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.WRITE_INFERRED_KNOWLEDGE));
+	}
+
+	@Test
+	public void TestResetClearsMetrics() throws Exception
+	{
+		createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		DefaultEngineMetrics engineMetrics = new DefaultEngineMetrics();
+
+		ruleEngine.setEngineMetrics(engineMetrics);
+		ruleEngine.reset();
+		ruleEngine.infer();
+		Assert.assertEquals(NUMBER_OF_PEOPLE, engineMetrics.getNumberOfExportedOWLAxioms(AxiomType.CLASS_ASSERTION));
+		engineMetrics.reset();
+
+		for (EngineMetrics.Phase phase : EngineMetrics.Phase.values())
+			Assert.assertEquals(0, engineMetrics.getNumberOfPhaseCompletions(phase));
+		Assert.assertEquals(0, engineMetrics.getNumberOfInferredOWLAxioms(AxiomType.CLASS_ASSERTION));
+		Assert.assertEquals(0, engineMetrics.getNumberOfExportedOWLAxioms(AxiomType.CLASS_ASSERTION));
+	}
+}
@@ -0,0 +1,123 @@
+package org.swrlapi;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.swrlapi.core.ExecutionContext;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.exceptions.SWRLRuleEngineLimitException;
+import org.swrlapi.parser.SWRLParseException;
+import org.swrlapi.test.SWRLAPITestBase;
+
+/**
+ * Runs a rule engine within the limits of an execution context.
+ */
+public class ExecutionLimitsTestCase extends SWRLAPITestBase
+{
+	private static final String Namespace = "http://protege.org/ontologies/ExecutionLimitsTests.owl#";
+
+	private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+	@Before
+	public void setUp() throws OWLOntologyCreationException, SWRLParseException
+	{
+		this.swrlapiOWLOntology = createEmptyOntology(Namespace);
+
+		declarePeopleWithAges();
+		createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+	}
+
+	@Test
+	public void TestRunWithinLimitsCompletes() throws Exception
+	{
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		ExecutionContext executionContext = SWRLAPIFactory
+				.createExecutionContext(ExecutionContext.UNLIMITED, NUMBER_OF_ADULTS, NUMBER_OF_PEOPLE);
+
+		ruleEngine.setExecutionContext(executionContext);
+		ruleEngine.infer();
+
+		Assert.assertEquals(NUMBER_OF_ADULTS, ruleEngine.getNumberOfInferredOWLAxioms());
+		Assert.assertEquals(NUMBER_OF_ADULTS, executionContext.getNumberOfInferredOWLAxioms());
+		Assert.assertEquals(NUMBER_OF_PEOPLE, executionContext.getNumberOfBuiltInInvocations());
+	}
+
+	@Test
+	public void TestInferredAxiomLimitStopsRun() throws Exception
+	{
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+
+		ruleEngine.setExecutionContext(
+				SWRLAPIFactory.createExecutionContext(ExecutionContext.UNLIMITED, 5, ExecutionContext.UNLIMITED));
+
+		SWRLRuleEngineLimitException exception = inferExpectingLimitException(ruleEngine);
+
+		Assert.assertEquals(SWRLRuleEngineLimitException.Reason.INFERRED_AXIOM_LIMIT, exception.getReason());
+		Assert.assertTrue(exception.getNumberOfInferredOWLAxioms() <= 5);
+		Assert.assertEquals(NUMBER_OF_PEOPLE,
+				this.swrlapiOWLOntology.getOWLOntology().getAxiomCount(AxiomType.CLASS_ASSERTION)); // Nothing written
+	}
+
+	@Test
+	public void TestBuiltInInvocationLimitStopsRun() throws Exception
+	{
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+
+		ruleEngine.setExecutionContext(
+				SWRLAPIFactory.createExecutionContext(ExecutionContext.UNLIMITED, ExecutionContext.UNLIMITED, 3));
+
+		SWRLRuleEngineLimitException exception = inferExpectingLimitException(ruleEngine);
+
+		Assert.assertEquals(SWRLRuleEngineLimitException.Reason.BUILT_IN_INVOCATION_LIMIT, exception.getReason());
+		Assert.assertEquals(3, exception.getNumberOfBuiltInInvocations());
+	}
+
+	@Test
+	public void TestCancelledContextStopsRun() throws Exception
+	{
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		ExecutionContext executionContext = SWRLAPIFactory
+				.createExecutionContext(ExecutionContext.UNLIMITED, ExecutionContext.UNLIMITED, ExecutionContext.UNLIMITED);
+
+		executionContext.cancel();
+		ruleEngine.setExecutionContext(executionContext);
+
+		SWRLRuleEngineLimitException exception = inferExpectingLimitException(ruleEngine);
+
+		Assert.assertEquals(SWRLRuleEngineLimitException.Reason.CANCELLED, exception.getReason());
+		Assert.assertEquals(0, exception.getNumberOfInferredOWLAxioms());
+		Assert.assertTrue(executionContext.isCancelled());
+	}
+
+	@Test
+	public void TestRuleEngineRunsAgainWithNewContext() throws Exception
+	{
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+
+		ruleEngine.setExecutionContext(
+				SWRLAPIFactory.createExecutionContext(ExecutionContext.UNLIMITED, 5, ExecutionContext.UNLIMITED));
+		inferExpectingLimitException(ruleEngine);
+
+		ruleEngine.setExecutionContext(null);
+		ruleEngine.infer();
+
+		Assert.assertEquals(NUMBER_OF_ADULTS, ruleEngine.getNumberOfInferredOWLAxioms());
+		Assert.assertEquals(NUMBER_OF_PEOPLE + NUMBER_OF_ADULTS,
+				this.swrlapiOWLOntology.getOWLOntology().getAxiomCount(AxiomType.CLASS_ASSERTION));
+	}
+
+	private SWRLRuleEngineLimitException inferExpectingLimitException(SWRLRuleEngine ruleEngine) throws Exception
+	{
+		try {
+			ruleEngine.infer();
+		} catch (SWRLRuleEngineLimitException e) {
+			return e;
+		}
+		Assert.fail("rule engine run was not stopped");
+		return null;
+	}
+}
@@ -0,0 +1,58 @@
+package org.swrlapi;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.resolvers.IDResolver;
+
+/**
+ * Assigns integer IDs to IRIs and literals.
+ */
+public class IDResolverTestCase
+{
+	private static final String Namespace = "http://protege.org/ontologies/IDResolverTests.owl#";
+
+	private OWLDataFactory dataFactory;
+	private IDResolver idResolver;
+
+	@Before
+	public void setUp()
+	{
+		this.dataFactory = SWRLAPIFactory.createOWLOntologyManager().getOWLDataFactory();
+		this.idResolver = new IDResolver(this.dataFactory);
+	}
+
+	@Test
+	public void TestIDsAreDenseAndReversible()
+	{
+		IRI first = IRI.create(Namespace + "first");
+		IRI second = IRI.create(Namespace + "second");
+
+		Assert.assertEquals(IDResolver.NO_ID, this.idResolver.findID(first));
+		Assert.assertEquals(0, this.idResolver.getID(first));
+		Assert.assertEquals(1, this.idResolver.getID(this.dataFactory.getOWLClass(second)));
+		Assert.assertEquals(0, this.idResolver.getID(this.dataFactory.getOWLNamedIndividual(first)));
+		Assert.assertEquals(2, this.idResolver.getNumberOfIDs());
+		Assert.assertEquals(second, this.idResolver.getIRI(1));
+		Assert.assertTrue(this.idResolver.isIRI(0));
+	}
+
+	@Test
+	public void TestEqualLiteralsShareIDs()
+	{
+		int id = this.idResolver.getID(this.dataFactory.getOWLLiteral("01", OWL2Datatype.XSD_INT));
+
+		Assert.assertEquals(id, this.idResolver.getID(this.dataFactory.getOWLLiteral("1", OWL2Datatype.XSD_INT)));
+		Assert.assertEquals("1", this.idResolver.getLiteral(id).getLiteral());
+		Assert.assertEquals(this.idResolver.getID(this.dataFactory.getOWLLiteral("1.50", OWL2Datatype.XSD_DECIMAL)),
+				this.idResolver.getID(this.dataFactory.getOWLLiteral("1.5", OWL2Datatype.XSD_DECIMAL)));
+		Assert.assertEquals(this.idResolver.getID(this.dataFactory.getOWLLiteral("1", OWL2Datatype.XSD_BOOLEAN)),
+				this.idResolver.getID(this.dataFactory.getOWLLiteral(true)));
+		Assert.assertNotEquals(id, this.idResolver.getID(this.dataFactory.getOWLLiteral("1", OWL2Datatype.XSD_INTEGER)));
+		Assert.assertNotEquals(id, this.idResolver.getID(this.dataFactory.getOWLLiteral("1")));
+	}
+}
@@ -0,0 +1,156 @@
+package org.swrlapi;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.swrlapi.bridge.sinks.BoundedQueueInferredAxiomSink;
+import org.swrlapi.bridge.sinks.CallbackInferredAxiomSink;
+import org.swrlapi.bridge.sinks.FileInferredAxiomSink;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.parser.SWRLParseException;
+import org.swrlapi.test.SWRLAPITestBase;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams the axioms inferred by a rule engine to inferred axiom sinks.
+ */
+public class InferredAxiomSinkTestCase extends SWRLAPITestBase
+{
+	private static final String Namespace = "http://protege.org/ontologies/InferredAxiomSinkTests.owl#";
+
+	@Rule
+	public TemporaryFolder outputDirectory = new TemporaryFolder();
+
+	private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+	@Before
+	public void setUp() throws OWLOntologyCreationException, SWRLParseException
+	{
+		this.swrlapiOWLOntology = createEmptyOntology(Namespace);
+
+		declareOWLObjectProperties("hasParent", "hasAncestor", "hasGrandparent", "hasDescendant");
+		declareOWLNamedIndividuals("p0", "p1", "p2", "p3");
+
+		for (int personIndex = 1; personIndex < 4; personIndex++) {
+			declareOWLObjectPropertyAssertion("p" + personIndex, "hasParent", "p" + (personIndex - 1));
+			declareOWLObjectPropertyAssertion("p" + personIndex, "hasAncestor", "p" + (personIndex - 1));
+		}
+		declareOWLObjectPropertyAssertion("p2", "hasAncestor", "p0");
+		declareOWLObjectPropertyAssertion("p3", "hasAncestor", "p1");
+		declareOWLObjectPropertyAssertion("p3", "hasAncestor", "p0");
+
+		createSWRLRule("r1", "hasParent(?x, ?y) ^ hasParent(?y, ?z) -> hasGrandparent(?x, ?z)");
+		createSWRLRule("r2", "hasAncestor(?x, ?y) -> hasDescendant(?y, ?x)");
+	}
+
+	@Test
+	public void TestCallbackSinkReceivesInferredAxiomsInBatches() throws Exception
+	{
+		final List<List<OWLAxiom>> batches = new ArrayList<>();
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+
+		ruleEngine.setInferredAxiomSink(new CallbackInferredAxiomSink(new CallbackInferredAxiomSink.Callback()
+		{
+			@Override
+			public void inferredOWLAxioms(List<OWLAxiom> axioms)
+			{
+				batches.add(axioms);
+			}
+		}, 3));
+		ruleEngine.infer();
+
+		Set<OWLAxiom> streamedAxioms = new HashSet<>();
+		for (List<OWLAxiom> batch : batches) {
+			Assert.assertTrue(batch.size() <= 3);
+			streamedAxioms.addAll(batch);
+		}
+
+		Assert.assertEquals(8, streamedAxioms.size()); // 2 grandparents and 6 descendants
+		Assert.assertEquals(3, batches.size());
+		Assert.assertTrue(ruleEngine.getInferredOWLAxioms().isEmpty());
+		for (OWLAxiom axiom : streamedAxioms)
+			Assert.assertFalse(this.swrlapiOWLOntology.getOWLOntology().containsAxiom(axiom));
+	}
+
+	@Test
+	public void TestSinkReceivesInferredAxiomsAgainAfterReset() throws Exception
+	{
+		final List<OWLAxiom> streamedAxioms = new ArrayList<>();
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+
+		ruleEngine.setInferredAxiomSink(new CallbackInferredAxiomSink(new CallbackInferredAxiomSink.Callback()
+		{
+			@Override
+			public void inferredOWLAxioms(List<OWLAxiom> axioms)
+			{
+				streamedAxioms.addAll(axioms);
+			}
+		}, 3));
+		ruleEngine.infer();
+		Assert.assertEquals(8, streamedAxioms.size()); // Each axiom is passed once per run
+		Assert.assertEquals(8, new HashSet<>(streamedAxioms).size());
+
+		ruleEngine.reset();
+		ruleEngine.infer();
+		Assert.assertEquals(16, streamedAxioms.size()); // Sinks do not remove duplicates
+		Assert.assertEquals(8, new HashSet<>(streamedAxioms).size());
+	}
+
+	@Test
+	public void TestFileSinkWritesOneLinePerInferredAxiom() throws Exception
+	{
+		File file = this.outputDirectory.newFile("inferred.txt");
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+
+		try (FileInferredAxiomSink sink = new FileInferredAxiomSink(file)) {
+			ruleEngine.setInferredAxiomSink(sink);
+			ruleEngine.infer();
+
+			Assert.assertEquals(8, sink.getNumberOfWrittenOWLAxioms());
+			Assert.assertEquals(8, Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).size()); // Flushed by infer
+		}
+	}
+
+	@Test
+	public void TestBoundedQueueSinkHandsInferredAxiomsToConsumer() throws Exception
+	{
+		final BoundedQueueInferredAxiomSink sink = new BoundedQueueInferredAxiomSink(2);
+		final Set<OWLAxiom> consumedAxioms = new HashSet<>();
+		Thread consumer = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				try {
+					OWLAxiom axiom;
+					while ((axiom = sink.take()) != null)
+						consumedAxioms.add(axiom);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+
+		consumer.start();
+		ruleEngine.setInferredAxiomSink(sink);
+		ruleEngine.infer(); // Blocks whenever the queue is full
+		sink.close();
+		consumer.join(10000);
+
+		Assert.assertFalse(consumer.isAlive());
+		Assert.assertEquals(8, consumedAxioms.size());
+	}
+}
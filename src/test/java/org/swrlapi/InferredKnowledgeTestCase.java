@@ -0,0 +1,102 @@
+package org.swrlapi;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.test.SWRLAPITestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Writes the axioms inferred by a rule engine back to the ontology.
+ */
+public class InferredKnowledgeTestCase extends SWRLAPITestBase
+{
+	private static final String Namespace = "http://protege.org/ontologies/InferredKnowledgeTests.owl#";
+
+	private SWRLAPIOWLOntology swrlapiOWLOntology;
+	private OWLDataFactory dataFactory;
+
+	@Before
+	public void setUp() throws OWLOntologyCreationException
+	{
+		this.swrlapiOWLOntology = createEmptyOntology(Namespace);
+		this.dataFactory = SWRLAPIFactory.createOWLOntologyManager().getOWLDataFactory();
+
+		declareOWLClass("Person");
+		declareOWLObjectProperties("hasParent", "hasAncestor");
+		declareOWLNamedIndividuals("p0", "p1", "p2", "p3");
+
+		for (int personIndex = 1; personIndex < 4; personIndex++)
+			declareOWLObjectPropertyAssertion("p" + personIndex, "hasParent", "p" + (personIndex - 1));
+	}
+
+	@Test
+	public void TestInferredAxiomsAreWrittenInOneBatch() throws Exception
+	{
+		createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		List<List<? extends OWLOntologyChange>> batches = recordOntologyChanges();
+
+		ruleEngine.infer();
+
+		Assert.assertEquals(1, batches.size());
+		Assert.assertEquals(3, batches.get(0).size());
+		Assert.assertTrue(this.swrlapiOWLOntology.getOWLOntology().getAxioms()
+				.containsAll(ruleEngine.getInferredOWLAxioms()));
+	}
+
+	@Test
+	public void TestBulkConversionSkipsAssertedAxioms() throws Exception
+	{
+		OWLAxiom assertedAxiom = getObjectPropertyAssertion("hasParent", "p1", "p0");
+		OWLAxiom newAxiom = getObjectPropertyAssertion("hasAncestor", "p1", "p0");
+		List<List<? extends OWLOntologyChange>> batches = recordOntologyChanges();
+
+		this.swrlapiOWLOntology.startBulkConversion();
+		this.swrlapiOWLOntology.addOWLAxioms(new HashSet<>(Arrays.asList(assertedAxiom, newAxiom)));
+		this.swrlapiOWLOntology.addOWLAxioms(new HashSet<>(Arrays.asList(newAxiom)));
+		Assert.assertTrue(batches.isEmpty());
+		this.swrlapiOWLOntology.completeBulkConversion();
+
+		Assert.assertEquals(1, batches.size());
+		Assert.assertEquals(1, batches.get(0).size());
+		Assert.assertEquals(newAxiom, batches.get(0).get(0).getAxiom());
+	}
+
+	private List<List<? extends OWLOntologyChange>> recordOntologyChanges()
+	{
+		final List<List<? extends OWLOntologyChange>> batches = new ArrayList<>();
+
+		this.swrlapiOWLOntology.getOWLOntologyManager().addOntologyChangeListener(new OWLOntologyChangeListener()
+		{
+			@Override
+			public void ontologiesChanged(List<? extends OWLOntologyChange> changes)
+			{
+				batches.add(new ArrayList<>(changes));
+			}
+		});
+		return batches;
+	}
+
+	private OWLAxiom getObjectPropertyAssertion(String propertyName, String subjectName, String objectName)
+	{
+		return this.dataFactory.getOWLObjectPropertyAssertionAxiom(
+				this.dataFactory.getOWLObjectProperty(IRI.create(Namespace + propertyName)),
+				this.dataFactory.getOWLNamedIndividual(IRI.create(Namespace + subjectName)),
+				this.dataFactory.getOWLNamedIndividual(IRI.create(Namespace + objectName)));
+	}
+}
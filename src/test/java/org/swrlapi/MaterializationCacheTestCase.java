@@ -0,0 +1,142 @@
+package org.swrlapi;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.semanticweb.owlapi.io.ToStringRenderer;
+import org.semanticweb.owlapi.manchestersyntax.renderer.ManchesterOWLSyntaxOWLObjectRendererImpl;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.util.SimpleRenderer;
+import org.swrlapi.core.EngineMetrics;
+import org.swrlapi.core.MaterializationCache;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.core.impl.DefaultEngineMetrics;
+import org.swrlapi.test.SWRLAPITestBase;
+
+import java.util.Set;
+
+/**
+ * Infers with a materialization cache and checks that stored materializations are reused.
+ */
+public class MaterializationCacheTestCase extends SWRLAPITestBase
+{
+	private static final String Namespace = "http://protege.org/ontologies/MaterializationCacheTests.owl#";
+
+	@Rule
+	public TemporaryFolder cacheDirectory = new TemporaryFolder();
+
+	private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+	@Test
+	public void TestCacheHitLoadsMaterializationIntoRuleEngine() throws Exception
+	{
+		MaterializationCache cache = SWRLAPIFactory.createMaterializationCache(this.cacheDirectory.getRoot());
+
+		createOntology("hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		SWRLRuleEngine ruleEngine = createRuleEngine(cache, new DefaultEngineMetrics());
+		ruleEngine.infer();
+		Set<OWLAxiom> inferredOWLAxioms = ruleEngine.getInferredOWLAxioms();
+
+		createOntology("hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		DefaultEngineMetrics engineMetrics = new DefaultEngineMetrics();
+		SWRLRuleEngine cachedRuleEngine = createRuleEngine(cache, engineMetrics);
+		cachedRuleEngine.infer();
+
+		Assert.assertEquals(3, inferredOWLAxioms.size());
+		Assert.assertEquals(inferredOWLAxioms, cachedRuleEngine.getInferredOWLAxioms());
+		Assert.assertEquals(3, cachedRuleEngine.getNumberOfInferredOWLAxioms());
+		Assert.assertEquals(0, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.RUN_TARGET_RULE_ENGINE));
+		Assert.assertTrue(this.swrlapiOWLOntology.getOWLOntology().getAxioms().containsAll(inferredOWLAxioms));
+
+		cachedRuleEngine.run(); // The target rule engine holds the materialization so nothing more is inferred
+		Assert.assertEquals(inferredOWLAxioms, cachedRuleEngine.getInferredOWLAxioms());
+	}
+
+	@Test
+	public void TestFingerprintIgnoresRuleAtomOrder() throws Exception
+	{
+		MaterializationCache cache = SWRLAPIFactory.createMaterializationCache(this.cacheDirectory.getRoot());
+
+		createOntology("Person(?x) ^ hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		createRuleEngine(cache, new DefaultEngineMetrics()).infer();
+
+		createOntology("hasParent(?x, ?y) ^ Person(?x) -> hasAncestor(?x, ?y)");
+		DefaultEngineMetrics engineMetrics = new DefaultEngineMetrics();
+		SWRLRuleEngine cachedRuleEngine = createRuleEngine(cache, engineMetrics);
+		cachedRuleEngine.infer();
+
+		Assert.assertEquals(1, this.cacheDirectory.getRoot().list().length);
+		Assert.assertEquals(0, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.RUN_TARGET_RULE_ENGINE));
+		Assert.assertEquals(3, cachedRuleEngine.getNumberOfInferredOWLAxioms());
+	}
+
+	@Test
+	public void TestFingerprintIgnoresToStringRenderer() throws Exception
+	{
+		MaterializationCache cache = SWRLAPIFactory.createMaterializationCache(this.cacheDirectory.getRoot());
+
+		createOntology("hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		createRuleEngine(cache, new DefaultEngineMetrics()).infer();
+
+		try {
+			ToStringRenderer.getInstance().setRenderer(new ManchesterOWLSyntaxOWLObjectRendererImpl());
+			createOntology("hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+			DefaultEngineMetrics engineMetrics = new DefaultEngineMetrics();
+			createRuleEngine(cache, engineMetrics).infer();
+
+			Assert.assertEquals(1, this.cacheDirectory.getRoot().list().length);
+			Assert.assertEquals(0, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.RUN_TARGET_RULE_ENGINE));
+		} finally {
+			ToStringRenderer.getInstance().setRenderer(new SimpleRenderer());
+		}
+	}
+
+	@Test
+	public void TestChangedAssertionsMissCache() throws Exception
+	{
+		MaterializationCache cache = SWRLAPIFactory.createMaterializationCache(this.cacheDirectory.getRoot());
+
+		createOntology("hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		createRuleEngine(cache, new DefaultEngineMetrics()).infer();
+
+		createOntology("hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		declareOWLObjectPropertyAssertion("p0", "hasParent", "p3");
+		DefaultEngineMetrics engineMetrics = new DefaultEngineMetrics();
+		SWRLRuleEngine ruleEngine = createRuleEngine(cache, engineMetrics);
+		ruleEngine.infer();
+
+		Assert.assertEquals(2, this.cacheDirectory.getRoot().list().length);
+		Assert.assertEquals(1, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.RUN_TARGET_RULE_ENGINE));
+		Assert.assertEquals(4, ruleEngine.getNumberOfInferredOWLAxioms());
+	}
+
+	private void createOntology(String rule) throws Exception
+	{
+		this.swrlapiOWLOntology = createEmptyOntology(Namespace);
+
+		declareOWLClass("Person");
+		declareOWLObjectProperties("hasParent", "hasAncestor");
+		declareOWLNamedIndividuals("p0", "p1", "p2", "p3");
+
+		for (int personIndex = 0; personIndex < 4; personIndex++) {
+			declareOWLClassAssertion("Person", "p" + personIndex);
+			if (personIndex > 0)
+				declareOWLObjectPropertyAssertion("p" + personIndex, "hasParent", "p" + (personIndex - 1));
+		}
+		createSWRLRule("r1", rule);
+	}
+
+	private SWRLRuleEngine createRuleEngine(MaterializationCache cache, EngineMetrics engineMetrics)
+	{
+		SWRLRuleEngine ruleEngine = SWRLAPIFactory
+				.createSWRLRuleEngine(this.swrlapiOWLOntology, SWRLAPIFactory.createNativeSWRLRuleEngineCreator());
+
+		ruleEngine.setMaterializationCache(cache);
+		ruleEngine.setEngineMetrics(engineMetrics);
+
+		return ruleEngine;
+	}
+}
@@ -0,0 +1,517 @@
+package org.swrlapi;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.swrlapi.core.EngineMetrics;
+import org.swrlapi.core.ExecutionContext;
+import org.swrlapi.core.OWLAxiomDerivation;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.core.impl.DefaultEngineMetrics;
+import org.swrlapi.engine.NativeSWRLRuleEngine;
+import org.swrlapi.exceptions.InconsistentKnowledgeBaseException;
+import org.swrlapi.exceptions.SWRLRuleEngineException;
+import org.swrlapi.exceptions.SWRLRuleEngineLimitException;
+import org.swrlapi.owl2rl.OWL2RLNames;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.test.SWRLAPITestBase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs SWRL rules and SQWRL queries in the native rule engine.
+ */
+public class NativeSWRLRuleEngineTestCase extends SWRLAPITestBase
+{
+	private static final String Namespace = "http://protege.org/ontologies/NativeSWRLRuleEngineTests.owl#";
+
+	private SWRLAPIOWLOntology swrlapiOWLOntology;
+	private OWLDataFactory dataFactory;
+
+	@Before
+	public void setUp() throws OWLOntologyCreationException
+	{
+		this.swrlapiOWLOntology = createEmptyOntology(Namespace);
+		this.dataFactory = SWRLAPIFactory.createOWLOntologyManager().getOWLDataFactory();
+
+		declareOWLClass("Person");
+		declareOWLClass("Adult");
+		declareOWLObjectProperties("hasParent", "hasAncestor");
+		declareOWLDataProperty("hasAge");
+		declareOWLDataProperty("hasNextAge");
+		declareOWLNamedIndividuals("p0", "p1", "p2", "p3", "p4");
+
+		for (int personIndex = 0; personIndex < 5; personIndex++) {
+			declareOWLClassAssertion("Person", "p" + personIndex);
+			declareOWLDataPropertyAssertion("p" + personIndex, "hasAge", "" + (personIndex * 10), "xsd:int");
+			if (personIndex > 0)
+				declareOWLObjectPropertyAssertion("p" + personIndex, "hasParent", "p" + (personIndex - 1));
+		}
+	}
+
+	@Test
+	public void TestRecursiveRulesReachFixpoint() throws Exception
+	{
+		createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		createSWRLRule("r2", "hasParent(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		ruleEngine.infer();
+
+		OWLObjectProperty hasAncestor = this.dataFactory.getOWLObjectProperty(IRI.create(Namespace + "hasAncestor"));
+		Set<OWLAxiom> inferredOWLAxioms = ruleEngine.getInferredOWLAxioms();
+
+		Assert.assertEquals(NativeSWRLRuleEngine.NAME, ruleEngine.getTargetRuleEngineName());
+		Assert.assertEquals(10, inferredOWLAxioms.size());
+		Assert.assertTrue(inferredOWLAxioms.contains(this.dataFactory
+				.getOWLObjectPropertyAssertionAxiom(hasAncestor, getIndividual("p4"), getIndividual("p0"))));
+	}
+
+	@Test
+	public void TestBuiltInsFilterAndBindVariables() throws Exception
+	{
+		createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?age) ^ swrlb:greaterThan(?age, 15) -> Adult(?p)");
+		createSWRLRule("r2", "Adult(?p) ^ hasAge(?p, ?age) ^ swrlb:add(?next, ?age, 1) -> hasNextAge(?p, ?next)");
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		ruleEngine.infer();
+
+		int numberOfAdults = 0;
+		int numberOfNextAges = 0;
+
+		for (OWLAxiom axiom : ruleEngine.getInferredOWLAxioms()) {
+			if (axiom.isOfType(AxiomType.CLASS_ASSERTION))
+				numberOfAdults++;
+			else if (axiom instanceof OWLDataPropertyAssertionAxiom) {
+				OWLDataPropertyAssertionAxiom propertyAssertionAxiom = (OWLDataPropertyAssertionAxiom)axiom;
+				Assert.assertEquals("hasNextAge", propertyAssertionAxiom.getProperty().asOWLDataProperty().getIRI()
+						.getShortForm());
+				Assert.assertEquals(1, propertyAssertionAxiom.getObject().parseInteger() % 10);
+				numberOfNextAges++;
+			}
+		}
+		Assert.assertEquals(3, numberOfAdults);
+		Assert.assertEquals(3, numberOfNextAges);
+	}
+
+	@Test
+	public void TestSQWRLQuerySeesInferredFacts() throws Exception
+	{
+		createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		createSQWRLQuery("q1", "hasAncestor(p3, ?a) -> sqwrl:select(?a)");
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		SQWRLResult result = ruleEngine.runSQWRLQuery("q1");
+
+		Assert.assertEquals(1, result.getNumberOfRows());
+		Assert.assertTrue(result.next());
+		Assert.assertEquals(Namespace + "p2", result.getIndividual(0).getIRI().toString());
+	}
+
+	@Test
+	public void TestSQWRLCollectionQuery() throws Exception
+	{
+		createSQWRLQuery("q1", "Person(?p) . sqwrl:makeSet(?s, ?p) . sqwrl:size(?n, ?s) -> sqwrl:select(?n)");
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		SQWRLResult result = ruleEngine.runSQWRLQuery("q1");
+
+		Assert.assertEquals(1, result.getNumberOfRows());
+		Assert.assertTrue(result.next());
+		Assert.assertEquals(5, result.getLiteral(0).getInt());
+	}
+
+	@Test
+	public void TestGoalDirectedSQWRLQueryInfersOnlyRelevantFacts() throws Exception
+	{
+		createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		createSWRLRule("r2", "hasParent(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+		createSWRLRule("r3", "Person(?p) ^ hasAge(?p, ?age) ^ swrlb:greaterThan(?age, 15) -> Adult(?p)");
+		createSQWRLQuery("q1", "hasAncestor(p1, ?a) -> sqwrl:select(?a)");
+
+		SWRLRuleEngine ruleEngine = SWRLAPIFactory
+				.createSWRLRuleEngine(this.swrlapiOWLOntology, SWRLAPIFactory.createNativeSWRLRuleEngineCreator(1, true));
+		ruleEngine.getOWL2RLEngine().disableAll(); // Goal-directed evaluation requires that no OWL 2 RL rules are enabled
+		SQWRLResult result = ruleEngine.runSQWRLQuery("q1");
+
+		Assert.assertEquals(1, result.getNumberOfRows());
+		Assert.assertTrue(result.next());
+		Assert.assertEquals(Namespace + "p0", result.getIndividual(0).getIRI().toString());
+		Assert.assertEquals(1, ruleEngine.getInferredOWLAxioms().size());
+	}
+
+	@Test
+	public void TestParallelEvaluationInfersSameAxioms() throws Exception
+	{
+		createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		createSWRLRule("r2", "hasParent(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+		createSWRLRule("r3", "Person(?p) ^ hasAge(?p, ?age) ^ swrlb:greaterThan(?age, 15) -> Adult(?p)");
+		createSWRLRule("r4", "Adult(?p) ^ hasAge(?p, ?age) ^ swrlb:add(?next, ?age, 1) -> hasNextAge(?p, ?next)");
+
+		SWRLRuleEngine sequentialRuleEngine = createRuleEngine();
+		sequentialRuleEngine.importSWRLRulesAndOWLKnowledge();
+		sequentialRuleEngine.run(); // Inferred axioms are not written to the ontology
+
+		SWRLRuleEngine parallelRuleEngine = SWRLAPIFactory
+				.createSWRLRuleEngine(this.swrlapiOWLOntology, SWRLAPIFactory.createNativeSWRLRuleEngineCreator(4));
+		parallelRuleEngine.importSWRLRulesAndOWLKnowledge();
+		parallelRuleEngine.run();
+
+		Assert.assertEquals(16, sequentialRuleEngine.getInferredOWLAxioms().size());
+		Assert.assertEquals(sequentialRuleEngine.getInferredOWLAxioms(), parallelRuleEngine.getInferredOWLAxioms());
+	}
+
+	@Test
+	public void TestParallelEvaluationInvokesHeadBuiltInsOnCallingThread() throws Exception
+	{
+		createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?age) -> Adult(?p) ^ swrlb:lessThan(?age, 100)");
+		createSWRLRule("r2", "hasParent(?x, ?y) ^ hasAge(?x, ?age) -> hasAncestor(?x, ?y) ^ swrlb:lessThan(?age, 100)");
+
+		final List<Thread> invokingThreads = Collections.synchronizedList(new ArrayList<Thread>());
+		SWRLRuleEngine ruleEngine = SWRLAPIFactory
+				.createSWRLRuleEngine(this.swrlapiOWLOntology, SWRLAPIFactory.createNativeSWRLRuleEngineCreator(4));
+
+		ruleEngine.setEngineMetrics(new DefaultEngineMetrics()
+		{
+			@Override
+			public void builtInInvoked(String builtInName)
+			{
+				super.builtInInvoked(builtInName);
+				invokingThreads.add(Thread.currentThread());
+			}
+		});
+		ruleEngine.infer();
+
+		Assert.assertEquals(9, invokingThreads.size());
+		for (Thread invokingThread : invokingThreads)
+			Assert.assertSame(Thread.currentThread(), invokingThread);
+	}
+
+	@Test
+	public void TestParallelEvaluationReusesThreadsAcrossRuns() throws Exception
+	{
+		createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?age) ^ swrlb:greaterThan(?age, 15) -> Adult(?p)");
+		createSWRLRule("r2", "hasParent(?x, ?y) ^ hasAge(?x, ?age) ^ swrlb:lessThan(?age, 100) -> hasAncestor(?x, ?y)");
+
+		final Set<String> poolNames = Collections.synchronizedSet(new HashSet<String>());
+		SWRLRuleEngine ruleEngine = SWRLAPIFactory
+				.createSWRLRuleEngine(this.swrlapiOWLOntology, SWRLAPIFactory.createNativeSWRLRuleEngineCreator(4));
+
+		ruleEngine.setEngineMetrics(new DefaultEngineMetrics()
+		{
+			@Override
+			public void builtInInvoked(String builtInName)
+			{
+				super.builtInInvoked(builtInName);
+				String threadName = Thread.currentThread().getName();
+				if (threadName.contains("-worker-"))
+					poolNames.add(threadName.substring(0, threadName.indexOf("-worker-")));
+			}
+		});
+		ruleEngine.infer();
+		ruleEngine.reset();
+		ruleEngine.infer();
+
+		Assert.assertTrue(poolNames.size() <= 1); // Body built-ins of both runs were invoked by threads of one pool
+System.err.println("POOLS " + poolNames);
+	}
+
+	@Test
+	public void TestOWL2RLRulesAndSWRLRulesReachFixpoint() throws Exception
+	{
+		OWLClass person = this.dataFactory.getOWLClass(IRI.create(Namespace + "Person"));
+		OWLClass parent = this.dataFactory.getOWLClass(IRI.create(Namespace + "Parent"));
+		OWLObjectProperty hasParent = this.dataFactory.getOWLObjectProperty(IRI.create(Namespace + "hasParent"));
+		OWLObjectProperty hasAncestor = this.dataFactory.getOWLObjectProperty(IRI.create(Namespace + "hasAncestor"));
+
+		declareOWLClass("Parent");
+		addOWLAxiom(this.dataFactory.getOWLObjectPropertyRangeAxiom(hasParent, parent));
+		addOWLAxiom(this.dataFactory.getOWLSubClassOfAxiom(parent, person));
+		addOWLAxiom(this.dataFactory.getOWLSubObjectPropertyOfAxiom(hasParent, hasAncestor));
+		addOWLAxiom(this.dataFactory.getOWLTransitiveObjectPropertyAxiom(hasAncestor));
+		createSWRLRule("r1", "Parent(?p) -> Adult(?p)");
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		ruleEngine.infer();
+
+		OWLClass adult = this.dataFactory.getOWLClass(IRI.create(Namespace + "Adult"));
+		Set<OWLAxiom> inferredOWLAxioms = ruleEngine.getInferredOWLAxioms();
+
+		Assert.assertTrue(inferredOWLAxioms.contains(this.dataFactory
+				.getOWLObjectPropertyAssertionAxiom(hasAncestor, getIndividual("p4"), getIndividual("p0"))));
+		Assert.assertTrue(
+				inferredOWLAxioms.contains(this.dataFactory.getOWLClassAssertionAxiom(parent, getIndividual("p0"))));
+		Assert.assertTrue(
+				inferredOWLAxioms.contains(this.dataFactory.getOWLClassAssertionAxiom(adult, getIndividual("p3"))));
+		Assert.assertFalse(
+				inferredOWLAxioms.contains(this.dataFactory.getOWLClassAssertionAxiom(adult, getIndividual("p4"))));
+	}
+
+	@Test
+	public void TestModuleExtractionExportsOnlyAxiomsReachingRules() throws Exception
+	{
+		OWLClass person = this.dataFactory.getOWLClass(IRI.create(Namespace + "Person"));
+		OWLClass student = this.dataFactory.getOWLClass(IRI.create(Namespace + "Student"));
+		OWLClass adult = this.dataFactory.getOWLClass(IRI.create(Namespace + "Adult"));
+
+		declareOWLClass("Student");
+		declareOWLClass("Car");
+		declareOWLClass("Vehicle");
+		declareOWLNamedIndividual("s0");
+		declareOWLClassAssertion("Student", "s0");
+		declareOWLDataPropertyAssertion("s0", "hasAge", "20", "xsd:int");
+		addOWLAxiom(this.dataFactory.getOWLSubClassOfAxiom(student, person));
+		addOWLAxiom(this.dataFactory.getOWLSubClassOfAxiom(this.dataFactory.getOWLClass(IRI.create(Namespace + "Car")),
+				this.dataFactory.getOWLClass(IRI.create(Namespace + "Vehicle"))));
+		createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?age) ^ swrlb:greaterThan(?age, 15) -> Adult(?p)");
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		DefaultEngineMetrics engineMetrics = SWRLAPIFactory.createEngineMetrics();
+
+		ruleEngine.setModuleExtractionEnabled(true);
+		ruleEngine.setEngineMetrics(engineMetrics);
+		ruleEngine.reset();
+		ruleEngine.infer();
+
+		Assert.assertEquals(1, engineMetrics.getNumberOfExportedOWLAxioms(AxiomType.SUBCLASS_OF));
+		Assert.assertTrue(ruleEngine.getInferredOWLAxioms()
+				.contains(this.dataFactory.getOWLClassAssertionAxiom(adult, getIndividual("s0"))));
+	}
+
+	@Test
+	public void TestModuleExtractionWithoutRulesKeepsAssertions() throws Exception
+	{
+		OWLClass person = this.dataFactory.getOWLClass(IRI.create(Namespace + "Person"));
+		OWLClass student = this.dataFactory.getOWLClass(IRI.create(Namespace + "Student"));
+
+		declareOWLClass("Student");
+		declareOWLNamedIndividual("s0");
+		declareOWLClassAssertion("Student", "s0");
+		addOWLAxiom(this.dataFactory.getOWLSubClassOfAxiom(student, person));
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+
+		ruleEngine.setModuleExtractionEnabled(true);
+		ruleEngine.reset();
+		ruleEngine.infer();
+
+		Assert.assertTrue(ruleEngine.getInferredOWLAxioms()
+				.contains(this.dataFactory.getOWLClassAssertionAxiom(person, getIndividual("s0"))));
+	}
+
+	@Test
+	public void TestRetractionDeletesAndRederivesInferences() throws Exception
+	{
+		OWLObjectProperty hasParent = this.dataFactory.getOWLObjectProperty(IRI.create(Namespace + "hasParent"));
+		OWLObjectProperty hasAncestor = this.dataFactory.getOWLObjectProperty(IRI.create(Namespace + "hasAncestor"));
+		OWLAxiom removedAxiom = this.dataFactory
+				.getOWLObjectPropertyAssertionAxiom(hasParent, getIndividual("p2"), getIndividual("p1"));
+		OWLAxiom supportedAxiom = this.dataFactory
+				.getOWLObjectPropertyAssertionAxiom(hasAncestor, getIndividual("p3"), getIndividual("p0"));
+		OWLAxiom unsupportedAxiom = this.dataFactory
+				.getOWLObjectPropertyAssertionAxiom(hasAncestor, getIndividual("p2"), getIndividual("p0"));
+
+		declareOWLObjectPropertyAssertion("p3", "hasParent", "p1"); // A second path from p3 to p0
+		createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		createSWRLRule("r2", "hasParent(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+
+		SWRLRuleEngine ruleEngine = createDerivationRecordingRuleEngine();
+		ruleEngine.importSWRLRulesAndOWLKnowledge();
+		ruleEngine.run();
+
+		Assert.assertTrue(ruleEngine.getInferredOWLAxioms().contains(unsupportedAxiom));
+		Assert.assertEquals(2, ruleEngine.getOWLAxiomDerivations(supportedAxiom).size());
+
+		this.swrlapiOWLOntology.getOWLOntologyManager()
+				.removeAxiom(this.swrlapiOWLOntology.getOWLOntology(), removedAxiom);
+		ruleEngine.importSWRLRulesAndOWLKnowledge();
+		ruleEngine.run();
+
+		SWRLRuleEngine reloadedRuleEngine = createRuleEngine();
+		reloadedRuleEngine.importSWRLRulesAndOWLKnowledge();
+		reloadedRuleEngine.run();
+
+		Assert.assertEquals(reloadedRuleEngine.getInferredOWLAxioms(), ruleEngine.getInferredOWLAxioms());
+		Assert.assertFalse(ruleEngine.getInferredOWLAxioms().contains(unsupportedAxiom));
+		Assert.assertTrue(ruleEngine.getInferredOWLAxioms().contains(supportedAxiom));
+		Assert.assertTrue(ruleEngine.getOWLAxiomDerivations(unsupportedAxiom).isEmpty());
+		Assert.assertEquals(1, ruleEngine.getOWLAxiomDerivations(supportedAxiom).size());
+		for (OWLAxiomDerivation derivation : ruleEngine.getOWLAxiomDerivations(supportedAxiom)) {
+			Assert.assertEquals("r2", derivation.getRuleName());
+			Assert.assertFalse(derivation.getPremises().contains(removedAxiom));
+		}
+	}
+
+	@Test
+	public void TestRetractionWithoutDerivationsResetsRuleEngine() throws Exception
+	{
+		OWLObjectProperty hasParent = this.dataFactory.getOWLObjectProperty(IRI.create(Namespace + "hasParent"));
+
+		createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		createSWRLRule("r2", "hasParent(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		DefaultEngineMetrics engineMetrics = SWRLAPIFactory.createEngineMetrics();
+
+		ruleEngine.importSWRLRulesAndOWLKnowledge();
+		ruleEngine.run();
+		ruleEngine.setEngineMetrics(engineMetrics);
+
+		for (OWLAxiom axiom : ruleEngine.getInferredOWLAxioms())
+			Assert.assertTrue(ruleEngine.getOWLAxiomDerivations(axiom).isEmpty());
+
+		this.swrlapiOWLOntology.getOWLOntologyManager().removeAxiom(this.swrlapiOWLOntology.getOWLOntology(),
+				this.dataFactory.getOWLObjectPropertyAssertionAxiom(hasParent, getIndividual("p2"), getIndividual("p1")));
+		ruleEngine.importSWRLRulesAndOWLKnowledge();
+		ruleEngine.run();
+
+		Assert.assertEquals(1, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.RESET));
+		Assert.assertEquals(4, ruleEngine.getInferredOWLAxioms().size());
+	}
+
+	@Test
+	public void TestIncrementalImportExportsOnlyAddedAxioms() throws Exception
+	{
+		OWLClass adult = this.dataFactory.getOWLClass(IRI.create(Namespace + "Adult"));
+		OWLObjectProperty hasAncestor = this.dataFactory.getOWLObjectProperty(IRI.create(Namespace + "hasAncestor"));
+
+		createSWRLRule("r1", "hasParent(?x, ?y) ^ Adult(?y) -> hasAncestor(?x, ?y)");
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		DefaultEngineMetrics engineMetrics = SWRLAPIFactory.createEngineMetrics();
+
+		ruleEngine.importSWRLRulesAndOWLKnowledge();
+		ruleEngine.run();
+		ruleEngine.setEngineMetrics(engineMetrics);
+
+		addOWLAxiom(this.dataFactory.getOWLClassAssertionAxiom(adult, getIndividual("p1")));
+		ruleEngine.importSWRLRulesAndOWLKnowledge();
+		ruleEngine.run();
+
+		Assert.assertEquals(1, engineMetrics.getNumberOfExportedOWLAxioms(AxiomType.CLASS_ASSERTION));
+		Assert.assertEquals(0, engineMetrics.getNumberOfExportedOWLAxioms(AxiomType.OBJECT_PROPERTY_ASSERTION));
+		Assert.assertEquals(0, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.RESET));
+		Assert.assertTrue(ruleEngine.getInferredOWLAxioms().contains(
+				this.dataFactory.getOWLObjectPropertyAssertionAxiom(hasAncestor, getIndividual("p2"), getIndividual("p1"))));
+	}
+
+	@Test
+	public void TestAssertedInferenceIsKeptWhenItsPremiseIsRetracted() throws Exception
+	{
+		OWLObjectProperty hasParent = this.dataFactory.getOWLObjectProperty(IRI.create(Namespace + "hasParent"));
+		OWLObjectProperty hasAncestor = this.dataFactory.getOWLObjectProperty(IRI.create(Namespace + "hasAncestor"));
+		OWLAxiom assertedInference = this.dataFactory
+				.getOWLObjectPropertyAssertionAxiom(hasAncestor, getIndividual("p2"), getIndividual("p0"));
+		OWLAxiom dependentInference = this.dataFactory
+				.getOWLObjectPropertyAssertionAxiom(hasAncestor, getIndividual("p3"), getIndividual("p0"));
+
+		createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		createSWRLRule("r2", "hasParent(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+
+		SWRLRuleEngine ruleEngine = createDerivationRecordingRuleEngine();
+		ruleEngine.importSWRLRulesAndOWLKnowledge();
+		ruleEngine.run();
+
+		Assert.assertTrue(ruleEngine.getInferredOWLAxioms().contains(assertedInference));
+
+		addOWLAxiom(assertedInference);
+		ruleEngine.importSWRLRulesAndOWLKnowledge();
+		this.swrlapiOWLOntology.getOWLOntologyManager().removeAxiom(this.swrlapiOWLOntology.getOWLOntology(),
+				this.dataFactory.getOWLObjectPropertyAssertionAxiom(hasParent, getIndividual("p2"), getIndividual("p1")));
+		ruleEngine.importSWRLRulesAndOWLKnowledge();
+		ruleEngine.run();
+
+		Assert.assertTrue(ruleEngine.getInferredOWLAxioms().contains(dependentInference));
+	}
+
+	@Test
+	public void TestRuleRemovalResetsRuleEngine() throws Exception
+	{
+		createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		createSWRLRule("r2", "hasParent(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+
+		SWRLRuleEngine ruleEngine = createRuleEngine();
+		DefaultEngineMetrics engineMetrics = SWRLAPIFactory.createEngineMetrics();
+
+		ruleEngine.importSWRLRulesAndOWLKnowledge();
+		ruleEngine.run();
+		ruleEngine.setEngineMetrics(engineMetrics);
+
+		this.swrlapiOWLOntology.deleteSWRLRule("r2");
+		ruleEngine.importSWRLRulesAndOWLKnowledge();
+		ruleEngine.run();
+
+		Assert.assertEquals(1, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.RESET));
+		Assert.assertEquals(4, ruleEngine.getInferredOWLAxioms().size());
+	}
+
+	@Test
+	public void TestInferredAxiomLimitStopsEvaluationBeforeMerge() throws Exception
+	{
+		createSWRLRule("r1", "Person(?x) ^ Person(?y) -> hasAncestor(?x, ?y)");
+
+		for (int parallelism : new int[] { 1, 4 }) {
+			SWRLRuleEngine ruleEngine = SWRLAPIFactory
+					.createSWRLRuleEngine(this.swrlapiOWLOntology, SWRLAPIFactory.createNativeSWRLRuleEngineCreator(parallelism));
+
+			ruleEngine.setExecutionContext(
+					SWRLAPIFactory.createExecutionContext(ExecutionContext.UNLIMITED, 10, ExecutionContext.UNLIMITED));
+			try {
+				ruleEngine.infer();
+				Assert.fail("inferred axiom limit not reached");
+			} catch (SWRLRuleEngineLimitException e) {
+				Assert.assertEquals(SWRLRuleEngineLimitException.Reason.INFERRED_AXIOM_LIMIT, e.getReason());
+				Assert.assertEquals(0, e.getNumberOfInferredOWLAxioms()); // Stopped while the rule was being evaluated
+			}
+		}
+	}
+
+	@Test
+	public void TestOWL2RLInconsistencyIsReported() throws Exception
+	{
+		OWLClass person = this.dataFactory.getOWLClass(IRI.create(Namespace + "Person"));
+		OWLClass adult = this.dataFactory.getOWLClass(IRI.create(Namespace + "Adult"));
+
+		addOWLAxiom(this.dataFactory.getOWLDisjointClassesAxiom(person, adult));
+		createSWRLRule("r1", "Person(?p) ^ hasAge(?p, ?age) ^ swrlb:greaterThan(?age, 15) -> Adult(?p)");
+
+		try {
+			createRuleEngine().infer();
+			Assert.fail("inconsistency not reported");
+		} catch (SWRLRuleEngineException e) {
+			Assert.assertTrue(e.getCause() instanceof InconsistentKnowledgeBaseException);
+			Assert.assertTrue(e.getMessage().contains(OWL2RLNames.Rule.CAX_DW.toString()));
+		}
+	}
+
+	private SWRLRuleEngine createDerivationRecordingRuleEngine()
+	{
+		return SWRLAPIFactory.createSWRLRuleEngine(this.swrlapiOWLOntology,
+				SWRLAPIFactory.createNativeSWRLRuleEngineCreator(1, false, true));
+	}
+
+	private void addOWLAxiom(OWLAxiom axiom)
+	{
+		this.swrlapiOWLOntology.getOWLOntologyManager().addAxiom(this.swrlapiOWLOntology.getOWLOntology(), axiom);
+	}
+
+	private OWLNamedIndividual getIndividual(String name)
+	{
+		return this.dataFactory.getOWLNamedIndividual(IRI.create(Namespace + name));
+	}
+}
@@ -0,0 +1,187 @@
+package org.swrlapi;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.swrlapi.core.OWLAssertionStore;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.core.resolvers.IDResolver;
+import org.swrlapi.test.SWRLAPITestBase;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Holds the assertions of an ontology in a memory-mapped assertion store.
+ */
+public class OWLAssertionStoreTestCase extends SWRLAPITestBase
+{
+	private static final String Namespace = "http://protege.org/ontologies/OWLAssertionStoreTests.owl#";
+	private static final int NUMBER_OF_PEOPLE = 50;
+
+	private SWRLAPIOWLOntology swrlapiOWLOntology;
+	private OWLDataFactory dataFactory;
+	private File directory;
+	private OWLAssertionStore store;
+
+	@Before
+	public void setUp() throws OWLOntologyCreationException, IOException
+	{
+		this.swrlapiOWLOntology = createEmptyOntology(Namespace);
+		this.dataFactory = SWRLAPIFactory.createOWLOntologyManager().getOWLDataFactory();
+		this.directory = Files.createTempDirectory("OWLAssertionStoreTests").toFile();
+		this.store = SWRLAPIFactory.createOWLAssertionStore(this.swrlapiOWLOntology, this.directory);
+
+		declareOWLClass("Person");
+		declareOWLObjectProperties("hasParent", "hasAncestor");
+		declareOWLDataProperty("hasAge");
+
+		for (int personIndex = NUMBER_OF_PEOPLE - 1; personIndex >= 0; personIndex--) {
+			declareOWLNamedIndividual("p" + personIndex);
+			declareOWLClassAssertion("Person", "p" + personIndex);
+			declareOWLDataPropertyAssertion("p" + personIndex, "hasAge", "" + personIndex, "xsd:int");
+			if (personIndex > 0)
+				declareOWLObjectPropertyAssertion("p" + personIndex, "hasParent", "p" + (personIndex - 1));
+		}
+	}
+
+	@After
+	public void tearDown()
+	{
+		this.store.close();
+		this.directory.delete();
+	}
+
+	@Test
+	public void TestAssertionsAreHeldInStore() throws Exception
+	{
+		this.swrlapiOWLOntology.processOntology();
+		Set<OWLAxiom> inMemoryOWLAxioms = new HashSet<>(this.swrlapiOWLOntology.getOWLAxioms());
+
+		this.swrlapiOWLOntology.setOWLAssertionStore(this.store);
+		this.swrlapiOWLOntology.processOntology();
+
+		Assert.assertEquals(3 * NUMBER_OF_PEOPLE - 1, this.store.size());
+		Assert.assertEquals(inMemoryOWLAxioms.size(), this.swrlapiOWLOntology.getNumberOfOWLAxioms());
+		Assert.assertEquals(inMemoryOWLAxioms, new HashSet<>(this.swrlapiOWLOntology.getOWLAxioms()));
+		Assert.assertTrue(this.swrlapiOWLOntology.hasAssertedOWLAxiom(getHasParentAxiom("p7", "p6")));
+		Assert.assertFalse(this.swrlapiOWLOntology.hasAssertedOWLAxiom(getHasParentAxiom("p6", "p7")));
+	}
+
+	@Test
+	public void TestTriplePatternsMatch() throws Exception
+	{
+		this.swrlapiOWLOntology.setOWLAssertionStore(this.store);
+		this.swrlapiOWLOntology.processOntology();
+
+		IDResolver idResolver = this.swrlapiOWLOntology.getIDResolver();
+		int hasParentID = idResolver.findID(IRI.create(Namespace + "hasParent"));
+		OWLAssertionStore.Cursor cursor = this.store.find(IDResolver.NO_ID, hasParentID, idResolver.findID(getIRI("p3")));
+
+		Assert.assertTrue(cursor.next());
+		Assert.assertEquals(getIRI("p4"), idResolver.getIRI(cursor.getSubjectID()));
+		Assert.assertEquals(getHasParentAxiom("p4", "p3"), cursor.getOWLAxiom());
+		Assert.assertFalse(cursor.next());
+
+		cursor = this.store.find(idResolver.findID(getIRI("p3")), IDResolver.NO_ID, IDResolver.NO_ID);
+		int numberOfMatches = 0;
+		while (cursor.next())
+			numberOfMatches++;
+		Assert.assertEquals(3, numberOfMatches);
+
+		cursor = this.store.find(IDResolver.NO_ID, this.store.getClassAssertionPredicateID(), IDResolver.NO_ID);
+		numberOfMatches = 0;
+		while (cursor.next())
+			numberOfMatches++;
+		Assert.assertEquals(NUMBER_OF_PEOPLE, numberOfMatches);
+	}
+
+	@Test
+	public void TestRemovedAssertionsAreDropped() throws Exception
+	{
+		OWLAxiom axiom = getHasParentAxiom("p7", "p6");
+
+		this.swrlapiOWLOntology.setOWLAssertionStore(this.store);
+		this.swrlapiOWLOntology.processOntology();
+
+		this.swrlapiOWLOntology.getOWLOntologyManager().removeAxiom(this.swrlapiOWLOntology.getOWLOntology(), axiom);
+		this.swrlapiOWLOntology.processOntology();
+		Assert.assertFalse(this.swrlapiOWLOntology.hasAssertedOWLAxiom(axiom));
+		Assert.assertEquals(3 * NUMBER_OF_PEOPLE - 2, this.store.size());
+
+		this.swrlapiOWLOntology.getOWLOntologyManager().addAxiom(this.swrlapiOWLOntology.getOWLOntology(), axiom);
+		this.swrlapiOWLOntology.processOntology();
+		Assert.assertTrue(this.swrlapiOWLOntology.hasAssertedOWLAxiom(axiom));
+		Assert.assertEquals(3 * NUMBER_OF_PEOPLE - 1, this.store.size());
+	}
+
+	@Test
+	public void TestDuplicateAssertionsAreNotAdded() throws Exception
+	{
+		OWLAxiom axiom = getHasParentAxiom("p2", "p0");
+
+		Assert.assertTrue(this.store.add(axiom));
+		Assert.assertTrue(this.store.contains(axiom));
+		Assert.assertFalse(this.store.add(axiom));
+		Assert.assertEquals(1, this.store.size());
+		Assert.assertFalse(this.store.add(axiom));
+		Assert.assertFalse(this.store.add(this.dataFactory.getOWLClassAssertionAxiom(
+				this.dataFactory.getOWLObjectComplementOf(this.dataFactory.getOWLClass(getIRI("Person"))),
+				this.dataFactory.getOWLNamedIndividual(getIRI("p0")))));
+		Assert.assertEquals(1, this.store.size());
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void TestCursorFailsAfterModification() throws Exception
+	{
+		this.swrlapiOWLOntology.setOWLAssertionStore(this.store);
+		this.swrlapiOWLOntology.processOntology();
+
+		OWLAssertionStore.Cursor cursor = this.store.find(IDResolver.NO_ID, IDResolver.NO_ID, IDResolver.NO_ID);
+
+		Assert.assertTrue(cursor.next());
+		this.store.add(getHasParentAxiom("p2", "p0"));
+		cursor.next();
+	}
+
+	@Test
+	public void TestRulesInferFromStoredAssertions() throws Exception
+	{
+		createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		this.swrlapiOWLOntology.setOWLAssertionStore(this.store);
+
+		SWRLRuleEngine ruleEngine = SWRLAPIFactory
+				.createSWRLRuleEngine(this.swrlapiOWLOntology, SWRLAPIFactory.createNativeSWRLRuleEngineCreator());
+		ruleEngine.infer();
+
+		Assert.assertEquals(NUMBER_OF_PEOPLE - 1, ruleEngine.getInferredOWLAxioms().size());
+	}
+
+	private OWLObjectPropertyAssertionAxiom getHasParentAxiom(String subjectName, String objectName)
+	{
+		OWLObjectProperty hasParent = this.dataFactory.getOWLObjectProperty(IRI.create(Namespace + "hasParent"));
+		OWLNamedIndividual subject = this.dataFactory.getOWLNamedIndividual(getIRI(subjectName));
+		OWLNamedIndividual object = this.dataFactory.getOWLNamedIndividual(getIRI(objectName));
+
+		return this.dataFactory.getOWLObjectPropertyAssertionAxiom(hasParent, subject, object);
+	}
+
+	private IRI getIRI(String name)
+	{
+		return IRI.create(Namespace + name);
+	}
+}
@@ -0,0 +1,333 @@
+package org.swrlapi;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIOntologySnapshot;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleEngineManager;
+import org.swrlapi.exceptions.SWRLAPIException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+import org.swrlapi.owl2rl.AbstractOWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLNames;
+import org.swrlapi.parser.SWRLParseException;
+import org.swrlapi.sqwrl.SQWRLQuery;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.SQWRLResultGenerator;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.test.SWRLAPITestBase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs SQWRL queries concurrently in several rule engines that share one ontology snapshot. The target rule engine used
+ * here simply selects the members of the class named in the first body atom of each active query.
+ */
+public class SQWRLConcurrentQueryTestCase extends SWRLAPITestBase
+{
+	private static final String Namespace = "http://protege.org/ontologies/SQWRLConcurrentQueryTests.owl#";
+	private static final int NumberOfClasses = 5;
+	private static final int NumberOfIndividualsPerClass = 40;
+	private static final int NumberOfThreads = 8;
+	private static final int NumberOfEngines = 32;
+	private static final int NumberOfRunsPerEngine = 10;
+
+	private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+	@Before
+	public void setUp() throws OWLOntologyCreationException, SWRLParseException, SQWRLException
+	{
+		this.swrlapiOWLOntology = createEmptyOntology(Namespace);
+
+		for (int classIndex = 0; classIndex < NumberOfClasses; classIndex++) {
+			declareOWLClass("C" + classIndex);
+			for (int individualIndex = 0; individualIndex < NumberOfIndividualsPerClass; individualIndex++) {
+				declareOWLNamedIndividual("i" + classIndex + "_" + individualIndex);
+				declareOWLClassAssertion("C" + classIndex, "i" + classIndex + "_" + individualIndex);
+			}
+			createSQWRLQuery("q" + classIndex, "C" + classIndex + "(?x) -> sqwrl:select(?x)");
+		}
+	}
+
+	@Test
+	public void TestConcurrentQueriesOverSharedSnapshot() throws Exception
+	{
+		final SWRLAPIOntologySnapshot snapshot = SWRLAPIFactory.createOntologySnapshot(this.swrlapiOWLOntology);
+		ExecutorService executor = Executors.newFixedThreadPool(NumberOfThreads);
+		List<Future<Integer>> futures = new ArrayList<>();
+
+		try {
+			for (int engineIndex = 0; engineIndex < NumberOfEngines; engineIndex++) {
+				futures.add(executor.submit(new Callable<Integer>()
+				{
+					@Override
+					public Integer call() throws Exception
+					{
+						return runQueries(snapshot);
+					}
+				}));
+			}
+
+			for (Future<Integer> future : futures)
+				Assert.assertEquals(NumberOfRunsPerEngine * NumberOfClasses * 2, (int)future.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void TestSnapshotIsUnaffectedByOntologyChanges() throws Exception
+	{
+		SWRLAPIOntologySnapshot snapshot = SWRLAPIFactory.createOntologySnapshot(this.swrlapiOWLOntology);
+		int numberOfOWLAxioms = snapshot.getOWLAxioms().size();
+
+		declareOWLNamedIndividual("extra");
+		declareOWLClassAssertion("C0", "extra");
+		this.swrlapiOWLOntology.processOntology();
+
+		Assert.assertEquals(numberOfOWLAxioms, snapshot.getOWLAxioms().size());
+		Assert.assertEquals(NumberOfClasses, snapshot.getSQWRLQueryNames().size());
+	}
+
+	@Test
+	public void TestSnapshotViewsReadCopiedOntologyAndNames() throws Exception
+	{
+		SWRLAPIOntologySnapshot snapshot = SWRLAPIFactory.createOntologySnapshot(this.swrlapiOWLOntology);
+		IRI classIRI = IRI.create(Namespace + "C0");
+		IRI extraClassIRI = IRI.create(Namespace + "Extra");
+
+		declareOWLClass("Extra");
+		this.swrlapiOWLOntology.processOntology();
+
+		SWRLAPIOWLOntology view = snapshot.createSWRLAPIOWLOntology();
+		String extraClassPrefixedName = this.swrlapiOWLOntology.getIRIResolver().iri2PrefixedName(extraClassIRI);
+
+		Assert.assertTrue(this.swrlapiOWLOntology.getIRIResolver().isOWLClass(extraClassPrefixedName));
+		Assert.assertFalse(view.getIRIResolver().isOWLClass(extraClassPrefixedName));
+		Assert.assertTrue(view.getIRIResolver().isOWLClass(view.getIRIResolver().iri2PrefixedName(classIRI)));
+		Assert.assertFalse(view.getOWLOntology().containsClassInSignature(extraClassIRI));
+		Assert.assertTrue(view.getOWLOntology().containsClassInSignature(classIRI));
+		Assert.assertNotSame(this.swrlapiOWLOntology.getOWLOntology(), view.getOWLOntology());
+	}
+
+	@Test
+	public void TestSnapshotRulesAreNotReorderedByReprocessing() throws Exception
+	{
+		createSWRLRule("r1", "C0(?x) ^ C1(?x) -> C2(?x)");
+		SWRLAPIOntologySnapshot snapshot = SWRLAPIFactory.createOntologySnapshot(this.swrlapiOWLOntology);
+		SWRLAPIRule snapshotRule = getSWRLAPIRule(snapshot, "r1");
+		List<SWRLAtom> snapshotBodyAtoms = new ArrayList<>(snapshotRule.getBodyAtoms());
+
+		Assert.assertEquals("C0", getClassName(snapshotBodyAtoms.get(0)));
+
+		for (int individualIndex = 0; individualIndex < NumberOfIndividualsPerClass; individualIndex++)
+			declareOWLClassAssertion("C0", "i1_" + individualIndex); // C0 now matches more facts than C1
+		this.swrlapiOWLOntology.processOntology();
+
+		Assert.assertEquals("C1", getClassName(this.swrlapiOWLOntology.getSWRLRule("r1").getBodyAtoms().get(0)));
+		Assert.assertEquals(snapshotBodyAtoms, snapshotRule.getBodyAtoms());
+		Assert.assertEquals(snapshotBodyAtoms, getSWRLAPIRule(snapshot, "r1").getBodyAtoms());
+	}
+
+	@Test(expected = SWRLAPIException.class)
+	public void TestSnapshotOntologyIsReadOnly() throws Exception
+	{
+		SWRLAPIOntologySnapshot snapshot = SWRLAPIFactory.createOntologySnapshot(this.swrlapiOWLOntology);
+
+		snapshot.createSWRLAPIOWLOntology().createSQWRLQuery("q", "C0(?x) -> sqwrl:select(?x)");
+	}
+
+	private SWRLAPIRule getSWRLAPIRule(SWRLAPIOntologySnapshot snapshot, String ruleName)
+	{
+		for (SWRLAPIRule rule : snapshot.getSWRLAPIRules()) {
+			if (rule.getRuleName().equals(ruleName))
+				return rule;
+		}
+		throw new AssertionError("no rule named " + ruleName);
+	}
+
+	private String getClassName(SWRLAtom atom)
+	{
+		return ((SWRLClassAtom)atom).getPredicate().asOWLClass().getIRI().getShortForm();
+	}
+
+	// Returns the number of results checked
+	private int runQueries(SWRLAPIOntologySnapshot snapshot) throws SQWRLException
+	{
+		SQWRLQueryEngine queryEngine = SWRLAPIFactory.createSQWRLQueryEngine(snapshot, new ClassMemberSelector());
+		Set<String> queryNames = new LinkedHashSet<>();
+		int numberOfResults = 0;
+
+		for (int classIndex = 0; classIndex < NumberOfClasses; classIndex++)
+			queryNames.add("q" + classIndex);
+
+		for (int run = 0; run < NumberOfRunsPerEngine; run++) {
+			for (String queryName : queryNames) {
+				checkResult(queryName, queryEngine.runSQWRLQuery(queryName));
+				numberOfResults++;
+			}
+
+			Map<String, SQWRLResult> results = queryEngine.runSQWRLQueries(queryNames);
+			for (String queryName : queryNames) {
+				checkResult(queryName, results.get(queryName));
+				numberOfResults++;
+			}
+		}
+		return numberOfResults;
+	}
+
+	private void checkResult(String queryName, SQWRLResult result) throws SQWRLException
+	{
+		String individualNamePrefix = Namespace + "i" + queryName.substring(1) + "_";
+
+		Assert.assertEquals(NumberOfIndividualsPerClass, result.getNumberOfRows());
+
+		while (result.next())
+			Assert.assertTrue(result.getIndividual(0).getIRI().toString().startsWith(individualNamePrefix));
+	}
+
+	private static class ClassMemberSelector implements SWRLRuleEngineManager.TargetSWRLRuleEngineCreator
+	{
+		@Override
+		public TargetSWRLRuleEngine create(final SWRLRuleEngineBridge bridge)
+		{
+			return new TargetSWRLRuleEngine()
+			{
+				private final OWL2RLEngine owl2RLEngine = new AbstractOWL2RLEngine(bridge.getOWL2RLPersistenceLayer(),
+						new HashSet<OWL2RLNames.Rule>(), new HashSet<OWL2RLNames.Rule>(),
+						new HashSet<Set<OWL2RLNames.Rule>>())
+				{
+				};
+				private final Set<OWLClassAssertionAxiom> classAssertionAxioms = new HashSet<>();
+				private final Set<SQWRLQuery> queries = new HashSet<>();
+
+				@Override
+				public void defineOWLAxiom(OWLAxiom axiom)
+				{
+					if (axiom instanceof OWLClassAssertionAxiom)
+						this.classAssertionAxioms.add((OWLClassAssertionAxiom)axiom);
+				}
+
+				@Override
+				public void defineOWLAxioms(Collection<? extends OWLAxiom> axioms)
+				{
+					for (OWLAxiom axiom : axioms)
+						defineOWLAxiom(axiom);
+				}
+
+				@Override
+				public void retractOWLAxiom(OWLAxiom axiom)
+				{
+					this.classAssertionAxioms.remove(axiom);
+				}
+
+				@Override
+				public void retractOWLAxioms(Collection<? extends OWLAxiom> axioms)
+				{
+					this.classAssertionAxioms.removeAll(axioms);
+				}
+
+				@Override
+				public void defineSQWRLQuery(SQWRLQuery query)
+				{
+					this.queries.add(query);
+				}
+
+				@Override
+				public void retractSQWRLQuery(SQWRLQuery query)
+				{
+					this.queries.remove(query);
+				}
+
+				@Override
+				public void runRuleEngine() throws TargetSWRLRuleEngineException
+				{
+					try {
+						for (SQWRLQuery query : this.queries) {
+							if (query.isActive())
+								selectClassMembers(query);
+						}
+					} catch (SQWRLException e) {
+						throw new TargetSWRLRuleEngineException("error generating result: " + e.getMessage(), e);
+					}
+				}
+
+				@Override
+				public void resetRuleEngine()
+				{
+					this.classAssertionAxioms.clear();
+					this.queries.clear();
+				}
+
+				@Override
+				public String getName()
+				{
+					return "ClassMemberSelector";
+				}
+
+				@Override
+				public String getVersion()
+				{
+					return "1.0";
+				}
+
+				@Override
+				public OWLReasoner getOWLReasoner()
+				{
+					return null;
+				}
+
+				@Override
+				public OWL2RLEngine getOWL2RLEngine()
+				{
+					return this.owl2RLEngine;
+				}
+
+				private void selectClassMembers(SQWRLQuery query) throws SQWRLException
+				{
+					SWRLAtom atom = query.getBodyAtoms().get(0);
+					SQWRLResultGenerator resultGenerator = query.getSQWRLResultGenerator();
+					IRI classIRI = ((SWRLClassAtom)atom).getPredicate().asOWLClass().getIRI();
+
+					for (OWLClassAssertionAxiom axiom : this.classAssertionAxioms) {
+						if (axiom.getClassExpression().asOWLClass().getIRI().equals(classIRI)) {
+							if (!resultGenerator.isRowOpen())
+								resultGenerator.openRow();
+							resultGenerator.addRowData(bridge.getSWRLAPIOWLDataFactory().getSQWRLResultValueFactory()
+									.getIndividualValue(axiom.getIndividual().asOWLNamedIndividual().getIRI()));
+						}
+					}
+				}
+			};
+		}
+
+		@Override
+		public String getRuleEngineName()
+		{
+			return "ClassMemberSelector";
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package org.swrlapi;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.swrlapi.core.EngineMetrics;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.impl.DefaultEngineMetrics;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLQuerySession;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.exceptions.SQWRLException;
+import org.swrlapi.test.SWRLAPITestBase;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs successive SQWRL queries in a query session, and sets of SQWRL queries in a single rule engine pass.
+ */
+public class SQWRLQuerySessionTestCase extends SWRLAPITestBase
+{
+	private static final String Namespace = "http://protege.org/ontologies/SQWRLQuerySessionTests.owl#";
+	private static final String SWRLANamespace = "http://swrl.stanford.edu/ontologies/3.3/swrla.owl#";
+
+	private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+	@Before
+	public void setUp() throws OWLOntologyCreationException
+	{
+		this.swrlapiOWLOntology = createEmptyOntology(Namespace);
+
+		declareOWLClass("Person");
+		declareOWLClass("Adult");
+		declareOWLNamedIndividuals("p0", "p1", "p2");
+
+		for (int personIndex = 0; personIndex < 3; personIndex++)
+			declareOWLClassAssertion("Person", "p" + personIndex);
+		declareOWLClassAssertion("Adult", "p0");
+	}
+
+	@Test
+	public void TestSessionRunsQueriesWithoutReloadingKnowledge() throws Exception
+	{
+		createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+		createSQWRLQuery("q2", "Adult(?p) -> sqwrl:select(?p)");
+
+		SQWRLQueryEngine queryEngine = createQueryEngine();
+		DefaultEngineMetrics engineMetrics = new DefaultEngineMetrics();
+
+		try (SQWRLQuerySession session = queryEngine.openSession()) {
+			queryEngine.setEngineMetrics(engineMetrics);
+
+			Assert.assertEquals(3, session.runSQWRLQuery("q1").getNumberOfRows());
+			Assert.assertEquals(1, session.runSQWRLQuery("q2").getNumberOfRows());
+			Assert.assertEquals(3, session.runSQWRLQuery("q1").getNumberOfRows());
+		}
+		Assert.assertEquals(0, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.RESET));
+		Assert.assertEquals(3, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.RUN_TARGET_RULE_ENGINE));
+	}
+
+	@Test
+	public void TestSessionSeesOntologyChanges() throws Exception
+	{
+		createSQWRLQuery("q1", "Adult(?p) -> sqwrl:select(?p)");
+
+		try (SQWRLQuerySession session = createQueryEngine().openSession()) {
+			Assert.assertEquals(1, session.runSQWRLQuery("q1").getNumberOfRows());
+
+			declareOWLClassAssertion("Adult", "p1");
+			Assert.assertEquals(2, session.runSQWRLQuery("q1").getNumberOfRows());
+		}
+	}
+
+	@Test
+	public void TestSessionRestoresQueryActiveStatus() throws Exception
+	{
+		createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+		disableSWRLRules();
+
+		try (SQWRLQuerySession session = createQueryEngine().openSession()) {
+			Assert.assertEquals(3, session.runSQWRLQuery("q1").getNumberOfRows());
+			Assert.assertFalse(this.swrlapiOWLOntology.getSQWRLQuery("q1").isActive());
+		}
+	}
+
+	@Test(expected = SQWRLException.class)
+	public void TestClosedSessionRejectsQueries() throws Exception
+	{
+		createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+
+		SQWRLQuerySession session = createQueryEngine().openSession();
+		session.close();
+		session.runSQWRLQuery("q1");
+	}
+
+	@Test
+	public void TestBatchRunsNamedQueriesInOnePass() throws Exception
+	{
+		createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+		createSQWRLQuery("q2", "Adult(?p) -> sqwrl:select(?p)");
+		createSQWRLQuery("q3", "Person(?p) -> sqwrl:count(?p)");
+
+		SQWRLQueryEngine queryEngine = createQueryEngine();
+		DefaultEngineMetrics engineMetrics = new DefaultEngineMetrics();
+		queryEngine.setEngineMetrics(engineMetrics);
+
+		Map<String, SQWRLResult> results = queryEngine.runSQWRLQueries(new HashSet<>(Arrays.asList("q1", "q2")));
+
+		Assert.assertEquals(new HashSet<>(Arrays.asList("q1", "q2")), results.keySet());
+		Assert.assertEquals(3, results.get("q1").getNumberOfRows());
+		Assert.assertEquals(1, results.get("q2").getNumberOfRows());
+		Assert.assertEquals(1, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.RUN_TARGET_RULE_ENGINE));
+		Assert.assertEquals(2, engineMetrics.getNumberOfPhaseCompletions(EngineMetrics.Phase.PREPARE_SQWRL_RESULTS));
+		for (SQWRLResult result : results.values())
+			Assert.assertTrue(result.getRunTime() >= 0);
+	}
+
+	@Test
+	public void TestSuccessiveBatchesGiveSameResults() throws Exception
+	{
+		createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+		createSQWRLQuery("q2", "Adult(?p) -> sqwrl:select(?p)");
+
+		SQWRLQueryEngine queryEngine = createQueryEngine();
+		Set<String> queryNames = new HashSet<>(Arrays.asList("q1", "q2"));
+
+		Assert.assertEquals(3, queryEngine.runSQWRLQueries(queryNames).get("q1").getNumberOfRows());
+		Map<String, SQWRLResult> results = queryEngine.runSQWRLQueries(queryNames);
+
+		Assert.assertEquals(3, results.get("q1").getNumberOfRows());
+		Assert.assertEquals(1, results.get("q2").getNumberOfRows());
+	}
+
+	private void disableSWRLRules()
+	{
+		OWLOntology ontology = this.swrlapiOWLOntology.getOWLOntology();
+		OWLDataFactory dataFactory = ontology.getOWLOntologyManager().getOWLDataFactory();
+		OWLAnnotation isRuleEnabled = dataFactory
+				.getOWLAnnotation(dataFactory.getOWLAnnotationProperty(IRI.create(SWRLANamespace + "isRuleEnabled")),
+						dataFactory.getOWLLiteral(false));
+
+		for (SWRLRule rule : ontology.getAxioms(AxiomType.SWRL_RULE)) {
+			Set<OWLAnnotation> annotations = new HashSet<>(rule.getAnnotations());
+
+			annotations.add(isRuleEnabled);
+			ontology.getOWLOntologyManager().removeAxiom(ontology, rule);
+			ontology.getOWLOntologyManager().addAxiom(ontology, rule.getAnnotatedAxiom(annotations));
+		}
+	}
+
+	private SQWRLQueryEngine createQueryEngine()
+	{
+		return SWRLAPIFactory
+				.createSQWRLQueryEngine(this.swrlapiOWLOntology, SWRLAPIFactory.createNativeSWRLRuleEngineCreator());
+	}
+}
@@ -0,0 +1,212 @@
+package org.swrlapi;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.swrlapi.core.OWLAxiomChanges;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.resolvers.IRIResolver;
+import org.swrlapi.test.SWRLAPITestBase;
+import org.swrlapi.test.SyntheticWorkloadGenerator;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Processes ontologies and checks the processed axioms, rules and queries.
+ */
+public class SWRLAPIOntologyProcessorTestCase extends SWRLAPITestBase
+{
+	private static final String Namespace = "http://protege.org/ontologies/SWRLAPIOntologyProcessorTests.owl#";
+
+	private SWRLAPIOWLOntology swrlapiOWLOntology;
+	private OWLDataFactory dataFactory;
+
+	@Before
+	public void setUp() throws OWLOntologyCreationException
+	{
+		this.swrlapiOWLOntology = createEmptyOntology(Namespace);
+		this.dataFactory = SWRLAPIFactory.createOWLOntologyManager().getOWLDataFactory();
+
+		declareOWLClass("Person");
+		declareOWLNamedIndividuals("p0", "p1");
+		declareOWLClassAssertion("Person", "p0");
+	}
+
+	@Test
+	public void TestIncrementalProcessingRecordsAddedAndRemovedAxioms() throws Exception
+	{
+		OWLAxiom p0IsPerson = getClassAssertion("Person", "p0");
+		OWLAxiom p1IsPerson = getClassAssertion("Person", "p1");
+
+		this.swrlapiOWLOntology.processOntology();
+		long version = this.swrlapiOWLOntology.getProcessedOWLAxiomsVersion();
+		Assert.assertTrue(this.swrlapiOWLOntology.getOWLAxioms().contains(p0IsPerson));
+
+		addOWLAxiom(p1IsPerson);
+		this.swrlapiOWLOntology.processOntology();
+		OWLAxiomChanges changes = this.swrlapiOWLOntology.getProcessedOWLAxiomChanges();
+
+		Assert.assertEquals(version + 1, this.swrlapiOWLOntology.getProcessedOWLAxiomsVersion());
+		Assert.assertEquals(Collections.singleton(p1IsPerson), changes.getAddedOWLAxioms());
+		Assert.assertTrue(changes.getRemovedOWLAxioms().isEmpty());
+		Assert.assertTrue(this.swrlapiOWLOntology.getOWLAxioms().contains(p1IsPerson));
+
+		this.swrlapiOWLOntology.getOWLOntologyManager().removeAxiom(this.swrlapiOWLOntology.getOWLOntology(), p0IsPerson);
+		this.swrlapiOWLOntology.processOntology();
+		changes = this.swrlapiOWLOntology.getProcessedOWLAxiomChanges();
+
+		Assert.assertEquals(version + 2, this.swrlapiOWLOntology.getProcessedOWLAxiomsVersion());
+		Assert.assertEquals(Collections.singleton(p0IsPerson), changes.getRemovedOWLAxioms());
+		Assert.assertFalse(this.swrlapiOWLOntology.getOWLAxioms().contains(p0IsPerson));
+	}
+
+	@Test
+	public void TestChangesThroughAnotherManagerAreFullyProcessed() throws Exception
+	{
+		this.swrlapiOWLOntology.processOntology();
+
+		declareOWLClassAssertion("Person", "p1"); // Not made through the ontology's own manager
+		this.swrlapiOWLOntology.processOntology();
+
+		Assert.assertNull(this.swrlapiOWLOntology.getProcessedOWLAxiomChanges());
+		Assert.assertTrue(this.swrlapiOWLOntology.getOWLAxioms().contains(getClassAssertion("Person", "p1")));
+	}
+
+	@Test
+	public void TestProcessingWithoutChangesKeepsVersion() throws Exception
+	{
+		this.swrlapiOWLOntology.processOntology();
+		long version = this.swrlapiOWLOntology.getProcessedOWLAxiomsVersion();
+
+		this.swrlapiOWLOntology.processOntology();
+
+		Assert.assertEquals(version, this.swrlapiOWLOntology.getProcessedOWLAxiomsVersion());
+	}
+
+	@Test
+	public void TestOntologyChangesAreTracked() throws Exception
+	{
+		this.swrlapiOWLOntology.processOntology();
+		this.swrlapiOWLOntology.resetOntologyChanged();
+		Assert.assertFalse(this.swrlapiOWLOntology.hasOntologyChanged());
+
+		addOWLAxiom(getClassAssertion("Person", "p1"));
+
+		Assert.assertTrue(this.swrlapiOWLOntology.hasOntologyChanged());
+	}
+
+	@Test
+	public void TestParallelProcessingGivesSameResult() throws Exception
+	{
+		SWRLAPIOWLOntology sequentialOntology = new SyntheticWorkloadGenerator(11).generate();
+		SWRLAPIOWLOntology parallelOntology = new SyntheticWorkloadGenerator(11).generate();
+
+		parallelOntology.setAxiomProcessingParallelism(4);
+		sequentialOntology.processOntology();
+		parallelOntology.processOntology();
+
+		Assert.assertFalse(sequentialOntology.getOWLAxioms().isEmpty());
+		Assert.assertEquals(getNonRuleOWLAxioms(sequentialOntology), getNonRuleOWLAxioms(parallelOntology));
+		Assert.assertEquals(sequentialOntology.getNumberOfOWLClassDeclarationAxioms(),
+				parallelOntology.getNumberOfOWLClassDeclarationAxioms());
+		Assert.assertEquals(sequentialOntology.getNumberOfOWLIndividualDeclarationAxioms(),
+				parallelOntology.getNumberOfOWLIndividualDeclarationAxioms());
+		Assert.assertEquals(sequentialOntology.getNumberOfSWRLRules(), parallelOntology.getNumberOfSWRLRules());
+		Assert.assertEquals(sequentialOntology.getNumberOfSQWRLQueries(), parallelOntology.getNumberOfSQWRLQueries());
+	}
+
+	@Test
+	public void TestEntitiesReferencedByAxiomsAreRecorded() throws Exception
+	{
+		OWLNamedIndividual p2 = this.dataFactory.getOWLNamedIndividual(IRI.create(Namespace + "p2"));
+
+		addOWLAxiom(getClassAssertion("Person", "p2")); // p2 is not declared
+		this.swrlapiOWLOntology.processOntology();
+
+		IRIResolver iriResolver = this.swrlapiOWLOntology.getIRIResolver();
+
+		Assert.assertTrue(iriResolver.isOWLClass(iriResolver.iri2PrefixedName(IRI.create(Namespace + "Person"))));
+		Assert.assertTrue(iriResolver.isOWLNamedIndividual(iriResolver.iri2PrefixedName(p2.getIRI())));
+		Assert.assertTrue(this.swrlapiOWLOntology.getOWLAxioms().contains(this.dataFactory.getOWLDeclarationAxiom(p2)));
+	}
+
+	@Test
+	public void TestConvertedRulesAreReused() throws Exception
+	{
+		addOWLAxiom(this.dataFactory.getOWLDeclarationAxiom(this.dataFactory.getOWLClass(IRI.create(Namespace + "Adult"))));
+		createSWRLRule("r1", "Person(?x) -> Adult(?x)");
+		SWRLAPIRule rule = getOnlySWRLAPIRule();
+
+		Assert.assertSame(rule, getOnlySWRLAPIRule());
+
+		addOWLAxiom(getClassAssertion("Person", "p1"));
+		Assert.assertSame(rule, getOnlySWRLAPIRule());
+
+		IRI variableIRI = rule.getVariables().iterator().next().getIRI();
+		addOWLAxiom(this.dataFactory.getOWLDeclarationAxiom(this.dataFactory.getOWLNamedIndividual(variableIRI)));
+		SWRLAPIRule reconvertedRule = getOnlySWRLAPIRule();
+
+		Assert.assertNotSame(rule, reconvertedRule);
+		Assert.assertEquals(rule.getRuleName(), reconvertedRule.getRuleName());
+	}
+
+	@Test
+	public void TestDeletedRuleIsNotReused() throws Exception
+	{
+		addOWLAxiom(this.dataFactory.getOWLDeclarationAxiom(this.dataFactory.getOWLClass(IRI.create(Namespace + "Adult"))));
+		createSWRLRule("r1", "Person(?x) -> Adult(?x)");
+		getOnlySWRLAPIRule();
+
+		this.swrlapiOWLOntology.deleteSWRLRule("r1");
+		Assert.assertTrue(this.swrlapiOWLOntology.getSWRLAPIRules().isEmpty());
+
+		createSWRLRule("r1", "Adult(?x) -> Person(?x)");
+		Assert.assertEquals("Adult", ((SWRLClassAtom)getOnlySWRLAPIRule().getBodyAtoms().get(0)).getPredicate()
+				.asOWLClass().getIRI().getShortForm());
+	}
+
+	private SWRLAPIRule getOnlySWRLAPIRule()
+	{
+		Set<SWRLAPIRule> rules = this.swrlapiOWLOntology.getSWRLAPIRules();
+
+		Assert.assertEquals(1, rules.size());
+
+		return rules.iterator().next();
+	}
+
+	/**
+	 * Rules are converted separately by each ontology so they are compared by number only.
+	 */
+	private Set<OWLAxiom> getNonRuleOWLAxioms(SWRLAPIOWLOntology swrlapiOWLOntology)
+	{
+		Set<OWLAxiom> axioms = new HashSet<>();
+
+		for (OWLAxiom axiom : swrlapiOWLOntology.getOWLAxioms()) {
+			if (!axiom.isOfType(AxiomType.SWRL_RULE))
+				axioms.add(axiom);
+		}
+		return axioms;
+	}
+
+	private void addOWLAxiom(OWLAxiom axiom)
+	{
+		this.swrlapiOWLOntology.getOWLOntologyManager().addAxiom(this.swrlapiOWLOntology.getOWLOntology(), axiom);
+	}
+
+	private OWLAxiom getClassAssertion(String className, String individualName)
+	{
+		return this.dataFactory.getOWLClassAssertionAxiom(this.dataFactory.getOWLClass(IRI.create(Namespace + className)),
+				this.dataFactory.getOWLNamedIndividual(IRI.create(Namespace + individualName)));
+	}
+}
@@ -0,0 +1,116 @@
+package org.swrlapi;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIOntologySnapshot;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.test.SWRLAPITestBase;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Writes ontology snapshots to files and runs queries over the restored snapshots.
+ */
+public class SWRLAPIOntologySnapshotFileTestCase extends SWRLAPITestBase
+{
+	private static final String Namespace = "http://protege.org/ontologies/SWRLAPIOntologySnapshotFileTests.owl#";
+	private static final String TemporalNamespace = "http://swrl.stanford.edu/ontologies/built-ins/3.3/temporal.owl#";
+
+	private SWRLAPIOWLOntology swrlapiOWLOntology;
+	private OWLDataFactory dataFactory;
+	private File snapshotFile;
+
+	@Before
+	public void setUp() throws OWLOntologyCreationException, IOException
+	{
+		this.swrlapiOWLOntology = createEmptyOntology(Namespace);
+		this.dataFactory = SWRLAPIFactory.createOWLOntologyManager().getOWLDataFactory();
+		this.snapshotFile = File.createTempFile("SWRLAPIOntologySnapshotFileTests", ".snapshot");
+
+		declareOWLClass("Person");
+		declareOWLNamedIndividuals("p0", "p1", "p2");
+		for (int personIndex = 0; personIndex < 3; personIndex++)
+			declareOWLClassAssertion("Person", "p" + personIndex);
+	}
+
+	@After
+	public void tearDown()
+	{
+		this.snapshotFile.delete();
+	}
+
+	@Test
+	public void TestQueriesOverRestoredSnapshot() throws Exception
+	{
+		createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+
+		SWRLAPIOntologySnapshot snapshot = SWRLAPIFactory.createOntologySnapshot(this.swrlapiOWLOntology);
+		SWRLAPIOntologySnapshot restoredSnapshot = writeAndRestore(snapshot);
+
+		Assert.assertEquals(snapshot.getOWLAxioms(), restoredSnapshot.getOWLAxioms());
+		Assert.assertEquals(snapshot.getSQWRLQueryNames(), restoredSnapshot.getSQWRLQueryNames());
+		Assert.assertEquals(3, createQueryEngine(restoredSnapshot).runSQWRLQuery("q1").getNumberOfRows());
+	}
+
+	@Test
+	public void TestTemporalBuiltInQueryOverRestoredSnapshot() throws Exception
+	{
+		OWLClass validInstant = this.dataFactory.getOWLClass(IRI.create(TemporalNamespace + "ValidInstant"));
+		OWLDataProperty hasTime = this.dataFactory.getOWLDataProperty(IRI.create(TemporalNamespace + "hasTime"));
+
+		addOWLAxiom(this.dataFactory.getOWLDeclarationAxiom(validInstant));
+		addOWLAxiom(this.dataFactory.getOWLDeclarationAxiom(hasTime));
+		declareOWLNamedIndividuals("i1", "i2");
+		addValidInstant(validInstant, hasTime, "i1", "2000-01-01T00:00:00");
+		addValidInstant(validInstant, hasTime, "i2", "2010-01-01T00:00:00");
+		createSQWRLQuery("q1",
+				"temporal:ValidInstant(?i) ^ temporal:before(?i, \"2005-01-01T00:00:00\") -> sqwrl:select(?i)");
+
+		SWRLAPIOntologySnapshot snapshot = SWRLAPIFactory.createOntologySnapshot(this.swrlapiOWLOntology);
+		SQWRLResult result = createQueryEngine(writeAndRestore(snapshot)).runSQWRLQuery("q1");
+
+		Assert.assertEquals(1, result.getNumberOfRows());
+		Assert.assertTrue(result.next());
+		Assert.assertEquals(IRI.create(Namespace + "i1"), result.getIndividual(0).getIRI());
+	}
+
+	private SWRLAPIOntologySnapshot writeAndRestore(SWRLAPIOntologySnapshot snapshot) throws Exception
+	{
+		snapshot.write(this.snapshotFile);
+
+		return SWRLAPIFactory.createOntologySnapshot(this.snapshotFile);
+	}
+
+	private SQWRLQueryEngine createQueryEngine(SWRLAPIOntologySnapshot snapshot)
+	{
+		return SWRLAPIFactory.createSQWRLQueryEngine(snapshot, SWRLAPIFactory.createNativeSWRLRuleEngineCreator());
+	}
+
+	private void addValidInstant(OWLClass validInstant, OWLDataProperty hasTime, String name, String time)
+	{
+		OWLNamedIndividual individual = this.dataFactory.getOWLNamedIndividual(IRI.create(Namespace + name));
+
+		addOWLAxiom(this.dataFactory.getOWLClassAssertionAxiom(validInstant, individual));
+		addOWLAxiom(this.dataFactory.getOWLDataPropertyAssertionAxiom(hasTime, individual,
+				this.dataFactory.getOWLLiteral(time, OWL2Datatype.XSD_DATE_TIME)));
+	}
+
+	private void addOWLAxiom(OWLAxiom axiom)
+	{
+		this.swrlapiOWLOntology.getOWLOntologyManager().addAxiom(this.swrlapiOWLOntology.getOWLOntology(), axiom);
+	}
+}
@@ -0,0 +1,166 @@
+package org.swrlapi;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleDependencyGraph;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.test.SWRLAPITestBase;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Stratifies SWRL rules and selects the rules and axioms that a SQWRL query depends on.
+ */
+public class SWRLRuleDependencyGraphTestCase extends SWRLAPITestBase
+{
+	private static final String Namespace = "http://protege.org/ontologies/SWRLRuleDependencyGraphTests.owl#";
+
+	private SWRLAPIOWLOntology swrlapiOWLOntology;
+	private OWLDataFactory dataFactory;
+
+	@Before
+	public void setUp() throws Exception
+	{
+		this.swrlapiOWLOntology = createEmptyOntology(Namespace);
+		this.dataFactory = SWRLAPIFactory.createOWLOntologyManager().getOWLDataFactory();
+
+		declareOWLClass("Person");
+		declareOWLClass("Adult");
+		declareOWLObjectProperties("hasParent", "hasAncestor", "hasAdultAncestor");
+		declareOWLDataProperty("hasAge");
+
+		for (int personIndex = 0; personIndex < 5; personIndex++) {
+			declareOWLNamedIndividual("p" + personIndex);
+			declareOWLClassAssertion("Person", "p" + personIndex);
+			declareOWLDataPropertyAssertion("p" + personIndex, "hasAge", "" + (personIndex * 10), "xsd:int");
+			if (personIndex > 0)
+				declareOWLObjectPropertyAssertion("p" + personIndex, "hasParent", "p" + (personIndex - 1));
+		}
+
+		createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+		createSWRLRule("r2", "hasParent(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+		createSWRLRule("r3", "Person(?p) ^ hasAge(?p, ?age) ^ swrlb:greaterThan(?age, 15) -> Adult(?p)");
+		createSWRLRule("r4", "hasAncestor(?p, ?a) ^ Adult(?a) -> hasAdultAncestor(?p, ?a)");
+	}
+
+	@Test
+	public void TestRulesAreStratified() throws Exception
+	{
+		SWRLRuleDependencyGraph dependencyGraph = createDependencyGraph();
+
+		Assert.assertEquals(2, dependencyGraph.getStrata().size());
+		Assert.assertEquals(new HashSet<>(Arrays.asList("r1", "r2", "r3")),
+				getRuleNames(dependencyGraph.getStrata().get(0)));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("r4")), getRuleNames(dependencyGraph.getStrata().get(1)));
+		Assert.assertEquals(1, dependencyGraph.getStratum(getRule(dependencyGraph, "r4")));
+		Assert.assertTrue(dependencyGraph.isRecursive(getRule(dependencyGraph, "r2")));
+		Assert.assertFalse(dependencyGraph.isRecursive(getRule(dependencyGraph, "r1")));
+	}
+
+	@Test
+	public void TestQueryDependsOnRelevantSubset() throws Exception
+	{
+		createSQWRLQuery("q1", "hasAncestor(p4, ?a) -> sqwrl:select(?a)");
+
+		SWRLRuleDependencyGraph dependencyGraph = createDependencyGraph();
+		Set<OWLAxiom> relevantOWLAxioms = dependencyGraph
+				.getRelevantOWLAxioms(this.swrlapiOWLOntology.getSQWRLQuery("q1"));
+		OWLClass person = this.dataFactory.getOWLClass(IRI.create(Namespace + "Person"));
+		OWLObjectProperty hasAdultAncestor = this.dataFactory
+				.getOWLObjectProperty(IRI.create(Namespace + "hasAdultAncestor"));
+
+		Assert.assertEquals(new HashSet<>(Arrays.asList("r1", "r2")),
+				getRuleNames(dependencyGraph.getRelevantSWRLRules(this.swrlapiOWLOntology.getSQWRLQuery("q1"))));
+		Assert.assertFalse(relevantOWLAxioms.contains(this.dataFactory
+				.getOWLClassAssertionAxiom(person, this.dataFactory.getOWLNamedIndividual(IRI.create(Namespace + "p1")))));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("r1", "r2", "r3", "r4")),
+				getRuleNames(dependencyGraph.getRelevantSWRLRules(Collections.singleton(hasAdultAncestor))));
+	}
+
+	@Test
+	public void TestQueryOnBuiltInClassDependsOnAllAxioms() throws Exception
+	{
+		this.swrlapiOWLOntology.getOWLOntologyManager().addAxiom(this.swrlapiOWLOntology.getOWLOntology(),
+				this.dataFactory.getOWLDeclarationAxiom(this.dataFactory.getOWLThing()));
+		createSQWRLQuery("q1", "owl:Thing(?x) -> sqwrl:select(?x)");
+
+		SWRLRuleDependencyGraph dependencyGraph = createDependencyGraph();
+
+		Assert.assertEquals(this.swrlapiOWLOntology.getOWLAxioms(),
+				dependencyGraph.getRelevantOWLAxioms(this.swrlapiOWLOntology.getSQWRLQuery("q1")));
+		Assert.assertEquals(new HashSet<>(Arrays.asList("r1", "r2", "r3", "r4")),
+				getRuleNames(dependencyGraph.getRelevantSWRLRules(this.swrlapiOWLOntology.getSQWRLQuery("q1"))));
+	}
+
+	@Test
+	public void TestQueryUsesRuleAddedAfterPreviousQuery() throws Exception
+	{
+		createSQWRLQuery("q1", "hasAdultAncestor(p4, ?a) -> sqwrl:select(?a)");
+
+		SWRLRuleEngine ruleEngine = SWRLAPIFactory
+				.createSWRLRuleEngine(this.swrlapiOWLOntology, SWRLAPIFactory.createNativeSWRLRuleEngineCreator());
+
+		Assert.assertEquals(2, ruleEngine.runSQWRLQuery("q1").getNumberOfRows());
+
+		createSWRLRule("r5", "hasAge(?p, ?age) ^ swrlb:greaterThan(?age, 5) -> Adult(?p)");
+
+		Assert.assertEquals(3, ruleEngine.runSQWRLQuery("q1").getNumberOfRows());
+	}
+
+	@Test
+	public void TestQueryRunsOnRelevantSubset() throws Exception
+	{
+		createSQWRLQuery("q1", "hasAncestor(p4, ?a) -> sqwrl:select(?a)");
+
+		SWRLRuleEngine ruleEngine = SWRLAPIFactory
+				.createSWRLRuleEngine(this.swrlapiOWLOntology, SWRLAPIFactory.createNativeSWRLRuleEngineCreator());
+		SQWRLResult result = ruleEngine.runSQWRLQuery("q1");
+		OWLClass adult = this.dataFactory.getOWLClass(IRI.create(Namespace + "Adult"));
+
+		Assert.assertEquals(4, result.getNumberOfRows());
+		for (OWLAxiom axiom : ruleEngine.getInferredOWLAxioms())
+			Assert.assertFalse(axiom.getClassesInSignature().contains(adult));
+	}
+
+	private SWRLRuleDependencyGraph createDependencyGraph() throws Exception
+	{
+		this.swrlapiOWLOntology.processOntology();
+
+		return SWRLAPIFactory.createSWRLRuleDependencyGraph(this.swrlapiOWLOntology);
+	}
+
+	private SWRLAPIRule getRule(SWRLRuleDependencyGraph dependencyGraph, String ruleName)
+	{
+		for (Set<SWRLAPIRule> stratum : dependencyGraph.getStrata()) {
+			for (SWRLAPIRule rule : stratum) {
+				if (rule.getRuleName().equals(ruleName))
+					return rule;
+			}
+		}
+		throw new AssertionError("no rule " + ruleName);
+	}
+
+	private Set<String> getRuleNames(Collection<SWRLAPIRule> rules)
+	{
+		Set<String> ruleNames = new HashSet<>();
+
+		for (SWRLAPIRule rule : rules)
+			ruleNames.add(rule.getRuleName());
+
+		return ruleNames;
+	}
+}
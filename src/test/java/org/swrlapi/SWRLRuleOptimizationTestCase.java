@@ -0,0 +1,156 @@
+package org.swrlapi;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIFactory;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIOntologyProcessor;
+import org.swrlapi.core.SWRLAPIOntologyStatistics;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.test.SWRLAPITestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collects ontology statistics and orders rule bodies by the selectivity estimated from them.
+ */
+public class SWRLRuleOptimizationTestCase extends SWRLAPITestBase
+{
+	private static final String Namespace = "http://protege.org/ontologies/SWRLRuleOptimizationTests.owl#";
+
+	private SWRLAPIOWLOntology swrlapiOWLOntology;
+	private OWLDataFactory dataFactory;
+
+	@Before
+	public void setUp() throws OWLOntologyCreationException
+	{
+		this.swrlapiOWLOntology = createEmptyOntology(Namespace);
+		this.dataFactory = SWRLAPIFactory.createOWLOntologyManager().getOWLDataFactory();
+
+		declarePeopleWithAges();
+		declareOWLObjectProperties("hasParent", "hasGrandparent");
+
+		for (int personIndex = 1; personIndex < NUMBER_OF_PEOPLE; personIndex++)
+			declareOWLObjectPropertyAssertion("p" + personIndex, "hasParent", "p" + (personIndex - 1));
+	}
+
+	@Test
+	public void TestStatisticsCountAssertions() throws Exception
+	{
+		SWRLAPIOntologyProcessor processor = SWRLAPIFactory.createOntologyProcessor(this.swrlapiOWLOntology);
+		SWRLAPIOntologyStatistics statistics = processor.getOntologyStatistics();
+		OWLObjectProperty hasParent = this.dataFactory.getOWLObjectProperty(IRI.create(Namespace + "hasParent"));
+		OWLAxiom axiom = this.dataFactory
+				.getOWLObjectPropertyAssertionAxiom(hasParent, this.dataFactory.getOWLNamedIndividual(getIRI("p1")),
+						this.dataFactory.getOWLNamedIndividual(getIRI("p0")));
+
+		processor.processOntology();
+
+		Assert.assertEquals(NUMBER_OF_PEOPLE, statistics.getNumberOfIndividuals());
+		Assert.assertEquals(NUMBER_OF_PEOPLE,
+				statistics.getNumberOfClassAssertions(this.dataFactory.getOWLClass(getIRI("Person"))));
+		Assert.assertEquals(0, statistics.getNumberOfClassAssertions(this.dataFactory.getOWLClass(getIRI("Adult"))));
+		Assert.assertEquals(NUMBER_OF_PEOPLE - 1, statistics.getNumberOfPropertyAssertions(hasParent));
+		Assert.assertEquals(NUMBER_OF_PEOPLE - 1, statistics.getNumberOfDistinctSubjects(hasParent));
+		Assert.assertEquals(NUMBER_OF_PEOPLE,
+				statistics.getNumberOfDistinctObjects(this.dataFactory.getOWLDataProperty(getIRI("hasAge"))));
+
+		this.swrlapiOWLOntology.getOWLOntologyManager().removeAxiom(this.swrlapiOWLOntology.getOWLOntology(), axiom);
+		processor.processOntology();
+
+		Assert.assertEquals(NUMBER_OF_PEOPLE - 2, statistics.getNumberOfPropertyAssertions(hasParent));
+		Assert.assertEquals(NUMBER_OF_PEOPLE - 2, statistics.getNumberOfDistinctSubjects(hasParent));
+		Assert.assertEquals(NUMBER_OF_PEOPLE - 2, statistics.getNumberOfDistinctObjects(hasParent));
+	}
+
+	@Test
+	public void TestRuleBodyIsOrderedBySelectivity() throws Exception
+	{
+		createSWRLRule("r1",
+				"hasAge(?x, ?a) ^ hasParent(?x, ?y) ^ hasParent(?y, ?z) ^ swrlb:greaterThan(?a, 50) -> hasGrandparent(?x, ?z)");
+
+		this.swrlapiOWLOntology.processOntology();
+
+		// The built-in filters the matches of hasAge before the second hasParent is joined
+		Assert.assertEquals(Arrays.asList("hasParent", "hasAge", "swrlb:greaterThan", "hasParent"),
+				getPredicateNames(this.swrlapiOWLOntology.getSWRLRule("r1").getBodyAtoms()));
+	}
+
+	@Test
+	public void TestUnrelatedChangeKeepsRuleOrder() throws Exception
+	{
+		createSWRLRule("r1", "hasParent(?x, ?y) ^ hasParent(?y, ?z) -> hasGrandparent(?x, ?z)");
+		createSQWRLQuery("q1", "Person(?x) -> sqwrl:select(?x)");
+
+		this.swrlapiOWLOntology.processOntology();
+		SWRLAPIRule rule = this.swrlapiOWLOntology.getSWRLRule("r1");
+
+		addOWLAxiom(this.dataFactory.getOWLClassAssertionAxiom(this.dataFactory.getOWLClass(getIRI("Adult")),
+				this.dataFactory.getOWLNamedIndividual(getIRI("p1"))));
+		this.swrlapiOWLOntology.processOntology();
+
+		Assert.assertSame(rule, this.swrlapiOWLOntology.getSWRLRule("r1")); // Adult is not used by the rule
+	}
+
+	@Test
+	public void TestRelatedChangeReordersRule() throws Exception
+	{
+		createSWRLRule("r1",
+				"hasAge(?x, ?a) ^ hasParent(?x, ?y) ^ hasParent(?y, ?z) ^ swrlb:greaterThan(?a, 50) -> hasGrandparent(?x, ?z)");
+		createSQWRLQuery("q1", "Person(?x) -> sqwrl:select(?x)");
+
+		this.swrlapiOWLOntology.processOntology();
+		Assert.assertEquals("hasParent",
+				getPredicateNames(this.swrlapiOWLOntology.getSWRLRule("r1").getBodyAtoms()).get(0));
+
+		for (int personIndex = 1; personIndex < NUMBER_OF_PEOPLE; personIndex++)
+			removeOWLAxiom(this.dataFactory.getOWLDataPropertyAssertionAxiom(
+					this.dataFactory.getOWLDataProperty(getIRI("hasAge")),
+					this.dataFactory.getOWLNamedIndividual(getIRI("p" + personIndex)),
+					this.dataFactory.getOWLLiteral("" + (personIndex * 10), OWL2Datatype.XSD_INT)));
+		this.swrlapiOWLOntology.processOntology();
+
+		Assert.assertEquals("hasAge", // Only one person has an age so the built-in filters a single match
+				getPredicateNames(this.swrlapiOWLOntology.getSWRLRule("r1").getBodyAtoms()).get(0));
+	}
+
+	private void addOWLAxiom(OWLAxiom axiom)
+	{
+		this.swrlapiOWLOntology.getOWLOntologyManager().addAxiom(this.swrlapiOWLOntology.getOWLOntology(), axiom);
+	}
+
+	private void removeOWLAxiom(OWLAxiom axiom)
+	{
+		this.swrlapiOWLOntology.getOWLOntologyManager().removeAxiom(this.swrlapiOWLOntology.getOWLOntology(), axiom);
+	}
+
+	private List<String> getPredicateNames(List<SWRLAtom> atoms)
+	{
+		List<String> predicateNames = new ArrayList<>();
+
+		for (SWRLAtom atom : atoms) {
+			if (atom instanceof SWRLAPIBuiltInAtom)
+				predicateNames.add(((SWRLAPIBuiltInAtom)atom).getBuiltInPrefixedName());
+			else
+				predicateNames.add(((OWLEntity)atom.getPredicate()).getIRI().getShortForm());
+		}
+		return predicateNames;
+	}
+
+	private IRI getIRI(String name)
+	{
+		return IRI.create(Namespace + name);
+	}
+}
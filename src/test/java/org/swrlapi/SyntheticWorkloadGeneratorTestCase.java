@@ -0,0 +1,60 @@
+package org.swrlapi;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.sqwrl.SQWRLQuery;
+import org.swrlapi.test.SyntheticWorkloadGenerator;
+
+import java.util.EnumSet;
+
+public class SyntheticWorkloadGeneratorTestCase
+{
+	@Test
+	public void TestSameSeedGivesSameOntology() throws Exception
+	{
+		SWRLAPIOWLOntology first = new SyntheticWorkloadGenerator(42).generate();
+		SWRLAPIOWLOntology second = new SyntheticWorkloadGenerator(42).generate();
+
+		Assert.assertEquals(first.getOWLOntology().getAxioms(), second.getOWLOntology().getAxioms());
+	}
+
+	@Test
+	public void TestGeneratedSizes() throws Exception
+	{
+		SyntheticWorkloadGenerator generator = new SyntheticWorkloadGenerator(7);
+
+		generator.setNumberOfClasses(13);
+		generator.setHierarchyDepth(3);
+		generator.setHierarchyFanOut(3);
+		generator.setNumberOfIndividuals(50);
+		generator.setNumberOfSWRLRules(5);
+		generator.setNumberOfSQWRLQueries(4);
+		generator.setNumberOfJoinAtoms(3);
+		generator.setNumberOfBuiltInsPerRule(2);
+
+		SWRLAPIOWLOntology swrlapiOWLOntology = generator.generate();
+
+		Assert.assertEquals(10, swrlapiOWLOntology.getOWLOntology().getAxiomCount(AxiomType.SUBCLASS_OF));
+		Assert.assertEquals(50, swrlapiOWLOntology.getOWLOntology().getIndividualsInSignature().size());
+		Assert.assertEquals(9, swrlapiOWLOntology.getSWRLAPIRules().size());
+		Assert.assertEquals(4, swrlapiOWLOntology.getSQWRLQueries().size());
+	}
+
+	@Test
+	public void TestCycleJoinShape() throws Exception
+	{
+		SyntheticWorkloadGenerator generator = new SyntheticWorkloadGenerator(1);
+
+		generator.setNumberOfSWRLRules(0);
+		generator.setNumberOfSQWRLQueries(1);
+		generator.setNumberOfJoinAtoms(3);
+		generator.setNumberOfBuiltInsPerRule(0);
+		generator.setJoinShapes(EnumSet.of(SyntheticWorkloadGenerator.JoinShape.CYCLE));
+
+		SQWRLQuery query = generator.generate().getSQWRLQueries().iterator().next();
+
+		Assert.assertEquals(4, query.getBodyAtoms().size());
+	}
+}